@@ -17,27 +17,30 @@ package org.pitest.coverage;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-import java.util.function.Predicate;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.pitest.classinfo.ClassInfo;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classpath.CodeSource;
 import org.pitest.functional.FCollection;
+import org.pitest.mutationtest.engine.Location;
 import org.pitest.testapi.Description;
 import org.pitest.util.Log;
 
@@ -49,7 +52,23 @@ public class CoverageData implements CoverageDatabase {
   // We calculate block coverage, but everything currently runs on line
   // coverage. Ugly mess of maps below should go when
   // api changed to work via blocks
-  private final Map<InstructionLocation, Set<TestInfo>>       instructionCoverage;
+  //
+  // Block coverage is held in columns. Tests and blocks are interned to int
+  // ids, and the ids of the tests that cover each block are held in a
+  // TestIdSet. Instructions are resolved to blocks through the instruction
+  // ranges of the blocks covered in each method.
+  private final List<TestInfo>                                tests         = new ArrayList<>();
+  private final Map<String, Integer>                          testIds       = new HashMap<>();
+  private final List<BlockLocation>                           blocks        = new ArrayList<>();
+  private final List<TestIdSet>                               blockTests    = new ArrayList<>();
+  private final Map<BlockLocation, Integer>                   blockIds      = new HashMap<>();
+  private final Map<Location, NavigableMap<Integer, Integer>> methodBlocks  = new HashMap<>();
+  private final Map<ClassName, List<Integer>>                 classBlocks   = new HashMap<>();
+
+  // tests for each class, built on first request and discarded if more
+  // coverage is recorded
+  private final Map<ClassName, Collection<TestInfo>>          classTests    = new ConcurrentHashMap<>();
+
   private final Map<BlockLocation, Set<Integer>>              blocksToLines = new LinkedHashMap<>();
   private final Map<ClassName, Map<ClassLine, Set<TestInfo>>> lineCoverage  = new LinkedHashMap<>();
   private final Map<String, Collection<ClassInfo>>            classesForFile;
@@ -66,17 +85,33 @@ public class CoverageData implements CoverageDatabase {
 
 
   public CoverageData(final CodeSource code, final LineMap lm, Map<InstructionLocation, Set<TestInfo>> instructionCoverage) {
-    this.instructionCoverage = instructionCoverage;
     this.code = code;
     this.lm = lm;
     this.classesForFile = FCollection.bucket(this.code.getCode(),
         keyFromClassInfo());
+    for (final Entry<InstructionLocation, Set<TestInfo>> each : instructionCoverage.entrySet()) {
+      final TestIdSet blockTests = this.blockTests.get(internBlock(each.getKey().getBlockLocation()));
+      for (final TestInfo ti : each.getValue()) {
+        blockTests.add(internTest(ti));
+      }
+    }
   }
 
   @Override
   public Collection<TestInfo> getTestsForInstructionLocation(
       InstructionLocation location) {
-    return this.instructionCoverage.get(location);
+    final NavigableMap<Integer, Integer> blocksByFirstInsn = this.methodBlocks
+        .get(location.getBlockLocation().getLocation());
+    if (blocksByFirstInsn == null) {
+      return null;
+    }
+    final Entry<Integer, Integer> candidate = blocksByFirstInsn
+        .floorEntry(location.getInstructionIndex());
+    if ((candidate == null) || (location.getInstructionIndex() > this.blocks
+        .get(candidate.getValue()).getLastInsnInBlock())) {
+      return null;
+    }
+    return toTestInfos(this.blockTests.get(candidate.getValue()));
   }
 
   @Override
@@ -114,13 +149,21 @@ public class CoverageData implements CoverageDatabase {
 
   @Override
   public Collection<TestInfo> getTestsForClass(final ClassName clazz) {
-    final Set<TestInfo> tis = new TreeSet<>(
-        new TestInfoNameComparator());
-    tis.addAll(this.instructionCoverage.entrySet().stream().filter(isFor(clazz))
-        .flatMap(toTests())
-        .collect(Collectors.toList())
-        );
-    return tis;
+    return this.classTests.computeIfAbsent(clazz, this::findTestsForClass);
+  }
+
+  private Collection<TestInfo> findTestsForClass(final ClassName clazz) {
+    final List<Integer> ids = this.classBlocks.get(clazz);
+    if (ids == null) {
+      return Collections.emptySet();
+    }
+    final BitSet testsForClass = new BitSet(this.tests.size());
+    for (final int each : ids) {
+      this.blockTests.get(each).addTo(testsForClass);
+    }
+    final Set<TestInfo> tis = new TreeSet<>(new TestInfoNameComparator());
+    testsForClass.stream().forEach(id -> tis.add(this.tests.get(id)));
+    return Collections.unmodifiableSet(tis);
   }
 
   public void calculateClassCoverage(final CoverageResult cr) {
@@ -128,21 +171,45 @@ public class CoverageData implements CoverageDatabase {
     checkForFailedTest(cr);
     final TestInfo ti = this.createTestInfo(cr.getTestUnitDescription(),
         cr.getExecutionTime(), cr.getNumberOfCoveredBlocks());
+    final int testId = internTest(ti);
+    this.classTests.clear();
     for (final BlockLocation each : cr.getCoverage()) {
-      for (int i = each.getFirstInsnInBlock();
-           i <= each.getLastInsnInBlock(); i++) {
-        addTestsToBlockMap(ti, new InstructionLocation(each, i));
-      }
+      this.blockTests.get(internBlock(each)).add(testId);
     }
   }
 
-  private void addTestsToBlockMap(final TestInfo ti, InstructionLocation each) {
-    Set<TestInfo> tests = this.instructionCoverage.get(each);
-    if (tests == null) {
-      tests = new TreeSet<>(new TestInfoNameComparator());
-      this.instructionCoverage.put(each, tests);
+  private int internTest(final TestInfo ti) {
+    // tests are identified by name, the first test seen with a name is kept
+    final Integer existing = this.testIds.get(ti.getName());
+    if (existing != null) {
+      return existing;
     }
-    tests.add(ti);
+    final int id = this.tests.size();
+    this.tests.add(ti);
+    this.testIds.put(ti.getName(), id);
+    return id;
+  }
+
+  private int internBlock(final BlockLocation block) {
+    final Integer existing = this.blockIds.get(block);
+    if (existing != null) {
+      return existing;
+    }
+    final int id = this.blocks.size();
+    this.blocks.add(block);
+    this.blockTests.add(new TestIdSet());
+    this.blockIds.put(block, id);
+    this.methodBlocks.computeIfAbsent(block.getLocation(), k -> new TreeMap<>())
+        .put(block.getFirstInsnInBlock(), id);
+    this.classBlocks.computeIfAbsent(block.getLocation().getClassName(),
+        k -> new ArrayList<>()).add(id);
+    return id;
+  }
+
+  private Set<TestInfo> toTestInfos(final TestIdSet ids) {
+    final Set<TestInfo> tis = new TreeSet<>(new TestInfoNameComparator());
+    ids.forEach(id -> tis.add(this.tests.get(id)));
+    return tis;
   }
 
   @Override
@@ -156,12 +223,12 @@ public class CoverageData implements CoverageDatabase {
   }
 
   public List<BlockCoverage> createCoverage() {
-    return FCollection.map(this.instructionCoverage.entrySet(), toBlockCoverage());
-  }
-
-  private static Function<Entry<InstructionLocation, Set<TestInfo>>, BlockCoverage> toBlockCoverage() {
-    return a -> new BlockCoverage(a.getKey().getBlockLocation(), FCollection.map(a.getValue(),
-        TestInfo.toName()));
+    final List<BlockCoverage> coverage = new ArrayList<>(this.blocks.size());
+    for (int i = 0; i != this.blocks.size(); i++) {
+      coverage.add(new BlockCoverage(this.blocks.get(i),
+          FCollection.map(toTestInfos(this.blockTests.get(i)), TestInfo.toName())));
+    }
+    return coverage;
   }
 
   @Override
@@ -261,7 +328,9 @@ public class CoverageData implements CoverageDatabase {
 
   }
 
-  private Map<ClassLine, Set<TestInfo>> getTestsForClassName(
+  // line coverage is built lazily, and may be requested by several threads
+  // searching for mutations at once
+  private synchronized Map<ClassLine, Set<TestInfo>> getTestsForClassName(
       final ClassName clazz) {
     // Use any test that provided some coverage of the class
     // This fails to consider tests that only accessed a static variable
@@ -277,16 +346,17 @@ public class CoverageData implements CoverageDatabase {
 
   private Map<ClassLine, Set<TestInfo>> convertInstructionCoverageToLineCoverageForClass(
       ClassName clazz) {
-    final List<Entry<InstructionLocation, Set<TestInfo>>> tests = FCollection.filter(
-        this.instructionCoverage.entrySet(), isFor(clazz));
+    final List<Integer> ids = this.classBlocks.getOrDefault(clazz,
+        Collections.emptyList());
 
     final Map<ClassLine, Set<TestInfo>> linesToTests = new LinkedHashMap<>(
         0);
 
-    for (final Entry<InstructionLocation, Set<TestInfo>> each : tests) {
-      for (final int line : getLinesForBlock(each.getKey().getBlockLocation())) {
-        final Set<TestInfo> tis = getLineTestSet(clazz, linesToTests, each, line);
-        tis.addAll(each.getValue());
+    for (final int each : ids) {
+      final Set<TestInfo> blockTests = toTestInfos(this.blockTests.get(each));
+      for (final int line : getLinesForBlock(this.blocks.get(each))) {
+        final Set<TestInfo> tis = getLineTestSet(clazz, linesToTests, line);
+        tis.addAll(blockTests);
       }
     }
 
@@ -295,14 +365,12 @@ public class CoverageData implements CoverageDatabase {
   }
 
   private static Set<TestInfo> getLineTestSet(ClassName clazz,
-      Map<ClassLine, Set<TestInfo>> linesToTests,
-      Entry<InstructionLocation, Set<TestInfo>> each, int line) {
+      Map<ClassLine, Set<TestInfo>> linesToTests, int line) {
     final ClassLine cl = new ClassLine(clazz, line);
     Set<TestInfo> tis = linesToTests.get(cl);
     if (tis == null) {
       tis = new TreeSet<>(new TestInfoNameComparator());
-      tis.addAll(each.getValue());
-      linesToTests.put(new ClassLine(clazz, line), tis);
+      linesToTests.put(cl, tis);
     }
     return tis;
   }
@@ -329,13 +397,4 @@ public class CoverageData implements CoverageDatabase {
     this.failingTestDescriptions.add(testDescription);
   }
 
-  private Function<Entry<InstructionLocation, Set<TestInfo>>, Stream<TestInfo>> toTests() {
-    return a -> a.getValue().stream();
-  }
-
-  private Predicate<Entry<InstructionLocation, Set<TestInfo>>> isFor(
-      final ClassName clazz) {
-    return a -> a.getKey().isFor(clazz);
-  }
-
 }
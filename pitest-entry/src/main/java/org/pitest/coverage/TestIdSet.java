@@ -0,0 +1,94 @@
+package org.pitest.coverage;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of interned test ids. Ids are held in a sorted array while the set is
+ * sparse, and in a bitmap once that would take less memory.
+ */
+final class TestIdSet {
+
+  private static final int MIN_SIZE_FOR_BITMAP = 64;
+
+  private int[]            ids = new int[2];
+  private int              size;
+  private BitSet           bits;
+
+  void add(final int id) {
+    if (this.bits != null) {
+      if (!this.bits.get(id)) {
+        this.bits.set(id);
+        this.size++;
+      }
+      return;
+    }
+
+    // ids are normally allocated in increasing order, so usually append
+    if ((this.size == 0) || (this.ids[this.size - 1] < id)) {
+      insert(this.size, id);
+    } else {
+      final int index = Arrays.binarySearch(this.ids, 0, this.size, id);
+      if (index >= 0) {
+        return;
+      }
+      insert(-(index + 1), id);
+    }
+
+    // a bitmap needs one bit for every id up to the largest, an array 32
+    if ((this.size >= MIN_SIZE_FOR_BITMAP)
+        && (this.ids[this.size - 1] < (this.size * 32))) {
+      convertToBitmap();
+    }
+  }
+
+  boolean contains(final int id) {
+    if (this.bits != null) {
+      return this.bits.get(id);
+    }
+    return Arrays.binarySearch(this.ids, 0, this.size, id) >= 0;
+  }
+
+  int size() {
+    return this.size;
+  }
+
+  void forEach(final IntConsumer action) {
+    if (this.bits != null) {
+      this.bits.stream().forEach(action);
+    } else {
+      for (int i = 0; i != this.size; i++) {
+        action.accept(this.ids[i]);
+      }
+    }
+  }
+
+  void addTo(final BitSet target) {
+    if (this.bits != null) {
+      target.or(this.bits);
+    } else {
+      for (int i = 0; i != this.size; i++) {
+        target.set(this.ids[i]);
+      }
+    }
+  }
+
+  private void insert(final int index, final int id) {
+    if (this.size == this.ids.length) {
+      this.ids = Arrays.copyOf(this.ids, this.size * 2);
+    }
+    System.arraycopy(this.ids, index, this.ids, index + 1, this.size - index);
+    this.ids[index] = id;
+    this.size++;
+  }
+
+  private void convertToBitmap() {
+    this.bits = new BitSet(this.ids[this.size - 1] + 1);
+    for (int i = 0; i != this.size; i++) {
+      this.bits.set(this.ids[i]);
+    }
+    this.ids = null;
+  }
+
+}
@@ -12,6 +12,7 @@ import org.pitest.util.ExitCode;
 
 public class CoverageProcess {
 
+  private final ServerSocket                socket;
   private final WrappingProcess             process;
   private final CoverageCommunicationThread crt;
 
@@ -19,6 +20,7 @@ public class CoverageProcess {
       final CoverageOptions arguments, final ServerSocket socket,
       final List<String> testClases, final SideEffect1<CoverageResult> handler)
           throws IOException {
+    this.socket = socket;
     this.process = new WrappingProcess(socket.getLocalPort(), processArgs,
         CoverageMinion.class);
     this.crt = new CoverageCommunicationThread(socket, arguments, testClases,
@@ -27,7 +29,17 @@ public class CoverageProcess {
 
   public void start() throws IOException, InterruptedException {
     this.crt.start();
-    this.process.start();
+    try {
+      this.process.start();
+    } catch (final IOException | RuntimeException e) {
+      // stop the communication thread waiting for a minion that never started
+      this.socket.close();
+      throw e;
+    }
+  }
+
+  public void destroy() {
+    this.process.destroy();
   }
 
   public ExitCode waitToDie() throws InterruptedException {
@@ -18,7 +18,9 @@ package org.pitest.coverage.execute;
 import java.io.File;
 import java.io.IOException;
 import java.net.ServerSocket;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
@@ -59,11 +61,21 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
   private final File             workingDir;
   private final CoverageExporter exporter;
   private final boolean          showProgress;
+  private final int              numberOfMinions;
 
   public DefaultCoverageGenerator(final File workingDir,
       final CoverageOptions coverageOptions, final LaunchOptions launchOptions,
       final CodeSource code, final CoverageExporter exporter,
       final Timings timings, final boolean showProgress) {
+    this(workingDir, coverageOptions, launchOptions, code, exporter, timings,
+        showProgress, 1);
+  }
+
+  public DefaultCoverageGenerator(final File workingDir,
+      final CoverageOptions coverageOptions, final LaunchOptions launchOptions,
+      final CodeSource code, final CoverageExporter exporter,
+      final Timings timings, final boolean showProgress,
+      final int numberOfMinions) {
     this.coverageOptions = coverageOptions;
     this.code = code;
     this.launchOptions = launchOptions;
@@ -71,6 +83,7 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
     this.workingDir = workingDir;
     this.exporter = exporter;
     this.showProgress = showProgress;
+    this.numberOfMinions = Math.max(1, numberOfMinions);
   }
 
   @Override
@@ -115,6 +128,24 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
     }
   }
 
+  /**
+   * Starts each process in turn. If one fails to start, those already started
+   * are destroyed rather than left running.
+   */
+  static void startAll(final List<CoverageProcess> processes)
+      throws IOException, InterruptedException {
+    final List<CoverageProcess> started = new ArrayList<>(processes.size());
+    try {
+      for (final CoverageProcess each : processes) {
+        each.start();
+        started.add(each);
+      }
+    } catch (final IOException | InterruptedException | RuntimeException e) {
+      started.forEach(CoverageProcess::destroy);
+      throw e;
+    }
+  }
+
   private void gatherCoverageData(final Collection<ClassInfo> tests,
       final CoverageData coverage) throws IOException, InterruptedException,
       ExecutionException {
@@ -124,19 +155,61 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
 
     final SideEffect1<CoverageResult> handler = resultProcessor(coverage);
 
+    final List<List<String>> shards = shard(filteredTests, this.numberOfMinions);
+    if (shards.size() > 1) {
+      LOG.info("Splitting " + filteredTests.size() + " test classes between "
+          + shards.size() + " coverage minions");
+    }
+
     final SocketFinder sf = new SocketFinder();
-    final ServerSocket socket = sf.getNextAvailableServerSocket();
+    final List<CoverageProcess> processes = new ArrayList<>(shards.size());
+    for (final List<String> each : shards) {
+      final ServerSocket socket = sf.getNextAvailableServerSocket();
+      processes.add(new CoverageProcess(ProcessArgs
+          .withClassPath(this.code.getClassPath()).andBaseDir(this.workingDir)
+          .andLaunchOptions(this.launchOptions).andStderr(logInfo())
+          .andStdout(captureStandardOutIfVerbose()), this.coverageOptions,
+          socket, each, handler));
+    }
+    startAll(processes);
 
-    final CoverageProcess process = new CoverageProcess(ProcessArgs
-        .withClassPath(this.code.getClassPath()).andBaseDir(this.workingDir)
-        .andLaunchOptions(this.launchOptions).andStderr(logInfo())
-        .andStdout(captureStandardOutIfVerbose()), this.coverageOptions,
-        socket, filteredTests, handler);
+    // wait for every minion before checking exit codes so none are left
+    // running if one fails
+    final List<ExitCode> exitCodes = new ArrayList<>(processes.size());
+    for (final CoverageProcess each : processes) {
+      exitCodes.add(each.waitToDie());
+    }
 
-    process.start();
+    for (final ExitCode exitCode : exitCodes) {
+      checkExitCode(exitCode);
+    }
+  }
 
-    final ExitCode exitCode = process.waitToDie();
+  /**
+   * Splits the test classes into at most the requested number of shards. Test
+   * classes are assigned by the hash of their name, so a class is always
+   * analysed in the same shard for a given number of minions.
+   */
+  static List<List<String>> shard(final List<String> testClasses,
+      final int numberOfShards) {
+    if (numberOfShards <= 1 || testClasses.size() <= 1) {
+      return Collections.singletonList(testClasses);
+    }
+
+    final List<List<String>> shards = new ArrayList<>(numberOfShards);
+    for (int i = 0; i != numberOfShards; i++) {
+      shards.add(new ArrayList<>());
+    }
+    for (final String each : testClasses) {
+      shards.get(Math.floorMod(each.hashCode(), numberOfShards)).add(each);
+    }
+
+    return shards.stream()
+        .filter(each -> !each.isEmpty())
+        .collect(Collectors.toList());
+  }
 
+  private static void checkExitCode(final ExitCode exitCode) {
     if (exitCode == ExitCode.JUNIT_ISSUE) {
       LOG.severe("Error generating coverage. Please check that your classpath contains JUnit 4.6+ or PIT test plugin for other test tool is enabled.");
       throw new PitError(
@@ -177,8 +250,9 @@ public class DefaultCoverageGenerator implements CoverageGenerator {
           "\u0008\\", "\u0008|" };
       int i = 0;
 
+      // results may arrive from several minions at once
       @Override
-      public void apply(final CoverageResult cr) {
+      public synchronized void apply(final CoverageResult cr) {
         if (cr.isGreenTest() || !coverageOptions.getPitConfig().skipFailingTests()) {
           coverage.calculateClassCoverage(cr);
         }
@@ -1,7 +1,9 @@
 package org.pitest.coverage.execute;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -22,7 +24,8 @@ import sun.pitest.CodeCoverageStore;
 final class Receive implements ReceiveStrategy {
 
   private final Map<Integer, ClassName>     classIdToName = new ConcurrentHashMap<>();
-  private final Map<Long, BlockLocation>    probeToBlock  = new ConcurrentHashMap<>();
+  private final Map<Integer, BlockLocation[]> probeToBlock = new ConcurrentHashMap<>();
+  private final List<String>                testClasses   = new ArrayList<>();
 
   private final SideEffect1<CoverageResult> handler;
 
@@ -44,6 +47,9 @@ final class Receive implements ReceiveStrategy {
     case Id.OUTCOME:
       handleTestEnd(is);
       break;
+    case Id.COMPACT_OUTCOME:
+      handleCompactTestEnd(is);
+      break;
     case Id.DONE:
       // nothing to do ?
     }
@@ -57,14 +63,27 @@ final class Receive implements ReceiveStrategy {
     final int last = is.readInt();
     final Location loc = Location.location(this.classIdToName.get(classId),
         MethodName.fromString(methodName), methodSig);
+    final BlockLocation[] blocks = probesForClass(classId, last + 1);
     for (int i = first; i != (last + 1); i++) {
       // nb, convert from classwide id to method scoped index within
       // BlockLocation
-      this.probeToBlock.put(CodeCoverageStore.encode(classId, i),
-          new BlockLocation(loc, i - first, is.readInt(), is.readInt()));
+      blocks[i] = new BlockLocation(loc, i - first, is.readInt(), is.readInt());
     }
   }
 
+  private BlockLocation[] probesForClass(final int classId, final int size) {
+    final BlockLocation[] existing = this.probeToBlock.get(classId);
+    if (existing == null || existing.length < size) {
+      final BlockLocation[] blocks = new BlockLocation[size];
+      if (existing != null) {
+        System.arraycopy(existing, 0, blocks, 0, existing.length);
+      }
+      this.probeToBlock.put(classId, blocks);
+      return blocks;
+    }
+    return existing;
+  }
+
   private void handleTestEnd(final SafeDataInputStream is) {
     final Description d = is.read(Description.class);
     final int numberOfResults = is.readInt();
@@ -86,7 +105,63 @@ final class Receive implements ReceiveStrategy {
   }
 
   private BlockLocation probeToBlock(long encoded) {
-    return this.probeToBlock.get(encoded);
+    return probeToBlock(CodeCoverageStore.decodeClassId(encoded),
+        CodeCoverageStore.decodeLineId(encoded));
+  }
+
+  private BlockLocation probeToBlock(final int classId, final int probe) {
+    final BlockLocation[] blocks = this.probeToBlock.get(classId);
+    if (blocks == null || probe < 0 || probe >= blocks.length) {
+      return null;
+    }
+    return blocks[probe];
+  }
+
+  private void handleCompactTestEnd(final SafeDataInputStream is) {
+    final String testClass = readTestClass(is);
+    final Description d = new Description(is.readString(), testClass);
+    final List<BlockLocation> hits = new ArrayList<>();
+
+    int classRef = is.readVarInt();
+    while (classRef != 0) {
+      readClassHits(is, classRef - 1, hits);
+      classRef = is.readVarInt();
+    }
+
+    this.handler.apply(createCoverageResult(is, d, hits));
+  }
+
+  private String readTestClass(final SafeDataInputStream is) {
+    final int id = is.readVarInt();
+    if (id == 0) {
+      return null;
+    }
+    if (id > this.testClasses.size()) {
+      this.testClasses.add(is.readString());
+    }
+    return this.testClasses.get(id - 1);
+  }
+
+  private void readClassHits(final SafeDataInputStream is, final int classId,
+      final List<BlockLocation> hits) {
+    final int header = is.readVarInt();
+    final int size = header >>> 1;
+    if ((header & 1) == CompactHitEncoder.BITMAP) {
+      for (int i = 0; i != size; i++) {
+        final int bits = is.readByte() & 0xFF;
+        for (int bit = 0; bit != 8; bit++) {
+          if ((bits & (1 << bit)) != 0) {
+            hits.add(probeToBlock(classId, (i * 8) + bit + 1));
+          }
+        }
+      }
+    } else {
+      int probe = 0;
+      for (int i = 0; i != size; i++) {
+        probe += is.readVarInt();
+        hits.add(probeToBlock(classId, probe));
+      }
+    }
   }
 
   private CoverageResult createCoverageResult(final SafeDataInputStream is,
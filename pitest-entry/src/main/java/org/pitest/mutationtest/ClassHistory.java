@@ -1,9 +1,11 @@
 package org.pitest.mutationtest;
 
 import java.io.Serializable;
+import java.util.Optional;
 
 import org.pitest.classinfo.ClassName;
 import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.classinfo.MethodHashes;
 
 public class ClassHistory implements Serializable {
 
@@ -11,10 +13,17 @@ public class ClassHistory implements Serializable {
 
   private final HierarchicalClassId id;
   private final String              coverageId;
+  private final MethodHashes        methodHashes;
 
   public ClassHistory(final HierarchicalClassId id, final String coverageId) {
+    this(id, coverageId, null);
+  }
+
+  public ClassHistory(final HierarchicalClassId id, final String coverageId,
+      final MethodHashes methodHashes) {
     this.id = id;
     this.coverageId = coverageId;
+    this.methodHashes = methodHashes;
   }
 
   public HierarchicalClassId getId() {
@@ -25,6 +34,13 @@ public class ClassHistory implements Serializable {
     return this.coverageId;
   }
 
+  /**
+   * @return hashes of the methods of the class, if they were recorded
+   */
+  public Optional<MethodHashes> getMethodHashes() {
+    return Optional.ofNullable(this.methodHashes);
+  }
+
   public ClassName getName() {
     return this.id.getName();
   }
@@ -36,6 +52,8 @@ public class ClassHistory implements Serializable {
     result = (prime * result)
         + ((this.coverageId == null) ? 0 : this.coverageId.hashCode());
     result = (prime * result) + ((this.id == null) ? 0 : this.id.hashCode());
+    result = (prime * result)
+        + ((this.methodHashes == null) ? 0 : this.methodHashes.hashCode());
     return result;
   }
 
@@ -65,6 +83,13 @@ public class ClassHistory implements Serializable {
     } else if (!this.id.equals(other.id)) {
       return false;
     }
+    if (this.methodHashes == null) {
+      if (other.methodHashes != null) {
+        return false;
+      }
+    } else if (!this.methodHashes.equals(other.methodHashes)) {
+      return false;
+    }
     return true;
   }
 
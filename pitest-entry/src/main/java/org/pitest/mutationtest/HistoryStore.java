@@ -1,10 +1,12 @@
 package org.pitest.mutationtest;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 
 import org.pitest.classinfo.ClassName;
 import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.classinfo.MethodHashes;
 import org.pitest.coverage.CoverageDatabase;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 
@@ -14,10 +16,56 @@ public interface HistoryStore {
 
   void recordClassPath(Collection<HierarchicalClassId> ids, CoverageDatabase coverageInfo);
 
+  /**
+   * Records the class path along with hashes of the methods of the code under
+   * test, so that later runs can tell which methods of a changed class are
+   * unchanged. Stores that cannot hold the hashes may ignore them.
+   *
+   * @param ids
+   *          identifiers of the classes on the class path
+   * @param coverageInfo
+   *          coverage of the code under test
+   * @param methodHashes
+   *          hashes of the methods of each class under test
+   */
+  default void recordClassPath(Collection<HierarchicalClassId> ids,
+      CoverageDatabase coverageInfo, Map<ClassName, MethodHashes> methodHashes) {
+    recordClassPath(ids, coverageInfo);
+  }
+
   void recordResult(MutationResult result);
 
+  /**
+   * Records a result along with a fingerprint of the tests that covered the
+   * mutation. Stores that cannot hold the fingerprint may ignore it.
+   *
+   * @param result
+   *          the result
+   * @param coverageFingerprint
+   *          fingerprint of the tests that covered the mutation
+   */
+  default void recordResult(MutationResult result, long coverageFingerprint) {
+    recordResult(result);
+  }
+
   Map<MutationIdentifier, MutationStatusTestPair> getHistoricResults();
 
   Map<ClassName, ClassHistory> getHistoricClassPath();
 
+  /**
+   * @return fingerprints of the tests that covered each mutation, for those
+   *         results recorded with one
+   */
+  default Map<MutationIdentifier, Long> getHistoricCoverageFingerprints() {
+    return Collections.emptyMap();
+  }
+
+  /**
+   * Called once the run has finished, so that any history still held may be
+   * written out
+   */
+  default void close() {
+
+  }
+
 }
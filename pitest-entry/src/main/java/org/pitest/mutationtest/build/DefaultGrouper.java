@@ -2,26 +2,55 @@ package org.pitest.mutationtest.build;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 import java.util.function.Function;
 
 import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
 import org.pitest.functional.FCollection;
 import org.pitest.mutationtest.engine.MutationDetails;
 
 public class DefaultGrouper implements MutationGrouper {
 
-  private final int unitSize;
+  // share of their combined test classes that mutations must have in common
+  // to be grouped by tests
+  private static final double MINIMUM_TEST_OVERLAP = 0.5;
+
+  private final int           unitSize;
+  private final boolean       groupByTests;
 
   public DefaultGrouper(final int unitSize) {
+    this(unitSize, false);
+  }
+
+  /**
+   * @param unitSize
+   *          maximum number of mutations in each unit, or 0 for no limit
+   * @param groupByTests
+   *          place mutations covered by largely the same test classes in the
+   *          same unit, even when they are in different classes, so that each
+   *          minion has fewer test classes to find and load. Units hold at
+   *          most unitSize mutations or, when no size is set, as many as the
+   *          class with the most mutations.
+   */
+  public DefaultGrouper(final int unitSize, final boolean groupByTests) {
     this.unitSize = unitSize;
+    this.groupByTests = groupByTests;
   }
 
   @Override
   public List<List<MutationDetails>> groupMutations(
       final Collection<ClassName> codeClasses,
       final Collection<MutationDetails> mutations) {
+    if (this.groupByTests) {
+      return groupByTestClasses(mutations);
+    }
+
     final Map<ClassName, Collection<MutationDetails>> bucketed = FCollection
         .bucket(mutations, byClass());
     final List<List<MutationDetails>> chunked = new ArrayList<>();
@@ -45,8 +74,108 @@ public class DefaultGrouper implements MutationGrouper {
     }
   }
 
+  private List<List<MutationDetails>> groupByTestClasses(
+      final Collection<MutationDetails> mutations) {
+    if (mutations.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    final Map<Set<ClassName>, List<MutationDetails>> byTests = new LinkedHashMap<>();
+    for (final MutationDetails each : mutations) {
+      byTests.computeIfAbsent(testClassesFor(each), k -> new ArrayList<>())
+          .add(each);
+    }
+
+    final int maximumSize = maximumGroupSize(mutations);
+    final List<TestGroup> groups = new ArrayList<>();
+    for (final Entry<Set<ClassName>, List<MutationDetails>> each : byTests
+        .entrySet()) {
+      for (final List<MutationDetails> ms : FCollection.splitToLength(
+          maximumSize, each.getValue())) {
+        TestGroup group = closestGroup(groups, each.getKey(), ms.size(),
+            maximumSize);
+        if (group == null) {
+          group = new TestGroup();
+          groups.add(group);
+        }
+        group.add(each.getKey(), ms);
+      }
+    }
+
+    final List<List<MutationDetails>> grouped = new ArrayList<>();
+    for (final TestGroup each : groups) {
+      each.mutations.sort((a, b) -> a.getId().compareTo(b.getId()));
+      grouped.add(each.mutations);
+    }
+    return grouped;
+  }
+
+  private int maximumGroupSize(final Collection<MutationDetails> mutations) {
+    if (this.unitSize > 0) {
+      return this.unitSize;
+    }
+    int largestClass = 0;
+    for (final Collection<MutationDetails> each : FCollection
+        .bucket(mutations, byClass()).values()) {
+      largestClass = Math.max(largestClass, each.size());
+    }
+    return largestClass;
+  }
+
+  private static TestGroup closestGroup(final List<TestGroup> groups,
+      final Set<ClassName> testClasses, final int mutations,
+      final int maximumSize) {
+    TestGroup closest = null;
+    double closestOverlap = MINIMUM_TEST_OVERLAP;
+    for (final TestGroup each : groups) {
+      if ((each.mutations.size() + mutations) <= maximumSize) {
+        final double overlap = overlap(each.testClasses, testClasses);
+        if (overlap >= closestOverlap
+            && ((closest == null) || (overlap > closestOverlap))) {
+          closest = each;
+          closestOverlap = overlap;
+        }
+      }
+    }
+    return closest;
+  }
+
+  private static double overlap(final Set<ClassName> a,
+      final Set<ClassName> b) {
+    if (a.isEmpty() && b.isEmpty()) {
+      return 1;
+    }
+    // compared for every bucket and group, so counted without copying either
+    final Set<ClassName> smaller = a.size() <= b.size() ? a : b;
+    final Set<ClassName> larger = smaller == a ? b : a;
+    int common = 0;
+    for (final ClassName each : smaller) {
+      if (larger.contains(each)) {
+        common++;
+      }
+    }
+    return (double) common / ((a.size() + b.size()) - common);
+  }
+
+  private static Set<ClassName> testClassesFor(final MutationDetails mutation) {
+    final Set<ClassName> testClasses = new HashSet<>();
+    FCollection.mapTo(mutation.getTestsInOrder(),
+        TestInfo.toDefiningClassName(), testClasses);
+    return testClasses;
+  }
+
   private static Function<MutationDetails, ClassName> byClass() {
     return a -> a.getClassName();
   }
 
+  private static class TestGroup {
+    final Set<ClassName>        testClasses = new HashSet<>();
+    final List<MutationDetails> mutations   = new ArrayList<>();
+
+    void add(final Set<ClassName> tests, final List<MutationDetails> ms) {
+      this.testClasses.addAll(tests);
+      this.mutations.addAll(ms);
+    }
+  }
+
 }
@@ -3,9 +3,12 @@ package org.pitest.mutationtest.build;
 import java.util.Properties;
 
 import org.pitest.classpath.CodeSource;
+import org.pitest.mutationtest.config.FreeFormProperties;
 
 public class DefaultMutationGrouperFactory implements MutationGrouperFactory {
 
+  private static final String GROUP_BY_TEST_CLASSES = "groupByTestClasses";
+
   @Override
   public String description() {
     return "Default mutation grouping";
@@ -14,7 +17,8 @@ public class DefaultMutationGrouperFactory implements MutationGrouperFactory {
   @Override
   public MutationGrouper makeFactory(final Properties props,
       final CodeSource codeSource, final int numberOfThreads, final int unitSize) {
-    return new DefaultGrouper(unitSize);
+    return new DefaultGrouper(unitSize, new FreeFormProperties(props)
+        .getBoolean(GROUP_BY_TEST_CLASSES, false));
   }
 
 }
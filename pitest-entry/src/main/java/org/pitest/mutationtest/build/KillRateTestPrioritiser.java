@@ -0,0 +1,128 @@
+package org.pitest.mutationtest.build;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+/**
+ * Reorders the tests chosen by another prioritiser so that those expected to
+ * kill the most mutants per millisecond run first.
+ *
+ * The chance of a test killing a mutant is learnt from the results of earlier
+ * runs. Kills of mutants in the same method are the strongest evidence,
+ * followed by kills of mutants created by the same mutator, followed by the
+ * test's kills overall. Each estimate is smoothed towards the less specific one
+ * below it, so a test with little history in a method is ranked mostly on its
+ * record elsewhere.
+ *
+ * Tests with equal scores keep the order of the wrapped prioritiser, which is
+ * used unchanged when there is no history.
+ */
+public class KillRateTestPrioritiser implements TestPrioritiser {
+
+  // weight, in mutants, given to the less specific estimate
+  private static final double                       PRIOR_WEIGHT      = 2;
+  private static final double                       PRIOR_PROBABILITY = 0.5;
+
+  private final TestPrioritiser                     delegate;
+
+  private final Map<Location, Integer>              mutantsInMethod   = new HashMap<>();
+  private final Map<String, Integer>                mutantsByMutator  = new HashMap<>();
+  private int                                       mutants;
+
+  private final Map<String, Map<Location, Integer>> killsInMethod     = new HashMap<>();
+  private final Map<String, Map<String, Integer>>   killsByMutator    = new HashMap<>();
+  private final Map<String, Integer>                kills             = new HashMap<>();
+
+  public KillRateTestPrioritiser(final TestPrioritiser delegate,
+      final Map<MutationIdentifier, MutationStatusTestPair> previousResults) {
+    this.delegate = delegate;
+    previousResults.forEach(this::learn);
+  }
+
+  @Override
+  public List<TestInfo> assignTests(final MutationDetails mutation) {
+    final List<TestInfo> tests = this.delegate.assignTests(mutation);
+    if (this.mutants == 0) {
+      return tests;
+    }
+
+    final List<ScoredTest> scored = new ArrayList<>(tests.size());
+    for (final TestInfo each : tests) {
+      scored.add(new ScoredTest(each, killProbability(each.getName(),
+          mutation.getId()) / Math.max(1, each.getTime())));
+    }
+    // stable, so ties keep the delegate's order
+    scored.sort(Comparator.comparingDouble((ScoredTest s) -> s.score)
+        .reversed());
+
+    final List<TestInfo> ordered = new ArrayList<>(scored.size());
+    for (final ScoredTest each : scored) {
+      ordered.add(each.test);
+    }
+    return ordered;
+  }
+
+  double killProbability(final String test, final MutationIdentifier id) {
+    final double overall = smooth(count(this.kills, test), this.mutants,
+        PRIOR_PROBABILITY);
+    final double byMutator = smooth(
+        count(this.killsByMutator.get(test), id.getMutator()),
+        count(this.mutantsByMutator, id.getMutator()), overall);
+    return smooth(count(this.killsInMethod.get(test), id.getLocation()),
+        count(this.mutantsInMethod, id.getLocation()), byMutator);
+  }
+
+  private void learn(final MutationIdentifier id,
+      final MutationStatusTestPair result) {
+    // only these outcomes tell us which of the tests run could kill the mutant
+    if ((result.getStatus() != DetectionStatus.KILLED)
+        && (result.getStatus() != DetectionStatus.SURVIVED)) {
+      return;
+    }
+
+    this.mutants++;
+    this.mutantsInMethod.merge(id.getLocation(), 1, Integer::sum);
+    this.mutantsByMutator.merge(id.getMutator(), 1, Integer::sum);
+
+    for (final String each : result.getKillingTests()) {
+      this.kills.merge(each, 1, Integer::sum);
+      this.killsInMethod.computeIfAbsent(each, k -> new HashMap<>())
+          .merge(id.getLocation(), 1, Integer::sum);
+      this.killsByMutator.computeIfAbsent(each, k -> new HashMap<>())
+          .merge(id.getMutator(), 1, Integer::sum);
+    }
+  }
+
+  private static double smooth(final int kills, final int mutants,
+      final double prior) {
+    return (kills + (PRIOR_WEIGHT * prior)) / (mutants + PRIOR_WEIGHT);
+  }
+
+  private static <K> int count(final Map<K, Integer> counts, final K key) {
+    if (counts == null) {
+      return 0;
+    }
+    return counts.getOrDefault(key, 0);
+  }
+
+  private static class ScoredTest {
+    final TestInfo test;
+    final double   score;
+
+    ScoredTest(final TestInfo test, final double score) {
+      this.test = test;
+      this.score = score;
+    }
+  }
+
+}
@@ -0,0 +1,34 @@
+package org.pitest.mutationtest.build;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+
+import org.pitest.classpath.CodeSource;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+public class KillRateTestPrioritiserFactory implements TestPrioritiserFactory {
+
+  @Override
+  public String description() {
+    return "Kill rate test prioritiser";
+  }
+
+  @Override
+  public TestPrioritiser makeTestPrioritiser(final Properties props,
+      final CodeSource code, final CoverageDatabase coverage) {
+    return makeTestPrioritiser(props, code, coverage,
+        Collections.<MutationIdentifier, MutationStatusTestPair> emptyMap());
+  }
+
+  @Override
+  public TestPrioritiser makeTestPrioritiser(final Properties props,
+      final CodeSource code, final CoverageDatabase coverage,
+      final Map<MutationIdentifier, MutationStatusTestPair> previousResults) {
+    return new KillRateTestPrioritiser(new DefaultTestPrioritiser(coverage),
+        previousResults);
+  }
+
+}
@@ -0,0 +1,172 @@
+package org.pitest.mutationtest.build;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.util.Log;
+import org.pitest.util.Unchecked;
+
+/**
+ * Hands units from a producer running on a background thread to a consumer,
+ * through a bounded queue. The producer blocks while the queue is full, so
+ * units are created no faster than they are run and only a few are held at
+ * once.
+ *
+ * The iterator blocks until the producer supplies a unit or finishes. Errors
+ * raised by the producer are rethrown by the iterator as soon as they occur.
+ * Once the pipeline is closed the producer is stopped the next time it
+ * supplies a unit, and any error it raised that the iterator has not rethrown
+ * is logged.
+ */
+public final class MutationAnalysisUnitPipeline implements
+    Iterator<MutationAnalysisUnit>, AutoCloseable {
+
+  private static final Logger                       LOG          = Log
+      .getLogger();
+
+  // how often a producer blocked on a full queue checks for closure
+  private static final long                         POLL_MILLIS  = 100;
+
+  private static final MutationAnalysisUnit         END          = new KnownStatusMutationTestUnit(
+      Collections.emptyList());
+
+  private final BlockingQueue<MutationAnalysisUnit> queue;
+  private final AtomicBoolean                       errorSeen    = new AtomicBoolean();
+
+  private volatile Throwable                        error;
+  private volatile boolean                          closed;
+  private MutationAnalysisUnit                      next;
+
+  private MutationAnalysisUnitPipeline(final int capacity) {
+    this.queue = new ArrayBlockingQueue<>(capacity);
+  }
+
+  /**
+   * Starts a thread running the producer
+   *
+   * @param capacity
+   *          maximum number of units waiting to be consumed
+   * @param producer
+   *          passes each unit it creates to the supplied consumer
+   * @return iterator over the units as they are produced
+   */
+  public static MutationAnalysisUnitPipeline start(final int capacity,
+      final Consumer<Consumer<MutationAnalysisUnit>> producer) {
+    final MutationAnalysisUnitPipeline pipeline = new MutationAnalysisUnitPipeline(
+        capacity);
+    final Thread t = new Thread(() -> pipeline.produce(producer),
+        "pit-mutation-unit-producer");
+    t.setDaemon(true);
+    t.start();
+    return pipeline;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (this.error != null) {
+      throw producerFailed();
+    }
+    if (this.next == null) {
+      this.next = take();
+    }
+    if (this.next == END) {
+      if (this.error != null) {
+        throw producerFailed();
+      }
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public MutationAnalysisUnit next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    final MutationAnalysisUnit unit = this.next;
+    this.next = null;
+    return unit;
+  }
+
+  /**
+   * Stops the producer, discarding any units it has queued
+   */
+  @Override
+  public void close() {
+    this.closed = true;
+    this.queue.clear();
+    logUnseenError();
+  }
+
+  private void produce(final Consumer<Consumer<MutationAnalysisUnit>> producer) {
+    try {
+      producer.accept(this::put);
+      put(END);
+    } catch (final CancellationException e) {
+      // the consumer has closed the pipeline
+    } catch (final Throwable t) {
+      this.error = t;
+      if (this.closed) {
+        logUnseenError();
+      } else {
+        // wakes a consumer waiting on an empty queue
+        this.queue.offer(END);
+      }
+    }
+  }
+
+  private void put(final MutationAnalysisUnit unit) {
+    try {
+      while (!this.closed) {
+        if (this.queue.offer(unit, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+          return;
+        }
+      }
+      throw new CancellationException("Mutation test units no longer required");
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  private RuntimeException producerFailed() {
+    this.errorSeen.set(true);
+    return rethrow(this.error);
+  }
+
+  private void logUnseenError() {
+    final Throwable t = this.error;
+    if ((t != null) && this.errorSeen.compareAndSet(false, true)) {
+      LOG.log(Level.WARNING, "Error while creating mutation test units", t);
+    }
+  }
+
+  private MutationAnalysisUnit take() {
+    try {
+      return this.queue.take();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  private static RuntimeException rethrow(final Throwable t) {
+    if (t instanceof Error) {
+      throw (Error) t;
+    }
+    if (t instanceof RuntimeException) {
+      return (RuntimeException) t;
+    }
+    return Unchecked.translateCheckedException(t);
+  }
+
+}
@@ -19,10 +19,15 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.IntSummaryStatistics;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.pitest.classinfo.ClassName;
@@ -33,30 +38,127 @@ import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationAnalyser;
 import org.pitest.mutationtest.MutationResult;
 import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.util.Unchecked;
 
 public class MutationTestBuilder {
 
-  private final MutationSource   mutationSource;
-  private final MutationAnalyser analyser;
-  private final WorkerFactory    workerFactory;
-  private final MutationGrouper  grouper;
+  private final Supplier<MutationSource> mutationSources;
+  private final MutationAnalyser         analyser;
+  private final WorkerFactory            workerFactory;
+  private final MutationGrouper          grouper;
+  private final boolean                  splittableUnits;
+  private final int                      discoveryThreads;
+
+  private final IntSummaryStatistics     testClassesPerUnit = new IntSummaryStatistics();
 
   public MutationTestBuilder(final WorkerFactory workerFactory,
       final MutationAnalyser analyser, final MutationSource mutationSource,
       final MutationGrouper grouper) {
+    this(workerFactory, analyser, mutationSource, grouper, false);
+  }
+
+  /**
+   * @param workerFactory
+   *          creates the minions that analyse each unit
+   * @param analyser
+   *          supplies results from history where it can
+   * @param mutationSource
+   *          finds the mutations in each class
+   * @param grouper
+   *          groups mutations into units
+   * @param splittableUnits
+   *          create units that can hand unstarted mutations to idle threads
+   */
+  public MutationTestBuilder(final WorkerFactory workerFactory,
+      final MutationAnalyser analyser, final MutationSource mutationSource,
+      final MutationGrouper grouper, final boolean splittableUnits) {
+    this(workerFactory, analyser, () -> mutationSource, grouper,
+        splittableUnits, 1);
+  }
+
+  /**
+   * @param workerFactory
+   *          creates the minions that analyse each unit
+   * @param analyser
+   *          supplies results from history where it can
+   * @param mutationSources
+   *          supplies a mutation source for each thread searching for
+   *          mutations, as sources need not be thread safe
+   * @param grouper
+   *          groups mutations into units
+   * @param splittableUnits
+   *          create units that can hand unstarted mutations to idle threads
+   * @param discoveryThreads
+   *          number of threads to search classes for mutations with
+   */
+  public MutationTestBuilder(final WorkerFactory workerFactory,
+      final MutationAnalyser analyser,
+      final Supplier<MutationSource> mutationSources,
+      final MutationGrouper grouper, final boolean splittableUnits,
+      final int discoveryThreads) {
 
-    this.mutationSource = mutationSource;
+    this.mutationSources = mutationSources;
     this.analyser = analyser;
     this.workerFactory = workerFactory;
     this.grouper = grouper;
+    this.splittableUnits = splittableUnits;
+    this.discoveryThreads = discoveryThreads;
   }
 
   public List<MutationAnalysisUnit> createMutationTestUnits(
       final Collection<ClassName> codeClasses) {
     final List<MutationAnalysisUnit> tus = new ArrayList<>();
+    createMutationTestUnits(codeClasses, Math.max(1, codeClasses.size()),
+        tus::add);
+    return tus;
+  }
+
+  /**
+   * Creates units for a batch of classes at a time, passing each to the
+   * consumer as soon as its batch is complete. Analysis of the first units can
+   * then begin before all classes have been searched, and the mutations for
+   * only one batch are held at once.
+   *
+   * @param codeClasses
+   *          classes to search for mutations
+   * @param classesPerBatch
+   *          number of classes to search before passing on their units
+   * @param units
+   *          receives the units, ordered by priority within each batch
+   */
+  public void createMutationTestUnits(final Collection<ClassName> codeClasses,
+      final int classesPerBatch, final Consumer<MutationAnalysisUnit> units) {
+    // each thread searching for mutations gets its own source
+    final ThreadLocal<MutationSource> sources = ThreadLocal
+        .withInitial(this.mutationSources);
+    final ForkJoinPool pool = this.discoveryThreads > 1 ? new ForkJoinPool(
+        this.discoveryThreads) : null;
+    try {
+      for (final List<ClassName> batch : FCollection.splitToLength(
+          classesPerBatch, codeClasses)) {
+        createUnits(batch, findMutations(pool, sources, batch), units);
+      }
+    } finally {
+      if (pool != null) {
+        pool.shutdown();
+      }
+    }
+  }
+
+  /**
+   * @return the number of test classes that the minions of each unit created
+   *         so far must find and load
+   */
+  public IntSummaryStatistics getTestClassesPerUnit() {
+    final IntSummaryStatistics copy = new IntSummaryStatistics();
+    copy.combine(this.testClassesPerUnit);
+    return copy;
+  }
 
-    final List<MutationDetails> mutations = FCollection.flatMap(codeClasses,
-        classToMutations());
+  private void createUnits(final Collection<ClassName> codeClasses,
+      final List<MutationDetails> mutations,
+      final Consumer<MutationAnalysisUnit> units) {
+    final List<MutationAnalysisUnit> tus = new ArrayList<>();
 
     Collections.sort(mutations, comparator());
 
@@ -83,15 +185,47 @@ public class MutationTestBuilder {
     }
 
     Collections.sort(tus, new AnalysisPriorityComparator());
-    return tus;
+    tus.forEach(units);
   }
 
   private Comparator<MutationDetails> comparator() {
     return (arg0, arg1) -> arg0.getId().compareTo(arg1.getId());
   }
 
-  private Function<ClassName, Iterable<MutationDetails>> classToMutations() {
-    return a -> MutationTestBuilder.this.mutationSource.createMutations(a);
+  private static List<MutationDetails> findMutations(final ForkJoinPool pool,
+      final ThreadLocal<MutationSource> sources,
+      final List<ClassName> classes) {
+    if (pool == null) {
+      return FCollection.flatMap(classes, classToMutations(sources.get()));
+    }
+
+    // The stream keeps the order of the classes so results are the same as
+    // for a serial search
+    try {
+      return pool.submit(() -> classes.parallelStream()
+          .flatMap(c -> sources.get().createMutations(c).stream())
+          .collect(Collectors.toList())).get();
+    } catch (final ExecutionException ex) {
+      throw unwrap(ex.getCause());
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw Unchecked.translateCheckedException(ex);
+    }
+  }
+
+  private static RuntimeException unwrap(final Throwable t) {
+    if (t instanceof Error) {
+      throw (Error) t;
+    }
+    if (t instanceof RuntimeException) {
+      return (RuntimeException) t;
+    }
+    return Unchecked.translateCheckedException(t);
+  }
+
+  private static Function<ClassName, Iterable<MutationDetails>> classToMutations(
+      final MutationSource source) {
+    return a -> source.createMutations(a);
   }
 
   private MutationAnalysisUnit makePreAnalysedUnit(
@@ -105,8 +239,9 @@ public class MutationTestBuilder {
     FCollection.flatMapTo(needAnalysis, mutationDetailsToTestClass(),
         uniqueTestClasses);
 
+    this.testClassesPerUnit.accept(uniqueTestClasses.size());
     return new MutationTestUnit(needAnalysis, uniqueTestClasses,
-        this.workerFactory);
+        this.workerFactory, this.splittableUnits);
   }
 
   private static Function<MutationResult, MutationDetails> resultToDetails() {
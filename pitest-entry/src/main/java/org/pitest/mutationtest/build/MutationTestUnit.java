@@ -15,44 +15,82 @@
 package org.pitest.mutationtest.build;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationMetaData;
 import org.pitest.mutationtest.MutationStatusMap;
 import org.pitest.mutationtest.engine.MutationDetails;
-import org.pitest.mutationtest.execute.MutationTestProcess;
+import org.pitest.mutationtest.execute.MinionProcess;
 import org.pitest.util.ExitCode;
 import org.pitest.util.Log;
 
-public class MutationTestUnit implements MutationAnalysisUnit {
+public class MutationTestUnit implements SplittableMutationAnalysisUnit {
 
   private static final Logger               LOG = Log.getLogger();
 
+  // rough allowance for the work done for each mutation beyond running tests
+  private static final long                 MUTATION_OVERHEAD_MS = 10;
+
   private final Collection<MutationDetails> availableMutations;
   private final WorkerFactory               workerFactory;
 
   private final Collection<ClassName>       testClasses;
 
+  private final boolean                     splittable;
+
+  // mutations not yet handed to a minion, guarded by this
+  private List<MutationDetails>             pending;
+
   public MutationTestUnit(final Collection<MutationDetails> availableMutations,
       final Collection<ClassName> testClasses, final WorkerFactory workerFactor) {
+    this(availableMutations, testClasses, workerFactor, false);
+  }
+
+  /**
+   * @param availableMutations
+   *          mutations to analyse
+   * @param testClasses
+   *          test classes to run against them
+   * @param workerFactor
+   *          creates the minions that analyse the mutations
+   * @param splittable
+   *          hand minions the mutations in successively halving batches so
+   *          that the mutations not yet started can be split off to another
+   *          unit. A unit of n mutations then asks the worker factory for up
+   *          to log2(n) + 1 minions, so should be used with a factory that
+   *          reuses them.
+   */
+  public MutationTestUnit(final Collection<MutationDetails> availableMutations,
+      final Collection<ClassName> testClasses, final WorkerFactory workerFactor,
+      final boolean splittable) {
     this.availableMutations = availableMutations;
     this.testClasses = testClasses;
     this.workerFactory = workerFactor;
+    this.splittable = splittable;
   }
 
   @Override
   public MutationMetaData call() throws Exception {
     final MutationStatusMap mutations = new MutationStatusMap();
 
-    mutations.setStatusForMutations(this.availableMutations,
-        DetectionStatus.NOT_STARTED);
+    Collection<MutationDetails> batch = nextBatch();
+    while (!batch.isEmpty()) {
+      mutations.setStatusForMutations(batch, DetectionStatus.NOT_STARTED);
 
-    mutations.markUncoveredMutations();
+      mutations.markUncoveredMutations();
 
-    runTestsInSeperateProcess(mutations);
+      runTestsInSeperateProcess(mutations);
+      batch = nextBatch();
+    }
 
     return reportResults(mutations);
   }
@@ -62,6 +100,82 @@ public class MutationTestUnit implements MutationAnalysisUnit {
     return this.availableMutations.size();
   }
 
+  @Override
+  public synchronized long remainingCost() {
+    return costOf(pending());
+  }
+
+  @Override
+  public synchronized Optional<MutationAnalysisUnit> split() {
+    if (!this.splittable || pending().isEmpty()) {
+      return Optional.empty();
+    }
+
+    final long half = costOf(this.pending) / 2;
+    long taken = 0;
+    int from = this.pending.size();
+    while ((from > 0) && ((taken == 0) || (taken < half))) {
+      from--;
+      taken += estimateCost(this.pending.get(from));
+    }
+
+    final List<MutationDetails> tail = this.pending.subList(from,
+        this.pending.size());
+    final List<MutationDetails> splitOff = new ArrayList<>(tail);
+    tail.clear();
+
+    LOG.fine("Split " + splitOff.size() + " mutations from unit");
+    return Optional.of(new MutationTestUnit(splitOff,
+        testClassesFor(splitOff), this.workerFactory, true));
+  }
+
+  /**
+   * Estimated cost, in milliseconds, of analysing a mutation if every test
+   * covering it must be run.
+   */
+  static long estimateCost(final MutationDetails mutation) {
+    long cost = MUTATION_OVERHEAD_MS;
+    for (final TestInfo each : mutation.getTestsInOrder()) {
+      cost += each.getTime();
+    }
+    return cost;
+  }
+
+  private static long costOf(final Collection<MutationDetails> mutations) {
+    long cost = 0;
+    for (final MutationDetails each : mutations) {
+      cost += estimateCost(each);
+    }
+    return cost;
+  }
+
+  private synchronized Collection<MutationDetails> nextBatch() {
+    final int size = this.splittable ? (pending().size() + 1) / 2
+        : pending().size();
+    final List<MutationDetails> head = this.pending.subList(0, size);
+    final List<MutationDetails> batch = new ArrayList<>(head);
+    head.clear();
+    return batch;
+  }
+
+  private List<MutationDetails> pending() {
+    if (this.pending == null) {
+      this.pending = new ArrayList<>(this.availableMutations);
+    }
+    return this.pending;
+  }
+
+  private static Set<ClassName> testClassesFor(
+      final Collection<MutationDetails> mutations) {
+    final Set<ClassName> classes = new HashSet<>();
+    for (final MutationDetails each : mutations) {
+      for (final TestInfo test : each.getTestsInOrder()) {
+        classes.add(TestInfo.toDefiningClassName().apply(test));
+      }
+    }
+    return classes;
+  }
+
   private void runTestsInSeperateProcess(final MutationStatusMap mutations)
       throws IOException, InterruptedException {
     while (mutations.hasUnrunMutations()) {
@@ -75,7 +189,7 @@ public class MutationTestUnit implements MutationAnalysisUnit {
 
     final Collection<MutationDetails> remainingMutations = mutations
         .getUnrunMutations();
-    final MutationTestProcess worker = this.workerFactory.createWorker(
+    final MinionProcess worker = this.workerFactory.createWorker(
         remainingMutations, this.testClasses);
     worker.start();
 
@@ -88,7 +202,7 @@ public class MutationTestUnit implements MutationAnalysisUnit {
     correctResultForProcessExitCode(mutations, exitCode);
   }
 
-  private static ExitCode waitForMinionToDie(final MutationTestProcess worker) {
+  private static ExitCode waitForMinionToDie(final MinionProcess worker) {
     final ExitCode exitCode = worker.waitToDie();
     LOG.fine("Exit code was - " + exitCode);
     return exitCode;
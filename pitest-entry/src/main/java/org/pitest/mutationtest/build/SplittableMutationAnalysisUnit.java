@@ -0,0 +1,25 @@
+package org.pitest.mutationtest.build;
+
+import java.util.Optional;
+
+/**
+ * A unit of mutation analysis that can give up part of its work while it is
+ * running, so that idle threads can share it.
+ */
+public interface SplittableMutationAnalysisUnit extends MutationAnalysisUnit {
+
+  /**
+   * @return estimated cost, in milliseconds, of the work this unit has not yet
+   *         started
+   */
+  long remainingCost();
+
+  /**
+   * Removes roughly half (by estimated cost) of the work this unit has not yet
+   * started and returns it as a new unit.
+   *
+   * @return the new unit, or empty if there is no work left to give up
+   */
+  Optional<MutationAnalysisUnit> split();
+
+}
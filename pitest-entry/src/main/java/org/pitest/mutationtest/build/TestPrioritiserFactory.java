@@ -1,9 +1,12 @@
 package org.pitest.mutationtest.build;
 
+import java.util.Map;
 import java.util.Properties;
 
 import org.pitest.classpath.CodeSource;
 import org.pitest.coverage.CoverageDatabase;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.plugin.ToolClasspathPlugin;
 
 public interface TestPrioritiserFactory extends ToolClasspathPlugin {
@@ -11,4 +14,24 @@ public interface TestPrioritiserFactory extends ToolClasspathPlugin {
   TestPrioritiser makeTestPrioritiser(Properties props, CodeSource code,
       CoverageDatabase coverage);
 
+  /**
+   * Creates a prioritiser that may also make use of the results recorded in
+   * the history store by earlier runs. By default the history is ignored.
+   *
+   * @param props
+   *          free form properties
+   * @param code
+   *          code under test
+   * @param coverage
+   *          coverage of the code by the tests
+   * @param previousResults
+   *          results of earlier runs, empty if there are none
+   * @return a test prioritiser
+   */
+  default TestPrioritiser makeTestPrioritiser(Properties props,
+      CodeSource code, CoverageDatabase coverage,
+      Map<MutationIdentifier, MutationStatusTestPair> previousResults) {
+    return makeTestPrioritiser(props, code, coverage);
+  }
+
 }
@@ -14,7 +14,11 @@ import org.pitest.mutationtest.TimeoutLengthStrategy;
 import org.pitest.mutationtest.config.TestPluginArguments;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.execute.MinionArguments;
+import org.pitest.mutationtest.execute.MinionPool;
+import org.pitest.mutationtest.execute.MinionProcess;
 import org.pitest.mutationtest.execute.MutationTestProcess;
+import org.pitest.mutationtest.execute.PooledMutationTestProcess;
+import org.pitest.mutationtest.execute.ReusableMinion;
 import org.pitest.process.ProcessArgs;
 import org.pitest.util.Log;
 import org.pitest.util.SocketFinder;
@@ -29,7 +33,36 @@ public class WorkerFactory {
   private final boolean               fullMutationMatrix;
   private final MutationConfig        config;
   private final EngineArguments       args;
+  private final MinionPool            pool;
+  private final boolean               isolateMutants;
 
+  /**
+   * @param baseDir
+   *          working directory of the minions
+   * @param pitConfig
+   *          configuration of the test plugin
+   * @param mutationConfig
+   *          mutation engine and the arguments for launching minions
+   * @param args
+   *          arguments for the mutation engine
+   * @param timeoutStrategy
+   *          how long to let tests run before declaring a timeout
+   * @param verbose
+   *          if true minions log their progress
+   * @param fullMutationMatrix
+   *          if true every covering test is run against each mutant
+   * @param classPath
+   *          classpath of the minions
+   * @param reuseMinions
+   *          if true minions will be pooled and used to analyse more than one
+   *          range of mutations
+   * @param maxMutationsPerMinion
+   *          number of mutations after which a pooled minion is replaced. 0
+   *          for no limit
+   * @param isolateMutants
+   *          if true minions load each mutant in its own class loader rather
+   *          than redefining the mutated class
+   */
   public WorkerFactory(final File baseDir,
       final TestPluginArguments pitConfig,
       final MutationConfig mutationConfig,
@@ -37,7 +70,10 @@ public class WorkerFactory {
       final TimeoutLengthStrategy timeoutStrategy,
       final boolean verbose,
       final boolean fullMutationMatrix,
-      final String classPath) {
+      final String classPath,
+      final boolean reuseMinions,
+      final int maxMutationsPerMinion,
+      final boolean isolateMutants) {
     this.pitConfig = pitConfig;
     this.timeoutStrategy = timeoutStrategy;
     this.verbose = verbose;
@@ -46,26 +82,52 @@ public class WorkerFactory {
     this.baseDir = baseDir;
     this.config = mutationConfig;
     this.args = args;
+    this.pool = reuseMinions ? new MinionPool(this::launchMinion,
+        maxMutationsPerMinion) : null;
+    this.isolateMutants = isolateMutants;
   }
 
-  public MutationTestProcess createWorker(
+  public MinionProcess createWorker(
       final Collection<MutationDetails> remainingMutations,
       final Collection<ClassName> testClasses) {
     final MinionArguments fileArgs = new MinionArguments(remainingMutations,
         testClasses, this.config.getEngine().getName(), this.args, this.timeoutStrategy,
-        Log.isVerbose(), this.fullMutationMatrix, this.pitConfig);
+        Log.isVerbose(), this.fullMutationMatrix, this.pitConfig, this.pool != null,
+        this.isolateMutants);
 
-    final ProcessArgs args = ProcessArgs.withClassPath(this.classPath)
-        .andLaunchOptions(this.config.getLaunchOptions())
-        .andBaseDir(this.baseDir).andStdout(captureStdOutIfVerbose())
-        .andStderr(printWith("stderr "));
+    if (this.pool != null) {
+      return new PooledMutationTestProcess(this.pool, fileArgs,
+          remainingMutations.size());
+    }
 
     final SocketFinder sf = new SocketFinder();
     final MutationTestProcess worker = new MutationTestProcess(
-        sf.getNextAvailableServerSocket(), args, fileArgs);
+        sf.getNextAvailableServerSocket(), createProcessArgs(), fileArgs);
     return worker;
   }
 
+  /**
+   * Shuts down any minions kept alive for reuse
+   */
+  public void close() {
+    if (this.pool != null) {
+      this.pool.shutdown();
+    }
+  }
+
+  private ReusableMinion launchMinion() {
+    final SocketFinder sf = new SocketFinder();
+    return new ReusableMinion(sf.getNextAvailableServerSocket(),
+        createProcessArgs());
+  }
+
+  private ProcessArgs createProcessArgs() {
+    return ProcessArgs.withClassPath(this.classPath)
+        .andLaunchOptions(this.config.getLaunchOptions())
+        .andBaseDir(this.baseDir).andStdout(captureStdOutIfVerbose())
+        .andStderr(printWith("stderr "));
+  }
+
   private SideEffect1<String> captureStdOutIfVerbose() {
     if (this.verbose) {
       return Prelude.printWith("stdout ");
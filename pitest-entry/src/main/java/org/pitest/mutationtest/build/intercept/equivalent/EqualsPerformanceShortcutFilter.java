@@ -6,8 +6,10 @@ import static org.pitest.bytecode.analysis.InstructionMatchers.notAnInstruction;
 import static org.pitest.bytecode.analysis.InstructionMatchers.opCode;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -22,6 +24,7 @@ import org.pitest.mutationtest.build.InterceptorType;
 import org.pitest.mutationtest.build.MutationInterceptor;
 import org.pitest.mutationtest.engine.Location;
 import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.Mutant;
 import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.sequence.QueryParams;
@@ -78,21 +81,29 @@ public class EqualsPerformanceShortcutFilter implements MutationInterceptor {
         .filter(MethodMatchers.forLocation(equalsMethod))
         .findFirst();
 
+    final MethodTree equals = maybeEquals.get();
+    final List<MutationDetails> jumps = FCollection.filter(inEquals,
+        a -> mutatesAConditionalJump(equals, a.getInstructionIndex()));
+    if (jumps.isEmpty()) {
+      return inEquals;
+    }
+
+    final List<Mutant> mutants = m.getMutations(FCollection.map(jumps,
+        MutationDetails::getId));
+    final Set<MutationDetails> shortcuts = new HashSet<>();
+    for (int i = 0; i != jumps.size(); i++) {
+      if (shortCutEquals(equals, mutants.get(i))) {
+        shortcuts.add(jumps.get(i));
+      }
+    }
+
     return inEquals.stream()
-        .filter(isShortcutEquals(maybeEquals.get(), m).negate())
+        .filter(a -> !shortcuts.contains(a))
         .collect(Collectors.toList());
   }
 
-  private Predicate<MutationDetails> isShortcutEquals(final MethodTree tree, final Mutater m) {
-    return a -> shortCutEquals(tree,a, m);
-  }
-
-  private Boolean shortCutEquals(MethodTree tree, MutationDetails a, Mutater m) {
-    if (!mutatesAConditionalJump(tree, a.getInstructionIndex())) {
-      return false;
-    }
-
-    final ClassTree mutant = ClassTree.fromBytes(m.getMutation(a.getId()).getBytes());
+  private boolean shortCutEquals(MethodTree tree, Mutant m) {
+    final ClassTree mutant = ClassTree.fromBytes(m.getBytes());
     final MethodTree mutantEquals = mutant.methods().stream()
         .filter(MethodMatchers.forLocation(tree.asLocation()))
         .findFirst()
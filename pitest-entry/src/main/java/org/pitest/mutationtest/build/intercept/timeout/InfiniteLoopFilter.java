@@ -18,6 +18,7 @@ import org.pitest.functional.FCollection;
 import org.pitest.mutationtest.build.InterceptorType;
 import org.pitest.mutationtest.build.MutationInterceptor;
 import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.Mutant;
 import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.sequence.SequenceMatcher;
@@ -65,20 +66,28 @@ public abstract class InfiniteLoopFilter implements MutationInterceptor {
       return Collections.emptyList();
     }
 
+    // avoid cost of static analysis by first checking mutant is on
+    // on instruction that could affect looping
+    final List<MutationDetails> candidates = FCollection.filter(mutations,
+        each -> couldCauseInfiniteLoop(method, each));
+    if (candidates.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    final List<Mutant> mutants = m.getMutations(FCollection.map(candidates,
+        MutationDetails::getId));
     final List<MutationDetails> timeouts = new ArrayList<>();
-    for ( final MutationDetails each : mutations ) {
-      // avoid cost of static analysis by first checking mutant is on
-      // on instruction that could affect looping
-      if (couldCauseInfiniteLoop(method, each) && isInfiniteLoop(each,m) ) {
-        timeouts.add(each);
+    for (int i = 0; i != candidates.size(); i++) {
+      if (isInfiniteLoop(candidates.get(i), mutants.get(i))) {
+        timeouts.add(candidates.get(i));
       }
     }
     return timeouts;
 
   }
 
-  private boolean isInfiniteLoop(MutationDetails each, Mutater m) {
-    final ClassTree mutantClass = ClassTree.fromBytes(m.getMutation(each.getId()).getBytes());
+  private boolean isInfiniteLoop(MutationDetails each, Mutant mutant) {
+    final ClassTree mutantClass = ClassTree.fromBytes(mutant.getBytes());
     final Optional<MethodTree> mutantMethod = mutantClass.methods().stream()
         .filter(forLocation(each.getId().getLocation()))
         .findFirst();
@@ -0,0 +1,48 @@
+package org.pitest.mutationtest.config;
+
+import java.util.Properties;
+
+import org.pitest.help.Help;
+import org.pitest.help.PitHelpError;
+
+/**
+ * Typed, read only view of the free form plugin configuration supplied by the
+ * user.
+ */
+public class FreeFormProperties {
+
+  private final Properties properties;
+
+  public FreeFormProperties(final Properties properties) {
+    this.properties = properties != null ? properties : new Properties();
+  }
+
+  public String getString(final String key, final String defaultValue) {
+    return this.properties.getProperty(key, defaultValue);
+  }
+
+  public boolean getBoolean(final String key, final boolean defaultValue) {
+    final String value = this.properties.getProperty(key);
+    if (value == null) {
+      return defaultValue;
+    }
+    return Boolean.parseBoolean(value.trim());
+  }
+
+  public int getInt(final String key, final int defaultValue) {
+    return (int) getLong(key, defaultValue);
+  }
+
+  public long getLong(final String key, final long defaultValue) {
+    final String value = this.properties.getProperty(key);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Long.parseLong(value.trim());
+    } catch (final NumberFormatException ex) {
+      throw new PitHelpError(Help.BAD_PLUGIN_PROPERTY, value, key);
+    }
+  }
+
+}
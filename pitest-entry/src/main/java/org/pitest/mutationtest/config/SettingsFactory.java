@@ -1,9 +1,11 @@
 package org.pitest.mutationtest.config;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -14,14 +16,21 @@ import org.pitest.coverage.export.DefaultCoverageExporter;
 import org.pitest.coverage.export.NullCoverageExporter;
 import org.pitest.functional.FCollection;
 import org.pitest.functional.SideEffect1;
+import org.pitest.mutationtest.HistoryStore;
 import org.pitest.mutationtest.MutationEngineFactory;
 import org.pitest.mutationtest.MutationResultListenerFactory;
 import org.pitest.mutationtest.build.CompoundInterceptorFactory;
 import org.pitest.mutationtest.build.DefaultMutationGrouperFactory;
 import org.pitest.mutationtest.build.DefaultTestPrioritiserFactory;
+import org.pitest.mutationtest.build.KillRateTestPrioritiserFactory;
 import org.pitest.mutationtest.build.MutationGrouperFactory;
 import org.pitest.mutationtest.build.MutationInterceptorFactory;
 import org.pitest.mutationtest.build.TestPrioritiserFactory;
+import org.pitest.mutationtest.incremental.BinaryHistoryStore;
+import org.pitest.mutationtest.incremental.CacheBackend;
+import org.pitest.mutationtest.incremental.DirectoryCacheBackend;
+import org.pitest.mutationtest.incremental.HttpCacheBackend;
+import org.pitest.mutationtest.incremental.ObjectOutputStreamHistoryStore;
 import org.pitest.plugin.Feature;
 import org.pitest.plugin.FeatureParser;
 import org.pitest.plugin.FeatureSelector;
@@ -36,6 +45,36 @@ import org.pitest.util.StringUtil;
 
 public class SettingsFactory {
 
+  /**
+   * Plugin property selecting the original one long per block coverage
+   * protocol.
+   */
+  public static final String LEGACY_COVERAGE_PROTOCOL = "legacyCoverageProtocol";
+
+  /**
+   * Plugin property setting the number of minions the test classes are split
+   * between when calculating coverage.
+   */
+  public static final String COVERAGE_MINIONS = "coverageMinions";
+
+  /**
+   * Plugin property ordering tests by the kill rates learnt from the history
+   * of earlier runs.
+   */
+  public static final String KILL_RATE_TEST_PRIORITY = "killRateTestPriority";
+
+  /**
+   * Plugin property storing history in a binary file indexed by class, rather
+   * than as serialized java objects.
+   */
+  public static final String BINARY_HISTORY = "binaryHistory";
+
+  /**
+   * Plugin property giving the location of a result cache shared between
+   * runs, either a directory or the base url of an http server.
+   */
+  public static final String RESULT_CACHE = "resultCache";
+
   private final ReportOptions  options;
   private final PluginServices plugins;
 
@@ -110,16 +149,60 @@ public class SettingsFactory {
 
 
   public TestPrioritiserFactory getTestPrioritiser() {
+    if (new FreeFormProperties(this.options.getFreeFormProperties())
+        .getBoolean(KILL_RATE_TEST_PRIORITY, false)) {
+      return new KillRateTestPrioritiserFactory();
+    }
     final Collection<? extends TestPrioritiserFactory> testPickers = this.plugins
         .findTestPrioritisers();
     return firstOrDefault(testPickers, new DefaultTestPrioritiserFactory());
   }
 
+  public HistoryStore createHistoryStore() {
+    if (new FreeFormProperties(this.options.getFreeFormProperties())
+        .getBoolean(BINARY_HISTORY, false)) {
+      return new BinaryHistoryStore(
+          Optional.ofNullable(this.options.getHistoryInputLocation()),
+          Optional.ofNullable(this.options.getHistoryOutputLocation()));
+    }
+    return new ObjectOutputStreamHistoryStore(
+        this.options.createHistoryWriter(), this.options.createHistoryReader());
+  }
+
+  /**
+   * @param baseDir
+   *          directory against which a relative cache directory is resolved,
+   *          or null to resolve it against the working directory
+   * @return the configured result cache, if any
+   */
+  public Optional<CacheBackend> createResultCacheBackend(final File baseDir) {
+    final String location = new FreeFormProperties(
+        this.options.getFreeFormProperties()).getString(RESULT_CACHE, null);
+    if (location == null) {
+      return Optional.empty();
+    }
+    if (location.startsWith("http://") || location.startsWith("https://")) {
+      return Optional.of(new HttpCacheBackend(location));
+    }
+    final File dir = new File(location);
+    if (dir.isAbsolute() || (baseDir == null)) {
+      return Optional.of(new DirectoryCacheBackend(dir));
+    }
+    return Optional.of(new DirectoryCacheBackend(new File(baseDir, location)));
+  }
+
   public CoverageOptions createCoverageOptions() {
     return new CoverageOptions(
         this.options.getTargetClasses(), this.options.getExcludedClasses(),
         this.options.createMinionSettings(), this.options.isVerbose(),
-        this.options.getDependencyAnalysisMaxDistance());
+        this.options.getDependencyAnalysisMaxDistance(),
+        !new FreeFormProperties(this.options.getFreeFormProperties())
+            .getBoolean(LEGACY_COVERAGE_PROTOCOL, false));
+  }
+
+  public int getNumberOfCoverageMinions() {
+    return new FreeFormProperties(this.options.getFreeFormProperties())
+        .getInt(COVERAGE_MINIONS, 1);
   }
 
   public CompoundInterceptorFactory getInterceptor() {
@@ -0,0 +1,133 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import org.pitest.util.ExitCode;
+import org.pitest.util.Log;
+import org.pitest.util.Unchecked;
+
+/**
+ * Pool of long lived minions. Minions are launched on demand, so at most one
+ * minion will exist for each thread analysing mutations. A minion is only
+ * replaced when it exits abnormally (for example because of a timeout or
+ * memory exhaustion), or once it has analysed a configured number of
+ * mutations.
+ */
+public class MinionPool {
+
+  private static final Logger            LOG   = Log.getLogger();
+
+  private final Supplier<ReusableMinion> launcher;
+  private final int                      maxMutationsPerMinion;
+  private final Deque<ReusableMinion>    idle  = new ArrayDeque<>();
+
+  private int                            launched;
+  private int                            connected;
+  private int                            ranges;
+  private long                           totalLaunchTime;
+
+  /**
+   * @param launcher
+   *          creates new (unstarted) minions
+   * @param maxMutationsPerMinion
+   *          number of mutations after which a minion will be replaced. 0 or
+   *          less for no limit
+   */
+  public MinionPool(final Supplier<ReusableMinion> launcher,
+      final int maxMutationsPerMinion) {
+    this.launcher = launcher;
+    this.maxMutationsPerMinion = maxMutationsPerMinion;
+  }
+
+  public ReusableMinion acquire() {
+    synchronized (this) {
+      this.ranges++;
+      if (!this.idle.isEmpty()) {
+        return this.idle.pop();
+      }
+      this.launched++;
+    }
+    return launch();
+  }
+
+  public void release(final ReusableMinion minion, final ExitCode exitCode) {
+    if (!exitCode.isOk() || limitReached(minion)) {
+      retire(minion);
+    } else {
+      synchronized (this) {
+        this.idle.push(minion);
+      }
+    }
+  }
+
+  public void shutdown() {
+    synchronized (this) {
+      while (!this.idle.isEmpty()) {
+        retire(this.idle.pop());
+      }
+    }
+    LOG.info("Minion pool launched " + launchedMinions() + " minions for "
+        + rangesAnalysed() + " mutation ranges. Reuse rate "
+        + Math.round(reuseRate() * 100) + "%, average launch time "
+        + averageLaunchTime() + " ms");
+  }
+
+  public synchronized int launchedMinions() {
+    return this.launched;
+  }
+
+  public synchronized int rangesAnalysed() {
+    return this.ranges;
+  }
+
+  /**
+   * @return proportion of mutation ranges that were analysed without launching
+   *         a new minion
+   */
+  public synchronized double reuseRate() {
+    if (this.ranges == 0) {
+      return 0;
+    }
+    return (double) (this.ranges - this.launched) / this.ranges;
+  }
+
+  /**
+   * @return mean time taken for retired minions to launch and connect
+   */
+  public synchronized long averageLaunchTime() {
+    if (this.connected == 0) {
+      return 0;
+    }
+    return this.totalLaunchTime / this.connected;
+  }
+
+  private boolean limitReached(final ReusableMinion minion) {
+    return (this.maxMutationsPerMinion > 0)
+        && (minion.mutationsAnalysed() >= this.maxMutationsPerMinion);
+  }
+
+  private ReusableMinion launch() {
+    final ReusableMinion minion = this.launcher.get();
+    try {
+      minion.start();
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+    return minion;
+  }
+
+  private void retire(final ReusableMinion minion) {
+    minion.shutdown();
+    synchronized (this) {
+      if (minion.launchTime() > 0) {
+        this.connected++;
+        this.totalLaunchTime = this.totalLaunchTime + minion.launchTime();
+      }
+    }
+  }
+
+}
@@ -1,11 +1,15 @@
 package org.pitest.mutationtest.execute;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
@@ -24,13 +28,53 @@ public class MutationAnalysisExecutor {
 
   private final List<MutationResultListener> listeners;
   private final ThreadPoolExecutor           executor;
+  private final boolean                      completionOrder;
+  private final WorkStealingScheduler        scheduler;
 
   public MutationAnalysisExecutor(int numberOfThreads,
       List<MutationResultListener> listeners) {
+    this(numberOfThreads, listeners, false, false);
+  }
+
+  public MutationAnalysisExecutor(int numberOfThreads,
+      List<MutationResultListener> listeners, boolean completionOrder,
+      boolean virtualThreads) {
+    this(numberOfThreads, listeners, completionOrder, virtualThreads, false);
+  }
+
+  /**
+   * @param numberOfThreads
+   *          number of units to run at once
+   * @param listeners
+   *          receive the results of each unit
+   * @param completionOrder
+   *          pass results to the listeners as each unit completes rather than
+   *          in the order the units were supplied
+   * @param virtualThreads
+   *          run units on virtual threads when the JVM supports them. The
+   *          threads spend most of their time waiting on minions.
+   * @param adaptiveScheduling
+   *          run the most expensive units first and let idle threads split
+   *          work from running units. Results are passed on in completion
+   *          order.
+   */
+  public MutationAnalysisExecutor(int numberOfThreads,
+      List<MutationResultListener> listeners, boolean completionOrder,
+      boolean virtualThreads, boolean adaptiveScheduling) {
     this.listeners = listeners;
-    this.executor = new ThreadPoolExecutor(numberOfThreads, numberOfThreads,
-        10, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
-        Executors.defaultThreadFactory());
+    this.completionOrder = completionOrder;
+    final ThreadFactory threadFactory = threadFactory(virtualThreads);
+    // the scheduler starts its own threads
+    if (adaptiveScheduling) {
+      this.executor = null;
+      this.scheduler = new WorkStealingScheduler(numberOfThreads,
+          threadFactory);
+    } else {
+      this.executor = new ThreadPoolExecutor(numberOfThreads, numberOfThreads,
+          10, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+          threadFactory);
+      this.scheduler = null;
+    }
   }
 
   // entry point for mutation testing
@@ -38,19 +82,48 @@ public class MutationAnalysisExecutor {
 
     LOG.fine("Running " + testUnits.size() + " units");
 
-    signalRunStartToAllListeners();
+    runWithListeners(() -> {
+      if (this.scheduler != null) {
+        this.scheduler.run(testUnits, this::processResult);
+      } else if (this.completionOrder) {
+        runInCompletionOrder(testUnits.iterator(), Integer.MAX_VALUE);
+      } else {
+        runInSubmissionOrder(testUnits);
+      }
+    });
 
-    final List<Future<MutationMetaData>> results = new ArrayList<>(
-        testUnits.size());
+  }
 
-    for (final MutationAnalysisUnit unit : testUnits) {
-      results.add(this.executor.submit(unit));
-    }
+  /**
+   * Runs units as they are supplied by an iterator that may block while they
+   * are created. Units are taken from the iterator only when there is a
+   * thread free to run them, and results are passed on in completion order.
+   *
+   * @param testUnits
+   *          supplies the units to run
+   */
+  public void run(final Iterator<MutationAnalysisUnit> testUnits) {
+
+    LOG.fine("Running units as they are created");
+
+    runWithListeners(() -> {
+      if (this.scheduler != null) {
+        // the scheduler orders all units by cost before it starts
+        final List<MutationAnalysisUnit> all = new ArrayList<>();
+        testUnits.forEachRemaining(all::add);
+        this.scheduler.run(all, this::processResult);
+      } else {
+        runInCompletionOrder(testUnits, this.executor.getMaximumPoolSize());
+      }
+    });
 
-    this.executor.shutdown();
+  }
+
+  private void runWithListeners(final Analysis analysis) {
+    signalRunStartToAllListeners();
 
     try {
-      processResult(results);
+      analysis.run();
     } catch (final InterruptedException e) {
       throw Unchecked.translateCheckedException(e);
     } catch (final ExecutionException e) {
@@ -58,21 +131,68 @@ public class MutationAnalysisExecutor {
     }
 
     signalRunEndToAllListeners();
-
   }
 
-  private void processResult(List<Future<MutationMetaData>> results)
+  private void runInSubmissionOrder(final List<MutationAnalysisUnit> testUnits)
       throws InterruptedException, ExecutionException {
+    final List<Future<MutationMetaData>> results = new ArrayList<>(
+        testUnits.size());
+
+    for (final MutationAnalysisUnit unit : testUnits) {
+      results.add(this.executor.submit(unit));
+    }
+
+    this.executor.shutdown();
+
     for (final Future<MutationMetaData> f : results) {
-      final MutationMetaData r = f.get();
-      for (final MutationResultListener l : this.listeners) {
-        for (final ClassMutationResults cr : r.toClassResults()) {
-          l.handleMutationResult(cr);
-        }
+      processResult(f.get());
+    }
+  }
+
+  private void runInCompletionOrder(final Iterator<MutationAnalysisUnit> testUnits,
+      final int maxRunning) throws InterruptedException, ExecutionException {
+    final CompletionService<MutationMetaData> results = new ExecutorCompletionService<>(
+        this.executor);
+
+    int running = 0;
+    while (testUnits.hasNext()) {
+      if (running == maxRunning) {
+        processResult(results.take().get());
+        running--;
+      }
+      results.submit(testUnits.next());
+      running++;
+    }
+
+    this.executor.shutdown();
+
+    for (; running != 0; running--) {
+      processResult(results.take().get());
+    }
+  }
+
+  private void processResult(final MutationMetaData r) {
+    for (final MutationResultListener l : this.listeners) {
+      for (final ClassMutationResults cr : r.toClassResults()) {
+        l.handleMutationResult(cr);
       }
     }
   }
 
+  private static ThreadFactory threadFactory(final boolean virtualThreads) {
+    if (virtualThreads) {
+      try {
+        // Thread.ofVirtual().factory() is only available on java 21 and above
+        final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+        return (ThreadFactory) Class.forName("java.lang.Thread$Builder")
+            .getMethod("factory").invoke(builder);
+      } catch (final ReflectiveOperationException | RuntimeException e) {
+        LOG.warning("Virtual threads are not supported by this JVM. Using platform threads.");
+      }
+    }
+    return Executors.defaultThreadFactory();
+  }
+
   private void signalRunStartToAllListeners() {
     FCollection.forEach(this.listeners,
         a -> a.runStart());
@@ -83,4 +203,8 @@ public class MutationAnalysisExecutor {
         a -> a.runEnd());
   }
 
+  private interface Analysis {
+    void run() throws InterruptedException, ExecutionException;
+  }
+
 }
@@ -0,0 +1,55 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.pitest.mutationtest.MutationStatusMap;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.ExitCode;
+
+/**
+ * Analyses a range of mutations using a minion borrowed from a pool. The
+ * minion is returned to the pool once the range is complete.
+ */
+public class PooledMutationTestProcess implements MinionProcess {
+
+  private final MinionPool                                      pool;
+  private final MinionArguments                                 arguments;
+  private final int                                             numberOfMutations;
+  private final Map<MutationIdentifier, MutationStatusTestPair> idMap = new HashMap<>();
+
+  private ReusableMinion                                        minion;
+
+  public PooledMutationTestProcess(final MinionPool pool,
+      final MinionArguments arguments, final int numberOfMutations) {
+    this.pool = pool;
+    this.arguments = arguments;
+    this.numberOfMutations = numberOfMutations;
+  }
+
+  @Override
+  public void start() {
+    this.minion = this.pool.acquire();
+  }
+
+  @Override
+  public void results(final MutationStatusMap allmutations) {
+    for (final MutationDetails each : allmutations.allMutations()) {
+      final MutationStatusTestPair status = this.idMap.get(each.getId());
+      if (status != null) {
+        allmutations.setStatusForMutation(each, status);
+      }
+    }
+  }
+
+  @Override
+  public ExitCode waitToDie() {
+    final ExitCode exitCode = this.minion.analyse(this.arguments,
+        this.numberOfMutations, this.idMap);
+    this.pool.release(this.minion, exitCode);
+    return exitCode;
+  }
+
+}
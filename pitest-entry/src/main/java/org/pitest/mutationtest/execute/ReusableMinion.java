@@ -0,0 +1,162 @@
+package org.pitest.mutationtest.execute;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.process.ProcessArgs;
+import org.pitest.process.WrappingProcess;
+import org.pitest.util.ExitCode;
+import org.pitest.util.Id;
+import org.pitest.util.Log;
+import org.pitest.util.ReceiveStrategy;
+import org.pitest.util.SafeDataInputStream;
+import org.pitest.util.SafeDataOutputStream;
+import org.pitest.util.Unchecked;
+
+/**
+ * A mutation test minion that is kept alive between ranges of mutations. The
+ * connection to the minion is held open, and each new range of mutations is
+ * sent to it once it has reported the previous one as done.
+ */
+public class ReusableMinion {
+
+  private static final Logger   LOG                = Log.getLogger();
+
+  // how often to check the minion is alive while waiting for it to connect
+  private static final int      ACCEPT_POLL_MILLIS = 1000;
+
+  private final ServerSocket    socket;
+  private final WrappingProcess process;
+
+  private Socket                connection;
+  private SafeDataInputStream   is;
+  private SafeDataOutputStream  os;
+
+  private long                  launchStart;
+  private long                  launchTime;
+  private int                   mutationsAnalysed;
+
+  public ReusableMinion(final ServerSocket socket,
+      final ProcessArgs processArgs) {
+    this.socket = socket;
+    this.process = new WrappingProcess(socket.getLocalPort(), processArgs,
+        MutationTestMinion.class);
+  }
+
+  public void start() throws IOException {
+    this.launchStart = System.currentTimeMillis();
+    this.process.start();
+  }
+
+  /**
+   * Sends a range of mutations to the minion and blocks until it reports that
+   * the range is done.
+   *
+   * @param arguments
+   *          arguments for the minion. Must be created with awaitFurtherWork
+   *          set
+   * @param numberOfMutations
+   *          number of mutations in the range
+   * @param idMap
+   *          map to record results in
+   * @return exit code reported by minion
+   */
+  public ExitCode analyse(final MinionArguments arguments,
+      final int numberOfMutations,
+      final Map<MutationIdentifier, MutationStatusTestPair> idMap) {
+    try {
+      if (this.connection == null) {
+        if (!connect()) {
+          LOG.warning("Minion exited before connecting");
+          return ExitCode.UNKNOWN_ERROR;
+        }
+      } else {
+        this.os.writeBoolean(true);
+      }
+      this.os.write(arguments);
+      this.os.flush();
+      this.mutationsAnalysed = this.mutationsAnalysed + numberOfMutations;
+      return receiveResults(new MutationTestCommunicationThread.Receive(idMap));
+    } catch (final RuntimeException ex) {
+      LOG.log(Level.WARNING, "Error while communicating with minion", ex);
+      return ExitCode.UNKNOWN_ERROR;
+    }
+  }
+
+  public void shutdown() {
+    try {
+      if (this.os != null) {
+        this.os.writeBoolean(false);
+        this.os.flush();
+      }
+    } catch (final RuntimeException ex) {
+      LOG.log(Level.FINE, "Could not ask minion to exit", ex);
+    } finally {
+      close();
+      this.process.destroy();
+    }
+  }
+
+  /**
+   * @return milliseconds between launching the minion and it connecting
+   *         back, or 0 if it has not yet connected
+   */
+  public long launchTime() {
+    return this.launchTime;
+  }
+
+  public int mutationsAnalysed() {
+    return this.mutationsAnalysed;
+  }
+
+  private boolean connect() {
+    try {
+      this.socket.setSoTimeout(ACCEPT_POLL_MILLIS);
+      while (this.connection == null) {
+        try {
+          this.connection = this.socket.accept();
+        } catch (final SocketTimeoutException e) {
+          if (!this.process.getProcess().isAlive()) {
+            return false;
+          }
+        }
+      }
+      this.launchTime = System.currentTimeMillis() - this.launchStart;
+      this.is = new SafeDataInputStream(new BufferedInputStream(
+          this.connection.getInputStream()));
+      this.os = new SafeDataOutputStream(this.connection.getOutputStream());
+      return true;
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  private ExitCode receiveResults(final ReceiveStrategy receive) {
+    byte control = this.is.readByte();
+    while (control != Id.DONE) {
+      receive.apply(control, this.is);
+      control = this.is.readByte();
+    }
+    return ExitCode.fromCode(this.is.readInt());
+  }
+
+  private void close() {
+    try {
+      if (this.connection != null) {
+        this.connection.close();
+      }
+      this.socket.close();
+    } catch (final IOException e) {
+      LOG.log(Level.FINE, "Could not close minion socket", e);
+    }
+  }
+
+}
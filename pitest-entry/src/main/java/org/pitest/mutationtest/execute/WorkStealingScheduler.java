@@ -0,0 +1,198 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+
+import org.pitest.mutationtest.MutationMetaData;
+import org.pitest.mutationtest.build.MutationAnalysisUnit;
+import org.pitest.mutationtest.build.SplittableMutationAnalysisUnit;
+
+/**
+ * Runs units on a fixed number of threads, most expensive first. Each thread
+ * has its own deque of units, dealt out in order of cost. A thread that
+ * empties its deque steals from the back of the fullest deque of another
+ * thread, and once every deque is empty it takes half the unstarted work of
+ * the running unit with the most left to do, so threads do not sit idle while
+ * a few large units finish.
+ */
+class WorkStealingScheduler {
+
+  private static final FutureTask<MutationMetaData> WORKER_DONE = new FutureTask<>(
+      () -> null);
+
+  private final int                                 numberOfThreads;
+  private final ThreadFactory                       threadFactory;
+
+  private final List<Deque<MutationAnalysisUnit>>   queues  = new ArrayList<>();
+
+  // guarded by this
+  private final List<MutationAnalysisUnit>          running = new ArrayList<>();
+  private boolean                                   aborted;
+
+  private final BlockingQueue<Future<MutationMetaData>> results = new LinkedBlockingQueue<>();
+
+  WorkStealingScheduler(final int numberOfThreads,
+      final ThreadFactory threadFactory) {
+    this.numberOfThreads = numberOfThreads;
+    this.threadFactory = threadFactory;
+  }
+
+  /**
+   * Runs the units, passing each result to the handler on the calling thread
+   * as it completes.
+   */
+  void run(final List<MutationAnalysisUnit> units,
+      final Consumer<MutationMetaData> handler)
+      throws InterruptedException, ExecutionException {
+    final List<MutationAnalysisUnit> ordered = new ArrayList<>(units);
+    ordered.sort(mostExpensiveFirst());
+    for (int i = 0; i != this.numberOfThreads; i++) {
+      this.queues.add(new ConcurrentLinkedDeque<>());
+    }
+    for (int i = 0; i != ordered.size(); i++) {
+      this.queues.get(i % this.numberOfThreads).add(ordered.get(i));
+    }
+
+    for (int i = 0; i != this.numberOfThreads; i++) {
+      final int worker = i;
+      this.threadFactory.newThread(() -> work(worker)).start();
+    }
+
+    int liveWorkers = this.numberOfThreads;
+    try {
+      while (liveWorkers != 0) {
+        final Future<MutationMetaData> result = this.results.take();
+        if (result == WORKER_DONE) {
+          liveWorkers--;
+        } else {
+          handler.accept(result.get());
+        }
+      }
+    } finally {
+      abort();
+    }
+  }
+
+  private void work(final int worker) {
+    MutationAnalysisUnit unit = next(worker);
+    while (unit != null) {
+      final FutureTask<MutationMetaData> task = new FutureTask<>(unit);
+      task.run();
+      finished(unit);
+      this.results.add(task);
+      unit = next(worker);
+    }
+    this.results.add(WORKER_DONE);
+  }
+
+  private MutationAnalysisUnit next(final int worker) {
+    MutationAnalysisUnit unit = this.queues.get(worker).pollFirst();
+    if (unit == null) {
+      unit = stealQueued(worker);
+    }
+    if (unit != null) {
+      return started(unit);
+    }
+    return nextWhenQueuesEmpty(worker);
+  }
+
+  private synchronized MutationAnalysisUnit started(
+      final MutationAnalysisUnit unit) {
+    if (this.aborted) {
+      return null;
+    }
+    this.running.add(unit);
+    return unit;
+  }
+
+  private synchronized MutationAnalysisUnit nextWhenQueuesEmpty(
+      final int worker) {
+    while (!this.aborted) {
+      MutationAnalysisUnit unit = stealQueued(worker);
+      if (unit == null) {
+        unit = steal().orElse(null);
+      }
+      if (unit != null) {
+        this.running.add(unit);
+        return unit;
+      }
+      if (this.running.isEmpty()) {
+        return null;
+      }
+      // nothing to take until a running unit finishes
+      try {
+        wait();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return null;
+      }
+    }
+    return null;
+  }
+
+  private MutationAnalysisUnit stealQueued(final int thief) {
+    Deque<MutationAnalysisUnit> victim = null;
+    int most = 0;
+    for (int i = 0; i != this.queues.size(); i++) {
+      final int size = this.queues.get(i).size();
+      if ((i != thief) && (size > most)) {
+        victim = this.queues.get(i);
+        most = size;
+      }
+    }
+    return victim == null ? null : victim.pollLast();
+  }
+
+  private Optional<MutationAnalysisUnit> steal() {
+    final List<SplittableMutationAnalysisUnit> victims = new ArrayList<>();
+    for (final MutationAnalysisUnit each : this.running) {
+      if (each instanceof SplittableMutationAnalysisUnit) {
+        victims.add((SplittableMutationAnalysisUnit) each);
+      }
+    }
+    victims.sort(Comparator.comparingLong(a -> -a.remainingCost()));
+
+    for (final SplittableMutationAnalysisUnit each : victims) {
+      final Optional<MutationAnalysisUnit> stolen = each.split();
+      if (stolen.isPresent()) {
+        return stolen;
+      }
+    }
+    return Optional.empty();
+  }
+
+  private synchronized void finished(final MutationAnalysisUnit unit) {
+    this.running.remove(unit);
+    notifyAll();
+  }
+
+  private synchronized void abort() {
+    this.aborted = true;
+    notifyAll();
+  }
+
+  private static Comparator<MutationAnalysisUnit> mostExpensiveFirst() {
+    // units that cannot be split have no cost estimate and are kept first in
+    // their original order, as the priority comparator would place them
+    return Comparator.comparingLong(a -> -estimatedCost(a));
+  }
+
+  private static long estimatedCost(final MutationAnalysisUnit unit) {
+    if (unit instanceof SplittableMutationAnalysisUnit) {
+      return ((SplittableMutationAnalysisUnit) unit).remainingCost();
+    }
+    return Long.MAX_VALUE;
+  }
+
+}
@@ -0,0 +1,805 @@
+package org.pitest.mutationtest.incremental;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.logging.Logger;
+
+import org.pitest.classinfo.ClassIdentifier;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.classinfo.MethodHashes;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.HistoryStore;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.FileUtil;
+import org.pitest.util.Log;
+import org.pitest.util.Unchecked;
+
+/**
+ * Stores history in a compact binary file, indexed by class.
+ *
+ * The file holds a table of every string used, followed by an index of the
+ * classes sorted by name and a block per class holding its history and the
+ * results of its mutations. Numbers are written as variable length ints, and
+ * strings shared between results are referenced by their position in the
+ * table.
+ *
+ * Previous history is memory mapped, unless it is read from the file that will
+ * be replaced, and the block for a class is only decoded when a result or
+ * history for that class is first requested.
+ *
+ * History is appended to a {@link HistoryLog} beside the output file in
+ * batches as the run progresses, and the indexed file is written when the
+ * store is closed. If a run is killed before then, the next run reading the
+ * same file resumes from the history in the log and continues to append to
+ * it.
+ */
+public class BinaryHistoryStore implements HistoryStore {
+
+  private static final Logger                             LOG               = Log
+      .getLogger();
+
+  private static final int                                MAGIC             = 0x50495448;
+  private static final byte                               VERSION           = 3;
+
+  private static final byte                               CLASS_RECORD      = 1;
+  private static final byte                               RESULT_RECORD     = 2;
+
+  private static final int                                BATCH_SIZE        = 256;
+  private static final long                               BATCH_INTERVAL    = 1000;
+
+  private final Optional<File>                            input;
+  private final Optional<File>                            output;
+  private final int                                       batchSize;
+
+  private final Map<String, Integer>                      strings           = new HashMap<>();
+  private final List<String>                              stringTable       = new ArrayList<>();
+  private final Map<ClassName, ClassBlock>                blocks            = new TreeMap<>();
+
+  // records made since the last append to the log
+  private final ByteArrayOutputStream                     pendingBytes      = new ByteArrayOutputStream();
+  private final DataOutputStream                          pending           = new DataOutputStream(
+      this.pendingBytes);
+  private int                                             pendingCount;
+  private long                                            lastAppend        = System
+      .currentTimeMillis();
+  private int                                             loggedStrings;
+  private long                                            resumedLogLength;
+  private HistoryLog                                      log;
+
+  private Map<MutationIdentifier, MutationStatusTestPair> previousResults   = Collections
+      .emptyMap();
+  private Map<ClassName, ClassHistory>                    previousClassPath = Collections
+      .emptyMap();
+  private Map<MutationIdentifier, Long>                   previousFingerprints = Collections
+      .emptyMap();
+
+  public BinaryHistoryStore(final Optional<File> input,
+      final Optional<File> output) {
+    this(input, output, BATCH_SIZE);
+  }
+
+  /**
+   * @param batchSize
+   *          number of results to hold before appending them to the log
+   */
+  BinaryHistoryStore(final Optional<File> input, final Optional<File> output,
+      final int batchSize) {
+    this.input = input;
+    this.output = output;
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public synchronized void initialize() {
+    if (!this.input.isPresent()) {
+      return;
+    }
+    final File file = this.input.get();
+    MappedHistory mapped = null;
+    if (file.exists() && (file.length() > 0)) {
+      try {
+        mapped = new MappedHistory(isOutput(file) ? read(file) : map(file));
+      } catch (final IOException | RuntimeException e) {
+        LOG.warning("Could not read previous history from " + file + " " + e);
+      }
+    }
+
+    final Map<ClassName, DecodedBlock> logged = replayLog(HistoryLog
+        .logFor(file));
+
+    if ((mapped != null) || !logged.isEmpty()) {
+      final PreviousHistory previous = new PreviousHistory(mapped, logged);
+      this.previousResults = new LazyMap<>(previous,
+          id -> id.getClassName(), b -> b.results);
+      this.previousClassPath = new LazyMap<>(previous, Function.identity(),
+          b -> b.history == null ? Collections.<ClassName, ClassHistory> emptyMap()
+              : Collections.singletonMap(b.history.getName(), b.history));
+      this.previousFingerprints = new LazyMap<>(previous,
+          id -> id.getClassName(), b -> b.fingerprints);
+    }
+  }
+
+  private Map<ClassName, DecodedBlock> replayLog(final File logFile) {
+    if (!logFile.exists()) {
+      return Collections.emptyMap();
+    }
+    final Map<ClassName, DecodedBlock> logged = new HashMap<>();
+    final List<String> table = new ArrayList<>();
+    try {
+      final long length = HistoryLog.replay(logFile,
+          segment -> replaySegment(segment, table, logged));
+      if (!logged.isEmpty()) {
+        LOG.info("Resuming from history of an interrupted run in " + logFile);
+      }
+      if (this.output.isPresent() && this.stringTable.isEmpty()
+          && HistoryLog.logFor(this.output.get()).getAbsoluteFile()
+              .equals(logFile.getAbsoluteFile())) {
+        // continues the log, so must continue its string table
+        table.forEach(this::intern);
+        this.loggedStrings = table.size();
+        this.resumedLogLength = length;
+      }
+      return logged;
+    } catch (final IOException | RuntimeException e) {
+      LOG.warning("Could not read history log " + logFile + " " + e);
+      return Collections.emptyMap();
+    }
+  }
+
+  private static void replaySegment(final ByteBuffer in,
+      final List<String> table, final Map<ClassName, DecodedBlock> logged) {
+    final int newStrings = readVarInt(in);
+    for (int i = 0; i != newStrings; i++) {
+      table.add(readString(in));
+    }
+    while (in.hasRemaining()) {
+      final byte type = in.get();
+      if (type == CLASS_RECORD) {
+        final ClassName clazz = ClassName.fromString(readString(in));
+        final DecodedBlock block = blockFor(logged, clazz);
+        final ClassHistory history = readClassHistory(in, clazz, table::get);
+        // results logged against an earlier version of the class are stale
+        if ((block.history != null) && !block.history.equals(history)) {
+          block.results.clear();
+          block.fingerprints.clear();
+        }
+        block.history = history;
+      } else if (type == RESULT_RECORD) {
+        final ClassName clazz = ClassName.fromString(table.get(readVarInt(in)));
+        readResult(in, clazz, table::get, blockFor(logged, clazz));
+      } else {
+        throw new IllegalStateException("Unknown record in history log");
+      }
+    }
+  }
+
+  private static DecodedBlock blockFor(
+      final Map<ClassName, DecodedBlock> blocks, final ClassName clazz) {
+    return blocks.computeIfAbsent(clazz, c -> new DecodedBlock(null));
+  }
+
+  @Override
+  public void recordClassPath(final Collection<HierarchicalClassId> ids,
+      final CoverageDatabase coverageInfo) {
+    recordClassPath(ids, coverageInfo,
+        Collections.<ClassName, MethodHashes> emptyMap());
+  }
+
+  @Override
+  public synchronized void recordClassPath(
+      final Collection<HierarchicalClassId> ids,
+      final CoverageDatabase coverageInfo,
+      final Map<ClassName, MethodHashes> methodHashes) {
+    try {
+      for (final HierarchicalClassId each : ids) {
+        final ClassHistory history = new ClassHistory(each, coverageInfo
+            .getCoverageIdForClass(each.getName()).toString(16),
+            methodHashes.get(each.getName()));
+        blockFor(each.getName()).history = history;
+        if (this.output.isPresent()) {
+          // strings used once are not interned, so that those shared by
+          // results are given short references
+          this.pending.writeByte(CLASS_RECORD);
+          writeString(this.pending, each.getName().asJavaName());
+          writeClassHistory(this.pending, history);
+          this.pendingCount++;
+        }
+      }
+      // results are of no use on resuming without the class path
+      appendToLog();
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  @Override
+  public void recordResult(final MutationResult result) {
+    record(result, null);
+  }
+
+  @Override
+  public void recordResult(final MutationResult result,
+      final long coverageFingerprint) {
+    record(result, coverageFingerprint);
+  }
+
+  private synchronized void record(final MutationResult result,
+      final Long coverageFingerprint) {
+    final MutationIdentifier id = result.getDetails().getId();
+    final ClassBlock block = blockFor(id.getClassName());
+    try {
+      final byte[] bytes = encodeResult(id, result.getStatusTestPair(),
+          coverageFingerprint);
+      block.results.write(bytes);
+      block.count++;
+      if (this.output.isPresent()) {
+        this.pending.writeByte(RESULT_RECORD);
+        writeVarInt(this.pending, intern(id.getClassName().asJavaName()));
+        this.pending.write(bytes);
+        this.pendingCount++;
+        if ((this.pendingCount >= this.batchSize)
+            || ((System.currentTimeMillis() - this.lastAppend) >= BATCH_INTERVAL)) {
+          appendToLog();
+        }
+      }
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  @Override
+  public Map<MutationIdentifier, MutationStatusTestPair> getHistoricResults() {
+    return this.previousResults;
+  }
+
+  @Override
+  public Map<ClassName, ClassHistory> getHistoricClassPath() {
+    return this.previousClassPath;
+  }
+
+  @Override
+  public Map<MutationIdentifier, Long> getHistoricCoverageFingerprints() {
+    return this.previousFingerprints;
+  }
+
+  @Override
+  public synchronized void close() {
+    if (!this.output.isPresent() || this.blocks.isEmpty()) {
+      return;
+    }
+    final File file = this.output.get().getAbsoluteFile();
+    file.getParentFile().mkdirs();
+    final File temp = new File(file.getParentFile(), file.getName() + "."
+        + FileUtil.randomFilename());
+    try {
+      try (FileChannel channel = FileChannel.open(temp.toPath(),
+          StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+        final OutputStream os = new BufferedOutputStream(
+            Channels.newOutputStream(channel));
+        write(os);
+        os.flush();
+        channel.force(true);
+      }
+      Files.move(temp.toPath(), file.toPath(),
+          StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      // the log is only removed once its history is safely in the file
+      if (this.log != null) {
+        this.log.close();
+      }
+      Files.deleteIfExists(HistoryLog.logFor(file).toPath());
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    } finally {
+      temp.delete();
+    }
+  }
+
+  private void appendToLog() throws IOException {
+    if (this.pendingCount == 0) {
+      return;
+    }
+    if (this.log == null) {
+      this.log = HistoryLog.open(HistoryLog.logFor(this.output.get()),
+          this.resumedLogLength);
+    }
+    // each segment carries the strings first used by its records
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+        this.pendingBytes.size() + 64);
+    final DataOutputStream segment = new DataOutputStream(bytes);
+    writeVarInt(segment, this.stringTable.size() - this.loggedStrings);
+    for (final String each : this.stringTable.subList(this.loggedStrings,
+        this.stringTable.size())) {
+      writeString(segment, each);
+    }
+    this.pendingBytes.writeTo(segment);
+    this.log.append(bytes.toByteArray());
+
+    this.loggedStrings = this.stringTable.size();
+    this.pendingBytes.reset();
+    this.pendingCount = 0;
+    this.lastAppend = System.currentTimeMillis();
+  }
+
+  private ClassBlock blockFor(final ClassName clazz) {
+    return this.blocks.computeIfAbsent(clazz, c -> new ClassBlock());
+  }
+
+  private void write(final OutputStream os) throws IOException {
+    final ByteArrayOutputStream index = new ByteArrayOutputStream();
+    final ByteArrayOutputStream data = new ByteArrayOutputStream();
+    final DataOutputStream dataOut = new DataOutputStream(data);
+    // interns the class names and histories before the table is written
+    final int[] classNames = new int[this.blocks.size()];
+    final int[] offsets = new int[this.blocks.size()];
+    int i = 0;
+    for (final Map.Entry<ClassName, ClassBlock> each : this.blocks.entrySet()) {
+      classNames[i] = intern(each.getKey().asJavaName());
+      offsets[i] = data.size();
+      writeBlock(dataOut, each.getValue());
+      i++;
+    }
+    final DataOutputStream indexOut = new DataOutputStream(index);
+    writeVarInt(indexOut, classNames.length);
+    for (i = 0; i != classNames.length; i++) {
+      writeVarInt(indexOut, classNames[i]);
+      writeVarInt(indexOut, offsets[i]);
+    }
+
+    final DataOutputStream out = new DataOutputStream(os);
+    out.writeInt(MAGIC);
+    out.writeByte(VERSION);
+    writeVarInt(out, this.stringTable.size());
+    for (final String each : this.stringTable) {
+      writeString(out, each);
+    }
+    index.writeTo(out);
+    data.writeTo(out);
+    out.flush();
+  }
+
+  private void writeBlock(final DataOutputStream out, final ClassBlock block)
+      throws IOException {
+    if (block.history == null) {
+      out.writeByte(0);
+    } else {
+      out.writeByte(1);
+      writeClassHistory(out, block.history);
+    }
+    writeVarInt(out, block.count);
+    block.results.writeTo(out);
+  }
+
+  private void writeClassHistory(final DataOutputStream out,
+      final ClassHistory history) throws IOException {
+    writeVarLong(out, history.getId().getId().getHash());
+    writeString(out, history.getId().getHierarchicalHash());
+    writeString(out, history.getCoverageId());
+    if (!history.getMethodHashes().isPresent()) {
+      out.writeByte(0);
+      return;
+    }
+    final MethodHashes hashes = history.getMethodHashes().get();
+    out.writeByte(1);
+    out.writeLong(hashes.getStructureHash());
+    writeVarInt(out, hashes.getMethodHashes().size());
+    for (final Map.Entry<String, Long> each : hashes.getMethodHashes()
+        .entrySet()) {
+      // descriptors hold the only opening bracket in the key, and are shared
+      // with the results of the method
+      final int desc = each.getKey().lastIndexOf('(');
+      writeVarInt(out, intern(each.getKey().substring(0, desc)));
+      writeVarInt(out, intern(each.getKey().substring(desc)));
+      out.writeLong(each.getValue());
+    }
+  }
+
+  private byte[] encodeResult(final MutationIdentifier id,
+      final MutationStatusTestPair status, final Long coverageFingerprint)
+      throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final DataOutputStream out = new DataOutputStream(bytes);
+    writeVarInt(out, intern(id.getLocation().getMethodName().name()));
+    writeVarInt(out, intern(id.getLocation().getMethodDesc()));
+    writeVarInt(out, intern(id.getMutator()));
+    writeVarInt(out, id.getIndexes().size());
+    for (final int each : id.getIndexes()) {
+      writeVarInt(out, each);
+    }
+    writeVarInt(out, status.getNumberOfTestsRun());
+    writeVarInt(out, intern(status.getStatus().name()));
+    writeStrings(out, status.getKillingTests());
+    writeStrings(out, status.getSucceedingTests());
+    if (coverageFingerprint == null) {
+      out.writeByte(0);
+    } else {
+      out.writeByte(1);
+      out.writeLong(coverageFingerprint);
+    }
+    return bytes.toByteArray();
+  }
+
+  private void writeStrings(final DataOutputStream out,
+      final List<String> values) throws IOException {
+    writeVarInt(out, values.size());
+    for (final String each : values) {
+      writeVarInt(out, intern(each));
+    }
+  }
+
+  private int intern(final String value) {
+    return this.strings.computeIfAbsent(value, s -> {
+      this.stringTable.add(s);
+      return this.stringTable.size() - 1;
+    });
+  }
+
+  private static ClassHistory readClassHistory(final ByteBuffer in,
+      final ClassName clazz, final IntFunction<String> strings) {
+    final long hash = readVarLong(in);
+    final HierarchicalClassId id = new HierarchicalClassId(
+        new ClassIdentifier(hash, clazz), readString(in));
+    final String coverageId = readString(in);
+    if (in.get() == 0) {
+      return new ClassHistory(id, coverageId);
+    }
+    final long structure = in.getLong();
+    final int count = readVarInt(in);
+    final Map<String, Long> methods = new HashMap<>(count * 2);
+    for (int i = 0; i != count; i++) {
+      final String name = strings.apply(readVarInt(in));
+      methods.put(MethodHashes.key(name, strings.apply(readVarInt(in))),
+          in.getLong());
+    }
+    return new ClassHistory(id, coverageId, new MethodHashes(structure,
+        methods));
+  }
+
+  private static void readResult(final ByteBuffer in, final ClassName clazz,
+      final IntFunction<String> strings, final DecodedBlock block) {
+    final Location location = new Location(clazz,
+        MethodName.fromString(strings.apply(readVarInt(in))),
+        strings.apply(readVarInt(in)));
+    final String mutator = strings.apply(readVarInt(in));
+    final List<Integer> indexes = new ArrayList<>();
+    final int indexCount = readVarInt(in);
+    for (int j = 0; j != indexCount; j++) {
+      indexes.add(readVarInt(in));
+    }
+    final int testsRun = readVarInt(in);
+    final DetectionStatus status = DetectionStatus.valueOf(strings
+        .apply(readVarInt(in)));
+    final List<String> killing = readStrings(in, strings);
+    final List<String> succeeding = readStrings(in, strings);
+    final MutationIdentifier id = new MutationIdentifier(location, indexes,
+        mutator);
+    block.results.put(id, new MutationStatusTestPair(testsRun, status,
+        killing, succeeding));
+    // a later result without a fingerprint replaces any earlier one
+    if (in.get() == 0) {
+      block.fingerprints.remove(id);
+    } else {
+      block.fingerprints.put(id, in.getLong());
+    }
+  }
+
+  private static List<String> readStrings(final ByteBuffer in,
+      final IntFunction<String> strings) {
+    final int count = readVarInt(in);
+    if (count == 0) {
+      return Collections.emptyList();
+    }
+    final List<String> values = new ArrayList<>(count);
+    for (int i = 0; i != count; i++) {
+      values.add(strings.apply(readVarInt(in)));
+    }
+    return values;
+  }
+
+  private boolean isOutput(final File file) {
+    return this.output.isPresent()
+        && this.output.get().getAbsoluteFile().equals(file.getAbsoluteFile());
+  }
+
+  // a mapped file cannot be replaced on some platforms until the mapping is
+  // garbage collected, so history that will be replaced is read onto the heap
+  private static ByteBuffer read(final File file) throws IOException {
+    return ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+  }
+
+  private static ByteBuffer map(final File file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(),
+        StandardOpenOption.READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  private static void writeString(final DataOutputStream out,
+      final String value) throws IOException {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(out, bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(final ByteBuffer in) {
+    final byte[] bytes = new byte[readVarInt(in)];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  static void writeVarInt(final DataOutputStream out, final int value)
+      throws IOException {
+    writeVarLong(out, value & 0xFFFFFFFFL);
+  }
+
+  static void writeVarLong(final DataOutputStream out, final long value)
+      throws IOException {
+    long remaining = value;
+    while ((remaining & ~0x7FL) != 0) {
+      out.writeByte((int) ((remaining & 0x7F) | 0x80));
+      remaining >>>= 7;
+    }
+    out.writeByte((int) remaining);
+  }
+
+  static int readVarInt(final ByteBuffer in) {
+    return (int) readVarLong(in);
+  }
+
+  static long readVarLong(final ByteBuffer in) {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      final byte b = in.get();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalStateException("Malformed varint in history");
+  }
+
+  /**
+   * History of one class recorded by this run
+   */
+  private static class ClassBlock {
+    private ClassHistory                history;
+    private int                         count;
+    private final ByteArrayOutputStream results = new ByteArrayOutputStream();
+  }
+
+  /**
+   * History of one class decoded from a previous run
+   */
+  private static class DecodedBlock {
+    private ClassHistory                                          history;
+    private final Map<MutationIdentifier, MutationStatusTestPair> results      = new HashMap<>();
+    private final Map<MutationIdentifier, Long>                   fingerprints = new HashMap<>();
+
+    DecodedBlock(final ClassHistory history) {
+      this.history = history;
+    }
+  }
+
+  /**
+   * History from an indexed file, overlaid by any from the log of a run that
+   * did not complete. Each class is decoded on first use.
+   */
+  private static class PreviousHistory {
+    private final MappedHistory                mapped;
+    private final Map<ClassName, DecodedBlock> logged;
+    private final Map<ClassName, DecodedBlock> decoded = new ConcurrentHashMap<>();
+
+    PreviousHistory(final MappedHistory mapped,
+        final Map<ClassName, DecodedBlock> logged) {
+      this.mapped = mapped;
+      this.logged = logged;
+    }
+
+    Collection<ClassName> classes() {
+      final Set<ClassName> classes = new TreeSet<>(this.logged.keySet());
+      if (this.mapped != null) {
+        classes.addAll(this.mapped.classes());
+      }
+      return classes;
+    }
+
+    DecodedBlock blockFor(final ClassName clazz) {
+      return this.decoded.computeIfAbsent(clazz, this::merge);
+    }
+
+    private DecodedBlock merge(final ClassName clazz) {
+      final DecodedBlock indexed = this.mapped == null ? null : this.mapped
+          .blockFor(clazz);
+      final DecodedBlock logged = this.logged.get(clazz);
+      if ((indexed == null) || (logged == null)) {
+        return logged == null ? indexed : logged;
+      }
+      // results recorded against an earlier version of the class are stale
+      if ((logged.history != null) && !logged.history.equals(indexed.history)) {
+        return logged;
+      }
+      final DecodedBlock merged = new DecodedBlock(
+          logged.history != null ? logged.history : indexed.history);
+      merged.results.putAll(indexed.results);
+      merged.results.putAll(logged.results);
+      merged.fingerprints.putAll(indexed.fingerprints);
+      merged.fingerprints.keySet().removeAll(logged.results.keySet());
+      merged.fingerprints.putAll(logged.fingerprints);
+      return merged;
+    }
+  }
+
+  /**
+   * Index of a mapped history file
+   */
+  private static class MappedHistory {
+    private final ByteBuffer  buffer;
+    private final int[]       stringOffsets;
+    private final String[]    stringCache;
+    private final ClassName[] classes;
+    private final int[]       blockOffsets;
+
+    MappedHistory(final ByteBuffer buffer) {
+      this.buffer = buffer;
+      final ByteBuffer in = buffer.duplicate();
+      try {
+        if ((in.getInt() != MAGIC) || (in.get() != VERSION)) {
+          throw new IllegalStateException("Not a binary history file");
+        }
+        this.stringOffsets = new int[readVarInt(in)];
+        for (int i = 0; i != this.stringOffsets.length; i++) {
+          this.stringOffsets[i] = in.position();
+          final int length = readVarInt(in);
+          in.position(in.position() + length);
+        }
+        this.stringCache = new String[this.stringOffsets.length];
+
+        this.classes = new ClassName[readVarInt(in)];
+        this.blockOffsets = new int[this.classes.length];
+        for (int i = 0; i != this.classes.length; i++) {
+          this.classes[i] = ClassName.fromString(string(readVarInt(in)));
+          this.blockOffsets[i] = readVarInt(in);
+        }
+        final int dataStart = in.position();
+        for (int i = 0; i != this.blockOffsets.length; i++) {
+          this.blockOffsets[i] += dataStart;
+        }
+      } catch (final BufferUnderflowException | IllegalArgumentException e) {
+        throw new IllegalStateException("Truncated history file", e);
+      }
+    }
+
+    Collection<ClassName> classes() {
+      return Arrays.asList(this.classes);
+    }
+
+    DecodedBlock blockFor(final ClassName clazz) {
+      final int i = Arrays.binarySearch(this.classes, clazz);
+      if (i < 0) {
+        return null;
+      }
+      try {
+        return decode(clazz, this.blockOffsets[i]);
+      } catch (final BufferUnderflowException | IllegalArgumentException
+          | IndexOutOfBoundsException e) {
+        LOG.warning("Could not read previous history for " + clazz + " " + e);
+        return new DecodedBlock(null);
+      }
+    }
+
+    private DecodedBlock decode(final ClassName clazz, final int offset) {
+      final ByteBuffer in = this.buffer.duplicate();
+      in.position(offset);
+      final DecodedBlock block = new DecodedBlock(null);
+      if (in.get() != 0) {
+        block.history = readClassHistory(in, clazz, this::string);
+      }
+      final int count = readVarInt(in);
+      for (int i = 0; i != count; i++) {
+        readResult(in, clazz, this::string, block);
+      }
+      return block;
+    }
+
+    private String string(final int index) {
+      String value = this.stringCache[index];
+      if (value == null) {
+        final ByteBuffer in = this.buffer.duplicate();
+        in.position(this.stringOffsets[index]);
+        value = readString(in);
+        // strings are immutable so may safely be decoded more than once
+        this.stringCache[index] = value;
+      }
+      return value;
+    }
+  }
+
+  /**
+   * Read only view of previous history that decodes only the class holding a
+   * requested key. Iterating the view decodes every class.
+   */
+  private static class LazyMap<K, V> extends AbstractMap<K, V> {
+    private final PreviousHistory                   previous;
+    private final Function<K, ClassName>            classOf;
+    private final Function<DecodedBlock, Map<K, V>> values;
+    private Map<K, V>                               all;
+
+    LazyMap(final PreviousHistory previous,
+        final Function<K, ClassName> classOf,
+        final Function<DecodedBlock, Map<K, V>> values) {
+      this.previous = previous;
+      this.classOf = classOf;
+      this.values = values;
+    }
+
+    @Override
+    public V get(final Object key) {
+      return valuesFor(key).get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+      return valuesFor(key).containsKey(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<K, V> valuesFor(final Object key) {
+      final DecodedBlock block;
+      try {
+        block = this.previous.blockFor(this.classOf.apply((K) key));
+      } catch (final ClassCastException e) {
+        return Collections.emptyMap();
+      }
+      if (block == null) {
+        return Collections.emptyMap();
+      }
+      return this.values.apply(block);
+    }
+
+    @Override
+    public synchronized Set<Map.Entry<K, V>> entrySet() {
+      if (this.all == null) {
+        final Map<K, V> all = new HashMap<>();
+        for (final ClassName each : this.previous.classes()) {
+          all.putAll(this.values.apply(this.previous.blockFor(each)));
+        }
+        this.all = Collections.unmodifiableMap(all);
+      }
+      return this.all.entrySet();
+    }
+  }
+
+}
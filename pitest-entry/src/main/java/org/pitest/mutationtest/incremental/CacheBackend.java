@@ -0,0 +1,17 @@
+package org.pitest.mutationtest.incremental;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Key value storage behind a {@link ResultCache}. Implementations must be safe
+ * to call from several threads, and from several processes sharing the same
+ * storage.
+ */
+public interface CacheBackend {
+
+  Optional<byte[]> get(String key) throws IOException;
+
+  void put(String key, byte[] value) throws IOException;
+
+}
@@ -5,6 +5,7 @@ import java.math.BigInteger;
 import org.pitest.classinfo.ClassName;
 import java.util.Optional;
 import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 
 public interface CodeHistory {
@@ -15,4 +16,32 @@ public interface CodeHistory {
 
   boolean hasCoverageChanged(ClassName className, BigInteger currentCoverage);
 
+  /**
+   * Returns true if the method at the location is known to be unchanged, along
+   * with its class outside of its methods and the classes it extends or is
+   * nested within, even though other methods of the class may have changed.
+   *
+   * @param location
+   *          the method
+   * @return true if the method is known to be unchanged
+   */
+  default boolean isUnchangedAt(Location location) {
+    return false;
+  }
+
+  /**
+   * @param id
+   *          the mutation
+   * @return true if a fingerprint of the tests covering the mutation was
+   *         recorded with its previous result
+   */
+  default boolean hasCoverageFingerprint(MutationIdentifier id) {
+    return false;
+  }
+
+  default boolean hasCoverageFingerprintChanged(MutationIdentifier id,
+      long currentFingerprint) {
+    return true;
+  }
+
 }
@@ -0,0 +1,68 @@
+package org.pitest.mutationtest.incremental;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.util.Unchecked;
+
+/**
+ * Fingerprints the tests assigned to a mutation from the name of each test
+ * and the hash of the class defining it, so that a result may be reused for
+ * as long as exactly the same tests cover the mutation, however the coverage
+ * of the rest of its class changes.
+ */
+public class CoverageFingerprint {
+
+  private final CoverageDatabase           coverage;
+  private final Map<ClassName, BigInteger> classHashes = new ConcurrentHashMap<>();
+
+  public CoverageFingerprint(final CoverageDatabase coverage) {
+    this.coverage = coverage;
+  }
+
+  public long fingerprint(final MutationDetails mutation) {
+    final List<TestInfo> tests = new ArrayList<>(mutation.getTestsInOrder());
+    tests.sort(Comparator.comparing(TestInfo::getName));
+    final MessageDigest digest = sha256();
+    for (final TestInfo each : tests) {
+      update(digest, each.getName().getBytes(StandardCharsets.UTF_8));
+      update(digest, hashOf(TestInfo.toDefiningClassName().apply(each))
+          .toByteArray());
+    }
+    return ByteBuffer.wrap(digest.digest()).getLong();
+  }
+
+  private BigInteger hashOf(final ClassName clazz) {
+    return this.classHashes.computeIfAbsent(clazz,
+        c -> this.coverage.getClassInfo(Collections.singleton(c)).stream()
+            .findFirst().map(ClassInfo::getDeepHash).orElse(BigInteger.ZERO));
+  }
+
+  private static void update(final MessageDigest digest, final byte[] value) {
+    digest.update(ByteBuffer.allocate(4).putInt(value.length).array());
+    digest.update(value);
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+}
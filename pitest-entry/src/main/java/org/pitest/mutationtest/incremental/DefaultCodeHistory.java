@@ -1,16 +1,22 @@
 package org.pitest.mutationtest.incremental;
 
 import java.math.BigInteger;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.pitest.classinfo.ClassInfo;
 import org.pitest.classinfo.ClassInfoSource;
 import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.classinfo.MethodHashes;
 import org.pitest.classpath.CodeSource;
 import java.util.Optional;
 import org.pitest.mutationtest.ClassHistory;
 import org.pitest.mutationtest.HistoryStore;
 import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 
 public class DefaultCodeHistory implements CodeHistory {
@@ -18,19 +24,34 @@ public class DefaultCodeHistory implements CodeHistory {
   private final ClassInfoSource                                 code;
   private final Map<MutationIdentifier, MutationStatusTestPair> previousResults;
   private final Map<ClassName, ClassHistory>                    previousClassPath;
+  private final Map<MutationIdentifier, Long>                   previousFingerprints;
+  private final Function<ClassName, Optional<MethodHashes>>     methodHashes;
+  private final Map<ClassName, Optional<MethodHashes>>          currentHashes = new ConcurrentHashMap<>();
 
   public DefaultCodeHistory(final CodeSource code,
       final HistoryStore historyStore) {
     this(code, historyStore.getHistoricResults(), historyStore
-        .getHistoricClassPath());
+        .getHistoricClassPath(), historyStore.getHistoricCoverageFingerprints(),
+        c -> code.fetchClassBytes(c).map(MethodHashes::fromClassBytes));
   }
 
   public DefaultCodeHistory(final ClassInfoSource code,
       final Map<MutationIdentifier, MutationStatusTestPair> previousResults,
       final Map<ClassName, ClassHistory> previousClassPath) {
+    this(code, previousResults, previousClassPath, Collections
+        .<MutationIdentifier, Long> emptyMap(), c -> Optional.empty());
+  }
+
+  public DefaultCodeHistory(final ClassInfoSource code,
+      final Map<MutationIdentifier, MutationStatusTestPair> previousResults,
+      final Map<ClassName, ClassHistory> previousClassPath,
+      final Map<MutationIdentifier, Long> previousFingerprints,
+      final Function<ClassName, Optional<MethodHashes>> methodHashes) {
     this.code = code;
     this.previousResults = previousResults;
     this.previousClassPath = previousClassPath;
+    this.previousFingerprints = previousFingerprints;
+    this.methodHashes = methodHashes;
   }
 
   @Override
@@ -51,6 +72,44 @@ public class DefaultCodeHistory implements CodeHistory {
 
   }
 
+  @Override
+  public boolean isUnchangedAt(final Location location) {
+    final ClassName className = location.getClassName();
+    final ClassHistory historic = this.previousClassPath.get(className);
+    if ((historic == null) || !historic.getMethodHashes().isPresent()) {
+      return false;
+    }
+
+    final Optional<ClassInfo> current = this.code.fetchClass(className);
+    if (!current.isPresent()) {
+      return false;
+    }
+    final Optional<BigInteger> enclosing = hashOfEnclosingClasses(current
+        .get().getHierarchicalId());
+    if (!enclosing.isPresent()
+        || !enclosing.equals(hashOfEnclosingClasses(historic.getId()))) {
+      return false;
+    }
+
+    final Optional<MethodHashes> hashes = this.currentHashes.computeIfAbsent(
+        className, this.methodHashes);
+    return hashes.isPresent()
+        && hashes.get().isUnchangedSince(historic.getMethodHashes().get(),
+            location.getMethodName().name(), location.getMethodDesc());
+  }
+
+  // the hierarchical hash is the sum of the hash of the class and those of
+  // its parent and outer classes
+  private static Optional<BigInteger> hashOfEnclosingClasses(
+      final HierarchicalClassId id) {
+    try {
+      return Optional.of(new BigInteger(id.getHierarchicalHash(), 16)
+          .subtract(BigInteger.valueOf(id.getId().getHash())));
+    } catch (final NumberFormatException e) {
+      return Optional.empty();
+    }
+  }
+
   @Override
   public boolean hasCoverageChanged(final ClassName className,
       final BigInteger currentCoverage) {
@@ -58,4 +117,16 @@ public class DefaultCodeHistory implements CodeHistory {
         .equals(currentCoverage.toString(16));
   }
 
+  @Override
+  public boolean hasCoverageFingerprint(final MutationIdentifier id) {
+    return this.previousFingerprints.containsKey(id);
+  }
+
+  @Override
+  public boolean hasCoverageFingerprintChanged(final MutationIdentifier id,
+      final long currentFingerprint) {
+    final Long previous = this.previousFingerprints.get(id);
+    return (previous == null) || (previous != currentFingerprint);
+  }
+
 }
@@ -0,0 +1,54 @@
+package org.pitest.mutationtest.incremental;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+import org.pitest.util.FileUtil;
+
+/**
+ * Stores cache entries as files in a directory, which may be shared between
+ * machines. Entries are written to a temporary file and then moved into place,
+ * so a reader never sees one partly written.
+ */
+public class DirectoryCacheBackend implements CacheBackend {
+
+  private final File dir;
+
+  public DirectoryCacheBackend(final File dir) {
+    this.dir = dir;
+  }
+
+  @Override
+  public Optional<byte[]> get(final String key) throws IOException {
+    try {
+      return Optional.of(Files.readAllBytes(fileFor(key).toPath()));
+    } catch (final NoSuchFileException e) {
+      return Optional.empty();
+    }
+  }
+
+  @Override
+  public void put(final String key, final byte[] value) throws IOException {
+    final File file = fileFor(key);
+    file.getParentFile().mkdirs();
+    final File temp = new File(file.getParentFile(), key + "."
+        + FileUtil.randomFilename());
+    try {
+      Files.write(temp.toPath(), value);
+      Files.move(temp.toPath(), file.toPath(),
+          StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      temp.delete();
+    }
+  }
+
+  // spread entries between subdirectories to keep each small
+  private File fileFor(final String key) {
+    return new File(new File(this.dir, key.substring(0, 2)), key);
+  }
+
+}
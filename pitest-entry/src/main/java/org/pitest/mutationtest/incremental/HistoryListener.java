@@ -1,16 +1,26 @@
 package org.pitest.mutationtest.incremental;
 
+import java.util.Optional;
+
 import org.pitest.mutationtest.ClassMutationResults;
+import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.HistoryStore;
 import org.pitest.mutationtest.MutationResult;
 import org.pitest.mutationtest.MutationResultListener;
 
 public class HistoryListener implements MutationResultListener {
 
-  private final HistoryStore historyStore;
+  private final HistoryStore                  historyStore;
+  private final Optional<CoverageFingerprint> fingerprints;
 
   public HistoryListener(final HistoryStore historyStore) {
+    this(historyStore, Optional.<CoverageFingerprint> empty());
+  }
+
+  public HistoryListener(final HistoryStore historyStore,
+      final Optional<CoverageFingerprint> fingerprints) {
     this.historyStore = historyStore;
+    this.fingerprints = fingerprints;
   }
 
   @Override
@@ -21,7 +31,14 @@ public class HistoryListener implements MutationResultListener {
   @Override
   public void handleMutationResult(final ClassMutationResults metaData) {
     for (final MutationResult each : metaData.getMutations()) {
-      this.historyStore.recordResult(each);
+      // only survived results are reused on the strength of their coverage
+      if (this.fingerprints.isPresent()
+          && (each.getStatus() == DetectionStatus.SURVIVED)) {
+        this.historyStore.recordResult(each, this.fingerprints.get()
+            .fingerprint(each.getDetails()));
+      } else {
+        this.historyStore.recordResult(each);
+      }
     }
 
   }
@@ -0,0 +1,118 @@
+package org.pitest.mutationtest.incremental;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append only log of history, written as checksummed segments.
+ *
+ * Each segment is forced to disk as it is appended, so a log cut short by a
+ * killed run can be read back up to its last complete segment.
+ */
+final class HistoryLog {
+
+  private static final int  MAGIC   = 0x5049544c;
+  private static final byte VERSION = 1;
+  private static final int  HEADER  = 5;
+  // length and checksum of each segment
+  private static final int  FRAME   = 8;
+
+  private final FileChannel channel;
+
+  private HistoryLog(final FileChannel channel) {
+    this.channel = channel;
+  }
+
+  static File logFor(final File history) {
+    return new File(history.getPath() + ".log");
+  }
+
+  /**
+   * Opens a log for appending, discarding anything after the given length
+   *
+   * @param file
+   *          the log
+   * @param validLength
+   *          length of the log to keep, as returned by replay
+   * @return log positioned to append after the kept segments
+   */
+  static HistoryLog open(final File file, final long validLength)
+      throws IOException {
+    file.getAbsoluteFile().getParentFile().mkdirs();
+    final FileChannel channel = FileChannel.open(file.toPath(),
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    if (validLength < HEADER) {
+      channel.truncate(0);
+      final ByteBuffer header = ByteBuffer.allocate(HEADER);
+      header.putInt(MAGIC).put(VERSION).flip();
+      write(channel, header);
+    } else {
+      channel.truncate(validLength);
+      channel.position(validLength);
+    }
+    return new HistoryLog(channel);
+  }
+
+  void append(final byte[] payload) throws IOException {
+    final CRC32 crc = new CRC32();
+    crc.update(payload);
+    final ByteBuffer segment = ByteBuffer.allocate(FRAME + payload.length);
+    segment.putInt(payload.length).putInt((int) crc.getValue()).put(payload)
+        .flip();
+    write(this.channel, segment);
+    this.channel.force(false);
+  }
+
+  void close() throws IOException {
+    this.channel.close();
+  }
+
+  /**
+   * Passes each complete segment of a log to the supplied consumer, stopping
+   * at the first that is truncated or fails its checksum.
+   *
+   * @return length of the log up to the end of the last complete segment, or
+   *         0 if the file is not a log
+   */
+  static long replay(final File file, final Consumer<ByteBuffer> segments)
+      throws IOException {
+    final ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+    if ((in.remaining() < HEADER) || (in.getInt() != MAGIC)
+        || (in.get() != VERSION)) {
+      return 0;
+    }
+    int end = in.position();
+    while (in.remaining() >= FRAME) {
+      final int length = in.getInt();
+      final int checksum = in.getInt();
+      if ((length < 0) || (length > in.remaining())) {
+        break;
+      }
+      final ByteBuffer payload = in.slice();
+      payload.limit(length);
+      final CRC32 crc = new CRC32();
+      crc.update(payload.duplicate());
+      if ((int) crc.getValue() != checksum) {
+        break;
+      }
+      segments.accept(payload.asReadOnlyBuffer());
+      in.position(in.position() + length);
+      end = in.position();
+    }
+    return end;
+  }
+
+  private static void write(final FileChannel channel, final ByteBuffer bytes)
+      throws IOException {
+    while (bytes.hasRemaining()) {
+      channel.write(bytes);
+    }
+  }
+
+}
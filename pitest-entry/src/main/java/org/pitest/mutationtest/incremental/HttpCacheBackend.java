@@ -0,0 +1,79 @@
+package org.pitest.mutationtest.incremental;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Optional;
+
+import org.pitest.util.StreamUtil;
+
+/**
+ * Stores cache entries on an http server, each at the url formed by appending
+ * its key to a base url. Entries are read with GET, where a response of 404 is
+ * a miss, and written with PUT.
+ */
+public class HttpCacheBackend implements CacheBackend {
+
+  private static final int TIMEOUT = 10000;
+
+  private final String     base;
+
+  public HttpCacheBackend(final String base) {
+    this.base = base.endsWith("/") ? base : base + "/";
+  }
+
+  @Override
+  public Optional<byte[]> get(final String key) throws IOException {
+    final HttpURLConnection connection = open(key);
+    try {
+      final int status = connection.getResponseCode();
+      if (status == HttpURLConnection.HTTP_NOT_FOUND) {
+        return Optional.empty();
+      }
+      checkStatus(connection, status);
+      try (InputStream in = connection.getInputStream()) {
+        return Optional.of(StreamUtil.streamToByteArray(in));
+      }
+    } finally {
+      connection.disconnect();
+    }
+  }
+
+  @Override
+  public void put(final String key, final byte[] value) throws IOException {
+    final HttpURLConnection connection = open(key);
+    try {
+      connection.setRequestMethod("PUT");
+      connection.setDoOutput(true);
+      connection.setFixedLengthStreamingMode(value.length);
+      connection.setRequestProperty("Content-Type",
+          "application/octet-stream");
+      try (OutputStream out = connection.getOutputStream()) {
+        out.write(value);
+      }
+      checkStatus(connection, connection.getResponseCode());
+    } finally {
+      connection.disconnect();
+    }
+  }
+
+  private HttpURLConnection open(final String key) throws IOException {
+    final HttpURLConnection connection = (HttpURLConnection) new URL(this.base
+        + key).openConnection();
+    connection.setConnectTimeout(TIMEOUT);
+    connection.setReadTimeout(TIMEOUT);
+    connection.setUseCaches(false);
+    return connection;
+  }
+
+  private static void checkStatus(final HttpURLConnection connection,
+      final int status) throws IOException {
+    if ((status / 100) != 2) {
+      throw new IOException("Unexpected response " + status + " from "
+          + connection.getURL());
+    }
+  }
+
+}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -20,6 +21,7 @@ import org.pitest.mutationtest.MutationAnalyser;
 import org.pitest.mutationtest.MutationResult;
 import org.pitest.mutationtest.MutationStatusTestPair;
 import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
 import org.pitest.util.Log;
 
 public class IncrementalAnalyser implements MutationAnalyser {
@@ -28,12 +30,22 @@ public class IncrementalAnalyser implements MutationAnalyser {
 
   private final CodeHistory                history;
   private final CoverageDatabase           coverage;
+  private final CoverageFingerprint        fingerprints;
+  private final Optional<ResultCache>      cache;
   private final Map<DetectionStatus, Long> preAnalysed = createStatusMap();
+  private long                             cached;
 
   public IncrementalAnalyser(final CodeHistory history,
       final CoverageDatabase coverage) {
+    this(history, coverage, Optional.<ResultCache> empty());
+  }
+
+  public IncrementalAnalyser(final CodeHistory history,
+      final CoverageDatabase coverage, final Optional<ResultCache> cache) {
     this.history = history;
     this.coverage = coverage;
+    this.fingerprints = new CoverageFingerprint(coverage);
+    this.cache = cache;
   }
 
   private static Map<DetectionStatus, Long> createStatusMap() {
@@ -48,15 +60,29 @@ public class IncrementalAnalyser implements MutationAnalyser {
   public Collection<MutationResult> analyse(
       final Collection<MutationDetails> mutation) {
 
+    // mutations history does not settle are looked up in the cache together,
+    // so that a remote cache is not waited on for each in turn
     final List<MutationResult> mrs = new ArrayList<>(
         mutation.size());
+    final List<MutationDetails> fromScratch = new ArrayList<>();
     for (final MutationDetails each : mutation) {
-      final Optional<MutationStatusTestPair> maybeResult = this.history
-          .getPreviousResult(each.getId());
-      if (!maybeResult.isPresent()) {
-        mrs.add(analyseFromScratch(each));
-      } else {
-        mrs.add(analyseFromHistory(each, maybeResult.get()));
+      final Optional<MutationResult> fromHistory = this.history
+          .getPreviousResult(each.getId())
+          .flatMap(r -> analyseFromHistory(each, r));
+      mrs.add(fromHistory.orElse(null));
+      if (!fromHistory.isPresent()) {
+        fromScratch.add(each);
+      }
+    }
+
+    final Map<MutationIdentifier, MutationStatusTestPair> cachedResults = this.cache
+        .map(c -> c.getAll(fromScratch))
+        .orElse(Collections.<MutationIdentifier, MutationStatusTestPair> emptyMap());
+    final Iterator<MutationDetails> unsettled = fromScratch.iterator();
+    for (int i = 0; i != mrs.size(); i++) {
+      if (mrs.get(i) == null) {
+        final MutationDetails each = unsettled.next();
+        mrs.set(i, analyseFromScratch(each, cachedResults.get(each.getId())));
       }
     }
 
@@ -73,35 +99,45 @@ public class IncrementalAnalyser implements MutationAnalyser {
             + " mutations to a status of " + each.getKey());
       }
     }
+    if (this.cached != 0) {
+      LOG.fine("Incremental analysis took " + this.cached
+          + " results from the result cache");
+    }
 
   }
 
-  private MutationResult analyseFromHistory(final MutationDetails each,
+  /**
+   * @return the result settled by history, or empty if the mutation must be
+   *         analysed from scratch
+   */
+  private Optional<MutationResult> analyseFromHistory(
+      final MutationDetails each,
       final MutationStatusTestPair mutationStatusTestPair) {
 
     final ClassName clazz = each.getClassName();
 
-    if (this.history.hasClassChanged(clazz)) {
-      return analyseFromScratch(each);
+    if (this.history.hasClassChanged(clazz)
+        && !this.history.isUnchangedAt(each.getId().getLocation())) {
+      return Optional.empty();
     }
 
     if (mutationStatusTestPair.getStatus() == DetectionStatus.TIMED_OUT) {
-      return makeResult(each, DetectionStatus.TIMED_OUT);
+      return Optional.of(makeResult(each, DetectionStatus.TIMED_OUT));
     }
 
     if ((mutationStatusTestPair.getStatus() == DetectionStatus.KILLED)
         && killingTestHasNotChanged(each, mutationStatusTestPair)) {
-      return makeResult(each, DetectionStatus.KILLED, mutationStatusTestPair
-          .getKillingTests(), mutationStatusTestPair.getSucceedingTests());
+      return Optional.of(makeResult(each, DetectionStatus.KILLED,
+          mutationStatusTestPair.getKillingTests(),
+          mutationStatusTestPair.getSucceedingTests()));
     }
 
     if ((mutationStatusTestPair.getStatus() == DetectionStatus.SURVIVED)
-        && !this.history.hasCoverageChanged(clazz,
-            this.coverage.getCoverageIdForClass(clazz))) {
-      return makeResult(each, DetectionStatus.SURVIVED);
+        && coveringTestsHaveNotChanged(each)) {
+      return Optional.of(makeResult(each, DetectionStatus.SURVIVED));
     }
 
-    return analyseFromScratch(each);
+    return Optional.empty();
   }
 
   private boolean killingTestHasNotChanged(final MutationDetails each,
@@ -122,11 +158,31 @@ public class IncrementalAnalyser implements MutationAnalyser {
 
   }
 
+  private boolean coveringTestsHaveNotChanged(final MutationDetails each) {
+    final MutationIdentifier id = each.getId();
+    if (this.history.hasCoverageFingerprint(id)) {
+      return !this.history.hasCoverageFingerprintChanged(id,
+          this.fingerprints.fingerprint(each));
+    }
+
+    // results recorded without a fingerprint fall back to the coverage of
+    // the whole class
+    final ClassName clazz = each.getClassName();
+    return !this.history.hasCoverageChanged(clazz,
+        this.coverage.getCoverageIdForClass(clazz));
+  }
+
   private static Predicate<TestInfo> testIsCalled(final String testName) {
     return a -> a.getName().equals(testName);
   }
 
-  private MutationResult analyseFromScratch(final MutationDetails mutation) {
+  private MutationResult analyseFromScratch(final MutationDetails mutation,
+      final MutationStatusTestPair cachedResult) {
+    if (cachedResult != null) {
+      this.cached++;
+      return makeResult(mutation, cachedResult.getStatus(),
+          cachedResult.getKillingTests(), cachedResult.getSucceedingTests());
+    }
     return makeResult(mutation, DetectionStatus.NOT_STARTED);
   }
 
@@ -11,12 +11,14 @@ import java.io.Reader;
 import java.io.Serializable;
 import java.util.Base64;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Logger;
 
 import org.pitest.classinfo.ClassName;
 import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.classinfo.MethodHashes;
 import org.pitest.coverage.CoverageDatabase;
 import java.util.Optional;
 import org.pitest.mutationtest.ClassHistory;
@@ -35,6 +37,7 @@ public class ObjectOutputStreamHistoryStore implements HistoryStore {
   private final BufferedReader                                  input;
   private final Map<MutationIdentifier, MutationStatusTestPair> previousResults   = new HashMap<>();
   private final Map<ClassName, ClassHistory>                    previousClassPath = new HashMap<>();
+  private final Map<MutationIdentifier, Long>                   previousFingerprints = new HashMap<>();
 
   public ObjectOutputStreamHistoryStore(final WriterFactory output,
       final Optional<Reader> input) {
@@ -52,11 +55,20 @@ public class ObjectOutputStreamHistoryStore implements HistoryStore {
   @Override
   public void recordClassPath(final Collection<HierarchicalClassId> ids,
       final CoverageDatabase coverageInfo) {
+    recordClassPath(ids, coverageInfo,
+        Collections.<ClassName, MethodHashes> emptyMap());
+  }
+
+  @Override
+  public void recordClassPath(final Collection<HierarchicalClassId> ids,
+      final CoverageDatabase coverageInfo,
+      final Map<ClassName, MethodHashes> methodHashes) {
     final PrintWriter output = this.outputFactory.create();
     output.println(ids.size());
     for (final HierarchicalClassId each : ids) {
       final ClassHistory coverage = new ClassHistory(each,
-          coverageInfo.getCoverageIdForClass(each.getName()).toString(16));
+          coverageInfo.getCoverageIdForClass(each.getName()).toString(16),
+          methodHashes.get(each.getName()));
       output.println(serialize(coverage));
     }
     output.flush();
@@ -64,9 +76,20 @@ public class ObjectOutputStreamHistoryStore implements HistoryStore {
 
   @Override
   public void recordResult(final MutationResult result) {
+    record(new IdResult(result.getDetails().getId(),
+        result.getStatusTestPair(), null));
+  }
+
+  @Override
+  public void recordResult(final MutationResult result,
+      final long coverageFingerprint) {
+    record(new IdResult(result.getDetails().getId(),
+        result.getStatusTestPair(), coverageFingerprint));
+  }
+
+  private void record(final IdResult result) {
     final PrintWriter output = this.outputFactory.create();
-    output.println(serialize(new ObjectOutputStreamHistoryStore.IdResult(
-        result.getDetails().getId(), result.getStatusTestPair())));
+    output.println(serialize(result));
     output.flush();
   }
 
@@ -80,6 +103,16 @@ public class ObjectOutputStreamHistoryStore implements HistoryStore {
     return this.previousClassPath;
   }
 
+  @Override
+  public Map<MutationIdentifier, Long> getHistoricCoverageFingerprints() {
+    return this.previousFingerprints;
+  }
+
+  @Override
+  public void close() {
+    this.outputFactory.close();
+  }
+
   @Override
   public void initialize() {
     if (this.input != null) {
@@ -100,6 +133,11 @@ public class ObjectOutputStreamHistoryStore implements HistoryStore {
       while (line != null) {
         final IdResult result = deserialize(line, IdResult.class);
         this.previousResults.put(result.id, result.status);
+        if (result.coverageFingerprint != null) {
+          this.previousFingerprints.put(result.id, result.coverageFingerprint);
+        } else {
+          this.previousFingerprints.remove(result.id);
+        }
         line = this.input.readLine();
       }
     } catch (final IOException e) {
@@ -148,10 +186,14 @@ public class ObjectOutputStreamHistoryStore implements HistoryStore {
     private static final long    serialVersionUID = 1L;
     final MutationIdentifier     id;
     final MutationStatusTestPair status;
+    // absent from results written before fingerprints were recorded
+    final Long                   coverageFingerprint;
 
-    IdResult(final MutationIdentifier id, final MutationStatusTestPair status) {
+    IdResult(final MutationIdentifier id, final MutationStatusTestPair status,
+        final Long coverageFingerprint) {
       this.id = id;
       this.status = status;
+      this.coverageFingerprint = coverageFingerprint;
     }
 
   }
@@ -0,0 +1,298 @@
+package org.pitest.mutationtest.incremental;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.pitest.classinfo.ClassInfo;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.util.Log;
+import org.pitest.util.Unchecked;
+
+/**
+ * Results shared between runs, and between machines building the same code,
+ * keyed by what a result depends on. That is the mutation, the hash of its
+ * class and of those the class extends or is nested within, and the
+ * fingerprint of the tests covering it. Any run in which these are unchanged
+ * may reuse the result, whatever history it holds.
+ *
+ * Requests to the backend are made on a small pool of threads, so that the
+ * results of a batch of mutations are looked up concurrently and results are
+ * written back without waiting for the backend.
+ *
+ * The cache is an optimisation only. A failure to reach it is logged, and it
+ * is not used again for the rest of the run.
+ */
+public class ResultCache {
+
+  private static final Logger               LOG       = Log.getLogger();
+
+  private static final byte                 VERSION   = 1;
+
+  private static final int                  REQUESTS  = 8;
+
+  // the statuses reused from history
+  private static final Set<DetectionStatus> CACHEABLE = EnumSet.of(
+      DetectionStatus.KILLED, DetectionStatus.SURVIVED,
+      DetectionStatus.TIMED_OUT);
+
+  private final CacheBackend                backend;
+  private final CoverageDatabase            coverage;
+  private final CoverageFingerprint         fingerprints;
+  private final ThreadPoolExecutor          requests;
+  private final Queue<Future<?>>            writes    = new ConcurrentLinkedQueue<>();
+  private volatile boolean                  available = true;
+
+  public ResultCache(final CacheBackend backend,
+      final CoverageDatabase coverage) {
+    this(backend, coverage, REQUESTS);
+  }
+
+  /**
+   * @param requests
+   *          maximum number of requests made to the backend at once
+   */
+  ResultCache(final CacheBackend backend, final CoverageDatabase coverage,
+      final int requests) {
+    this.backend = backend;
+    this.coverage = coverage;
+    this.fingerprints = new CoverageFingerprint(coverage);
+    this.requests = new ThreadPoolExecutor(requests, requests, 5,
+        TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), r -> {
+          final Thread thread = new Thread(r);
+          thread.setDaemon(true);
+          thread.setName("pit-result-cache");
+          return thread;
+        });
+    this.requests.allowCoreThreadTimeOut(true);
+  }
+
+  public Optional<MutationStatusTestPair> get(final MutationDetails mutation) {
+    return Optional.ofNullable(getAll(Collections.singletonList(mutation)).get(
+        mutation.getId()));
+  }
+
+  /**
+   * Looks up the results of a batch of mutations concurrently
+   *
+   * @param mutations
+   *          mutations to look up
+   * @return the cached results found, by mutation
+   */
+  public Map<MutationIdentifier, MutationStatusTestPair> getAll(
+      final Collection<MutationDetails> mutations) {
+    if (!this.available || mutations.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    // keys are calculated here, as the coverage they depend on is not shared
+    // between threads
+    final List<Future<Optional<byte[]>>> lookups = new ArrayList<>(
+        mutations.size());
+    try {
+      for (final MutationDetails each : mutations) {
+        final String key = keyFor(each);
+        lookups.add(this.requests.submit(() -> this.backend.get(key)));
+      }
+    } catch (final RejectedExecutionException e) {
+      return Collections.emptyMap();
+    }
+
+    final Map<MutationIdentifier, MutationStatusTestPair> found = new HashMap<>();
+    final Iterator<Future<Optional<byte[]>>> lookup = lookups.iterator();
+    for (final MutationDetails each : mutations) {
+      final Optional<byte[]> entry = await(lookup.next(),
+          Optional.<byte[]> empty());
+      if (entry.isPresent()) {
+        decode(entry.get()).ifPresent(r -> found.put(each.getId(), r));
+      }
+    }
+    return found;
+  }
+
+  public void put(final MutationResult result) {
+    if (!this.available || !CACHEABLE.contains(result.getStatus())) {
+      return;
+    }
+    try {
+      final String key = keyFor(result.getDetails());
+      final byte[] value = encode(result.getStatusTestPair());
+      // writes are only waited for on flushing, so are pruned once complete
+      while ((this.writes.peek() != null) && this.writes.peek().isDone()) {
+        this.writes.poll();
+      }
+      this.writes.add(this.requests.submit(() -> {
+        if (this.available) {
+          this.backend.put(key, value);
+        }
+        return null;
+      }));
+    } catch (final IOException e) {
+      disable(e);
+    } catch (final RejectedExecutionException e) {
+      // closed
+    }
+  }
+
+  /**
+   * Waits for results put in the cache to be written
+   */
+  public void flush() {
+    Future<?> each;
+    while ((each = this.writes.poll()) != null) {
+      await(each, null);
+    }
+  }
+
+  /**
+   * Waits for results put in the cache to be written, and stops the threads
+   * making requests
+   */
+  public void close() {
+    flush();
+    this.requests.shutdown();
+  }
+
+  private <T> T await(final Future<T> request, final T onFailure) {
+    try {
+      return request.get();
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        disable((IOException) e.getCause());
+        return onFailure;
+      }
+      throw Unchecked.translateCheckedException(e.getCause());
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  String keyFor(final MutationDetails mutation) {
+    final MutationIdentifier id = mutation.getId();
+    final MessageDigest digest = sha256();
+    update(digest, id.getClassName().asJavaName());
+    update(digest, id.getLocation().getMethodName().name());
+    update(digest, id.getLocation().getMethodDesc());
+    update(digest, id.getMutator());
+    update(digest, id.getIndexes().toString());
+    update(digest, classHash(id.getClassName()));
+    digest.update(ByteBuffer.allocate(8)
+        .putLong(this.fingerprints.fingerprint(mutation)).array());
+    return String.format("%064x", new BigInteger(1, digest.digest()));
+  }
+
+  private String classHash(final ClassName clazz) {
+    return this.coverage.getClassInfo(Collections.singleton(clazz)).stream()
+        .findFirst().map(ClassInfo::getDeepHash).map(h -> h.toString(16))
+        .orElse("");
+  }
+
+  private synchronized void disable(final IOException e) {
+    if (this.available) {
+      this.available = false;
+      LOG.warning("Could not reach result cache, so it will not be used for the rest of this run. "
+          + e);
+    }
+  }
+
+  private static byte[] encode(final MutationStatusTestPair status)
+      throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final DataOutputStream out = new DataOutputStream(bytes);
+    out.writeByte(VERSION);
+    out.writeUTF(status.getStatus().name());
+    out.writeInt(status.getNumberOfTestsRun());
+    writeStrings(out, status.getKillingTests());
+    writeStrings(out, status.getSucceedingTests());
+    return bytes.toByteArray();
+  }
+
+  // entries are read with a plain format rather than java serialization, as a
+  // shared cache cannot be fully trusted
+  private static Optional<MutationStatusTestPair> decode(final byte[] entry) {
+    try {
+      final DataInputStream in = new DataInputStream(new ByteArrayInputStream(
+          entry));
+      if (in.readByte() != VERSION) {
+        return Optional.empty();
+      }
+      final DetectionStatus status = DetectionStatus.valueOf(in.readUTF());
+      final int testsRun = in.readInt();
+      final List<String> killing = readStrings(in);
+      final List<String> succeeding = readStrings(in);
+      return Optional.of(new MutationStatusTestPair(testsRun, status, killing,
+          succeeding));
+    } catch (final IOException | IllegalArgumentException e) {
+      LOG.fine("Ignoring unreadable result cache entry " + e);
+      return Optional.empty();
+    }
+  }
+
+  private static void writeStrings(final DataOutputStream out,
+      final List<String> values) throws IOException {
+    out.writeInt(values.size());
+    for (final String each : values) {
+      out.writeUTF(each);
+    }
+  }
+
+  private static List<String> readStrings(final DataInputStream in)
+      throws IOException {
+    final int count = in.readInt();
+    if (count < 0) {
+      throw new IOException("Negative count in result cache entry");
+    }
+    final List<String> values = new ArrayList<>();
+    for (int i = 0; i != count; i++) {
+      values.add(in.readUTF());
+    }
+    return values;
+  }
+
+  private static void update(final MessageDigest digest, final String value) {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+    digest.update(bytes);
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+}
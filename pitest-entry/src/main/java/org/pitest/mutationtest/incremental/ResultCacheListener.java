@@ -0,0 +1,37 @@
+package org.pitest.mutationtest.incremental;
+
+import org.pitest.mutationtest.ClassMutationResults;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationResultListener;
+
+public class ResultCacheListener implements MutationResultListener {
+
+  private final ResultCache cache;
+
+  public ResultCacheListener(final ResultCache cache) {
+    this.cache = cache;
+  }
+
+  @Override
+  public void runStart() {
+
+  }
+
+  @Override
+  public void handleMutationResult(final ClassMutationResults metaData) {
+    for (final MutationResult each : metaData.getMutations()) {
+      // results taken from history or the cache ran no tests, so are not
+      // written back
+      if (each.getNumberOfTestsRun() != 0) {
+        this.cache.put(each);
+      }
+    }
+  }
+
+  @Override
+  public void runEnd() {
+    // results are written in the background
+    this.cache.close();
+  }
+
+}
@@ -2,7 +2,6 @@ package org.pitest.mutationtest.tooling;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.Reader;
 import java.util.Map;
 
 import org.pitest.classpath.ClassPath;
@@ -16,13 +15,13 @@ import java.util.Optional;
 import org.pitest.functional.SideEffect1;
 import org.pitest.mutationtest.HistoryStore;
 import org.pitest.mutationtest.MutationResultListenerFactory;
+import org.pitest.mutationtest.config.FreeFormProperties;
 import org.pitest.mutationtest.config.PluginServices;
 import org.pitest.mutationtest.config.ReportOptions;
 import org.pitest.mutationtest.config.SettingsFactory;
-import org.pitest.mutationtest.incremental.ObjectOutputStreamHistoryStore;
-import org.pitest.mutationtest.incremental.WriterFactory;
 import org.pitest.plugin.Feature;
 import org.pitest.plugin.FeatureParameter;
+import org.pitest.process.ClassDataSharing;
 import org.pitest.process.JavaAgent;
 import org.pitest.process.LaunchOptions;
 import org.pitest.util.Log;
@@ -32,6 +31,11 @@ import org.pitest.util.Timings;
 
 public class EntryPoint {
 
+  // plugin properties naming a directory in which to keep launch jars, and
+  // sharing class data between minions through archives kept there
+  private static final String JAR_CACHE_DIR      = "jarCacheDir";
+  private static final String CLASS_DATA_SHARING = "classDataSharing";
+
   /**
    * Convenient entry point for tools to run mutation analysis.
    *
@@ -78,17 +82,18 @@ public class EntryPoint {
 
     final ClassPath cp = data.getClassPath();
 
-    final Optional<Reader> reader = data.createHistoryReader();
-    final WriterFactory historyWriter = data.createHistoryWriter();
-
     // workaround for apparent java 1.5 JVM bug . . . might not play nicely
     // with distributed testing
+    final Optional<File> jarCacheDir = jarCacheDir(baseDir, data);
     final JavaAgent jac = new JarCreatingJarFinder(
-        new ClassPathByteArraySource(cp));
+        new ClassPathByteArraySource(cp), jarCacheDir);
 
     final KnownLocationJavaAgentFinder ja = new KnownLocationJavaAgentFinder(
         jac.getJarLocation().get());
 
+    final Optional<ClassDataSharing> sharing = classDataSharing(jarCacheDir,
+        data);
+
     final ResultOutputStrategy reportOutput = settings.getOutputStrategy();
 
     final MutationResultListenerFactory reportFactory = settings
@@ -97,7 +102,8 @@ public class EntryPoint {
     final CoverageOptions coverageOptions = settings.createCoverageOptions();
     final LaunchOptions launchOptions = new LaunchOptions(ja,
         settings.getJavaExecutable(), data.getJvmArgs(), environmentVariables)
-        .usingClassPathJar(data.useClasspathJar());
+        .usingClassPathJar(data.useClasspathJar() || sharing.isPresent())
+        .withJarCacheDir(jarCacheDir).withClassDataSharing(sharing);
     final ProjectClassPaths cps = data.getMutationClassPaths();
 
     final CodeSource code = new CodeSource(cps);
@@ -105,9 +111,10 @@ public class EntryPoint {
     final Timings timings = new Timings();
     final CoverageGenerator coverageDatabase = new DefaultCoverageGenerator(
         baseDir, coverageOptions, launchOptions, code,
-        settings.createCoverageExporter(), timings, !data.isVerbose());
+        settings.createCoverageExporter(), timings, !data.isVerbose(),
+        settings.getNumberOfCoverageMinions());
 
-    final HistoryStore history = new ObjectOutputStreamHistoryStore(historyWriter, reader);
+    final HistoryStore history = settings.createHistoryStore();
 
     final MutationStrategies strategies = new MutationStrategies(
         settings.createEngine(), history, coverageDatabase, reportFactory,
@@ -121,13 +128,41 @@ public class EntryPoint {
     } catch (final IOException e) {
       return AnalysisResult.fail(e);
     } finally {
+      sharing.ifPresent(ClassDataSharing::close);
       jac.close();
       ja.close();
-      historyWriter.close();
+      history.close();
     }
 
   }
 
+  private static Optional<File> jarCacheDir(File baseDir, ReportOptions data) {
+    final String dir = new FreeFormProperties(data.getFreeFormProperties())
+        .getString(JAR_CACHE_DIR, null);
+    if (dir == null) {
+      return Optional.empty();
+    }
+    final File f = new File(dir);
+    if (f.isAbsolute() || (baseDir == null)) {
+      return Optional.of(f);
+    }
+    return Optional.of(new File(baseDir, dir));
+  }
+
+  private static Optional<ClassDataSharing> classDataSharing(
+      Optional<File> jarCacheDir, ReportOptions data) {
+    if (!new FreeFormProperties(data.getFreeFormProperties()).getBoolean(
+        CLASS_DATA_SHARING, false)) {
+      return Optional.empty();
+    }
+    if (!jarCacheDir.isPresent()) {
+      Log.getLogger().warning(CLASS_DATA_SHARING + " requires " + JAR_CACHE_DIR
+          + " to be set. Class data will not be shared.");
+      return Optional.empty();
+    }
+    return Optional.of(new ClassDataSharing(jarCacheDir.get()));
+  }
+
   private void checkMatrixMode(ReportOptions data) {
     if (data.isFullMutationMatrix() && !data.getOutputFormats().contains("XML")) {
       throw new PitError("Full mutation matrix is only supported in the output format XML.");
@@ -14,9 +14,12 @@
  */
 package org.pitest.mutationtest.tooling;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.jar.Attributes;
 import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
@@ -27,12 +30,17 @@ import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classpath.ClassPathByteArraySource;
 import java.util.Optional;
 import org.pitest.process.JavaAgent;
+import org.pitest.util.ContentAddressedFiles;
 import org.pitest.util.FileUtil;
 import org.pitest.util.PitError;
 import org.pitest.util.Unchecked;
 
+import sun.pitest.ActiveMutant;
 import sun.pitest.CodeCoverageStore;
 import sun.pitest.InvokeReceiver;
+import sun.pitest.MutantTimedOutError;
+import sun.pitest.MutantTimeout;
+import sun.pitest.ProbeHitVisitor;
 
 public class JarCreatingJarFinder implements JavaAgent {
 
@@ -45,12 +53,32 @@ public class JarCreatingJarFinder implements JavaAgent {
   private static final String        AGENT_CLASS_NAME      = HotSwapAgent.class
       .getName();
 
+  private static final Class<?>[]    BOOT_CLASSES          = {
+      HotSwapAgent.class, CodeCoverageStore.class, InvokeReceiver.class,
+      ProbeHitVisitor.class, ActiveMutant.class, MutantTimeout.class,
+      MutantTimedOutError.class };
+
   private Optional<String>             location              = Optional.empty();
 
   private final ClassByteArraySource classByteSource;
+  private final Optional<File>       cacheDir;
 
   public JarCreatingJarFinder(final ClassByteArraySource classByteSource) {
+    this(classByteSource, Optional.empty());
+  }
+
+  /**
+   * @param classByteSource
+   *          source of the bytes of the agent classes
+   * @param cacheDir
+   *          directory in which to keep the jar, named after a hash of the
+   *          classes it contains, so it can be reused by later runs. If empty
+   *          a temporary jar is created and deleted on close.
+   */
+  public JarCreatingJarFinder(final ClassByteArraySource classByteSource,
+      final Optional<File> cacheDir) {
     this.classByteSource = classByteSource;
+    this.cacheDir = cacheDir;
   }
 
   public JarCreatingJarFinder() {
@@ -68,10 +96,16 @@ public class JarCreatingJarFinder implements JavaAgent {
   private Optional<String> createJar() {
     try {
 
+      if (this.cacheDir.isPresent()) {
+        return Optional.of(createCachedJar(this.cacheDir.get())
+            .getAbsolutePath());
+      }
+
       final File randomName = File.createTempFile(FileUtil.randomFilename(),
           ".jar");
       final FileOutputStream fos = new FileOutputStream(randomName);
-      createJarFromClassPathResources(fos, randomName.getAbsolutePath());
+      createJarFromClassPathResources(fos,
+          getBootClassPath(randomName.getAbsoluteFile()));
       return Optional.ofNullable(randomName.getAbsolutePath());
 
     } catch (final IOException ex) {
@@ -79,8 +113,28 @@ public class JarCreatingJarFinder implements JavaAgent {
     }
   }
 
-  private void createJarFromClassPathResources(final FileOutputStream fos,
-      final String location) throws IOException {
+  private File createCachedJar(final File dir) throws IOException {
+    final ByteArrayOutputStream classes = new ByteArrayOutputStream();
+    for (final Class<?> each : BOOT_CLASSES) {
+      classes.write(each.getName().getBytes(StandardCharsets.UTF_8));
+      classes.write(classBytes(each.getName()));
+    }
+    final File jar = new File(dir, "pitest-agent-"
+        + ContentAddressedFiles.hash(classes.toByteArray()) + ".jar");
+    if (jar.exists()) {
+      return jar;
+    }
+
+    // the jar is named in its manifest relative to itself, which the JVM
+    // resolves against the location of the agent, so the directory may be
+    // moved or restored elsewhere
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    createJarFromClassPathResources(bytes, jar.getName());
+    return ContentAddressedFiles.writeIfAbsent(jar, bytes.toByteArray());
+  }
+
+  private void createJarFromClassPathResources(final OutputStream fos,
+      final String bootClassPath) throws IOException {
     final Manifest m = new Manifest();
 
     m.clear();
@@ -88,16 +142,15 @@ public class JarCreatingJarFinder implements JavaAgent {
     if (global.getValue(Attributes.Name.MANIFEST_VERSION) == null) {
       global.put(Attributes.Name.MANIFEST_VERSION, "1.0");
     }
-    final File mylocation = new File(location);
-    global.putValue(BOOT_CLASSPATH, getBootClassPath(mylocation));
+    global.putValue(BOOT_CLASSPATH, bootClassPath);
     global.putValue(PREMAIN_CLASS, AGENT_CLASS_NAME);
     global.putValue(CAN_REDEFINE_CLASSES, "true");
     global.putValue(CAN_SET_NATIVE_METHOD, "true");
 
     try (JarOutputStream jos = new JarOutputStream(fos, m)) {
-      addClass(HotSwapAgent.class, jos);
-      addClass(CodeCoverageStore.class, jos);
-      addClass(InvokeReceiver.class, jos);
+      for (final Class<?> each : BOOT_CLASSES) {
+        addClass(each, jos);
+      }
     }
   }
 
@@ -126,7 +179,7 @@ public class JarCreatingJarFinder implements JavaAgent {
 
   @Override
   public void close() {
-    if (this.location.isPresent()) {
+    if (this.location.isPresent() && !this.cacheDir.isPresent()) {
       final File f = new File(this.location.get());
       f.delete();
     }
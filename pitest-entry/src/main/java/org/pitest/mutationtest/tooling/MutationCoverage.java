@@ -19,10 +19,15 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IntSummaryStatistics;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,6 +35,7 @@ import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classinfo.ClassInfo;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.classinfo.MethodHashes;
 import org.pitest.classpath.ClassPathByteArraySource;
 import org.pitest.classpath.ClassloaderByteArraySource;
 import org.pitest.classpath.CodeSource;
@@ -45,7 +51,10 @@ import org.pitest.mutationtest.ListenerArguments;
 import org.pitest.mutationtest.MutationAnalyser;
 import org.pitest.mutationtest.MutationConfig;
 import org.pitest.mutationtest.MutationResultListener;
+import org.pitest.mutationtest.TimeoutLengthStrategy;
+import org.pitest.mutationtest.build.AdaptiveTimeoutStrategy;
 import org.pitest.mutationtest.build.MutationAnalysisUnit;
+import org.pitest.mutationtest.build.MutationAnalysisUnitPipeline;
 import org.pitest.mutationtest.build.MutationGrouper;
 import org.pitest.mutationtest.build.MutationInterceptor;
 import org.pitest.mutationtest.build.MutationSource;
@@ -53,13 +62,17 @@ import org.pitest.mutationtest.build.MutationTestBuilder;
 import org.pitest.mutationtest.build.PercentAndConstantTimeoutStrategy;
 import org.pitest.mutationtest.build.TestPrioritiser;
 import org.pitest.mutationtest.build.WorkerFactory;
+import org.pitest.mutationtest.config.FreeFormProperties;
 import org.pitest.mutationtest.config.ReportOptions;
 import org.pitest.mutationtest.config.SettingsFactory;
 import org.pitest.mutationtest.engine.MutationEngine;
 import org.pitest.mutationtest.execute.MutationAnalysisExecutor;
+import org.pitest.mutationtest.incremental.CoverageFingerprint;
 import org.pitest.mutationtest.incremental.DefaultCodeHistory;
 import org.pitest.mutationtest.incremental.HistoryListener;
 import org.pitest.mutationtest.incremental.IncrementalAnalyser;
+import org.pitest.mutationtest.incremental.ResultCache;
+import org.pitest.mutationtest.incremental.ResultCacheListener;
 import org.pitest.mutationtest.statistics.MutationStatisticsListener;
 import org.pitest.mutationtest.statistics.Score;
 import org.pitest.util.Log;
@@ -70,6 +83,19 @@ public class MutationCoverage {
 
   private static final int         MB  = 1024 * 1024;
 
+  // plugin properties controlling reuse of mutation test minions
+  private static final String      REUSE_MINIONS            = "reuseMinions";
+  private static final String      MAX_MUTATIONS_PER_MINION = "maxMutationsPerMinion";
+  private static final String      RESULTS_IN_COMPLETION_ORDER = "resultsInCompletionOrder";
+  private static final String      VIRTUAL_THREADS          = "virtualThreads";
+  private static final String      ADAPTIVE_SCHEDULING      = "adaptiveScheduling";
+  private static final String      ISOLATE_MUTANTS          = "isolateMutants";
+  private static final String      PIPELINE_ANALYSIS        = "pipelineAnalysis";
+  private static final String      STOP_TIMED_OUT_TESTS     = "stopTimedOutTests";
+  private static final String      ADAPTIVE_TIMEOUTS        = "adaptiveTimeouts";
+
+  private static final int         PIPELINED_CLASSES_PER_THREAD = 4;
+
   private static final Logger      LOG = Log.getLogger();
   private final ReportOptions      data;
 
@@ -123,34 +149,62 @@ public class MutationCoverage {
 
     final EngineArguments args = EngineArguments.arguments()
         .withExcludedMethods(this.data.getExcludedMethods())
-        .withMutators(this.data.getMutators());
+        .withMutators(this.data.getMutators())
+        .withTimeoutChecks(new FreeFormProperties(
+            this.data.getFreeFormProperties())
+            .getBoolean(STOP_TIMED_OUT_TESTS, false));
     final MutationEngine engine = this.strategies.factory().createEngine(args);
 
+    final Optional<ResultCache> cache = this.settings
+        .createResultCacheBackend(this.baseDir)
+        .map(b -> new ResultCache(b, coverageData));
+
     final List<MutationResultListener> config = createConfig(t0, coverageData,
-        stats, engine);
+        stats, engine, cache);
 
     history().initialize();
 
-    this.timings.registerStart(Timings.Stage.BUILD_MUTATION_TESTS);
-    final List<MutationAnalysisUnit> tus = buildMutationTests(coverageData,
-        engine, args);
-    this.timings.registerEnd(Timings.Stage.BUILD_MUTATION_TESTS);
-
-    LOG.info("Created  " + tus.size() + " mutation test units");
-    checkMutationsFound(tus);
-
-    recordClassPath(coverageData);
-
-    LOG.fine("Used memory before analysis start "
-        + ((runtime.totalMemory() - runtime.freeMemory()) / MB) + " mb");
-    LOG.fine("Free Memory before analysis start " + (runtime.freeMemory() / MB)
-        + " mb");
-
-    final MutationAnalysisExecutor mae = new MutationAnalysisExecutor(
-        numberOfThreads(), config);
-    this.timings.registerStart(Timings.Stage.RUN_MUTATION_TESTS);
-    mae.run(tus);
-    this.timings.registerEnd(Timings.Stage.RUN_MUTATION_TESTS);
+    final MutationConfig mutationConfig = new MutationConfig(engine, coverage()
+        .getLaunchOptions());
+    final WorkerFactory wf = createWorkerFactory(mutationConfig, args);
+
+    try {
+      final FreeFormProperties props = new FreeFormProperties(
+          this.data.getFreeFormProperties());
+      final MutationAnalysisExecutor mae = new MutationAnalysisExecutor(
+          numberOfThreads(), config,
+          props.getBoolean(RESULTS_IN_COMPLETION_ORDER, false),
+          props.getBoolean(VIRTUAL_THREADS, false),
+          props.getBoolean(ADAPTIVE_SCHEDULING, false));
+
+      if (props.getBoolean(PIPELINE_ANALYSIS, false)) {
+        runPipelined(coverageData, mutationConfig, wf, mae, cache);
+      } else {
+        this.timings.registerStart(Timings.Stage.BUILD_MUTATION_TESTS);
+        final MutationTestBuilder builder = createBuilder(coverageData,
+            mutationConfig, wf, cache);
+        final List<MutationAnalysisUnit> tus = builder
+            .createMutationTestUnits(this.code.getCodeUnderTestNames());
+        this.timings.registerEnd(Timings.Stage.BUILD_MUTATION_TESTS);
+
+        LOG.info("Created  " + tus.size() + " mutation test units");
+        logTestClassesPerUnit(builder);
+        checkMutationsFound(tus.size());
+
+        recordClassPath(coverageData);
+
+        LOG.fine("Used memory before analysis start "
+            + ((runtime.totalMemory() - runtime.freeMemory()) / MB) + " mb");
+        LOG.fine("Free Memory before analysis start "
+            + (runtime.freeMemory() / MB) + " mb");
+
+        this.timings.registerStart(Timings.Stage.RUN_MUTATION_TESTS);
+        mae.run(tus);
+        this.timings.registerEnd(Timings.Stage.RUN_MUTATION_TESTS);
+      }
+    } finally {
+      wf.close();
+    }
 
     LOG.info("Completed in " + timeSpan(t0));
 
@@ -180,7 +234,8 @@ private int numberOfThreads() {
 
   private List<MutationResultListener> createConfig(final long t0,
       final CoverageDatabase coverageData,
-      final MutationStatisticsListener stats, final MutationEngine engine) {
+      final MutationStatisticsListener stats, final MutationEngine engine,
+      final Optional<ResultCache> cache) {
     final List<MutationResultListener> ls = new ArrayList<>();
 
     ls.add(stats);
@@ -193,7 +248,9 @@ private int numberOfThreads() {
         .listenerFactory().getListener(this.data.getFreeFormProperties(), args);
 
     ls.add(mutationReportListener);
-    ls.add(new HistoryListener(history()));
+    ls.add(new HistoryListener(history(), Optional.of(new CoverageFingerprint(
+        coverageData))));
+    cache.ifPresent(c -> ls.add(new ResultCacheListener(c)));
 
     if (!this.data.isVerbose()) {
       ls.add(new SpinnerListener(System.out));
@@ -205,7 +262,12 @@ private int numberOfThreads() {
     final Set<ClassName> allClassNames = getAllClassesAndTests(coverageData);
     final Collection<HierarchicalClassId> ids = FCollection.map(
         this.code.getClassInfo(allClassNames), ClassInfo.toFullClassId());
-    history().recordClassPath(ids, coverageData);
+    final Map<ClassName, MethodHashes> methodHashes = new HashMap<>();
+    for (final ClassName each : this.code.getCodeUnderTestNames()) {
+      this.code.fetchClassBytes(each).ifPresent(
+          bytes -> methodHashes.put(each, MethodHashes.fromClassBytes(bytes)));
+    }
+    history().recordClassPath(ids, coverageData, methodHashes);
   }
 
   private Set<ClassName> getAllClassesAndTests(
@@ -245,44 +307,112 @@ private int numberOfThreads() {
     stats.getStatistics().report(ps);
   }
 
-  private List<MutationAnalysisUnit> buildMutationTests(
-      final CoverageDatabase coverageData, final MutationEngine engine, EngineArguments args) {
+  /**
+   * Runs units as they are created, rather than waiting until all classes have
+   * been searched for mutations. Building and running the units overlap, so
+   * both are timed as a single stage. The check that mutations were found is
+   * made as soon as the last class has been searched, and fails the run
+   * through the pipeline.
+   */
+  private void runPipelined(final CoverageDatabase coverageData,
+      final MutationConfig mutationConfig, final WorkerFactory wf,
+      final MutationAnalysisExecutor mae, final Optional<ResultCache> cache) {
+    recordClassPath(coverageData);
 
-    final MutationConfig mutationConfig = new MutationConfig(engine, coverage()
-        .getLaunchOptions());
+    final MutationTestBuilder builder = createBuilder(coverageData,
+        mutationConfig, wf, cache);
+    final AtomicInteger created = new AtomicInteger();
+    this.timings.registerStart(Timings.Stage.RUN_MUTATION_TESTS);
+    try (MutationAnalysisUnitPipeline units = MutationAnalysisUnitPipeline
+        .start(2 * numberOfThreads(), consumer -> {
+          builder.createMutationTestUnits(this.code.getCodeUnderTestNames(),
+              PIPELINED_CLASSES_PER_THREAD * numberOfThreads(), unit -> {
+                created.incrementAndGet();
+                consumer.accept(unit);
+              });
+          LOG.info("Created  " + created.get() + " mutation test units");
+          logTestClassesPerUnit(builder);
+          checkMutationsFound(created.get());
+        })) {
+      mae.run(units);
+    }
+    this.timings.registerEnd(Timings.Stage.RUN_MUTATION_TESTS);
+  }
 
-    final ClassByteArraySource bas = fallbackToClassLoader(new ClassPathByteArraySource(
-        this.data.getClassPath()));
+  private static void logTestClassesPerUnit(final MutationTestBuilder builder) {
+    final IntSummaryStatistics stats = builder.getTestClassesPerUnit();
+    if (stats.getCount() != 0) {
+      LOG.info(String.format(
+          "Minions will load %.1f test classes per unit on average, at most %d and %d in total",
+          stats.getAverage(), stats.getMax(), stats.getSum()));
+    }
+  }
+
+  private MutationTestBuilder createBuilder(
+      final CoverageDatabase coverageData, final MutationConfig mutationConfig,
+      final WorkerFactory wf, final Optional<ResultCache> cache) {
 
+    // each thread searching for mutations is given its own source, as
+    // interceptors hold state for the class being searched, but the test
+    // prioritiser is read only once built so is shared
     final TestPrioritiser testPrioritiser = this.settings.getTestPrioritiser()
         .makeTestPrioritiser(this.data.getFreeFormProperties(), this.code,
-            coverageData);
-
-    final MutationInterceptor interceptor = this.settings.getInterceptor()
-        .createInterceptor(this.data, bas);
-
-    final MutationSource source = new MutationSource(mutationConfig, testPrioritiser, bas, interceptor);
+            coverageData, history().getHistoricResults());
+    final Supplier<MutationSource> sources = () -> createMutationSource(
+        testPrioritiser, mutationConfig);
 
     final MutationAnalyser analyser = new IncrementalAnalyser(
-        new DefaultCodeHistory(this.code, history()), coverageData);
-
-    final WorkerFactory wf = new WorkerFactory(this.baseDir, coverage()
-        .getConfiguration(), mutationConfig, args,
-        new PercentAndConstantTimeoutStrategy(this.data.getTimeoutFactor(),
-            this.data.getTimeoutConstant()), this.data.isVerbose(), this.data.isFullMutationMatrix(),
-            this.data.getClassPath().getLocalClassPath());
+        new DefaultCodeHistory(this.code, history()), coverageData, cache);
 
     final MutationGrouper grouper = this.settings.getMutationGrouper().makeFactory(
         this.data.getFreeFormProperties(), this.code,
         this.data.getNumberOfThreads(), this.data.getMutationUnitSize());
-    final MutationTestBuilder builder = new MutationTestBuilder(wf, analyser,
-        source, grouper);
+    final FreeFormProperties props = new FreeFormProperties(
+        this.data.getFreeFormProperties());
+    return new MutationTestBuilder(wf, analyser, sources, grouper,
+        props.getBoolean(ADAPTIVE_SCHEDULING, false), numberOfThreads());
+  }
 
-    return builder.createMutationTestUnits(this.code.getCodeUnderTestNames());
+  private MutationSource createMutationSource(
+      final TestPrioritiser testPrioritiser,
+      final MutationConfig mutationConfig) {
+    final ClassByteArraySource bas = fallbackToClassLoader(new ClassPathByteArraySource(
+        this.data.getClassPath()));
+
+    final MutationInterceptor interceptor = this.settings.getInterceptor()
+        .createInterceptor(this.data, bas);
+
+    return new MutationSource(mutationConfig, testPrioritiser, bas, interceptor);
+  }
+
+  private WorkerFactory createWorkerFactory(final MutationConfig mutationConfig,
+      final EngineArguments args) {
+    final FreeFormProperties props = new FreeFormProperties(
+        this.data.getFreeFormProperties());
+    return new WorkerFactory(this.baseDir, coverage()
+        .getConfiguration(), mutationConfig, args,
+        createTimeoutStrategy(props), this.data.isVerbose(), this.data.isFullMutationMatrix(),
+            this.data.getClassPath().getLocalClassPath(),
+            // adaptive scheduling hands units to minions in batches, which
+            // would otherwise each start a new minion
+            props.getBoolean(REUSE_MINIONS, false)
+                || props.getBoolean(ADAPTIVE_SCHEDULING, false),
+            props.getInt(MAX_MUTATIONS_PER_MINION, 0),
+            props.getBoolean(ISOLATE_MUTANTS, false));
+  }
+
+  private TimeoutLengthStrategy createTimeoutStrategy(
+      final FreeFormProperties props) {
+    if (props.getBoolean(ADAPTIVE_TIMEOUTS, false)) {
+      return new AdaptiveTimeoutStrategy(this.data.getTimeoutFactor(),
+          this.data.getTimeoutConstant());
+    }
+    return new PercentAndConstantTimeoutStrategy(this.data.getTimeoutFactor(),
+        this.data.getTimeoutConstant());
   }
 
-  private void checkMutationsFound(final List<MutationAnalysisUnit> tus) {
-    if (tus.isEmpty()) {
+  private void checkMutationsFound(final int units) {
+    if (units == 0) {
       if (this.data.shouldFailWhenNoMutations()) {
         throw new PitHelpError(Help.NO_MUTATIONS_FOUND);
       } else {
@@ -0,0 +1,282 @@
+package org.pitest.process;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.pitest.util.ContentAddressedFiles;
+import org.pitest.util.FileUtil;
+import org.pitest.util.Log;
+import org.pitest.util.Unchecked;
+
+/**
+ * Shares class data between child JVMs, so that classes loaded by one do not
+ * have to be parsed and verified again by each that follows.
+ *
+ * The first child launched with a given JVM and classpath records the classes
+ * it loads. Once it has exited an archive of those classes is dumped in the
+ * background, and children launched after that map the archive. Archives are
+ * kept in the supplied directory, named after the JVM, the classpath and the
+ * size and modification time of each jar on it, so are reused by later runs
+ * until a jar changes.
+ *
+ * Sharing requires a JVM of version 11 or above. Only classes from the JVM
+ * and from jars passed in a classpath jar are shared, as the JVM will not
+ * archive classes from directories. Children of other JVMs are launched
+ * unchanged.
+ */
+public class ClassDataSharing {
+
+  private static final Logger       LOG             = Log.getLogger();
+
+  private static final int          MIN_VERSION     = 11;
+  private static final Pattern      VERSION         = Pattern
+      .compile("version \"(1\\.)?(\\d+)");
+
+  private final File                dir;
+  private final Predicate<String>   supported;
+  private final Map<String, Boolean> supportedJvms  = new HashMap<>();
+  private final Map<File, Archive>  archives        = new HashMap<>();
+
+  public ClassDataSharing(final File dir) {
+    this(dir, ClassDataSharing::supportsSharing);
+  }
+
+  ClassDataSharing(final File dir, final Predicate<String> supported) {
+    this.dir = dir;
+    this.supported = supported;
+  }
+
+  /**
+   * Starts a child JVM, adding options to record or map shared class data
+   *
+   * @param builder
+   *          builder for the child, whose command begins with the java
+   *          executable
+   * @param classPathJar
+   *          jar supplying the jars on the classpath of the child, which must
+   *          come first on its classpath
+   * @param jars
+   *          the jars supplied by the classpath jar, separated by the path
+   *          separator
+   * @param agentJar
+   *          agent added to the child, which appends itself to the boot
+   *          classpath
+   * @return the started child
+   * @throws IOException
+   *          if the child cannot be started
+   */
+  public synchronized Process start(final ProcessBuilder builder,
+      final File classPathJar, final String jars,
+      final Optional<String> agentJar) throws IOException {
+    final String javaExecutable = builder.command().get(0);
+    if (!isSupported(javaExecutable)) {
+      return builder.start();
+    }
+
+    final Archive archive = this.archives.computeIfAbsent(
+        archiveFor(javaExecutable, classPathJar, jars, agentJar),
+        a -> new Archive(a, javaExecutable, classPathJar, agentJar));
+    archive.advance(false);
+
+    final List<String> options = archive.options();
+    builder.command().addAll(1, options);
+    final Process process = builder.start();
+    archive.started(process);
+    return process;
+  }
+
+  /**
+   * Completes any archive still being created, so that it is available to
+   * later runs
+   */
+  public synchronized void close() {
+    for (final Archive each : this.archives.values()) {
+      each.advance(true);
+    }
+  }
+
+  private boolean isSupported(final String javaExecutable) {
+    return this.supportedJvms.computeIfAbsent(javaExecutable,
+        this.supported::test);
+  }
+
+  File archiveFor(final String javaExecutable, final File classPathJar,
+      final String jars, final Optional<String> agentJar) {
+    final StringBuilder key = new StringBuilder(javaExecutable)
+        .append(File.pathSeparator).append(classPathJar.getAbsolutePath());
+    // jars may be rebuilt in place, as snapshots are, so the archive is also
+    // keyed by their size and modification time
+    for (final String each : jars.split(File.pathSeparator)) {
+      appendJar(key, each);
+    }
+    agentJar.ifPresent(a -> appendJar(key, a));
+    return new File(this.dir, "pitest-"
+        + ContentAddressedFiles.hash(key.toString().getBytes(
+            StandardCharsets.UTF_8)) + ".jsa");
+  }
+
+  private static void appendJar(final StringBuilder key, final String jar) {
+    final File file = new File(jar);
+    key.append(File.pathSeparator).append(jar).append('@')
+        .append(file.length()).append('@').append(file.lastModified());
+  }
+
+  static boolean supportsSharing(final String javaExecutable) {
+    try {
+      final Process p = new ProcessBuilder(javaExecutable, "-version")
+          .redirectErrorStream(true).start();
+      try (BufferedReader r = new BufferedReader(new InputStreamReader(
+          p.getInputStream(), StandardCharsets.UTF_8))) {
+        int version = 0;
+        String line;
+        while ((line = r.readLine()) != null) {
+          version = Math.max(version, majorVersion(line));
+        }
+        p.waitFor();
+        return version >= MIN_VERSION;
+      }
+    } catch (final IOException ex) {
+      LOG.fine("Could not determine version of " + javaExecutable + ": " + ex);
+      return false;
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw Unchecked.translateCheckedException(ex);
+    }
+  }
+
+  static int majorVersion(final String versionLine) {
+    final Matcher m = VERSION.matcher(versionLine);
+    if (!m.find()) {
+      return 0;
+    }
+    return Integer.parseInt(m.group(2));
+  }
+
+  private enum State {
+    NEW, RECORDING, DUMPING, READY, FAILED
+  }
+
+  /**
+   * Progress towards the archive for one JVM and classpath
+   */
+  private static class Archive {
+    private final File             archive;
+    private final File             classList;
+    private final File             dumping;
+    private final File             log;
+    private final String           javaExecutable;
+    private final File             classPathJar;
+    private final Optional<String> agentJar;
+
+    private State                  state;
+    private Process                process;
+
+    Archive(final File archive, final String javaExecutable,
+        final File classPathJar, final Optional<String> agentJar) {
+      this.archive = archive;
+      // runs sharing the directory may be creating the same archive
+      final String unique = archive.getPath() + "." + FileUtil.randomFilename();
+      this.classList = new File(unique + ".classlist");
+      this.dumping = new File(unique + ".tmp");
+      this.log = new File(unique + ".log");
+      this.javaExecutable = javaExecutable;
+      this.classPathJar = classPathJar;
+      this.agentJar = agentJar;
+      this.state = archive.exists() ? State.READY : State.NEW;
+    }
+
+    List<String> options() {
+      switch (this.state) {
+      case NEW:
+        this.state = State.RECORDING;
+        return Collections.singletonList("-XX:DumpLoadedClassList="
+            + this.classList.getAbsolutePath());
+      case READY:
+        return Arrays.asList("-Xshare:auto", "-XX:SharedArchiveFile="
+            + this.archive.getAbsolutePath());
+      default:
+        return Collections.emptyList();
+      }
+    }
+
+    void started(final Process process) {
+      if ((this.state == State.RECORDING) && (this.process == null)) {
+        this.process = process;
+      }
+    }
+
+    void advance(final boolean wait) {
+      try {
+        if ((this.state == State.RECORDING) && (this.process != null)
+            && finished(wait)) {
+          startDump();
+        }
+        if ((this.state == State.DUMPING) && finished(wait)) {
+          completeDump();
+        }
+      } catch (final IOException ex) {
+        LOG.fine("Could not create shared class archive: " + ex);
+        this.state = State.FAILED;
+      } catch (final InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw Unchecked.translateCheckedException(ex);
+      }
+    }
+
+    private boolean finished(final boolean wait) throws InterruptedException {
+      if (wait) {
+        this.process.waitFor();
+      }
+      return !this.process.isAlive();
+    }
+
+    private void startDump() throws IOException {
+      if (!this.classList.exists()) {
+        LOG.fine("No classes recorded for shared class archive");
+        this.state = State.FAILED;
+        return;
+      }
+      final List<String> cmd = new ArrayList<>(Arrays.asList(
+          this.javaExecutable, "-Xshare:dump",
+          "-XX:SharedClassListFile=" + this.classList.getAbsolutePath(),
+          "-XX:SharedArchiveFile=" + this.dumping.getAbsolutePath(),
+          "-cp", this.classPathJar.getAbsolutePath()));
+      // the boot classpath must match that of the children
+      this.agentJar.ifPresent(a -> cmd.add("-Xbootclasspath/a:" + a));
+      this.process = new ProcessBuilder(cmd).redirectErrorStream(true)
+          .redirectOutput(this.log).start();
+      this.state = State.DUMPING;
+    }
+
+    private void completeDump() throws IOException {
+      Files.deleteIfExists(this.classList.toPath());
+      if ((this.process.exitValue() != 0) || !this.dumping.exists()) {
+        LOG.fine("Could not create shared class archive, see " + this.log);
+        this.state = State.FAILED;
+        return;
+      }
+      // other runs sharing the directory must never map a partial archive
+      Files.move(this.dumping.toPath(), this.archive.toPath(),
+          StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      Files.deleteIfExists(this.log.toPath());
+      this.state = State.READY;
+    }
+  }
+
+}
@@ -14,10 +14,12 @@
  */
 package org.pitest.process;
 
+import java.io.File;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public class LaunchOptions {
 
@@ -26,6 +28,8 @@ public class LaunchOptions {
   private final JavaExecutableLocator javaExecutable;
   private final Map<String, String>   environmentVariables;
   private final boolean               usingClassPathJar;
+  private final Optional<File>        jarCacheDir;
+  private final Optional<ClassDataSharing> classDataSharing;
 
   public LaunchOptions(JavaAgent javaAgentFinder) {
     this(javaAgentFinder, new DefaultJavaExecutableLocator(), Collections
@@ -41,11 +45,21 @@ public class LaunchOptions {
   public LaunchOptions(JavaAgent javaAgentFinder,
       JavaExecutableLocator javaExecutable, List<String> childJVMArgs,
       Map<String, String> environmentVariables, boolean usingClassPathJar) {
+    this(javaAgentFinder, javaExecutable, childJVMArgs, environmentVariables,
+        usingClassPathJar, Optional.empty(), Optional.empty());
+  }
+
+  private LaunchOptions(JavaAgent javaAgentFinder,
+      JavaExecutableLocator javaExecutable, List<String> childJVMArgs,
+      Map<String, String> environmentVariables, boolean usingClassPathJar,
+      Optional<File> jarCacheDir, Optional<ClassDataSharing> classDataSharing) {
     this.javaAgentFinder = javaAgentFinder;
     this.childJVMArgs = childJVMArgs;
     this.javaExecutable = javaExecutable;
     this.environmentVariables = environmentVariables;
     this.usingClassPathJar = usingClassPathJar;
+    this.jarCacheDir = jarCacheDir;
+    this.classDataSharing = classDataSharing;
   }
 
   public JavaAgent getJavaAgentFinder() {
@@ -65,10 +79,37 @@ public class LaunchOptions {
   }
 
   public LaunchOptions usingClassPathJar(boolean useJar) {
-    return new LaunchOptions(javaAgentFinder, javaExecutable, childJVMArgs, environmentVariables, useJar);
+    return new LaunchOptions(javaAgentFinder, javaExecutable, childJVMArgs, environmentVariables, useJar, jarCacheDir, classDataSharing);
+  }
+
+  /**
+   * @param dir
+   *          directory in which jars created to launch processes are kept and
+   *          reused across runs. If empty a temporary jar is created for each
+   *          process.
+   */
+  public LaunchOptions withJarCacheDir(Optional<File> dir) {
+    return new LaunchOptions(javaAgentFinder, javaExecutable, childJVMArgs, environmentVariables, usingClassPathJar, dir, classDataSharing);
+  }
+
+  /**
+   * @param sharing
+   *          shares class data between the launched processes. Only used for
+   *          processes launched with a classpath jar.
+   */
+  public LaunchOptions withClassDataSharing(Optional<ClassDataSharing> sharing) {
+    return new LaunchOptions(javaAgentFinder, javaExecutable, childJVMArgs, environmentVariables, usingClassPathJar, jarCacheDir, sharing);
   }
   
   public boolean useClasspathJar() {
     return usingClassPathJar;
   }
+
+  public Optional<File> getJarCacheDir() {
+    return jarCacheDir;
+  }
+
+  public Optional<ClassDataSharing> getClassDataSharing() {
+    return classDataSharing;
+  }
 }
@@ -21,6 +21,7 @@ import java.io.File;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.pitest.classpath.ClassPath;
 import org.pitest.functional.SideEffect1;
@@ -36,6 +37,8 @@ public final class ProcessArgs {
   private String              javaExecutable;
   private Map<String, String> environmentVariables;
   private boolean             useClasspathJar = false;
+  private Optional<File>      jarCacheDir = Optional.empty();
+  private Optional<ClassDataSharing> classDataSharing = Optional.empty();
 
   private ProcessArgs(final String launchClassPath) {
     this.launchClassPath = launchClassPath;
@@ -108,12 +111,22 @@ public final class ProcessArgs {
     return useClasspathJar;
   }
   
+  public Optional<File> getJarCacheDir() {
+    return this.jarCacheDir;
+  }
+
+  public Optional<ClassDataSharing> getClassDataSharing() {
+    return this.classDataSharing;
+  }
+
   public ProcessArgs andLaunchOptions(final LaunchOptions launchOptions) {
     this.jvmArgs = launchOptions.getChildJVMArgs();
     this.javaAgentFinder = launchOptions.getJavaAgentFinder();
     this.javaExecutable = launchOptions.getJavaExecutable();
     this.environmentVariables = launchOptions.getEnvironmentVariables();
     this.useClasspathJar = launchOptions.useClasspathJar();
+    this.jarCacheDir = launchOptions.getJarCacheDir();
+    this.classDataSharing = launchOptions.getClassDataSharing();
     return this;
   }
 
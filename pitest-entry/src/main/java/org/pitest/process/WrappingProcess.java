@@ -33,11 +33,13 @@ public class WrappingProcess {
   public void start() throws IOException {
     final String[] args = { "" + this.port };
 
+    final Optional<File> classpathJar = createClasspathJar(
+        sharesClassData() ? jarEntries(true) : this.processArgs
+            .getLaunchClassPath());
     final ProcessBuilder processBuilder = createProcessBuilder(
         this.processArgs.getJavaExecutable(), this.processArgs.getJvmArgs(),
         this.minionClass, Arrays.asList(args),
-        this.processArgs.getJavaAgentFinder(),
-        this.processArgs.getLaunchClassPath());
+        this.processArgs.getJavaAgentFinder(), classpathJar);
 
     
     setClassPathInEnvironment(processBuilder);
@@ -45,11 +47,67 @@ public class WrappingProcess {
     configureProcessBuilder(processBuilder, this.processArgs.getWorkingDir(),
         this.processArgs.getEnvironmentVariables());
 
-    final Process process = processBuilder.start();
+    final Process process = startProcess(processBuilder, classpathJar);
     this.process = new JavaProcess(process, this.processArgs.getStdout(),
         this.processArgs.getStdErr());
   }
 
+  private Process startProcess(final ProcessBuilder processBuilder,
+      final Optional<File> classpathJar) throws IOException {
+    if (sharesClassData()) {
+      return this.processArgs.getClassDataSharing().get().start(
+          processBuilder, classpathJar.get(), jarEntries(true),
+          this.processArgs.getJavaAgentFinder().getJarLocation());
+    }
+    return processBuilder.start();
+  }
+
+  // The JVM will only share classes from a classpath that begins with the
+  // one the archive was created from, and which contains no directories. Jars
+  // are therefore passed in the classpath jar and directories after it, which
+  // is only possible without changing the order in which classes are found
+  // when no jar follows a directory.
+  private boolean sharesClassData() {
+    return this.processArgs.useClasspathJar()
+        && this.processArgs.getClassDataSharing().isPresent()
+        && jarsComeFirst(this.processArgs.getLaunchClassPath());
+  }
+
+  static boolean jarsComeFirst(final String classPath) {
+    boolean seenOther = false;
+    for (final String each : entries(classPath)) {
+      if (!isJar(each)) {
+        seenOther = true;
+      } else if (seenOther) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private String jarEntries(final boolean jars) {
+    final List<String> entries = new ArrayList<>();
+    for (final String each : entries(this.processArgs.getLaunchClassPath())) {
+      if (isJar(each) == jars) {
+        entries.add(each);
+      }
+    }
+    return String.join(File.pathSeparator, entries);
+  }
+
+  private static List<String> entries(final String classPath) {
+    final List<String> entries = new ArrayList<>();
+    for (final String each : classPath.split(File.pathSeparator)) {
+      if (!each.isEmpty()) {
+        entries.add(each);
+      }
+    }
+    return entries;
+  }
+
+  private static boolean isJar(final String entry) {
+    return entry.toLowerCase().endsWith(".jar");
+  }
   
    // Reportedly passing the classpath as an environment variable rather than on the command
    // line increases the allowable size of the classpath, but this has not been confirmed
@@ -75,9 +133,9 @@ public class WrappingProcess {
 
   private ProcessBuilder createProcessBuilder(String javaProc,
       List<String> args, Class<?> mainClass, List<String> programArgs,
-      JavaAgent javaAgent, String classPath) {
+      JavaAgent javaAgent, Optional<File> classpathJar) {
     final List<String> cmd = createLaunchArgs(javaProc, javaAgent, args, mainClass,
-        programArgs, classPath);
+        programArgs, classpathJar);
 
     // IBM jdk adds this, thereby breaking everything
     removeClassPathProperties(cmd);
@@ -95,12 +153,17 @@ public class WrappingProcess {
 
   private List<String> createLaunchArgs(String javaProcess,
       JavaAgent agentJarLocator, List<String> args, Class<?> mainClass,
-      List<String> programArgs, String classPath) {
+      List<String> programArgs, Optional<File> classpathJar) {
 
     final List<String> cmd = new ArrayList<>();
     cmd.add(javaProcess);
 
-    createClasspathJar(classPath, cmd);
+    classpathJar.ifPresent(jar -> {
+      cmd.add("-classpath");
+      final String others = sharesClassData() ? jarEntries(false) : "";
+      cmd.add(others.isEmpty() ? jar.getAbsolutePath() : jar.getAbsolutePath()
+          + File.pathSeparator + others);
+    });
 
     cmd.addAll(args);
 
@@ -112,17 +175,24 @@ public class WrappingProcess {
     return cmd;
   }
 
-  private void createClasspathJar(String classPath, final List<String> cmd) {
+  private Optional<File> createClasspathJar(String classPath) {
     if (this.processArgs.useClasspathJar()) {
       try {
-        cmd.add("-classpath");
-        cmd.add(
-            ManifestUtils.createClasspathJarFile(classPath).getAbsolutePath());
+        return Optional.of(classpathJar(classPath));
       } catch (Exception e) {
         throw new RuntimeException("Unable to create jar to contain classpath",
             e);
       }
     }
+    return Optional.empty();
+  }
+
+  private File classpathJar(String classPath) throws IOException {
+    final Optional<File> cacheDir = this.processArgs.getJarCacheDir();
+    if (cacheDir.isPresent()) {
+      return ManifestUtils.createClasspathJarFile(classPath, cacheDir.get());
+    }
+    return ManifestUtils.createClasspathJarFile(classPath);
   }
 
   private static void addPITJavaAgent(JavaAgent agentJarLocator,
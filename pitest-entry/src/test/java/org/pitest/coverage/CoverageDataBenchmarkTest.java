@@ -0,0 +1,135 @@
+package org.pitest.coverage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.CodeSource;
+import org.pitest.functional.FCollection;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.testapi.Description;
+
+/**
+ * Compares the indexed per class test lookup in CoverageData with a scan of
+ * all coverage for each class, as made by earlier versions, on a synthetic
+ * coverage map of 10k classes.
+ *
+ * The tests check that both find the same tests. To compare their timings run
+ * the main method from an IDE or with
+ * java -cp target/classes:target/test-classes:[dependencies].
+ */
+public class CoverageDataBenchmarkTest {
+
+  private static final int       CLASSES          = 10000;
+  private static final int       BLOCKS_PER_CLASS = 20;
+  private static final int       TESTS            = 1000;
+  private static final int       BLOCKS_PER_TEST  = 400;
+
+  // classes looked up by scanning, as scanning all 10k takes minutes
+  private static final int       SCANNED          = 100;
+
+  private static List<ClassName> classes;
+  private static CoverageData    testee;
+
+  @BeforeClass
+  public static void buildCoverage() {
+    classes = new ArrayList<>(CLASSES);
+    testee = createCoverage(classes);
+  }
+
+  private static CoverageData createCoverage(final List<ClassName> classes) {
+    final List<BlockLocation> blocks = new ArrayList<>(CLASSES
+        * BLOCKS_PER_CLASS);
+    for (int c = 0; c != CLASSES; c++) {
+      final ClassName clazz = ClassName.fromString("com.example.Class" + c);
+      classes.add(clazz);
+      final Location location = Location.location(clazz,
+          MethodName.fromString("method"), "()V");
+      for (int b = 0; b != BLOCKS_PER_CLASS; b++) {
+        blocks.add(new BlockLocation(location, b, b * 5, (b * 5) + 4));
+      }
+    }
+
+    final CodeSource code = mock(CodeSource.class);
+    when(code.findTestee(any())).thenReturn(Optional.empty());
+    final CoverageData coverage = new CoverageData(code, mock(LineMap.class));
+    final Random random = new Random(42);
+    for (int t = 0; t != TESTS; t++) {
+      final int start = random.nextInt(blocks.size() - BLOCKS_PER_TEST);
+      coverage.calculateClassCoverage(new CoverageResult(new Description(
+          "test" + t, "com.example.Test" + (t / 10)), 1, true, blocks.subList(
+          start, start + BLOCKS_PER_TEST)));
+    }
+    return coverage;
+  }
+
+  @Test
+  public void shouldFindSameTestsAsScanOfAllCoverage() {
+    final List<BlockCoverage> all = testee.createCoverage();
+    for (final ClassName each : classes.subList(0, SCANNED)) {
+      assertThat(names(testee.getTestsForClass(each))).isEqualTo(
+          scan(all, each));
+    }
+  }
+
+  @Test
+  public void shouldReturnCachedTestsOnLaterCalls() {
+    for (final ClassName each : classes) {
+      assertThat(testee.getTestsForClass(each)).isSameAs(
+          testee.getTestsForClass(each));
+    }
+  }
+
+  public static void main(final String[] args) {
+    final List<ClassName> classes = new ArrayList<>(CLASSES);
+    final CoverageData coverage = createCoverage(classes);
+    final List<BlockCoverage> all = coverage.createCoverage();
+
+    final long scanStart = System.nanoTime();
+    for (final ClassName each : classes.subList(0, SCANNED)) {
+      scan(all, each);
+    }
+    final long scan = System.nanoTime() - scanStart;
+    System.out.println("Scanning all coverage for " + SCANNED + " classes "
+        + (scan / 1000000) + " ms");
+
+    final long indexedStart = System.nanoTime();
+    for (final ClassName each : classes) {
+      coverage.getTestsForClass(each);
+    }
+    final long indexed = System.nanoTime() - indexedStart;
+    System.out.println("Indexed lookup for all " + CLASSES + " classes "
+        + (indexed / 1000000) + " ms");
+  }
+
+  private static Set<String> names(final Collection<TestInfo> tests) {
+    return new TreeSet<>(FCollection.map(tests, TestInfo.toName()));
+  }
+
+  // equivalent of the former implementation, which filtered every covered
+  // instruction for each request
+  private static Set<String> scan(final List<BlockCoverage> all,
+      final ClassName clazz) {
+    final Set<String> tests = new TreeSet<>();
+    for (final BlockCoverage block : all) {
+      if (block.getBlock().isFor(clazz)) {
+        tests.addAll(block.getTests());
+      }
+    }
+    return tests;
+  }
+
+}
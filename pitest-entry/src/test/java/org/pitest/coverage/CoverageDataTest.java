@@ -18,6 +18,7 @@ package org.pitest.coverage;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.verify;
@@ -31,6 +32,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 
@@ -215,6 +217,118 @@ public class CoverageDataTest {
     assertThat(actual.getTests()).contains("FooTest.fooTest");
   }
 
+  @Test
+  public void shouldReturnTestsForInstructionsWithinCoveredBlock() {
+    final Location location = aLocation().withClass(this.foo).build();
+    final BlockLocation block = new BlockLocation(location, 1, 10, 20);
+    this.testee.calculateClassCoverage(aCoverageResult()
+        .withVisitedBlocks(Collections.singleton(block)).build());
+
+    assertThat(this.testee.getTestsForInstructionLocation(
+        new InstructionLocation(new BlockLocation(location, 1, -1, -1), 15)))
+        .extracting(TestInfo::getName).containsExactly("FooTest.fooTest");
+    assertThat(this.testee.getTestsForInstructionLocation(
+        new InstructionLocation(new BlockLocation(location, 1, -1, -1), 20)))
+        .hasSize(1);
+  }
+
+  @Test
+  public void shouldReturnNullForInstructionsOutsideCoveredBlocks() {
+    final Location location = aLocation().withClass(this.foo).build();
+    final BlockLocation block = new BlockLocation(location, 1, 10, 20);
+    this.testee.calculateClassCoverage(aCoverageResult()
+        .withVisitedBlocks(Collections.singleton(block)).build());
+
+    assertNull(this.testee.getTestsForInstructionLocation(
+        new InstructionLocation(block, 21)));
+    assertNull(this.testee.getTestsForInstructionLocation(
+        new InstructionLocation(block, 9)));
+  }
+
+  @Test
+  public void shouldReturnTestsForCorrectBlockWhenMethodHasSeveralBlocks() {
+    final Location location = aLocation().withClass(this.foo).build();
+    this.testee.calculateClassCoverage(makeCoverageResult(
+        new BlockLocation(location, 0, 0, 4), "firstTest"));
+    this.testee.calculateClassCoverage(makeCoverageResult(
+        new BlockLocation(location, 1, 5, 9), "secondTest"));
+
+    assertThat(this.testee.getTestsForInstructionLocation(
+        new InstructionLocation(new BlockLocation(location, 0, -1, -1), 7)))
+        .extracting(TestInfo::getName).containsExactly("secondTest");
+  }
+
+  @Test
+  public void shouldReturnTestsCoveringAnyBlockInClass() {
+    final Location fooLocation = aLocation().withClass(this.foo).build();
+    final Location barLocation = aLocation().withClass(this.bar).build();
+    this.testee.calculateClassCoverage(makeCoverageResult(
+        new BlockLocation(fooLocation, 0, 0, 4), "b"));
+    this.testee.calculateClassCoverage(makeCoverageResult(
+        new BlockLocation(fooLocation, 1, 5, 9), "a"));
+    this.testee.calculateClassCoverage(makeCoverageResult(
+        new BlockLocation(barLocation, 1, 5, 9), "c"));
+
+    assertThat(this.testee.getTestsForClass(this.foo))
+        .extracting(TestInfo::getName).containsExactly("a", "b");
+  }
+
+  @Test
+  public void shouldReturnSameTestsForClassOnRepeatedCalls() {
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest", 0,
+        1));
+    assertThat(this.testee.getTestsForClass(this.foo))
+        .isSameAs(this.testee.getTestsForClass(this.foo));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void shouldNotAllowTestsForClassToBeModified() {
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest", 0,
+        1));
+    this.testee.getTestsForClass(this.foo).clear();
+  }
+
+  @Test
+  public void shouldIncludeCoverageRecordedAfterTestsForClassRequested() {
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest", 0,
+        1));
+    this.testee.getTestsForClass(this.foo);
+    this.testee.calculateClassCoverage(makeCoverageResult("foo", "fooTest2", 0,
+        2));
+    assertThat(this.testee.getTestsForClass(this.foo))
+        .extracting(TestInfo::getName).containsExactly("fooTest", "fooTest2");
+  }
+
+  @Test
+  public void shouldProvideOneBlockCoverageEntryPerBlock() {
+    final Location location = aLocation().withClass(this.foo).build();
+    final BlockLocation block = new BlockLocation(location, 1, 10, 20);
+    this.testee.calculateClassCoverage(makeCoverageResult(block, "b"));
+    this.testee.calculateClassCoverage(makeCoverageResult(block, "a"));
+
+    assertThat(this.testee.createCoverage()).hasSize(1);
+    assertThat(this.testee.createCoverage().get(0).getTests())
+        .containsExactly("a", "b");
+  }
+
+  @Test
+  public void shouldIndexSuppliedInstructionCoverage() {
+    final Location location = aLocation().withClass(this.foo).build();
+    final BlockLocation block = new BlockLocation(location, 1, 10, 11);
+    final TestInfo ti = new TestInfo("FooTest", "FooTest.a", 1,
+        Optional.empty(), 1);
+    final Map<InstructionLocation, Set<TestInfo>> coverage = new HashMap<>();
+    coverage.put(new InstructionLocation(block, 10), Collections.singleton(ti));
+    coverage.put(new InstructionLocation(block, 11), Collections.singleton(ti));
+
+    this.testee = new CoverageData(this.code, this.lm, coverage);
+
+    assertThat(this.testee.getTestsForClass(this.foo)).containsExactly(ti);
+    assertThat(this.testee.getTestsForInstructionLocation(
+        new InstructionLocation(block, 11))).containsExactly(ti);
+    assertThat(this.testee.createCoverage()).hasSize(1);
+  }
+
   @Test
   public void shouldProvideListOfClassesForSourceFile() {
 
@@ -283,6 +397,12 @@ public class CoverageDataTest {
         makeCoverage(clazz, block));
   }
 
+  private CoverageResult makeCoverageResult(final BlockLocation block,
+      final String testName) {
+    return new CoverageResult(new Description(testName), 1, true,
+        Collections.singleton(block));
+  }
+
   private Collection<BlockLocation> makeCoverage(final String clazz,
       final int block) {
     final BlockLocation cs = new BlockLocation(Location.location(
@@ -0,0 +1,78 @@
+package org.pitest.coverage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TestIdSetTest {
+
+  private final TestIdSet testee = new TestIdSet();
+
+  @Test
+  public void shouldBeEmptyWhenCreated() {
+    assertThat(this.testee.size()).isEqualTo(0);
+    assertThat(contents()).isEmpty();
+  }
+
+  @Test
+  public void shouldIgnoreDuplicateIds() {
+    this.testee.add(3);
+    this.testee.add(3);
+    this.testee.add(1);
+    this.testee.add(3);
+    assertThat(this.testee.size()).isEqualTo(2);
+    assertThat(contents()).containsExactly(1, 3);
+  }
+
+  @Test
+  public void shouldKeepIdsInOrderWhenAddedOutOfOrder() {
+    this.testee.add(10);
+    this.testee.add(2);
+    this.testee.add(7);
+    assertThat(contents()).containsExactly(2, 7, 10);
+    assertThat(this.testee.contains(7)).isTrue();
+    assertThat(this.testee.contains(8)).isFalse();
+  }
+
+  @Test
+  public void shouldHoldDenseIdsCorrectly() {
+    for (int i = 0; i != 1000; i++) {
+      this.testee.add(i);
+      this.testee.add(i);
+    }
+    assertThat(this.testee.size()).isEqualTo(1000);
+    assertThat(contents()).hasSize(1000).startsWith(0, 1, 2).endsWith(999);
+    assertThat(this.testee.contains(500)).isTrue();
+    assertThat(this.testee.contains(1000)).isFalse();
+  }
+
+  @Test
+  public void shouldHoldSparseIdsCorrectly() {
+    for (int i = 0; i != 100; i++) {
+      this.testee.add(i * 10000);
+    }
+    assertThat(this.testee.size()).isEqualTo(100);
+    assertThat(this.testee.contains(990000)).isTrue();
+  }
+
+  @Test
+  public void shouldAddIdsToBitSet() {
+    this.testee.add(1);
+    this.testee.add(5);
+    final BitSet bits = new BitSet();
+    bits.set(2);
+    this.testee.addTo(bits);
+    assertThat(bits.stream().toArray()).containsExactly(1, 2, 5);
+  }
+
+  private List<Integer> contents() {
+    final List<Integer> ids = new ArrayList<>();
+    this.testee.forEach(ids::add);
+    return ids;
+  }
+
+}
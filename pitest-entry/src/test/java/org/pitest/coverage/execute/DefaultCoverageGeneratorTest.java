@@ -0,0 +1,85 @@
+package org.pitest.coverage.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class DefaultCoverageGeneratorTest {
+
+  @Test
+  public void shouldUseSingleShardWhenOneMinionRequested() {
+    final List<String> tests = Arrays.asList("a", "b", "c");
+    assertThat(DefaultCoverageGenerator.shard(tests, 1)).containsExactly(tests);
+  }
+
+  @Test
+  public void shouldAssignEachTestClassToExactlyOneShard() {
+    final List<String> tests = someTestClasses(100);
+    final List<List<String>> actual = DefaultCoverageGenerator.shard(tests, 4);
+
+    final List<String> all = new ArrayList<>();
+    actual.forEach(all::addAll);
+    assertThat(all).containsOnlyElementsOf(tests).hasSize(tests.size());
+  }
+
+  @Test
+  public void shouldNotCreateMoreShardsThanRequested() {
+    assertThat(DefaultCoverageGenerator.shard(someTestClasses(100), 4))
+        .hasSize(4);
+  }
+
+  @Test
+  public void shouldNotCreateEmptyShards() {
+    assertThat(DefaultCoverageGenerator.shard(someTestClasses(2), 8))
+        .hasSize(2).allMatch(each -> !each.isEmpty());
+  }
+
+  @Test
+  public void shouldShardDeterministically() {
+    final List<String> tests = someTestClasses(50);
+    final List<String> reversed = new ArrayList<>(tests);
+    Collections.reverse(reversed);
+
+    final List<List<String>> first = DefaultCoverageGenerator.shard(tests, 3);
+    final List<List<String>> second = DefaultCoverageGenerator.shard(reversed, 3);
+    for (int i = 0; i != first.size(); i++) {
+      assertThat(second.get(i)).containsOnlyElementsOf(first.get(i));
+    }
+  }
+
+  @Test
+  public void shouldDestroyStartedProcessesWhenOneFailsToStart()
+      throws Exception {
+    final CoverageProcess first = mock(CoverageProcess.class);
+    final CoverageProcess second = mock(CoverageProcess.class);
+    final CoverageProcess third = mock(CoverageProcess.class);
+    doThrow(new IOException("no java")).when(second).start();
+
+    assertThatThrownBy(() -> DefaultCoverageGenerator.startAll(Arrays.asList(
+        first, second, third))).isInstanceOf(IOException.class);
+
+    verify(first).destroy();
+    verify(second, never()).destroy();
+    verify(third, never()).start();
+  }
+
+  private static List<String> someTestClasses(final int count) {
+    final List<String> tests = new ArrayList<>();
+    for (int i = 0; i != count; i++) {
+      tests.add("com/example/Test" + i);
+    }
+    return tests;
+  }
+
+}
@@ -1,16 +1,26 @@
 package org.pitest.coverage.execute;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.pitest.coverage.BlockLocation;
 import org.pitest.coverage.CoverageResult;
+import org.pitest.coverage.analysis.Block;
 import org.pitest.functional.SideEffect1;
 import org.pitest.testapi.Description;
+import org.pitest.util.ExitCode;
 import org.pitest.util.Id;
 import org.pitest.util.SafeDataInputStream;
 
@@ -60,6 +70,96 @@ public class ReceiveTest {
     assertEquals(true, this.result.isGreenTest());
   }
 
+  @Test
+  public void shouldReadSparseCoverageSentWithCompactProtocol() {
+    final CoverageResult actual = roundTrip(true, 100, 3, 50, 99);
+    assertThat(actual.getCoverage()).extracting(BlockLocation::getBlock)
+        .containsExactly(2, 49, 98);
+  }
+
+  @Test
+  public void shouldReadDenseCoverageSentWithCompactProtocol() {
+    final int[] hits = new int[90];
+    for (int i = 0; i != hits.length; i++) {
+      hits[i] = i + 1;
+    }
+    final CoverageResult actual = roundTrip(true, 100, hits);
+    assertThat(actual.getCoverage()).hasSize(90);
+    assertThat(actual.getCoverage()).extracting(BlockLocation::getBlock)
+        .contains(0, 45, 89);
+  }
+
+  @Test
+  public void shouldReadSameCoverageFromCompactAndLegacyProtocols() {
+    final CoverageResult compact = roundTrip(true, 20, 1, 2, 3, 17);
+    final CoverageResult legacy = roundTrip(false, 20, 1, 2, 3, 17);
+    assertThat(compact.getCoverage())
+        .containsOnlyElementsOf(legacy.getCoverage());
+    assertThat(compact.getTestUnitDescription())
+        .isEqualTo(legacy.getTestUnitDescription());
+    assertThat(compact.getExecutionTime()).isEqualTo(42);
+    assertThat(compact.isGreenTest()).isTrue();
+  }
+
+  @Test
+  public void shouldSendTestClassNamesOnceWithCompactProtocol() {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final CoveragePipe pipe = new CoveragePipe(bos, true);
+    pipe.recordTestOutcome(new Description("one", "com.example.FooTest"), true, 1);
+    final int firstSize = bos.size();
+    pipe.recordTestOutcome(new Description("two", "com.example.FooTest"), true, 1);
+
+    assertThat(bos.size() - firstSize).isLessThan(firstSize);
+    pipe.end(ExitCode.OK);
+
+    final List<CoverageResult> results = new ArrayList<>();
+    final Receive receive = new Receive(a -> results.add(a));
+    readAll(bos, receive);
+    assertThat(results).extracting(CoverageResult::getTestUnitDescription)
+        .containsExactly(new Description("one", "com.example.FooTest"),
+            new Description("two", "com.example.FooTest"));
+  }
+
+  private CoverageResult roundTrip(final boolean compact, final int probes,
+      final int... hits) {
+    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    final CoveragePipe pipe = new CoveragePipe(bos, compact);
+    CodeCoverageStore.init(pipe);
+    try {
+      final int classId = CodeCoverageStore.registerClass("foo");
+      final List<Block> blocks = new ArrayList<>();
+      for (int i = 0; i != probes; i++) {
+        blocks.add(new Block(i, i, Collections.emptySet()));
+      }
+      CodeCoverageStore.registerMethod(classId, "bar", "()V", 1, probes,
+          blocks);
+
+      final boolean[] probeArray = CodeCoverageStore
+          .getOrRegisterClassProbes(classId, probes);
+      CodeCoverageStore.classHit(probeArray, classId);
+      for (final int each : hits) {
+        probeArray[each] = true;
+      }
+      pipe.recordTestOutcome(this.description, true, 42);
+      pipe.end(ExitCode.OK);
+    } finally {
+      CodeCoverageStore.resetAllStaticState();
+    }
+
+    readAll(bos, this.testee);
+    return this.result;
+  }
+
+  private void readAll(final ByteArrayOutputStream bos, final Receive receive) {
+    final SafeDataInputStream is = new SafeDataInputStream(
+        new ByteArrayInputStream(bos.toByteArray()));
+    byte control = is.readByte();
+    while (control != Id.DONE) {
+      receive.apply(control, is);
+      control = is.readByte();
+    }
+  }
+
   private void recordTestCoverage(final int executionTime, final int classId,
       final int probeNumber, final boolean testPassed) {
     when(this.is.readInt()).thenReturn(classId, executionTime);
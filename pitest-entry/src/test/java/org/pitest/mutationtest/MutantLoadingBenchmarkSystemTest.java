@@ -0,0 +1,90 @@
+package org.pitest.mutationtest;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.pitest.SystemTest;
+
+/**
+ * Times a mutation analysis with mutants hot swapped into the minion against
+ * the same analysis with each mutant loaded in its own class loader, and checks
+ * that both give the same results.
+ *
+ * The test compares the two on the example classes in this project. To compare
+ * them on a real suite run the main method from an IDE or with
+ * java -cp target/classes:target/test-classes:[dependencies] supplying globs
+ * for the target classes and tests of a suite on the classpath. The project's
+ * own classes must be in directories rather than jars.
+ */
+@Category(SystemTest.class)
+public class MutantLoadingBenchmarkSystemTest extends ReportTestBase {
+
+  private static final String EXAMPLES = "com.example.FullyCovered*,com.example.CoveredButOnlyPartiallyTested*";
+
+  private static final int    ROUNDS   = 3;
+
+  @Test
+  public void shouldGiveSameResultsWhenMutantsHotSwappedOrLoadedInOwnClassLoader() {
+    final long swapped = time(EXAMPLES, EXAMPLES, false);
+    final List<DetectionStatus> hotSwap = statuses();
+    final long loaded = time(EXAMPLES, EXAMPLES, true);
+
+    report(0, swapped, loaded);
+    assertThat(statuses()).isEqualTo(hotSwap);
+  }
+
+  public static void main(final String[] args) {
+    final String targetClasses = args.length > 0 ? args[0] : EXAMPLES;
+    final String targetTests = args.length > 1 ? args[1] : targetClasses;
+
+    // run outside junit, so set up as it would be before a test
+    final MutantLoadingBenchmarkSystemTest benchmark = new MutantLoadingBenchmarkSystemTest();
+    benchmark.setUp();
+    for (int round = 0; round != ROUNDS; round++) {
+      final long swapped = benchmark.time(targetClasses, targetTests, false);
+      final List<DetectionStatus> hotSwap = benchmark.statuses();
+      final long loaded = benchmark.time(targetClasses, targetTests, true);
+
+      report(round, swapped, loaded);
+      if (!hotSwap.equals(benchmark.statuses())) {
+        System.out.println("Results differ. Hot swap " + hotSwap
+            + " class loader per mutant " + benchmark.statuses());
+      }
+    }
+  }
+
+  private static void report(final int round, final long swapped,
+      final long loaded) {
+    System.out.println("Round " + round + ": hot swap " + swapped
+        + " ms, class loader per mutant " + loaded + " ms");
+  }
+
+  private long time(final String targetClasses, final String targetTests,
+      final boolean isolateMutants) {
+    // each run starts from fresh options and records only its own results
+    resetOptions();
+    this.data.setTargetClasses(asList(targetClasses.split(",")));
+    this.data.setTargetTests(predicateFor(targetTests.split(",")));
+    final Properties props = new Properties();
+    props.setProperty("isolateMutants", Boolean.toString(isolateMutants));
+    this.data.setFreeFormProperties(props);
+
+    final long t0 = System.currentTimeMillis();
+    createAndRun();
+    return System.currentTimeMillis() - t0;
+  }
+
+  private List<DetectionStatus> statuses() {
+    final List<DetectionStatus> statuses = new ArrayList<>(
+        this.metaDataExtractor.getDetectionStatus());
+    statuses.sort(null);
+    return statuses;
+  }
+
+}
@@ -32,6 +32,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Properties;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -102,6 +103,140 @@ public class MutationCoverageReportSystemTest extends ReportTestBase {
     verifyResults(KILLED, SURVIVED);
   }
 
+  @Test
+  public void shouldAnalyseMutationsWhenMinionsReused() {
+    this.data
+    .setTargetClasses(asList("com.example.CoveredButOnlyPartiallyTested*"));
+    this.data.setMutationUnitSize(1);
+    final Properties props = new Properties();
+    props.setProperty("reuseMinions", "true");
+    this.data.setFreeFormProperties(props);
+    createAndRun();
+    verifyResults(KILLED, SURVIVED);
+  }
+
+
+  @Test
+  public void shouldAnalyseMutationsWhenCoverageSplitBetweenMinions() {
+    this.data.setTargetClasses(asList("com.example.FullyCovered*",
+        "com.example.CoveredButOnlyPartiallyTested*"));
+    final Properties props = new Properties();
+    props.setProperty("coverageMinions", "2");
+    this.data.setFreeFormProperties(props);
+    createAndRun();
+    verifyResults(KILLED, KILLED, SURVIVED);
+  }
+
+  @Test
+  public void shouldAnalyseMutationsWhenUsingLegacyCoverageProtocol() {
+    this.data
+    .setTargetClasses(asList("com.example.CoveredButOnlyPartiallyTested*"));
+    final Properties props = new Properties();
+    props.setProperty("legacyCoverageProtocol", "true");
+    this.data.setFreeFormProperties(props);
+    createAndRun();
+    verifyResults(KILLED, SURVIVED);
+  }
+
+  @Test
+  public void shouldAnalyseMutationsWhenMutantsLoadedInOwnClassLoader() {
+    this.data.setTargetClasses(asList("com.example.FullyCovered*",
+        "com.example.CoveredButOnlyPartiallyTested*"));
+    final Properties props = new Properties();
+    props.setProperty("isolateMutants", "true");
+    this.data.setFreeFormProperties(props);
+    createAndRun();
+    verifyResults(KILLED, KILLED, SURVIVED);
+  }
+
+  @Test
+  public void shouldAnalyseMutationsWhenUsingMutantSchemata() {
+    this.data.setTargetClasses(asList("com.example.FullyCovered*",
+        "com.example.CoveredButOnlyPartiallyTested*"));
+    this.data.setMutationEngine("schemata");
+    createAndRun();
+    verifyResults(KILLED, KILLED, SURVIVED);
+  }
+
+  @Test
+  public void shouldAnalyseMutationsWhenUsingMutantSchemataInOwnClassLoader() {
+    this.data.setTargetClasses(asList("com.example.FullyCovered*",
+        "com.example.CoveredButOnlyPartiallyTested*"));
+    this.data.setMutationEngine("schemata");
+    final Properties props = new Properties();
+    props.setProperty("isolateMutants", "true");
+    this.data.setFreeFormProperties(props);
+    createAndRun();
+    verifyResults(KILLED, KILLED, SURVIVED);
+  }
+
+  @Test
+  public void shouldAnalyseMutationsWhenSchedulingAdaptively() {
+    this.data.setTargetClasses(asList("com.example.FullyCovered*",
+        "com.example.CoveredButOnlyPartiallyTested*"));
+    this.data.setNumberOfThreads(2);
+    final Properties props = new Properties();
+    props.setProperty("adaptiveScheduling", "true");
+    this.data.setFreeFormProperties(props);
+    createAndRun();
+    verifyResults(KILLED, KILLED, SURVIVED);
+  }
+
+  @Test
+  public void shouldAnalyseMutationsWhenGroupedByTestClasses() {
+    this.data.setTargetClasses(asList("com.example.FullyCovered*",
+        "com.example.CoveredButOnlyPartiallyTested*"));
+    final Properties props = new Properties();
+    props.setProperty("groupByTestClasses", "true");
+    this.data.setFreeFormProperties(props);
+    createAndRun();
+    verifyResults(KILLED, KILLED, SURVIVED);
+  }
+
+  @Test
+  public void shouldAnalyseMutationsWhenTestsOrderedByKillRate() {
+    this.data.setTargetClasses(asList("com.example.FullyCovered*",
+        "com.example.CoveredButOnlyPartiallyTested*"));
+    final Properties props = new Properties();
+    props.setProperty("killRateTestPriority", "true");
+    this.data.setFreeFormProperties(props);
+    createAndRun();
+    verifyResults(KILLED, KILLED, SURVIVED);
+  }
+
+  @Test
+  public void shouldAnalyseMutationsWhenTimedOutTestsStopped() {
+    this.data.setTargetClasses(asList("com.example.FullyCovered*",
+        "com.example.CoveredButOnlyPartiallyTested*"));
+    final Properties props = new Properties();
+    props.setProperty("stopTimedOutTests", "true");
+    this.data.setFreeFormProperties(props);
+    createAndRun();
+    verifyResults(KILLED, KILLED, SURVIVED);
+  }
+
+  @Test
+  public void shouldAnalyseMutationsWhenTimeoutsAdaptive() {
+    this.data.setTargetClasses(asList("com.example.FullyCovered*",
+        "com.example.CoveredButOnlyPartiallyTested*"));
+    final Properties props = new Properties();
+    props.setProperty("adaptiveTimeouts", "true");
+    this.data.setFreeFormProperties(props);
+    createAndRun();
+    verifyResults(KILLED, KILLED, SURVIVED);
+  }
+
+  @Test
+  public void shouldAnalyseMutationsWhenPipelined() {
+    this.data.setTargetClasses(asList("com.example.FullyCovered*",
+        "com.example.CoveredButOnlyPartiallyTested*"));
+    this.data.setNumberOfThreads(2);
+    final Properties props = new Properties();
+    props.setProperty("pipelineAnalysis", "true");
+    this.data.setFreeFormProperties(props);
+    createAndRun();
+    verifyResults(KILLED, KILLED, SURVIVED);
+  }
 
   @Test(expected = PitHelpError.class)
   public void shouldFailRunWithHelpfulMessageIfTestsNotGreen() {
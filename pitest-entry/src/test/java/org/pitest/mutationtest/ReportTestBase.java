@@ -23,8 +23,6 @@ import org.pitest.coverage.export.NullCoverageExporter;
 import org.pitest.mutationtest.config.PluginServices;
 import org.pitest.mutationtest.config.ReportOptions;
 import org.pitest.mutationtest.config.SettingsFactory;
-import org.pitest.mutationtest.config.TestPluginArguments;
-import org.pitest.mutationtest.engine.gregor.config.GregorEngineFactory;
 import org.pitest.mutationtest.incremental.NullHistoryStore;
 import org.pitest.mutationtest.tooling.JarCreatingJarFinder;
 import org.pitest.mutationtest.tooling.MutationCoverage;
@@ -46,8 +44,15 @@ public abstract class ReportTestBase {
 
   @Before
   public void setUp() {
-    this.metaDataExtractor = new MetaDataExtractor();
     this.plugins = PluginServices.makeForContextLoader();
+    resetOptions();
+  }
+
+  /**
+   * Replaces the options and discards the results of any earlier run
+   */
+  protected void resetOptions() {
+    this.metaDataExtractor = new MetaDataExtractor();
     this.data = new ReportOptions();
     this.data.setSourceDirs(Collections.<File> emptyList());
     this.data.setGroupConfig(new TestGroupConfig());
@@ -103,7 +108,7 @@ public abstract class ReportTestBase {
     final JavaAgent agent = new JarCreatingJarFinder();
     try {
 
-      final CoverageOptions coverageOptions = createCoverageOptions(settings.createCoverageOptions().getPitConfig());
+      final CoverageOptions coverageOptions = createCoverageOptions(settings.createCoverageOptions());
       final LaunchOptions launchOptions = new LaunchOptions(agent,
           new DefaultJavaExecutableLocator(), this.data.getJvmArgs(),
           new HashMap<String, String>());
@@ -117,12 +122,13 @@ public abstract class ReportTestBase {
 
       final CoverageGenerator coverageDatabase = new DefaultCoverageGenerator(
           null, coverageOptions, launchOptions, code,
-          new NullCoverageExporter(), timings, false);
+          new NullCoverageExporter(), timings, false,
+          settings.getNumberOfCoverageMinions());
 
       final HistoryStore history = new NullHistoryStore();
 
       final MutationStrategies strategies = new MutationStrategies(
-          new GregorEngineFactory(), history, coverageDatabase,
+          settings.createEngine(), history, coverageDatabase,
           listenerFactory(), null);
 
       final MutationCoverage testee = new MutationCoverage(strategies, null,
@@ -137,10 +143,11 @@ public abstract class ReportTestBase {
     }
   }
 
-  private CoverageOptions createCoverageOptions(TestPluginArguments configuration) {
+  private CoverageOptions createCoverageOptions(CoverageOptions fromSettings) {
     return new CoverageOptions(this.data.getTargetClasses(),this.data.getExcludedClasses(),
-        configuration, this.data.isVerbose(),
-        this.data.getDependencyAnalysisMaxDistance());
+        fromSettings.getPitConfig(), this.data.isVerbose(),
+        this.data.getDependencyAnalysisMaxDistance(),
+        fromSettings.useCompactProtocol());
   }
 
   protected void setMutators(final String mutator) {
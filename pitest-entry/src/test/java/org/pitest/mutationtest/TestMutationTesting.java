@@ -221,6 +221,12 @@ public class TestMutationTesting {
     verifyResults(KILLED, TIMED_OUT);
   }
 
+  @Test(timeout = 30000)
+  public void shouldStopInfiniteLoopsCausedByMutationsWhenTimeoutChecksAdded() {
+    run(InfiniteLoop.class, InfiniteLoopTest.class, true, "INCREMENTS");
+    verifyResults(KILLED, TIMED_OUT);
+  }
+
   public static class OneMutationFullTestWithSystemPropertyDependency {
     @TestAnnotationForTesting
     public void testReturnOne() {
@@ -308,6 +314,11 @@ public class TestMutationTesting {
 
   private void run(final Class<?> clazz, final Class<?> test,
       final String ... mutators) {
+    run(clazz, test, false, mutators);
+  }
+
+  private void run(final Class<?> clazz, final Class<?> test,
+      final boolean timeoutChecks, final String ... mutators) {
 
     final ReportOptions data = new ReportOptions();
 
@@ -325,7 +336,9 @@ public class TestMutationTesting {
     final JavaAgent agent = new JarCreatingJarFinder();
 
     try {
-      createEngineAndRun(data, agent, Arrays.asList(mutators));
+      createEngineAndRun(data, agent, EngineArguments.arguments()
+          .withMutators(Arrays.asList(mutators))
+          .withTimeoutChecks(timeoutChecks));
     } finally {
       agent.close();
     }
@@ -333,7 +346,7 @@ public class TestMutationTesting {
 
   private void createEngineAndRun(final ReportOptions data,
       final JavaAgent agent,
-      final Collection<String> mutators) {
+      final EngineArguments arguments) {
 
     // data.setConfiguration(this.config);
     final CoverageOptions coverageOptions = createCoverageOptions(data);
@@ -360,9 +373,6 @@ public class TestMutationTesting {
     final Collection<ClassName> codeClasses = FCollection.map(code.getCode(),
         ClassInfo.toClassName());
 
-    final EngineArguments arguments = EngineArguments.arguments()
-        .withMutators(mutators);
-
     final MutationEngine engine = new GregorEngineFactory().createEngine(arguments);
 
     final MutationConfig mutationConfig = new MutationConfig(engine,
@@ -381,7 +391,7 @@ public class TestMutationTesting {
         coverageOptions.getPitConfig(), mutationConfig, arguments,
         new PercentAndConstantTimeoutStrategy(data.getTimeoutFactor(),
             data.getTimeoutConstant()), data.isVerbose(), false, data.getClassPath()
-            .getLocalClassPath());
+            .getLocalClassPath(), false, 0, false);
 
 
 
@@ -3,11 +3,14 @@ package org.pitest.mutationtest.build;
 import static org.junit.Assert.assertEquals;
 import static org.pitest.mutationtest.LocationMother.aMutationId;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.Test;
 import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
 import org.pitest.mutationtest.LocationMother;
 import org.pitest.mutationtest.LocationMother.LocationBuilder;
 import org.pitest.mutationtest.engine.MutationDetails;
@@ -38,6 +41,64 @@ public class DefaultGrouperTest {
     assertEquals(3, actual.size());
   }
 
+  @Test
+  public void shouldGroupMutationsInDifferentClassesCoveredBySameTestsWhenGroupingByTests() {
+    this.testee = new DefaultGrouper(10, true);
+    final MutationDetails foo = createDetails("foo", "FooTest", "SharedTest");
+    final MutationDetails bar = createDetails("bar", "FooTest", "SharedTest");
+    final MutationDetails baz = createDetails("baz", "BazTest");
+
+    final List<List<MutationDetails>> actual = this.testee.groupMutations(
+        null, Arrays.asList(foo, bar, baz));
+
+    // mutations are ordered by id within each unit
+    assertEquals(Arrays.asList(Arrays.asList(bar, foo), Arrays.asList(baz)),
+        actual);
+  }
+
+  @Test
+  public void shouldGroupMutationsWhenMostTestClassesAreShared() {
+    this.testee = new DefaultGrouper(10, true);
+    final MutationDetails foo = createDetails("foo", "ATest", "BTest", "CTest");
+    final MutationDetails bar = createDetails("bar", "ATest", "BTest");
+
+    assertEquals(1, this.testee.groupMutations(null,
+        Arrays.asList(foo, bar)).size());
+  }
+
+  @Test
+  public void shouldNotGroupMutationsSharingFewTestClasses() {
+    this.testee = new DefaultGrouper(10, true);
+    final MutationDetails foo = createDetails("foo", "ATest", "BTest", "CTest");
+    final MutationDetails bar = createDetails("bar", "ATest", "DTest");
+
+    assertEquals(2, this.testee.groupMutations(null,
+        Arrays.asList(foo, bar)).size());
+  }
+
+  @Test
+  public void shouldLimitGroupsToUnitSizeWhenGroupingByTests() {
+    this.testee = new DefaultGrouper(2, true);
+    final List<List<MutationDetails>> actual = this.testee.groupMutations(
+        null, Arrays.asList(createDetails("foo", "ATest"),
+            createDetails("foo", "ATest"), createDetails("bar", "ATest")));
+
+    assertEquals(2, actual.size());
+  }
+
+  @Test
+  public void shouldLimitGroupsToSizeOfLargestClassWhenGroupingByTestsWithoutUnitSize() {
+    this.testee = new DefaultGrouper(0, true);
+    final List<List<MutationDetails>> actual = this.testee.groupMutations(
+        null, Arrays.asList(createDetails("foo", "ATest"),
+            createDetails("foo", "ATest"), createDetails("bar", "ATest"),
+            createDetails("baz", "ATest")));
+
+    assertEquals(2, actual.size());
+    assertEquals(2, actual.get(0).size());
+    assertEquals(2, actual.get(1).size());
+  }
+
   private void assertCreatesOneUnitForTwoMutations() {
     final MutationDetails mutation1 = createDetails("foo");
     final MutationDetails mutation2 = createDetails("foo");
@@ -57,4 +118,16 @@ public class DefaultGrouperTest {
         "desc", 42, 0);
   }
 
+  private static MutationDetails createDetails(final String clazz,
+      final String... testClasses) {
+    final MutationDetails details = createDetails(clazz);
+    final List<TestInfo> tests = new ArrayList<>();
+    for (final String each : testClasses) {
+      tests.add(new TestInfo(each, each + ".test", 0,
+          Optional.<ClassName> empty(), 0));
+    }
+    details.addTestsInOrder(tests);
+    return details;
+  }
+
 }
@@ -0,0 +1,108 @@
+package org.pitest.mutationtest.build;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+public class KillRateTestPrioritiserTest {
+
+  private final TestInfo                                        fast    = test("fast", 1);
+  private final TestInfo                                        slow    = test("slow", 2);
+
+  private final Map<MutationIdentifier, MutationStatusTestPair> history = new HashMap<>();
+
+  @Test
+  public void shouldKeepOrderOfDelegateWhenNoHistory() {
+    assertThat(assign(aMutation("foo", "mutator"), this.fast, this.slow))
+        .containsExactly(this.fast, this.slow);
+    assertThat(assign(aMutation("foo", "mutator"), this.slow, this.fast))
+        .containsExactly(this.slow, this.fast);
+  }
+
+  @Test
+  public void shouldRunTestsThatKilledMutantsInSameMethodFirst() {
+    for (int i = 0; i != 5; i++) {
+      killed(aMutation("foo", "mutator" + i), "slow");
+    }
+    assertThat(assign(aMutation("foo", "other"), this.fast, this.slow))
+        .containsExactly(this.slow, this.fast);
+  }
+
+  @Test
+  public void shouldRunTestsThatKilledMutantsFromSameMutatorFirst() {
+    for (int i = 0; i != 5; i++) {
+      killed(aMutation("method" + i, "mutator"), "slow");
+      killed(aMutation("method" + i, "other"), "fast");
+    }
+    assertThat(assign(aMutation("foo", "mutator"), this.fast, this.slow))
+        .containsExactly(this.slow, this.fast);
+  }
+
+  @Test
+  public void shouldPreferFasterTestsWhenKillRatesEqual() {
+    killed(aMutation("foo", "mutator"), "slow");
+    killed(aMutation("foo", "mutator2"), "fast");
+    assertThat(assign(aMutation("foo", "mutator3"), this.slow, this.fast))
+        .containsExactly(this.fast, this.slow);
+  }
+
+  @Test
+  public void shouldLowerKillProbabilityOfTestsThatLetMutantsSurvive() {
+    killed(aMutation("bar", "mutator"), "slow");
+    for (int i = 0; i != 5; i++) {
+      this.history.put(aMutation("foo", "mutator" + i).getId(),
+          new MutationStatusTestPair(1, DetectionStatus.SURVIVED,
+              Collections.<String> emptyList(), Arrays.asList("slow")));
+    }
+    final KillRateTestPrioritiser testee = new KillRateTestPrioritiser(
+        m -> Collections.<TestInfo> emptyList(), this.history);
+    final MutationIdentifier id = aMutation("foo", "other").getId();
+    assertThat(testee.killProbability("slow", id)).isLessThan(0.2);
+  }
+
+  @Test
+  public void shouldIgnoreResultsThatDoNotShowWhichTestsCanKill() {
+    this.history.put(aMutation("foo", "mutator").getId(),
+        new MutationStatusTestPair(1, DetectionStatus.TIMED_OUT, "fast"));
+    assertThat(assign(aMutation("foo", "mutator"), this.slow, this.fast))
+        .containsExactly(this.slow, this.fast);
+  }
+
+  private List<TestInfo> assign(final MutationDetails mutation,
+      final TestInfo... tests) {
+    final KillRateTestPrioritiser testee = new KillRateTestPrioritiser(
+        m -> Arrays.asList(tests), this.history);
+    return testee.assignTests(mutation);
+  }
+
+  private void killed(final MutationDetails mutation, final String test) {
+    this.history.put(mutation.getId(),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, test));
+  }
+
+  private static TestInfo test(final String name, final int time) {
+    return new TestInfo("foo", name, time, Optional.<ClassName> empty(), 0);
+  }
+
+  private static MutationDetails aMutation(final String method,
+      final String mutator) {
+    final MutationIdentifier id = new MutationIdentifier(aLocation()
+        .withMethod(method).build(), 0, mutator);
+    return new MutationDetails(id, "file", "desc", 1, 2);
+  }
+
+}
@@ -0,0 +1,109 @@
+package org.pitest.mutationtest.build;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.pitest.help.Help;
+import org.pitest.help.PitHelpError;
+
+public class MutationAnalysisUnitPipelineTest {
+
+  @Test
+  public void shouldSupplyUnitsInOrderProduced() {
+    final List<MutationAnalysisUnit> units = new ArrayList<>();
+    for (int i = 0; i != 10; i++) {
+      units.add(unit());
+    }
+    final MutationAnalysisUnitPipeline testee = MutationAnalysisUnitPipeline
+        .start(2, consumer -> units.forEach(consumer));
+    assertThat(drain(testee)).isEqualTo(units);
+  }
+
+  @Test
+  public void shouldSupplyNoUnitsWhenNoneProduced() {
+    final MutationAnalysisUnitPipeline testee = MutationAnalysisUnitPipeline
+        .start(2, consumer -> { });
+    assertThat(testee.hasNext()).isFalse();
+  }
+
+  @Test
+  public void shouldNotLetProducerRunAheadOfQueueCapacity()
+      throws InterruptedException {
+    final AtomicInteger produced = new AtomicInteger();
+    final MutationAnalysisUnitPipeline testee = MutationAnalysisUnitPipeline
+        .start(1, consumer -> {
+          for (int i = 0; i != 10; i++) {
+            produced.incrementAndGet();
+            consumer.accept(unit());
+          }
+        });
+
+    Thread.sleep(100);
+    // one unit queued and one waiting to be queued
+    assertThat(produced.get()).isLessThanOrEqualTo(2);
+    assertThat(drain(testee)).hasSize(10);
+  }
+
+  @Test(expected = PitHelpError.class)
+  public void shouldRethrowErrorsRaisedByProducer() {
+    final MutationAnalysisUnitPipeline testee = MutationAnalysisUnitPipeline
+        .start(2, consumer -> {
+          consumer.accept(unit());
+          throw new PitHelpError(Help.NO_MUTATIONS_FOUND);
+        });
+    drain(testee);
+  }
+
+  @Test
+  public void shouldRethrowProducerErrorsBeforeQueuedUnits()
+      throws InterruptedException {
+    final CountDownLatch failed = new CountDownLatch(1);
+    final MutationAnalysisUnitPipeline testee = MutationAnalysisUnitPipeline
+        .start(2, consumer -> {
+          consumer.accept(unit());
+          failed.countDown();
+          throw new PitHelpError(Help.NO_MUTATIONS_FOUND);
+        });
+    failed.await();
+    Thread.sleep(50);
+    assertThatThrownBy(testee::hasNext).isInstanceOf(PitHelpError.class);
+  }
+
+  @Test
+  public void shouldStopBlockedProducerOnceClosed() throws InterruptedException {
+    final CountDownLatch stopped = new CountDownLatch(1);
+    final MutationAnalysisUnitPipeline testee = MutationAnalysisUnitPipeline
+        .start(1, consumer -> {
+          try {
+            while (true) {
+              consumer.accept(unit());
+            }
+          } finally {
+            stopped.countDown();
+          }
+        });
+    testee.next();
+    testee.close();
+    assertThat(stopped.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  private static List<MutationAnalysisUnit> drain(
+      final MutationAnalysisUnitPipeline pipeline) {
+    final List<MutationAnalysisUnit> units = new ArrayList<>();
+    pipeline.forEachRemaining(units::add);
+    return units;
+  }
+
+  private static MutationAnalysisUnit unit() {
+    return new KnownStatusMutationTestUnit(Collections.emptyList());
+  }
+
+}
@@ -3,21 +3,35 @@ package org.pitest.mutationtest.build;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aLocation;
 import static org.pitest.mutationtest.LocationMother.aMutationId;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.IntSummaryStatistics;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
+import org.pitest.functional.FCollection;
+import org.pitest.help.Help;
+import org.pitest.help.PitHelpError;
+import org.pitest.mutationtest.MutationAnalyser;
 import org.pitest.mutationtest.NullAnalyser;
 import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
 
 public class MutationTestBuilderTest {
 
@@ -80,6 +94,118 @@ public class MutationTestBuilderTest {
     assertTrue(actual.get(0).priority() > actual.get(1).priority());
   }
 
+  @Test
+  public void shouldFindMutationsInClassOrderWhenSearchingInParallel() {
+    final List<ClassName> classes = new ArrayList<>();
+    for (int i = 0; i != 100; i++) {
+      classes.add(ClassName.fromString("foo" + i));
+    }
+    final List<String> analysed = new ArrayList<>();
+    final MutationAnalyser analyser = ms -> {
+      FCollection.mapTo(ms, MutationDetails::getDescription, analysed);
+      return new NullAnalyser().analyse(ms);
+    };
+
+    this.testee = new MutationTestBuilder(this.wf, analyser,
+        () -> sourceFindingOneMutationPerClass(), new DefaultGrouper(0),
+        false, 4);
+    this.testee.createMutationTestUnits(classes);
+
+    assertEquals(FCollection.map(classes, ClassName::asJavaName), analysed);
+  }
+
+  @Test
+  public void shouldUseEachMutationSourceFromOnlyOneThread() {
+    final List<ClassName> classes = new ArrayList<>();
+    for (int i = 0; i != 100; i++) {
+      classes.add(ClassName.fromString("foo" + i));
+    }
+    final Map<MutationSource, Set<Thread>> threadsBySource = new ConcurrentHashMap<>();
+    final Supplier<MutationSource> sources = () -> {
+      final MutationSource source = mock(MutationSource.class);
+      final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+      threadsBySource.put(source, threads);
+      when(source.createMutations(any(ClassName.class))).thenAnswer(a -> {
+        threads.add(Thread.currentThread());
+        return Collections.emptyList();
+      });
+      return source;
+    };
+
+    this.testee = new MutationTestBuilder(this.wf, new NullAnalyser(),
+        sources, new DefaultGrouper(0), false, 4);
+    this.testee.createMutationTestUnits(classes);
+
+    assertTrue(threadsBySource.size() <= 4);
+    for (final Set<Thread> each : threadsBySource.values()) {
+      assertTrue(each.size() <= 1);
+    }
+  }
+
+  @Test(expected = PitHelpError.class)
+  public void shouldPassOnErrorsRaisedWhileSearchingInParallel() {
+    when(this.source.createMutations(any(ClassName.class))).thenThrow(
+        new PitHelpError(Help.NO_MUTATIONS_FOUND));
+    this.testee = new MutationTestBuilder(this.wf, new NullAnalyser(),
+        () -> this.source, new DefaultGrouper(0), false, 4);
+    this.testee.createMutationTestUnits(Arrays.asList(
+        ClassName.fromString("foo"), ClassName.fromString("bar")));
+  }
+
+  @Test
+  public void shouldPassOnUnitsForEachBatchOfClassesBeforeSearchingNext() {
+    final ClassName foo = ClassName.fromString("foo");
+    final ClassName bar = ClassName.fromString("bar");
+    final List<String> events = new ArrayList<>();
+    when(this.source.createMutations(any(ClassName.class))).thenAnswer(a -> {
+      final ClassName clazz = (ClassName) a.getArguments()[0];
+      events.add("search " + clazz.asJavaName());
+      return Arrays.asList(createDetails(clazz.asJavaName()));
+    });
+
+    this.testee.createMutationTestUnits(Arrays.asList(foo, bar), 1,
+        unit -> events.add("unit"));
+
+    assertEquals(Arrays.asList("search foo", "unit", "search bar", "unit"),
+        events);
+  }
+
+  @Test
+  public void shouldRecordNumberOfTestClassesEachUnitLoads() {
+    final MutationDetails foo = createDetails("foo");
+    foo.addTestsInOrder(Arrays.asList(aTest("FooTest"), aTest("OtherTest")));
+    final MutationDetails bar = createDetails("bar");
+    bar.addTestsInOrder(Arrays.asList(aTest("BarTest")));
+    when(this.source.createMutations(ClassName.fromString("foo")))
+        .thenReturn(Arrays.asList(foo));
+    when(this.source.createMutations(ClassName.fromString("bar")))
+        .thenReturn(Arrays.asList(bar));
+
+    this.testee.createMutationTestUnits(Arrays.asList(
+        ClassName.fromString("foo"), ClassName.fromString("bar")));
+
+    final IntSummaryStatistics actual = this.testee.getTestClassesPerUnit();
+    assertEquals(2, actual.getCount());
+    assertEquals(2, actual.getMax());
+    assertEquals(3, actual.getSum());
+  }
+
+  private static TestInfo aTest(final String testClass) {
+    return new TestInfo(testClass, testClass + ".test", 0,
+        Optional.<ClassName> empty(), 0);
+  }
+
+  private static MutationSource sourceFindingOneMutationPerClass() {
+    final MutationSource source = mock(MutationSource.class);
+    // all mutations share an id, so only the search order determines the
+    // order in which they are analysed
+    final MutationIdentifier id = aMutationId().build();
+    when(source.createMutations(any(ClassName.class))).thenAnswer(
+        a -> Collections.singletonList(new MutationDetails(id, "",
+            ((ClassName) a.getArguments()[0]).asJavaName(), 42, 0)));
+    return source;
+  }
+
   private void assertCreatesOneTestUnitForTwoMutations() {
     final MutationDetails mutation1 = createDetails("foo");
     final MutationDetails mutation2 = createDetails("foo");
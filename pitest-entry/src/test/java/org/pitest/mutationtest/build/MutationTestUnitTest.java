@@ -1,31 +1,44 @@
 package org.pitest.mutationtest.build;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aMutationId;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.EngineArguments;
 import org.pitest.mutationtest.MutationConfig;
 import org.pitest.mutationtest.MutationMetaData;
 import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusMap;
 import org.pitest.mutationtest.MutationStatusTestPair;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
 import org.pitest.mutationtest.config.TestPluginArguments;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.MutationDetailsMother;
 import org.pitest.mutationtest.engine.MutationEngine;
+import org.pitest.mutationtest.execute.MinionProcess;
 import org.pitest.process.JavaAgent;
 import org.pitest.process.LaunchOptions;
 import org.pitest.testapi.Configuration;
+import org.pitest.util.ExitCode;
 
 public class MutationTestUnitTest {
 
@@ -56,7 +69,7 @@ public class MutationTestUnitTest {
     this.tests = new ArrayList<>();
     this.testee = new MutationTestUnit(this.mutations, this.tests,
         new WorkerFactory(null, TestPluginArguments.defaults(), this.mutationConfig, EngineArguments.arguments(), this.timeout,
-            false, false, null));
+            false, false, null, false, 0, false));
 
   }
 
@@ -78,6 +91,92 @@ public class MutationTestUnitTest {
     assertThat(this.testee.priority()).isEqualTo(42);
   }
 
+  @Test
+  public void shouldEstimateCostFromTimeOfCoveringTests() {
+    final MutationDetails mutation = MutationDetailsMother.aMutationDetail()
+        .build();
+    mutation.addTestsInOrder(Collections.singleton(aTestTaking(100)));
+    this.testee = new MutationTestUnit(Collections.singletonList(mutation),
+        this.tests, null, true);
+    assertThat(this.testee.remainingCost()).isEqualTo(
+        MutationTestUnit.estimateCost(mutation));
+    assertThat(MutationTestUnit.estimateCost(mutation)).isGreaterThan(100);
+  }
+
+  @Test
+  public void shouldSplitOffHalfOfUnstartedWorkWhenSplittable() {
+    this.testee = new MutationTestUnit(mutationsCoveredByTestTaking(100, 4),
+        this.tests, null, true);
+    final long before = this.testee.remainingCost();
+
+    final Optional<MutationAnalysisUnit> actual = this.testee.split();
+
+    assertThat(actual).isPresent();
+    assertThat(actual.get().priority()).isEqualTo(2);
+    assertThat(this.testee.remainingCost()).isEqualTo(before / 2);
+  }
+
+  @Test
+  public void shouldSplitOffLastMutation() {
+    this.testee = new MutationTestUnit(mutationsCoveredByTestTaking(100, 1),
+        this.tests, null, true);
+    assertThat(this.testee.split()).isPresent();
+    assertThat(this.testee.remainingCost()).isZero();
+    assertThat(this.testee.split()).isEmpty();
+  }
+
+  @Test
+  public void shouldNotSplitWhenNotSplittable() {
+    this.testee = new MutationTestUnit(mutationsCoveredByTestTaking(100, 4),
+        this.tests, null);
+    assertThat(this.testee.split()).isEmpty();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldStartAMinionForEachHalvingBatchWhenSplittable()
+      throws Exception {
+    final WorkerFactory factory = mock(WorkerFactory.class);
+    when(factory.createWorker(any(Collection.class), any(Collection.class)))
+        .thenAnswer(invocation -> minionKilling((Collection<MutationDetails>) invocation
+            .getArguments()[0]));
+    this.testee = new MutationTestUnit(mutationsCoveredByTestTaking(100, 8),
+        this.tests, factory, true);
+
+    this.testee.call();
+
+    // batches of 4, 2, 1 and 1
+    verify(factory, times(4)).createWorker(any(Collection.class),
+        any(Collection.class));
+  }
+
+  private static MinionProcess minionKilling(
+      final Collection<MutationDetails> mutations) throws IOException {
+    final MinionProcess minion = mock(MinionProcess.class);
+    when(minion.waitToDie()).thenReturn(ExitCode.OK);
+    doAnswer(invocation -> {
+      ((MutationStatusMap) invocation.getArguments()[0]).setStatusForMutations(
+          mutations, DetectionStatus.KILLED);
+      return null;
+    }).when(minion).results(any(MutationStatusMap.class));
+    return minion;
+  }
+
+  private static List<MutationDetails> mutationsCoveredByTestTaking(
+      final int time, final int count) {
+    final List<MutationDetails> ms = MutationDetailsMother.aMutationDetail()
+        .build(count);
+    for (final MutationDetails each : ms) {
+      each.addTestsInOrder(Collections.singleton(aTestTaking(time)));
+    }
+    return ms;
+  }
+
+  private static TestInfo aTestTaking(final int time) {
+    return new TestInfo("FooTest", "FooTest.test", time,
+        Optional.<ClassName> empty(), 1);
+  }
+
   private void addMutation() {
     this.mutations.add(new MutationDetails(aMutationId().build(), "file", "desc",
         0, 0));
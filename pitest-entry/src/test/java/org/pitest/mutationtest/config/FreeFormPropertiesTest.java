@@ -0,0 +1,38 @@
+package org.pitest.mutationtest.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Properties;
+
+import org.junit.Test;
+import org.pitest.help.PitHelpError;
+
+public class FreeFormPropertiesTest {
+
+  private final Properties props = new Properties();
+
+  @Test
+  public void shouldReturnDefaultsWhenNoPropertiesSupplied() {
+    final FreeFormProperties testee = new FreeFormProperties(null);
+    assertThat(testee.getBoolean("foo", true)).isTrue();
+    assertThat(testee.getInt("foo", 42)).isEqualTo(42);
+    assertThat(testee.getString("foo", "bar")).isEqualTo("bar");
+  }
+
+  @Test
+  public void shouldParseSuppliedValues() {
+    this.props.setProperty("flag", "true");
+    this.props.setProperty("number", " 12 ");
+    final FreeFormProperties testee = new FreeFormProperties(this.props);
+    assertThat(testee.getBoolean("flag", false)).isTrue();
+    assertThat(testee.getInt("number", 0)).isEqualTo(12);
+    assertThat(testee.getLong("number", 0)).isEqualTo(12L);
+  }
+
+  @Test(expected = PitHelpError.class)
+  public void shouldReportHelpfulErrorForBadNumbers() {
+    this.props.setProperty("number", "lots");
+    new FreeFormProperties(this.props).getInt("number", 0);
+  }
+
+}
@@ -8,22 +8,35 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Properties;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
 import org.pitest.coverage.execute.CoverageOptions;
 import org.pitest.coverage.export.NullCoverageExporter;
 import org.pitest.functional.SideEffect1;
+import org.pitest.mutationtest.build.DefaultTestPrioritiserFactory;
+import org.pitest.mutationtest.build.KillRateTestPrioritiserFactory;
 import org.pitest.mutationtest.engine.gregor.config.GregorEngineFactory;
+import org.pitest.mutationtest.incremental.BinaryHistoryStore;
+import org.pitest.mutationtest.incremental.DirectoryCacheBackend;
+import org.pitest.mutationtest.incremental.HttpCacheBackend;
+import org.pitest.mutationtest.incremental.ObjectOutputStreamHistoryStore;
 import org.pitest.plugin.Feature;
 import org.pitest.testapi.TestGroupConfig;
 import org.pitest.util.PitError;
 
 public class SettingsFactoryTest {
 
+  @Rule
+  public final TemporaryFolder folder  = new TemporaryFolder();
+
   private final ReportOptions  options = new ReportOptions();
 
   private final PluginServices plugins = PluginServices.makeForContextLoader();
@@ -103,6 +116,95 @@ public class SettingsFactoryTest {
     assertFalse(actual.getFilter().test("org/pitest/coverage"));
   }
 
+  @Test
+  public void shouldUseCompactCoverageProtocolByDefault() {
+    assertTrue(this.testee.createCoverageOptions().useCompactProtocol());
+  }
+
+  @Test
+  public void shouldUseLegacyCoverageProtocolWhenRequested() {
+    final Properties p = new Properties();
+    p.put(SettingsFactory.LEGACY_COVERAGE_PROTOCOL, "true");
+    this.options.setFreeFormProperties(p);
+    assertFalse(this.testee.createCoverageOptions().useCompactProtocol());
+  }
+
+  @Test
+  public void shouldUseOneCoverageMinionByDefault() {
+    assertEquals(1, this.testee.getNumberOfCoverageMinions());
+  }
+
+  @Test
+  public void shouldUseRequestedNumberOfCoverageMinions() {
+    final Properties p = new Properties();
+    p.put(SettingsFactory.COVERAGE_MINIONS, "4");
+    this.options.setFreeFormProperties(p);
+    assertEquals(4, this.testee.getNumberOfCoverageMinions());
+  }
+
+  @Test
+  public void shouldUseDefaultTestPrioritiserWhenNoneRequested() {
+    assertTrue(this.testee
+        .getTestPrioritiser() instanceof DefaultTestPrioritiserFactory);
+  }
+
+  @Test
+  public void shouldUseKillRateTestPrioritiserWhenRequested() {
+    final Properties p = new Properties();
+    p.put(SettingsFactory.KILL_RATE_TEST_PRIORITY, "true");
+    this.options.setFreeFormProperties(p);
+    assertTrue(this.testee
+        .getTestPrioritiser() instanceof KillRateTestPrioritiserFactory);
+  }
+
+  @Test
+  public void shouldUseObjectOutputStreamHistoryStoreByDefault() {
+    assertTrue(this.testee
+        .createHistoryStore() instanceof ObjectOutputStreamHistoryStore);
+  }
+
+  @Test
+  public void shouldUseBinaryHistoryStoreWhenRequested() {
+    final Properties p = new Properties();
+    p.put(SettingsFactory.BINARY_HISTORY, "true");
+    this.options.setFreeFormProperties(p);
+    assertTrue(this.testee.createHistoryStore() instanceof BinaryHistoryStore);
+  }
+
+  @Test
+  public void shouldNotUseResultCacheByDefault() {
+    assertFalse(this.testee.createResultCacheBackend(null).isPresent());
+  }
+
+  @Test
+  public void shouldUseDirectoryResultCacheWhenLocationIsAPath() {
+    final Properties p = new Properties();
+    p.put(SettingsFactory.RESULT_CACHE, "/shared/pit-cache");
+    this.options.setFreeFormProperties(p);
+    assertTrue(this.testee.createResultCacheBackend(null)
+        .get() instanceof DirectoryCacheBackend);
+  }
+
+  @Test
+  public void shouldResolveRelativeResultCacheDirectoryAgainstBaseDirectory()
+      throws IOException {
+    final Properties p = new Properties();
+    p.put(SettingsFactory.RESULT_CACHE, "pit-cache");
+    this.options.setFreeFormProperties(p);
+    this.testee.createResultCacheBackend(this.folder.getRoot()).get()
+        .put("abcd", new byte[] { 1 });
+    assertTrue(new File(this.folder.getRoot(), "pit-cache/ab/abcd").exists());
+  }
+
+  @Test
+  public void shouldUseHttpResultCacheWhenLocationIsAUrl() {
+    final Properties p = new Properties();
+    p.put(SettingsFactory.RESULT_CACHE, "http://localhost:8080/pit");
+    this.options.setFreeFormProperties(p);
+    assertTrue(this.testee.createResultCacheBackend(null)
+        .get() instanceof HttpCacheBackend);
+  }
+
   @Test
   public void shouldDescribeActiveFeatures() {
     final SideEffect1<Feature> disabled = Mockito.mock(SideEffect1.class);
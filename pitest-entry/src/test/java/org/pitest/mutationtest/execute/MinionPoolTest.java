@@ -0,0 +1,101 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import org.junit.Test;
+import org.pitest.util.ExitCode;
+
+public class MinionPoolTest {
+
+  private final ReusableMinion        first    = mock(ReusableMinion.class);
+  private final ReusableMinion        second   = mock(ReusableMinion.class);
+  private final Deque<ReusableMinion> minions  = new ArrayDeque<>(
+      Arrays.asList(this.first, this.second));
+
+  private MinionPool                  testee   = new MinionPool(
+      () -> this.minions.pop(), 0);
+
+  @Test
+  public void shouldLaunchMinionWhenNoneIdle() throws Exception {
+    assertThat(this.testee.acquire()).isSameAs(this.first);
+    verify(this.first).start();
+  }
+
+  @Test
+  public void shouldReuseMinionThatExitedNormally() {
+    final ReusableMinion minion = this.testee.acquire();
+    this.testee.release(minion, ExitCode.OK);
+    assertThat(this.testee.acquire()).isSameAs(this.first);
+    verify(this.first, never()).shutdown();
+  }
+
+  @Test
+  public void shouldLaunchNewMinionWhenAllInUse() {
+    this.testee.acquire();
+    assertThat(this.testee.acquire()).isSameAs(this.second);
+  }
+
+  @Test
+  public void shouldReplaceMinionThatTimedOut() {
+    final ReusableMinion minion = this.testee.acquire();
+    this.testee.release(minion, ExitCode.TIMEOUT);
+    verify(this.first).shutdown();
+    assertThat(this.testee.acquire()).isSameAs(this.second);
+  }
+
+  @Test
+  public void shouldReplaceMinionThatRanOutOfMemory() {
+    final ReusableMinion minion = this.testee.acquire();
+    this.testee.release(minion, ExitCode.OUT_OF_MEMORY);
+    verify(this.first).shutdown();
+  }
+
+  @Test
+  public void shouldReplaceMinionOnceMutationLimitReached() {
+    this.testee = new MinionPool(() -> this.minions.pop(), 10);
+    when(this.first.mutationsAnalysed()).thenReturn(10);
+    final ReusableMinion minion = this.testee.acquire();
+    this.testee.release(minion, ExitCode.OK);
+    verify(this.first).shutdown();
+    assertThat(this.testee.acquire()).isSameAs(this.second);
+  }
+
+  @Test
+  public void shouldShutdownIdleMinions() {
+    final ReusableMinion minion = this.testee.acquire();
+    this.testee.release(minion, ExitCode.OK);
+    this.testee.shutdown();
+    verify(this.first).shutdown();
+  }
+
+  @Test
+  public void shouldReportReuseRate() {
+    for (int i = 0; i != 4; i++) {
+      this.testee.release(this.testee.acquire(), ExitCode.OK);
+    }
+    assertThat(this.testee.launchedMinions()).isEqualTo(1);
+    assertThat(this.testee.rangesAnalysed()).isEqualTo(4);
+    assertThat(this.testee.reuseRate()).isEqualTo(0.75d);
+  }
+
+  @Test
+  public void shouldReportAverageLaunchTimeOfRetiredMinions() {
+    when(this.first.launchTime()).thenReturn(100L);
+    when(this.second.launchTime()).thenReturn(300L);
+    final ReusableMinion a = this.testee.acquire();
+    final ReusableMinion b = this.testee.acquire();
+    this.testee.release(a, ExitCode.OK);
+    this.testee.release(b, ExitCode.OK);
+    this.testee.shutdown();
+    assertThat(this.testee.averageLaunchTime()).isEqualTo(200);
+  }
+
+}
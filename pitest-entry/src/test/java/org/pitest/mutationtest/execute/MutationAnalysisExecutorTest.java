@@ -0,0 +1,236 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.pitest.mutationtest.ClassMutationResults;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationMetaData;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationResultListener;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.build.MutationAnalysisUnit;
+import org.pitest.mutationtest.build.SplittableMutationAnalysisUnit;
+import org.pitest.mutationtest.report.MutationTestResultMother;
+
+public class MutationAnalysisExecutorTest {
+
+  private final List<String>   delivered = Collections
+      .synchronizedList(new ArrayList<>());
+  private final CountDownLatch fastUnitDelivered = new CountDownLatch(1);
+
+  @Test
+  public void shouldDeliverResultsInSubmissionOrderByDefault() {
+    final MutationAnalysisExecutor testee = new MutationAnalysisExecutor(2,
+        listeners());
+    testee.run(Arrays.asList(unit("first"), unit("second")));
+    assertThat(this.delivered).containsExactly("first", "second");
+  }
+
+  @Test
+  public void shouldDeliverResultsInCompletionOrderWhenRequested() {
+    final MutationAnalysisExecutor testee = new MutationAnalysisExecutor(2,
+        listeners(), true, false);
+    testee.run(Arrays.asList(unitWaitingForFastUnit("slow"), unit("fast")));
+    assertThat(this.delivered).containsExactly("fast", "slow");
+  }
+
+  @Test
+  public void shouldRunUnitsWhenVirtualThreadsRequested() {
+    final MutationAnalysisExecutor testee = new MutationAnalysisExecutor(2,
+        listeners(), true, true);
+    testee.run(Arrays.asList(unit("first"), unit("second")));
+    assertThat(this.delivered).containsOnly("first", "second");
+  }
+
+  @Test
+  public void shouldRunMostExpensiveUnitsFirstWhenSchedulingAdaptively() {
+    final MutationAnalysisExecutor testee = new MutationAnalysisExecutor(1,
+        listeners(), false, false, true);
+    testee.run(Arrays.asList(splittableUnit("cheap", 1, false),
+        splittableUnit("expensive", 100, false)));
+    assertThat(this.delivered).containsExactly("expensive", "cheap");
+  }
+
+  @Test
+  public void shouldLetIdleThreadsSplitWorkFromRunningUnits() {
+    final MutationAnalysisExecutor testee = new MutationAnalysisExecutor(2,
+        listeners(), false, false, true);
+    testee.run(Collections.singletonList(splittableUnit("slow", 100, true)));
+    assertThat(this.delivered).containsExactly("fast", "slow");
+  }
+
+  @Test
+  public void shouldLetIdleThreadsStealUnitsQueuedForOtherThreads() {
+    final MutationAnalysisExecutor testee = new MutationAnalysisExecutor(2,
+        listeners(), false, false, true);
+    // dealt out as slow and fast to one thread, first and second to the other
+    testee.run(Arrays.asList(unitWaitingForFastUnit("slow"), unit("first"),
+        unit("fast"), unit("second")));
+    assertThat(this.delivered).containsSubsequence("fast", "slow");
+  }
+
+  @Test
+  public void shouldDeliverResultsInCompletionOrderWhenUnitsStreamed() {
+    final MutationAnalysisExecutor testee = new MutationAnalysisExecutor(2,
+        listeners());
+    testee.run(Arrays.asList(unitWaitingForFastUnit("slow"), unit("fast"))
+        .iterator());
+    assertThat(this.delivered).containsExactly("fast", "slow");
+  }
+
+  @Test
+  public void shouldTakeStreamedUnitsOnlyWhenAThreadIsFree() {
+    final AtomicInteger taken = new AtomicInteger();
+    final AtomicInteger takenWhileFirstRan = new AtomicInteger();
+    final Iterator<MutationAnalysisUnit> units = Arrays.asList(
+        unitRecording("first", taken, takenWhileFirstRan), unit("second"))
+        .iterator();
+    final MutationAnalysisExecutor testee = new MutationAnalysisExecutor(1,
+        listeners());
+
+    testee.run(new Iterator<MutationAnalysisUnit>() {
+      @Override
+      public boolean hasNext() {
+        return units.hasNext();
+      }
+
+      @Override
+      public MutationAnalysisUnit next() {
+        taken.incrementAndGet();
+        return units.next();
+      }
+    });
+
+    assertThat(takenWhileFirstRan.get()).isEqualTo(1);
+    assertThat(this.delivered).containsExactly("first", "second");
+  }
+
+  private List<MutationResultListener> listeners() {
+    return Collections.singletonList(new MutationResultListener() {
+      @Override
+      public void runStart() {
+      }
+
+      @Override
+      public void handleMutationResult(final ClassMutationResults results) {
+        final String name = results.getFileName();
+        MutationAnalysisExecutorTest.this.delivered.add(name);
+        if (name.equals("fast")) {
+          MutationAnalysisExecutorTest.this.fastUnitDelivered.countDown();
+        }
+      }
+
+      @Override
+      public void runEnd() {
+      }
+    });
+  }
+
+  private MutationAnalysisUnit unit(final String name) {
+    final MutationMetaData result = metaData(name);
+    return new MutationAnalysisUnit() {
+      @Override
+      public MutationMetaData call() {
+        return result;
+      }
+
+      @Override
+      public int priority() {
+        return 0;
+      }
+    };
+  }
+
+  private MutationAnalysisUnit unitRecording(final String name,
+      final AtomicInteger counter, final AtomicInteger valueWhenRun) {
+    final MutationMetaData result = metaData(name);
+    return new MutationAnalysisUnit() {
+      @Override
+      public MutationMetaData call() throws Exception {
+        // give the executor time to take further units if it is going to
+        Thread.sleep(50);
+        valueWhenRun.set(counter.get());
+        return result;
+      }
+
+      @Override
+      public int priority() {
+        return 0;
+      }
+    };
+  }
+
+  private MutationAnalysisUnit unitWaitingForFastUnit(final String name) {
+    final MutationMetaData result = metaData(name);
+    return new MutationAnalysisUnit() {
+      @Override
+      public MutationMetaData call() throws Exception {
+        MutationAnalysisExecutorTest.this.fastUnitDelivered.await(5,
+            TimeUnit.SECONDS);
+        return result;
+      }
+
+      @Override
+      public int priority() {
+        return 0;
+      }
+    };
+  }
+
+  // splits off a unit named fast
+  private MutationAnalysisUnit splittableUnit(final String name,
+      final long cost, final boolean waitForSplitOffUnit) {
+    final MutationMetaData result = metaData(name);
+    final MutationAnalysisUnit splitOff = unit("fast");
+    return new SplittableMutationAnalysisUnit() {
+      private boolean split;
+
+      @Override
+      public MutationMetaData call() throws Exception {
+        if (waitForSplitOffUnit) {
+          MutationAnalysisExecutorTest.this.fastUnitDelivered.await(5,
+              TimeUnit.SECONDS);
+        }
+        return result;
+      }
+
+      @Override
+      public int priority() {
+        return 0;
+      }
+
+      @Override
+      public synchronized long remainingCost() {
+        return this.split ? 0 : cost;
+      }
+
+      @Override
+      public synchronized Optional<MutationAnalysisUnit> split() {
+        if (this.split) {
+          return Optional.empty();
+        }
+        this.split = true;
+        return Optional.of(splitOff);
+      }
+    };
+  }
+
+  // built on the test thread as the test data builders are not thread safe
+  private static MutationMetaData metaData(final String name) {
+    return MutationTestResultMother.createMetaData(new MutationResult(
+        MutationTestResultMother.createDetails(name),
+        new MutationStatusTestPair(1, DetectionStatus.KILLED, "test")));
+  }
+
+}
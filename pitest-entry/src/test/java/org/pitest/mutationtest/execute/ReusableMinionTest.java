@@ -0,0 +1,51 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.process.DefaultJavaExecutableLocator;
+import org.pitest.process.LaunchOptions;
+import org.pitest.process.ProcessArgs;
+import org.pitest.util.ExitCode;
+import org.pitest.util.NullJavaAgent;
+import org.pitest.util.SocketFinder;
+
+public class ReusableMinionTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test(timeout = 30000)
+  public void shouldReportErrorWhenMinionExitsBeforeConnecting()
+      throws IOException {
+    // the minion class cannot be found on an empty classpath, so the jvm
+    // exits at once
+    final ProcessArgs args = ProcessArgs
+        .withClassPath(this.folder.newFolder().getAbsolutePath())
+        .andLaunchOptions(new LaunchOptions(NullJavaAgent.instance(),
+            new DefaultJavaExecutableLocator(),
+            Collections.<String> emptyList(), new HashMap<String, String>()))
+        .andBaseDir(new File(System.getProperty("user.dir")))
+        .andStdout(s -> { }).andStderr(s -> { });
+    final ReusableMinion testee = new ReusableMinion(
+        new SocketFinder().getNextAvailableServerSocket(), args);
+    testee.start();
+    try {
+      assertThat(testee.analyse(null, 1,
+          new HashMap<MutationIdentifier, MutationStatusTestPair>()))
+          .isEqualTo(ExitCode.UNKNOWN_ERROR);
+    } finally {
+      testee.shutdown();
+    }
+  }
+
+}
@@ -0,0 +1,454 @@
+package org.pitest.mutationtest.incremental;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassIdentifier;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.classinfo.MethodHashes;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.mutationtest.ClassHistory;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+
+public class BinaryHistoryStoreTest {
+
+  private static final String COV    = BigInteger.TEN.toString(16);
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Mock
+  private CoverageDatabase    coverage;
+
+  private File                file;
+
+  @Before
+  public void setUp() throws IOException {
+    MockitoAnnotations.initMocks(this);
+    when(this.coverage.getCoverageIdForClass(any(ClassName.class)))
+        .thenReturn(BigInteger.TEN);
+    this.file = new File(this.folder.getRoot(), "history.bin");
+  }
+
+  @Test
+  public void shouldRecordAndRetrieveClassPath() {
+    final ClassHistory foo = new ClassHistory(new HierarchicalClassId(
+        new ClassIdentifier(42, ClassName.fromString("foo")), "abc"), COV);
+    final ClassHistory bar = new ClassHistory(new HierarchicalClassId(
+        new ClassIdentifier(-1, ClassName.fromString("com.example.Bar")),
+        ""), COV);
+
+    final BinaryHistoryStore writer = store();
+    writer.recordClassPath(Arrays.asList(foo.getId(), bar.getId()),
+        this.coverage);
+    writer.recordResult(result("foo", "a", DetectionStatus.KILLED));
+    writer.close();
+
+    final BinaryHistoryStore testee = store();
+    testee.initialize();
+
+    final Map<ClassName, ClassHistory> expected = new HashMap<>();
+    expected.put(foo.getName(), foo);
+    expected.put(bar.getName(), bar);
+    assertThat(testee.getHistoricClassPath()).isEqualTo(expected);
+    assertThat(testee.getHistoricClassPath().get(bar.getName())).isEqualTo(
+        bar);
+  }
+
+  @Test
+  public void shouldRecordAndRetrieveMethodHashes() {
+    final HierarchicalClassId foo = classId("foo", 1);
+    final MethodHashes hashes = methodHashes();
+
+    final BinaryHistoryStore writer = store();
+    writer.recordClassPath(Arrays.asList(foo), this.coverage,
+        Collections.singletonMap(foo.getName(), hashes));
+    writer.recordResult(result("foo", "a", DetectionStatus.KILLED));
+    writer.close();
+
+    final BinaryHistoryStore testee = store();
+    testee.initialize();
+
+    assertThat(testee.getHistoricClassPath().get(foo.getName()))
+        .isEqualTo(new ClassHistory(foo, COV, hashes));
+  }
+
+  @Test
+  public void shouldResumeMethodHashesFromHistoryOfKilledRun() {
+    final HierarchicalClassId foo = classId("foo", 1);
+    final MethodHashes hashes = methodHashes();
+    final BinaryHistoryStore killed = loggingStore();
+    killed.initialize();
+    killed.recordClassPath(Arrays.asList(foo), this.coverage,
+        Collections.singletonMap(foo.getName(), hashes));
+
+    final BinaryHistoryStore testee = store();
+    testee.initialize();
+
+    assertThat(
+        testee.getHistoricClassPath().get(foo.getName()).getMethodHashes())
+        .contains(hashes);
+  }
+
+  @Test
+  public void shouldRecordAndRetrieveResults() {
+    final MutationResult a = result("foo", "a", DetectionStatus.KILLED);
+    final MutationResult b = new MutationResult(details(new MutationIdentifier(
+        location("foo", "b"), Arrays.asList(3, 300), "other")),
+        new MutationStatusTestPair(3, DetectionStatus.SURVIVED,
+            Arrays.asList("t1", "t2"), Arrays.asList("t3")));
+    final MutationResult c = result("bar", "a", DetectionStatus.NO_COVERAGE);
+
+    final BinaryHistoryStore writer = store();
+    writer.recordResult(a);
+    writer.recordResult(b);
+    writer.recordResult(c);
+    writer.close();
+
+    final BinaryHistoryStore testee = store();
+    testee.initialize();
+
+    final Map<MutationIdentifier, MutationStatusTestPair> expected = new HashMap<>();
+    expected.put(a.getDetails().getId(), a.getStatusTestPair());
+    expected.put(b.getDetails().getId(), b.getStatusTestPair());
+    expected.put(c.getDetails().getId(), c.getStatusTestPair());
+    assertThat(testee.getHistoricResults()).isEqualTo(expected);
+  }
+
+  @Test
+  public void shouldRecordAndRetrieveCoverageFingerprints() {
+    final MutationResult a = result("foo", "a", DetectionStatus.SURVIVED);
+    final MutationResult b = result("foo", "b", DetectionStatus.KILLED);
+
+    final BinaryHistoryStore writer = store();
+    writer.recordResult(a, 7);
+    writer.recordResult(b);
+    writer.close();
+
+    final BinaryHistoryStore testee = store();
+    testee.initialize();
+
+    assertThat(testee.getHistoricCoverageFingerprints()).containsOnly(
+        entry(a.getDetails().getId(), 7L));
+  }
+
+  @Test
+  public void shouldNotResumeFingerprintReplacedByResultWithoutOne() {
+    final MutationResult survived = result("foo", "a",
+        DetectionStatus.SURVIVED);
+    final BinaryHistoryStore complete = store();
+    complete.recordResult(survived, 7);
+    complete.close();
+
+    final BinaryHistoryStore killed = loggingStore();
+    killed.initialize();
+    killed.recordResult(result("foo", "a", DetectionStatus.KILLED));
+
+    final BinaryHistoryStore testee = store();
+    testee.initialize();
+
+    assertThat(testee.getHistoricCoverageFingerprints()).isEmpty();
+    assertThat(
+        testee.getHistoricResults().get(survived.getDetails().getId())
+            .getStatus()).isEqualTo(DetectionStatus.KILLED);
+  }
+
+  @Test
+  public void shouldLookUpResultsByClass() {
+    final MutationResult a = result("foo", "a", DetectionStatus.KILLED);
+    final BinaryHistoryStore writer = store();
+    writer.recordResult(a);
+    writer.recordResult(result("bar", "a", DetectionStatus.SURVIVED));
+    writer.close();
+
+    final BinaryHistoryStore testee = store();
+    testee.initialize();
+
+    assertThat(testee.getHistoricResults().get(a.getDetails().getId()))
+        .isEqualTo(a.getStatusTestPair());
+    assertThat(
+        testee.getHistoricResults().get(
+            result("foo", "b", DetectionStatus.KILLED).getDetails().getId()))
+        .isNull();
+    assertThat(
+        testee.getHistoricResults().get(
+            result("baz", "a", DetectionStatus.KILLED).getDetails().getId()))
+        .isNull();
+    assertThat(testee.getHistoricClassPath().get(ClassName.fromString("foo")))
+        .isNull();
+    assertThat(testee.getHistoricResults().get("foo")).isNull();
+  }
+
+  @Test
+  public void shouldOnlyReadClassesRequested() throws IOException {
+    final MutationResult a = result("a", "a", DetectionStatus.KILLED);
+    final BinaryHistoryStore writer = store();
+    writer.recordResult(a);
+    writer.recordResult(result("b", "a", DetectionStatus.KILLED));
+    writer.close();
+
+    // truncates the block of the last class
+    try (RandomAccessFile raf = new RandomAccessFile(this.file, "rw")) {
+      raf.setLength(raf.length() - 2);
+    }
+
+    final BinaryHistoryStore testee = store();
+    testee.initialize();
+
+    assertThat(testee.getHistoricResults().get(a.getDetails().getId()))
+        .isEqualTo(a.getStatusTestPair());
+    assertThat(testee.getHistoricResults()).hasSize(1);
+  }
+
+  @Test
+  public void shouldReplaceHistoryReadFromSameFile() {
+    final BinaryHistoryStore first = store();
+    first.recordResult(result("foo", "a", DetectionStatus.SURVIVED));
+    first.close();
+
+    final BinaryHistoryStore second = store();
+    second.initialize();
+    final MutationResult killed = result("foo", "a", DetectionStatus.KILLED);
+    second.recordResult(killed);
+    second.close();
+
+    final BinaryHistoryStore testee = store();
+    testee.initialize();
+    assertThat(testee.getHistoricResults().get(killed.getDetails().getId()))
+        .isEqualTo(killed.getStatusTestPair());
+  }
+
+  @Test
+  public void shouldReadHistoryFromFileOtherThanOutput() {
+    final MutationResult a = result("foo", "a", DetectionStatus.SURVIVED);
+    final BinaryHistoryStore first = store();
+    first.recordResult(a);
+    first.close();
+
+    final File other = new File(this.folder.getRoot(), "other.bin");
+    final BinaryHistoryStore testee = new BinaryHistoryStore(
+        Optional.of(this.file), Optional.of(other));
+    testee.initialize();
+    testee.recordResult(result("foo", "b", DetectionStatus.KILLED));
+    testee.close();
+
+    assertThat(testee.getHistoricResults().get(a.getDetails().getId()))
+        .isEqualTo(a.getStatusTestPair());
+    assertThat(other).exists();
+  }
+
+  @Test
+  public void shouldIgnoreFilesInOtherFormats() throws IOException {
+    Files.write(this.file.toPath(), "1\nrO0ABXNy\n".getBytes("UTF-8"));
+    final BinaryHistoryStore testee = store();
+    testee.initialize();
+    assertThat(testee.getHistoricResults()).isEmpty();
+    assertThat(testee.getHistoricClassPath()).isEmpty();
+  }
+
+  @Test
+  public void shouldNotWriteFileWhenNoneSupplied() {
+    final BinaryHistoryStore testee = new BinaryHistoryStore(
+        Optional.<File> empty(), Optional.<File> empty());
+    testee.initialize();
+    testee.recordResult(result("foo", "a", DetectionStatus.KILLED));
+    testee.close();
+    assertThat(testee.getHistoricResults()).isEmpty();
+    assertThat(this.folder.getRoot().list()).isEmpty();
+  }
+
+  @Test
+  public void shouldResumeFromHistoryOfKilledRun() {
+    final HierarchicalClassId foo = classId("foo", 1);
+    final MutationResult a = result("foo", "a", DetectionStatus.KILLED);
+    final BinaryHistoryStore killed = loggingStore();
+    killed.initialize();
+    killed.recordClassPath(Arrays.asList(foo), this.coverage);
+    killed.recordResult(a);
+
+    final BinaryHistoryStore testee = store();
+    testee.initialize();
+
+    assertThat(testee.getHistoricResults().get(a.getDetails().getId()))
+        .isEqualTo(a.getStatusTestPair());
+    assertThat(testee.getHistoricClassPath().get(foo.getName()).getId())
+        .isEqualTo(foo);
+  }
+
+  @Test
+  public void shouldResumeFromHistoryOfEachKilledRun() {
+    final MutationResult a = result("foo", "a", DetectionStatus.KILLED);
+    final MutationResult b = result("bar", "b", DetectionStatus.SURVIVED);
+    final BinaryHistoryStore first = loggingStore();
+    first.initialize();
+    first.recordResult(a);
+
+    final BinaryHistoryStore second = loggingStore();
+    second.initialize();
+    second.recordResult(b);
+
+    final BinaryHistoryStore testee = store();
+    testee.initialize();
+
+    final Map<MutationIdentifier, MutationStatusTestPair> expected = new HashMap<>();
+    expected.put(a.getDetails().getId(), a.getStatusTestPair());
+    expected.put(b.getDetails().getId(), b.getStatusTestPair());
+    assertThat(testee.getHistoricResults()).isEqualTo(expected);
+  }
+
+  @Test
+  public void shouldNotResumeFromResultsForEarlierVersionOfClass() {
+    final MutationResult old = result("foo", "a", DetectionStatus.KILLED);
+    final BinaryHistoryStore complete = store();
+    complete.recordClassPath(Arrays.asList(classId("foo", 1)), this.coverage);
+    complete.recordResult(old);
+    complete.close();
+
+    final HierarchicalClassId changed = classId("foo", 2);
+    final MutationResult resumed = result("foo", "b", DetectionStatus.KILLED);
+    final BinaryHistoryStore killed = loggingStore();
+    killed.initialize();
+    killed.recordClassPath(Arrays.asList(changed), this.coverage);
+    killed.recordResult(resumed);
+
+    final BinaryHistoryStore testee = store();
+    testee.initialize();
+
+    assertThat(testee.getHistoricResults()).containsOnlyKeys(
+        resumed.getDetails().getId());
+    assertThat(testee.getHistoricClassPath().get(changed.getName()).getId())
+        .isEqualTo(changed);
+  }
+
+  @Test
+  public void shouldNotResumeFromResultsLoggedForEarlierVersionOfClass() {
+    final MutationResult old = result("foo", "a", DetectionStatus.KILLED);
+    final BinaryHistoryStore first = loggingStore();
+    first.initialize();
+    first.recordClassPath(Arrays.asList(classId("foo", 1)), this.coverage);
+    first.recordResult(old);
+
+    final HierarchicalClassId changed = classId("foo", 2);
+    final MutationResult resumed = result("foo", "b", DetectionStatus.SURVIVED);
+    final BinaryHistoryStore second = loggingStore();
+    second.initialize();
+    second.recordClassPath(Arrays.asList(changed), this.coverage);
+    second.recordResult(resumed, 42L);
+
+    final BinaryHistoryStore testee = store();
+    testee.initialize();
+
+    assertThat(testee.getHistoricResults()).containsOnlyKeys(
+        resumed.getDetails().getId());
+    assertThat(testee.getHistoricCoverageFingerprints()).containsOnlyKeys(
+        resumed.getDetails().getId());
+    assertThat(testee.getHistoricClassPath().get(changed.getName()).getId())
+        .isEqualTo(changed);
+  }
+
+  @Test
+  public void shouldResumeResultsLoggedWhenClassUnchanged() {
+    final HierarchicalClassId foo = classId("foo", 1);
+    final MutationResult a = result("foo", "a", DetectionStatus.KILLED);
+    final BinaryHistoryStore first = loggingStore();
+    first.initialize();
+    first.recordClassPath(Arrays.asList(foo), this.coverage);
+    first.recordResult(a);
+
+    final BinaryHistoryStore second = loggingStore();
+    second.initialize();
+    second.recordClassPath(Arrays.asList(foo), this.coverage);
+
+    final BinaryHistoryStore testee = store();
+    testee.initialize();
+
+    assertThat(testee.getHistoricResults()).containsOnlyKeys(
+        a.getDetails().getId());
+  }
+
+  @Test
+  public void shouldRemoveLogOnceHistoryWritten() {
+    final MutationResult a = result("foo", "a", DetectionStatus.KILLED);
+    final BinaryHistoryStore killed = loggingStore();
+    killed.initialize();
+    killed.recordResult(a);
+    assertThat(HistoryLog.logFor(this.file)).exists();
+
+    final BinaryHistoryStore complete = loggingStore();
+    complete.initialize();
+    complete.recordResult(a);
+    complete.close();
+    assertThat(HistoryLog.logFor(this.file)).doesNotExist();
+
+    final BinaryHistoryStore testee = store();
+    testee.initialize();
+    assertThat(testee.getHistoricResults()).containsOnlyKeys(
+        a.getDetails().getId());
+  }
+
+  private static MethodHashes methodHashes() {
+    final Map<String, Long> methods = new HashMap<>();
+    methods.put("a()V", 1L);
+    methods.put("<init>(Ljava/lang/String;)V", -1L);
+    return new MethodHashes(42, methods);
+  }
+
+  private BinaryHistoryStore loggingStore() {
+    return new BinaryHistoryStore(Optional.of(this.file),
+        Optional.of(this.file), 1);
+  }
+
+  private static HierarchicalClassId classId(final String clazz,
+      final long hash) {
+    return new HierarchicalClassId(new ClassIdentifier(hash,
+        ClassName.fromString(clazz)), "");
+  }
+
+  private BinaryHistoryStore store() {
+    return new BinaryHistoryStore(Optional.of(this.file),
+        Optional.of(this.file));
+  }
+
+  private static MutationResult result(final String clazz,
+      final String method, final DetectionStatus status) {
+    return new MutationResult(details(new MutationIdentifier(location(clazz,
+        method), 1, "mutator")), new MutationStatusTestPair(1, status,
+        "aTest"));
+  }
+
+  private static Location location(final String clazz, final String method) {
+    return new Location(ClassName.fromString(clazz),
+        MethodName.fromString(method), "()V");
+  }
+
+  private static MutationDetails details(final MutationIdentifier id) {
+    return new MutationDetails(id, "file", "desc", 42, 0);
+  }
+
+}
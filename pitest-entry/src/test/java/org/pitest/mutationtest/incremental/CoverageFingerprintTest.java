@@ -0,0 +1,71 @@
+package org.pitest.mutationtest.incremental;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassIdentifier;
+import org.pitest.classinfo.ClassInfoMother;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.report.MutationTestResultMother;
+
+public class CoverageFingerprintTest {
+
+  private static final ClassName FOO_TEST = ClassName.fromString("FooTest");
+
+  @Mock
+  private CoverageDatabase       coverage;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    setTestClassHash(1);
+  }
+
+  @Test
+  public void shouldIgnoreOrderOfTests() {
+    assertThat(fingerprint(test("a"), test("b"))).isEqualTo(
+        fingerprint(test("b"), test("a")));
+  }
+
+  @Test
+  public void shouldChangeWhenCoveringTestsChange() {
+    assertThat(fingerprint(test("a"), test("b"))).isNotEqualTo(
+        fingerprint(test("a")));
+  }
+
+  @Test
+  public void shouldChangeWhenClassDefiningTestChanges() {
+    final long before = fingerprint(test("a"));
+    setTestClassHash(2);
+    assertThat(fingerprint(test("a"))).isNotEqualTo(before);
+  }
+
+  private long fingerprint(final TestInfo... tests) {
+    final MutationDetails mutation = MutationTestResultMother.createDetails();
+    mutation.addTestsInOrder(Arrays.asList(tests));
+    return new CoverageFingerprint(this.coverage).fingerprint(mutation);
+  }
+
+  private void setTestClassHash(final long hash) {
+    when(this.coverage.getClassInfo(Collections.singleton(FOO_TEST)))
+        .thenReturn(Collections.singletonList(ClassInfoMother
+            .make(new ClassIdentifier(hash, FOO_TEST))));
+  }
+
+  private static TestInfo test(final String method) {
+    return new TestInfo(FOO_TEST.asJavaName(), FOO_TEST.asJavaName() + "."
+        + method, 0, Optional.<ClassName> empty(), 0);
+  }
+
+}
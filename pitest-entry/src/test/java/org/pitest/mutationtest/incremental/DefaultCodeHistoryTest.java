@@ -6,6 +6,7 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aMutationId;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -19,10 +20,13 @@ import org.pitest.classinfo.ClassInfoMother;
 import org.pitest.classinfo.ClassInfoSource;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.classinfo.MethodHashes;
 import java.util.Optional;
 import org.pitest.mutationtest.ClassHistory;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.MethodName;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 
 public class DefaultCodeHistoryTest {
@@ -109,6 +113,75 @@ public class DefaultCodeHistoryTest {
     assertFalse(this.testee.hasClassChanged(ClassName.fromString("foo")));
   }
 
+  @Test
+  public void shouldTreatMethodAsUnchangedWhenOnlyOtherMethodsHaveChanged() {
+    final ClassName foo = ClassName.fromString("foo");
+    setCurrentClassPath(ClassInfoMother.make(new ClassIdentifier(2, foo)));
+    this.historicClassPath.put(foo, new ClassHistory(new HierarchicalClassId(1,
+        foo, "1"), "", methodHashes(1, 2)));
+    this.testee = withCurrentMethodHashes(methodHashes(1, 3));
+
+    assertTrue(this.testee.isUnchangedAt(location(foo, "a")));
+    assertFalse(this.testee.isUnchangedAt(location(foo, "b")));
+  }
+
+  @Test
+  public void shouldTreatMethodAsChangedWhenEnclosingClassesHaveChanged() {
+    final ClassName foo = ClassName.fromString("foo");
+    setCurrentClassPath(ClassInfoMother.make(new ClassIdentifier(2, foo)));
+    this.historicClassPath.put(foo, new ClassHistory(new HierarchicalClassId(1,
+        foo, "5"), "", methodHashes(1, 2)));
+    this.testee = withCurrentMethodHashes(methodHashes(1, 2));
+
+    assertFalse(this.testee.isUnchangedAt(location(foo, "a")));
+  }
+
+  @Test
+  public void shouldTreatMethodAsChangedWhenNoMethodHashesRecorded() {
+    final ClassName foo = ClassName.fromString("foo");
+    final HierarchicalClassId id = new HierarchicalClassId(1, foo, "1");
+    setCurrentClassPath(id);
+    this.historicClassPath.put(foo, makeHistory(id));
+    this.testee = withCurrentMethodHashes(methodHashes(1, 2));
+
+    assertFalse(this.testee.isUnchangedAt(location(foo, "a")));
+  }
+
+  @Test
+  public void shouldTreatCoverageFingerprintAsChangedWhenNoneRecorded() {
+    final MutationIdentifier id = aMutationId().build();
+    assertFalse(this.testee.hasCoverageFingerprint(id));
+    assertTrue(this.testee.hasCoverageFingerprintChanged(id, 1));
+  }
+
+  @Test
+  public void shouldCompareCoverageFingerprintWithThatRecorded() {
+    final MutationIdentifier id = aMutationId().build();
+    this.testee = new DefaultCodeHistory(this.classInfoSource, this.results,
+        this.historicClassPath, Collections.singletonMap(id, 1L),
+        c -> Optional.<MethodHashes> empty());
+    assertTrue(this.testee.hasCoverageFingerprint(id));
+    assertFalse(this.testee.hasCoverageFingerprintChanged(id, 1));
+    assertTrue(this.testee.hasCoverageFingerprintChanged(id, 2));
+  }
+
+  private DefaultCodeHistory withCurrentMethodHashes(final MethodHashes hashes) {
+    return new DefaultCodeHistory(this.classInfoSource, this.results,
+        this.historicClassPath, Collections.<MutationIdentifier, Long> emptyMap(),
+        c -> Optional.of(hashes));
+  }
+
+  private static MethodHashes methodHashes(final long a, final long b) {
+    final Map<String, Long> methods = new HashMap<>();
+    methods.put("a()V", a);
+    methods.put("b()V", b);
+    return new MethodHashes(0, methods);
+  }
+
+  private static Location location(final ClassName clazz, final String method) {
+    return new Location(clazz, MethodName.fromString(method), "()V");
+  }
+
   private void setCurrentClassPath(final HierarchicalClassId currentId) {
     final ClassInfo currentClass = ClassInfoMother.make(currentId.getId());
     when(this.classInfoSource.fetchClass(ClassName.fromString("foo")))
@@ -0,0 +1,50 @@
+package org.pitest.mutationtest.incremental;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DirectoryCacheBackendTest {
+
+  @Rule
+  public final TemporaryFolder  folder = new TemporaryFolder();
+
+  private DirectoryCacheBackend testee;
+
+  @Before
+  public void setUp() {
+    this.testee = new DirectoryCacheBackend(this.folder.getRoot());
+  }
+
+  @Test
+  public void shouldMissWhenNoEntryStored() throws IOException {
+    assertThat(this.testee.get("abcdef")).isEmpty();
+  }
+
+  @Test
+  public void shouldRetrieveStoredEntries() throws IOException {
+    this.testee.put("abcdef", new byte[] { 1, 2, 3 });
+    assertThat(this.testee.get("abcdef").get()).containsExactly(1, 2, 3);
+  }
+
+  @Test
+  public void shouldReplaceExistingEntries() throws IOException {
+    this.testee.put("abcdef", new byte[] { 1 });
+    this.testee.put("abcdef", new byte[] { 2 });
+    assertThat(this.testee.get("abcdef").get()).containsExactly(2);
+  }
+
+  @Test
+  public void shouldLeaveOnlyEntriesInDirectory() throws IOException {
+    this.testee.put("abcdef", new byte[] { 1 });
+    assertThat(new File(this.folder.getRoot(), "ab").list()).containsExactly(
+        "abcdef");
+  }
+
+}
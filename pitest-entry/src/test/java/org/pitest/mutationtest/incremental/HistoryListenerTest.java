@@ -2,10 +2,13 @@ package org.pitest.mutationtest.incremental;
 
 import static org.mockito.Mockito.verify;
 
+import java.util.Optional;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.pitest.coverage.CoverageDatabase;
 import org.pitest.mutationtest.ClassMutationResults;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.HistoryStore;
@@ -15,10 +18,13 @@ import org.pitest.mutationtest.report.MutationTestResultMother;
 
 public class HistoryListenerTest {
 
-  private HistoryListener testee;
+  private HistoryListener  testee;
+
+  @Mock
+  private HistoryStore     store;
 
   @Mock
-  private HistoryStore    store;
+  private CoverageDatabase coverage;
 
   @Before
   public void setUp() {
@@ -35,10 +41,28 @@ public class HistoryListenerTest {
     verify(this.store).recordResult(mr);
   }
 
+  @Test
+  public void shouldRecordCoverageFingerprintsOfSurvivingMutations() {
+    final CoverageFingerprint fingerprints = new CoverageFingerprint(
+        this.coverage);
+    this.testee = new HistoryListener(this.store, Optional.of(fingerprints));
+    final MutationResult survived = makeResult(DetectionStatus.SURVIVED);
+    final MutationResult killed = makeResult(DetectionStatus.KILLED);
+    this.testee.handleMutationResult(MutationTestResultMother
+        .createClassResults(survived, killed));
+    verify(this.store).recordResult(survived,
+        fingerprints.fingerprint(survived.getDetails()));
+    verify(this.store).recordResult(killed);
+  }
+
   private MutationResult makeResult() {
+    return makeResult(DetectionStatus.KILLED);
+  }
+
+  private MutationResult makeResult(final DetectionStatus status) {
     final MutationResult mr = new MutationResult(
         MutationTestResultMother.createDetails(), MutationStatusTestPair.notAnalysed(0,
-            DetectionStatus.KILLED));
+            status));
     return mr;
   }
 
@@ -0,0 +1,100 @@
+package org.pitest.mutationtest.incremental;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class HistoryLogTest {
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private File                 file;
+
+  @Before
+  public void setUp() {
+    this.file = new File(this.folder.getRoot(), "history.log");
+  }
+
+  @Test
+  public void shouldReplaySegmentsInOrderAppended() throws IOException {
+    append(0, "one", "two");
+    assertThat(replay()).containsExactly("one", "two");
+  }
+
+  @Test
+  public void shouldStopAtTruncatedSegment() throws IOException {
+    append(0, "one", "two");
+    try (RandomAccessFile raf = new RandomAccessFile(this.file, "rw")) {
+      raf.setLength(raf.length() - 1);
+    }
+    assertThat(replay()).containsExactly("one");
+  }
+
+  @Test
+  public void shouldStopAtSegmentFailingChecksum() throws IOException {
+    append(0, "one", "two", "three");
+    final byte[] bytes = Files.readAllBytes(this.file.toPath());
+    // last byte of the second segment
+    bytes[bytes.length - 14] ^= 1;
+    Files.write(this.file.toPath(), bytes);
+    assertThat(replay()).containsExactly("one");
+  }
+
+  @Test
+  public void shouldAppendAfterLastCompleteSegment() throws IOException {
+    append(0, "one", "two");
+    try (RandomAccessFile raf = new RandomAccessFile(this.file, "rw")) {
+      raf.setLength(raf.length() - 1);
+    }
+    final long length = HistoryLog.replay(this.file, b -> { });
+    append(length, "three");
+    assertThat(replay()).containsExactly("one", "three");
+  }
+
+  @Test
+  public void shouldStartNewLogWhenFileIsNotALog() throws IOException {
+    Files.write(this.file.toPath(), "rubbish".getBytes(StandardCharsets.UTF_8));
+    final long length = HistoryLog.replay(this.file, b -> { });
+    assertThat(length).isEqualTo(0);
+    append(length, "one");
+    assertThat(replay()).containsExactly("one");
+  }
+
+  @Test
+  public void shouldNameLogAfterHistoryFile() {
+    assertThat(HistoryLog.logFor(new File("foo/history.bin"))).isEqualTo(
+        new File("foo/history.bin.log"));
+  }
+
+  private void append(final long from, final String... segments)
+      throws IOException {
+    final HistoryLog testee = HistoryLog.open(this.file, from);
+    for (final String each : segments) {
+      testee.append(each.getBytes(StandardCharsets.UTF_8));
+    }
+    testee.close();
+  }
+
+  private List<String> replay() throws IOException {
+    final List<String> segments = new ArrayList<>();
+    HistoryLog.replay(this.file, b -> {
+      final byte[] bytes = new byte[b.remaining()];
+      b.get(bytes);
+      segments.add(new String(bytes, StandardCharsets.UTF_8));
+    });
+    return segments;
+  }
+
+}
@@ -0,0 +1,55 @@
+package org.pitest.mutationtest.incremental;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HttpCacheBackendTest {
+
+  private HttpCacheServer  server;
+
+  private HttpCacheBackend testee;
+
+  @Before
+  public void setUp() throws IOException {
+    this.server = new HttpCacheServer();
+    this.testee = new HttpCacheBackend(this.server.baseUrl());
+  }
+
+  @After
+  public void tearDown() {
+    this.server.close();
+  }
+
+  @Test
+  public void shouldMissWhenNoEntryStored() throws IOException {
+    assertThat(this.testee.get("abc")).isEmpty();
+  }
+
+  @Test
+  public void shouldRetrieveStoredEntries() throws IOException {
+    this.testee.put("abc", new byte[] { 1, 2, 3 });
+    assertThat(this.testee.get("abc").get()).containsExactly(1, 2, 3);
+    assertThat(this.server.entries()).containsOnlyKeys("/cache/abc");
+  }
+
+  @Test
+  public void shouldAcceptBaseUrlWithoutTrailingSlash() throws IOException {
+    final String base = this.server.baseUrl();
+    this.testee = new HttpCacheBackend(base.substring(0, base.length() - 1));
+    this.testee.put("abc", new byte[] { 1 });
+    assertThat(this.server.entries()).containsOnlyKeys("/cache/abc");
+  }
+
+  @Test(expected = IOException.class)
+  public void shouldFailWhenServerCannotBeReached() throws IOException {
+    final String base = this.server.baseUrl();
+    this.server.close();
+    new HttpCacheBackend(base).get("abc");
+  }
+
+}
@@ -0,0 +1,72 @@
+package org.pitest.mutationtest.incremental;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.pitest.util.StreamUtil;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Minimal http key value store, served locally for testing the http cache
+ * backend. Values are held in memory.
+ */
+public class HttpCacheServer implements AutoCloseable {
+
+  private final Map<String, byte[]> entries = new ConcurrentHashMap<>();
+  private final HttpServer          server;
+
+  public HttpCacheServer() throws IOException {
+    this.server = HttpServer.create(new InetSocketAddress(
+        InetAddress.getLoopbackAddress(), 0), 0);
+    this.server.createContext("/", this::handle);
+    this.server.start();
+  }
+
+  public String baseUrl() {
+    return "http://" + this.server.getAddress().getHostString() + ":"
+        + this.server.getAddress().getPort() + "/cache/";
+  }
+
+  public Map<String, byte[]> entries() {
+    return this.entries;
+  }
+
+  @Override
+  public void close() {
+    this.server.stop(0);
+  }
+
+  private void handle(final HttpExchange exchange) throws IOException {
+    final String key = exchange.getRequestURI().getPath();
+    try {
+      if ("PUT".equals(exchange.getRequestMethod())) {
+        try (InputStream in = exchange.getRequestBody()) {
+          this.entries.put(key, StreamUtil.streamToByteArray(in));
+        }
+        exchange.sendResponseHeaders(204, -1);
+      } else if ("GET".equals(exchange.getRequestMethod())) {
+        final byte[] value = this.entries.get(key);
+        if (value == null) {
+          exchange.sendResponseHeaders(404, -1);
+        } else {
+          exchange.sendResponseHeaders(200, value.length);
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write(value);
+          }
+        }
+      } else {
+        exchange.sendResponseHeaders(405, -1);
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+}
@@ -7,11 +7,14 @@ import static org.pitest.mutationtest.LocationMother.aLocation;
 import static org.pitest.mutationtest.LocationMother.aMutationId;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.pitest.classinfo.ClassName;
@@ -21,6 +24,7 @@ import java.util.Optional;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationResult;
 import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.Location;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.MutationIdentifier;
 
@@ -34,6 +38,9 @@ public class IncrementalAnalyserTest {
   @Mock
   private CoverageDatabase    coverage;
 
+  @Mock
+  private ResultCache         cache;
+
   @Before
   public void setUp() {
     MockitoAnnotations.initMocks(this);
@@ -140,6 +147,119 @@ public class IncrementalAnalyserTest {
     assertEquals(DetectionStatus.NOT_STARTED, actual.getStatus());
   }
 
+  @Test
+  public void shouldStartPreviousTimedOutMutationsAtAStatusOfTimedOutWhenOnlyOtherMethodsHaveChanged() {
+    final MutationDetails md = makeMutation("foo");
+    setHistoryForAllMutationsTo(DetectionStatus.TIMED_OUT);
+    when(this.history.hasClassChanged(any(ClassName.class))).thenReturn(true);
+    when(this.history.isUnchangedAt(md.getId().getLocation())).thenReturn(true);
+    final Collection<MutationResult> actual = this.testee.analyse(Collections
+        .singletonList(md));
+
+    assertEquals(DetectionStatus.TIMED_OUT, actual.iterator().next()
+        .getStatus());
+  }
+
+  @Test
+  public void shouldStartPreviousTimedOutMutationsAtAStatusOfNotStartedWhenTheirMethodHasChanged() {
+    final MutationDetails md = makeMutation("foo");
+    setHistoryForAllMutationsTo(DetectionStatus.TIMED_OUT);
+    when(this.history.hasClassChanged(any(ClassName.class))).thenReturn(true);
+    when(this.history.isUnchangedAt(any(Location.class))).thenReturn(false);
+    final Collection<MutationResult> actual = this.testee.analyse(Collections
+        .singletonList(md));
+
+    assertEquals(DetectionStatus.NOT_STARTED, actual.iterator().next()
+        .getStatus());
+  }
+
+  @Test
+  public void shouldStartPreviousSurvivedMutationsAtAStatusOfSurvivedWhenCoveringTestsHaveNotChanged() {
+    final MutationDetails md = makeMutation("foo");
+    setHistoryForAllMutationsTo(DetectionStatus.SURVIVED);
+    when(this.history.hasCoverageFingerprint(md.getId())).thenReturn(true);
+    when(this.history.hasCoverageFingerprintChanged(any(MutationIdentifier.class),
+        Matchers.anyLong())).thenReturn(false);
+    when(
+        this.history.hasCoverageChanged(any(ClassName.class),
+            any(BigInteger.class))).thenReturn(true);
+    final Collection<MutationResult> actual = this.testee.analyse(Collections
+        .singletonList(md));
+    assertEquals(DetectionStatus.SURVIVED, actual.iterator().next().getStatus());
+  }
+
+  @Test
+  public void shouldStartPreviousSurvivedMutationsAtAStatusOfNotStartedWhenCoveringTestsHaveChanged() {
+    final MutationDetails md = makeMutation("foo");
+    setHistoryForAllMutationsTo(DetectionStatus.SURVIVED);
+    when(this.history.hasCoverageFingerprint(md.getId())).thenReturn(true);
+    when(this.history.hasCoverageFingerprintChanged(any(MutationIdentifier.class),
+        Matchers.anyLong())).thenReturn(true);
+    when(
+        this.history.hasCoverageChanged(any(ClassName.class),
+            any(BigInteger.class))).thenReturn(false);
+    final Collection<MutationResult> actual = this.testee.analyse(Collections
+        .singletonList(md));
+    assertEquals(DetectionStatus.NOT_STARTED, actual.iterator().next()
+        .getStatus());
+  }
+
+  @Test
+  public void shouldTakeResultsOfNewMutationsFromCacheWhenPresent() {
+    final MutationDetails md = makeMutation("foo");
+    when(this.history.getPreviousResult(any(MutationIdentifier.class)))
+    .thenReturn(Optional.<MutationStatusTestPair> empty());
+    when(this.cache.getAll(Collections.singletonList(md))).thenReturn(
+        Collections.singletonMap(md.getId(), new MutationStatusTestPair(1,
+            DetectionStatus.KILLED, "fooTest")));
+    this.testee = new IncrementalAnalyser(this.history, this.coverage,
+        Optional.of(this.cache));
+
+    final MutationResult actual = this.testee
+        .analyse(Collections.singletonList(md)).iterator().next();
+
+    assertEquals(DetectionStatus.KILLED, actual.getStatus());
+    assertEquals(Optional.of("fooTest"), actual.getKillingTest());
+  }
+
+  @Test
+  public void shouldStartMutationsMissingFromCacheAtAStatusOfNotStarted() {
+    final MutationDetails md = makeMutation("foo");
+    setHistoryForAllMutationsTo(DetectionStatus.TIMED_OUT);
+    when(this.history.hasClassChanged(any(ClassName.class))).thenReturn(true);
+    when(this.cache.getAll(Collections.singletonList(md))).thenReturn(
+        Collections.<MutationIdentifier, MutationStatusTestPair> emptyMap());
+    this.testee = new IncrementalAnalyser(this.history, this.coverage,
+        Optional.of(this.cache));
+
+    final MutationResult actual = this.testee
+        .analyse(Collections.singletonList(md)).iterator().next();
+
+    assertEquals(DetectionStatus.NOT_STARTED, actual.getStatus());
+  }
+
+  @Test
+  public void shouldLookUpOnlyMutationsNotSettledByHistoryInCache() {
+    final MutationDetails settled = makeMutation("foo");
+    final MutationDetails changed = makeMutation("bar");
+    when(this.history.getPreviousResult(settled.getId())).thenReturn(
+        Optional.of(new MutationStatusTestPair(1, DetectionStatus.TIMED_OUT,
+            "fooTest")));
+    when(this.history.getPreviousResult(changed.getId())).thenReturn(
+        Optional.<MutationStatusTestPair> empty());
+    when(this.cache.getAll(Collections.singletonList(changed))).thenReturn(
+        Collections.singletonMap(changed.getId(), new MutationStatusTestPair(
+            1, DetectionStatus.SURVIVED, "barTest")));
+    this.testee = new IncrementalAnalyser(this.history, this.coverage,
+        Optional.of(this.cache));
+
+    final Iterator<MutationResult> actual = this.testee
+        .analyse(Arrays.asList(settled, changed)).iterator();
+
+    assertEquals(DetectionStatus.TIMED_OUT, actual.next().getStatus());
+    assertEquals(DetectionStatus.SURVIVED, actual.next().getStatus());
+  }
+
   private MutationDetails makeMutation(final String method) {
     final MutationIdentifier id = aMutationId().withLocation(
         aLocation().withMethod(method)).build();
@@ -15,6 +15,7 @@ import java.io.Writer;
 import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -25,6 +26,7 @@ import org.mockito.MockitoAnnotations;
 import org.pitest.classinfo.ClassIdentifier;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.classinfo.MethodHashes;
 import org.pitest.coverage.CoverageDatabase;
 import java.util.Optional;
 import org.pitest.mutationtest.ClassHistory;
@@ -87,6 +89,26 @@ public class ObjectOutputStreamHistoryStoreTest {
         assertEquals(expected, this.testee.getHistoricClassPath());
     }
 
+    @Test
+    public void shouldRecordAndRetrieveMethodHashes() {
+        final HierarchicalClassId foo = new HierarchicalClassId(
+            new ClassIdentifier(0, ClassName.fromString("foo")), "");
+        final MethodHashes hashes = new MethodHashes(1,
+            Collections.singletonMap("a()V", 2L));
+        this.testee = new ObjectOutputStreamHistoryStore(this.writerFactory,
+            Optional.<Reader> empty());
+        this.testee.recordClassPath(Arrays.asList(foo), this.coverage,
+            Collections.singletonMap(foo.getName(), hashes));
+
+        final Reader reader = new StringReader(this.output.toString());
+        this.testee = new ObjectOutputStreamHistoryStore(this.writerFactory,
+            Optional.ofNullable(reader));
+        this.testee.initialize();
+
+        assertEquals(new ClassHistory(foo, COV, hashes),
+            this.testee.getHistoricClassPath().get(foo.getName()));
+    }
+
     @Test
     public void shouldRecordAndRetrieveResults() {
         final HierarchicalClassId foo = new HierarchicalClassId(
@@ -108,6 +130,23 @@ public class ObjectOutputStreamHistoryStoreTest {
         assertEquals(expected, this.testee.getHistoricResults());
     }
 
+    @Test
+    public void shouldRecordAndRetrieveCoverageFingerprints() {
+        final MutationResult mr = new MutationResult(
+            MutationTestResultMother.createDetails("foo"),
+            new MutationStatusTestPair(1, DetectionStatus.SURVIVED, "testName"));
+        recordClassPathWithTestee(new HierarchicalClassId(
+            new ClassIdentifier(0, ClassName.fromString("foo")), ""));
+        this.testee.recordResult(mr, 7);
+
+        final Reader reader = new StringReader(this.output.toString());
+        this.testee = new ObjectOutputStreamHistoryStore(this.writerFactory,
+            Optional.ofNullable(reader));
+        this.testee.initialize();
+        assertEquals(Collections.singletonMap(mr.getDetails().getId(), 7L),
+            this.testee.getHistoricCoverageFingerprints());
+    }
+
     @Test
     public void shouldNotAttemptToWriteToFileWhenNoneSupplied() {
         try {
@@ -0,0 +1,55 @@
+package org.pitest.mutationtest.incremental;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.report.MutationTestResultMother;
+
+public class ResultCacheListenerTest {
+
+  private ResultCacheListener testee;
+
+  @Mock
+  private ResultCache         cache;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    this.testee = new ResultCacheListener(this.cache);
+  }
+
+  @Test
+  public void shouldCacheResultsOfMutationsRun() {
+    final MutationResult mr = makeResult(1);
+    this.testee.handleMutationResult(MutationTestResultMother
+        .createClassResults(mr));
+    verify(this.cache).put(mr);
+  }
+
+  @Test
+  public void shouldNotCacheResultsTakenFromHistory() {
+    this.testee.handleMutationResult(MutationTestResultMother
+        .createClassResults(makeResult(0)));
+    verify(this.cache, never()).put(any(MutationResult.class));
+  }
+
+  @Test
+  public void shouldCloseCacheAtEndOfRun() {
+    this.testee.runEnd();
+    verify(this.cache).close();
+  }
+
+  private MutationResult makeResult(final int testsRun) {
+    return new MutationResult(MutationTestResultMother.createDetails(),
+        new MutationStatusTestPair(testsRun, DetectionStatus.KILLED, "aTest"));
+  }
+
+}
@@ -0,0 +1,179 @@
+package org.pitest.mutationtest.incremental;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.pitest.mutationtest.LocationMother.aLocation;
+import static org.pitest.mutationtest.LocationMother.aMutationId;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.pitest.classinfo.ClassIdentifier;
+import org.pitest.classinfo.ClassInfoMother;
+import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.CoverageDatabase;
+import org.pitest.coverage.TestInfo;
+import org.pitest.mutationtest.DetectionStatus;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationStatusTestPair;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.report.MutationTestResultMother;
+
+public class ResultCacheTest {
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Mock
+  private CoverageDatabase     coverage;
+
+  private ResultCache          testee;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    this.testee = new ResultCache(new DirectoryCacheBackend(
+        this.folder.getRoot()), this.coverage);
+  }
+
+  @Test
+  public void shouldReturnCachedResultForSameMutation() {
+    final MutationStatusTestPair status = new MutationStatusTestPair(2,
+        DetectionStatus.KILLED, Arrays.asList("aTest"),
+        Arrays.asList("anotherTest"));
+    this.testee.put(new MutationResult(mutation("aTest"), status));
+    this.testee.flush();
+    assertThat(this.testee.get(mutation("aTest"))).contains(status);
+  }
+
+  @Test
+  public void shouldMissWhenCoveringTestsDiffer() {
+    this.testee.put(result(mutation("aTest"), DetectionStatus.SURVIVED));
+    this.testee.flush();
+    assertThat(this.testee.get(mutation("anotherTest"))).isEmpty();
+  }
+
+  @Test
+  public void shouldMissWhenClassHasChanged() {
+    final MutationDetails mutation = mutation("aTest");
+    setClassHash(mutation.getClassName(), 1);
+    this.testee.put(result(mutation, DetectionStatus.SURVIVED));
+    this.testee.flush();
+    setClassHash(mutation.getClassName(), 2);
+    assertThat(this.testee.get(mutation)).isEmpty();
+  }
+
+  @Test
+  public void shouldNotCacheStatusesNotReusedFromHistory() {
+    this.testee.put(result(mutation("aTest"), DetectionStatus.RUN_ERROR));
+    this.testee.flush();
+    assertThat(this.testee.get(mutation("aTest"))).isEmpty();
+    assertThat(this.folder.getRoot().list()).isEmpty();
+  }
+
+  @Test
+  public void shouldIgnoreUnreadableEntries() throws IOException {
+    final MutationDetails mutation = mutation("aTest");
+    new DirectoryCacheBackend(this.folder.getRoot()).put(
+        this.testee.keyFor(mutation), new byte[] { 1, 2 });
+    assertThat(this.testee.get(mutation)).isEmpty();
+  }
+
+  @Test
+  public void shouldStopUsingBackendOnceItFails() throws IOException {
+    final CacheBackend backend = mock(CacheBackend.class);
+    when(backend.get(anyString())).thenThrow(new IOException("down"));
+    this.testee = new ResultCache(backend, this.coverage);
+
+    assertThat(this.testee.get(mutation("aTest"))).isEmpty();
+    assertThat(this.testee.get(mutation("aTest"))).isEmpty();
+    this.testee.put(result(mutation("aTest"), DetectionStatus.KILLED));
+
+    verify(backend, times(1)).get(anyString());
+  }
+
+  @Test
+  public void shouldLookUpResultsOfBatch() {
+    final MutationDetails a = mutation("aTest", "a");
+    final MutationDetails b = mutation("aTest", "b");
+    final MutationStatusTestPair status = new MutationStatusTestPair(1,
+        DetectionStatus.KILLED, "aTest");
+    this.testee.put(new MutationResult(a, status));
+    this.testee.flush();
+
+    assertThat(this.testee.getAll(Arrays.asList(a, b))).containsOnly(
+        entry(a.getId(), status));
+  }
+
+  @Test
+  public void shouldLookUpResultsOfBatchConcurrently() throws IOException {
+    final CountDownLatch inFlight = new CountDownLatch(2);
+    final CacheBackend backend = mock(CacheBackend.class);
+    when(backend.get(anyString())).thenAnswer(invocation -> {
+      inFlight.countDown();
+      inFlight.await(10, TimeUnit.SECONDS);
+      return Optional.empty();
+    });
+    this.testee = new ResultCache(backend, this.coverage, 2);
+
+    this.testee.getAll(Arrays.asList(mutation("aTest", "a"),
+        mutation("aTest", "b")));
+
+    assertThat(inFlight.getCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldWriteResultsOnClosing() throws IOException {
+    final CacheBackend backend = mock(CacheBackend.class);
+    this.testee = new ResultCache(backend, this.coverage);
+    this.testee.put(result(mutation("aTest"), DetectionStatus.KILLED));
+    this.testee.close();
+    verify(backend).put(anyString(), any(byte[].class));
+  }
+
+  private void setClassHash(final ClassName clazz, final long hash) {
+    when(this.coverage.getClassInfo(Collections.singleton(clazz))).thenReturn(
+        Collections.singletonList(ClassInfoMother.make(new ClassIdentifier(
+            hash, clazz))));
+  }
+
+  private static MutationResult result(final MutationDetails mutation,
+      final DetectionStatus status) {
+    return new MutationResult(mutation, new MutationStatusTestPair(1, status,
+        "aTest"));
+  }
+
+  private static MutationDetails mutation(final String test) {
+    return withTest(MutationTestResultMother.createDetails(), test);
+  }
+
+  private static MutationDetails mutation(final String test,
+      final String method) {
+    return withTest(new MutationDetails(aMutationId().withLocation(
+        aLocation().withMethod(method)).build(), "file", "desc", 42, 0), test);
+  }
+
+  private static MutationDetails withTest(final MutationDetails mutation,
+      final String test) {
+    mutation.addTestsInOrder(Collections.singletonList(new TestInfo("FooTest",
+        test, 0, Optional.<ClassName> empty(), 0)));
+    return mutation;
+  }
+
+}
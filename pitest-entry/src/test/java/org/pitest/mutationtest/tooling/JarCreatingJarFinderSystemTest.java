@@ -0,0 +1,70 @@
+package org.pitest.mutationtest.tooling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Optional;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.pitest.SystemTest;
+import org.pitest.classpath.ClassPath;
+import org.pitest.classpath.ClassPathByteArraySource;
+import org.pitest.process.LaunchOptions;
+import org.pitest.process.ProcessArgs;
+import org.pitest.process.WrappingProcess;
+
+@Category(SystemTest.class)
+public class JarCreatingJarFinderSystemTest {
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void shouldLoadBootClassesFromCachedJarAfterCacheDirectoryMoved()
+      throws Exception {
+    final File original = new File(this.folder.getRoot(), "original");
+    final JarCreatingJarFinder first = new JarCreatingJarFinder(
+        new ClassPathByteArraySource(), Optional.of(original));
+    final String jar = new File(first.getJarLocation().get()).getName();
+    first.close();
+
+    final File moved = new File(this.folder.getRoot(), "moved");
+    Files.move(original.toPath(), moved.toPath());
+
+    final JarCreatingJarFinder reused = new JarCreatingJarFinder(
+        new ClassPathByteArraySource(), Optional.of(moved));
+    assertThat(new File(reused.getJarLocation().get())).isEqualTo(
+        new File(moved, jar));
+    assertThat(launch(reused)).isEqualTo(0);
+  }
+
+  private static int launch(final JarCreatingJarFinder agent)
+      throws IOException, InterruptedException {
+    final ProcessArgs args = ProcessArgs
+        .withClassPath(new ClassPath().getLocalClassPath())
+        .andLaunchOptions(new LaunchOptions(agent)).andStdout(s -> { })
+        .andStderr(System.err::println);
+    final WrappingProcess process = new WrappingProcess(-1, args,
+        BootClassCheck.class);
+    process.start();
+    return process.getProcess().waitToDie();
+  }
+
+  /**
+   * Exits with 0 if the classes the agent adds to the boot classpath are
+   * loaded from it, rather than from the classpath
+   */
+  public static class BootClassCheck {
+    public static void main(final String[] args)
+        throws ClassNotFoundException {
+      final Class<?> store = Class.forName("sun.pitest.CodeCoverageStore");
+      System.exit(store.getClassLoader() == null ? 0 : 1);
+    }
+  }
+
+}
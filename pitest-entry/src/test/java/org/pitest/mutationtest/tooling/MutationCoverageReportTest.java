@@ -25,6 +25,7 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.Properties;
 
 import org.junit.Before;
@@ -39,6 +40,8 @@ import org.pitest.classinfo.ClassInfo;
 import org.pitest.classinfo.ClassInfoMother;
 import org.pitest.classinfo.ClassName;
 import org.pitest.classinfo.HierarchicalClassId;
+import org.pitest.classinfo.MethodHashes;
+import org.pitest.classpath.ClassloaderByteArraySource;
 import org.pitest.classpath.CodeSource;
 import org.pitest.coverage.CoverageDatabase;
 import org.pitest.coverage.CoverageGenerator;
@@ -154,10 +157,14 @@ public class MutationCoverageReportTest {
         Collections.singleton(clazz));
     when(this.code.getClassInfo(any(List.class))).thenReturn(
         Collections.singletonList(foo));
+    final byte[] bytes = ClassloaderByteArraySource.fromContext()
+        .getBytes(clazz.asJavaName()).get();
+    when(this.code.fetchClassBytes(clazz)).thenReturn(Optional.of(bytes));
 
     createAndRunTestee();
 
-    verify(this.history).recordClassPath(Arrays.asList(fooId), this.coverageDb);
+    verify(this.history).recordClassPath(Arrays.asList(fooId), this.coverageDb,
+        Collections.singletonMap(clazz, MethodHashes.fromClassBytes(bytes)));
   }
 
   @Test
@@ -0,0 +1,105 @@
+package org.pitest.process;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassDataSharingTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final String   java   = new DefaultJavaExecutableLocator()
+      .javaExecutable();
+
+  private File           dir;
+  private File           classPathJar;
+  private File           jar;
+
+  @Before
+  public void setUp() throws IOException {
+    this.dir = this.folder.newFolder();
+    this.classPathJar = this.folder.newFile("classpath.jar");
+    this.jar = this.folder.newFile("library.jar");
+  }
+
+  @Test
+  public void shouldLaunchUnchangedWhenJvmDoesNotSupportSharing()
+      throws Exception {
+    final ClassDataSharing testee = new ClassDataSharing(this.dir, j -> false);
+    final ProcessBuilder builder = new ProcessBuilder(this.java, "-version");
+    testee.start(builder, this.classPathJar, this.jar.getAbsolutePath(),
+        Optional.empty()).waitFor();
+    assertThat(builder.command()).containsExactly(this.java, "-version");
+  }
+
+  @Test
+  public void shouldRecordClassesLoadedByFirstChild() throws Exception {
+    final ClassDataSharing testee = new ClassDataSharing(this.dir, j -> true);
+    final ProcessBuilder builder = new ProcessBuilder(this.java, "-version");
+    testee.start(builder, this.classPathJar, this.jar.getAbsolutePath(),
+        Optional.empty()).waitFor();
+    assertThat(builder.command().get(1)).startsWith(
+        "-XX:DumpLoadedClassList=" + this.dir.getAbsolutePath());
+  }
+
+  @Test
+  public void shouldMapExistingArchive() throws Exception {
+    final ClassDataSharing testee = new ClassDataSharing(this.dir, j -> true);
+    final File archive = testee.archiveFor(this.java, this.classPathJar,
+        this.jar.getAbsolutePath(), Optional.empty());
+    assertThat(archive.createNewFile()).isTrue();
+
+    final ProcessBuilder builder = new ProcessBuilder(this.java, "-version");
+    testee.start(builder, this.classPathJar, this.jar.getAbsolutePath(),
+        Optional.empty()).waitFor();
+    assertThat(builder.command()).contains(
+        "-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+  }
+
+  @Test
+  public void shouldUseSeparateArchivesForDifferentAgents() {
+    final ClassDataSharing testee = new ClassDataSharing(this.dir, j -> true);
+    assertThat(testee.archiveFor(this.java, this.classPathJar, "",
+        Optional.of("a.jar"))).isNotEqualTo(testee.archiveFor(this.java,
+            this.classPathJar, "", Optional.of("b.jar")));
+  }
+
+  @Test
+  public void shouldUseNewArchiveWhenJarChangesInPlace() throws IOException {
+    final ClassDataSharing testee = new ClassDataSharing(this.dir, j -> true);
+    final File before = testee.archiveFor(this.java, this.classPathJar,
+        this.jar.getAbsolutePath(), Optional.empty());
+    Files.write(this.jar.toPath(), new byte[] { 1, 2, 3 });
+    assertThat(testee.archiveFor(this.java, this.classPathJar,
+        this.jar.getAbsolutePath(), Optional.empty())).isNotEqualTo(before);
+  }
+
+  @Test
+  public void shouldReadMajorVersionOfJvm() {
+    assertThat(ClassDataSharing.majorVersion(
+        "openjdk version \"17.0.9\" 2023-10-17")).isEqualTo(17);
+    assertThat(ClassDataSharing.majorVersion(
+        "java version \"1.8.0_392\"")).isEqualTo(8);
+    assertThat(ClassDataSharing.majorVersion(
+        "Picked up JAVA_TOOL_OPTIONS: -Dfoo=bar")).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldDetectWhetherRunningJvmSupportsSharing() {
+    final String spec = System.getProperty("java.specification.version");
+    final boolean expected = !spec.startsWith("1.")
+        && (Integer.parseInt(spec) >= 11);
+    assertThat(ClassDataSharing.supportsSharing(this.java)).isEqualTo(
+        expected);
+  }
+
+}
@@ -0,0 +1,131 @@
+package org.pitest.process;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Optional;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.JUnitCore;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.ClassNode;
+import org.pitest.SystemTest;
+import org.pitest.classpath.ClassPath;
+import org.pitest.classpath.ClassPathByteArraySource;
+import org.pitest.mutationtest.engine.gregor.config.Mutator;
+import org.pitest.mutationtest.tooling.JarCreatingJarFinder;
+
+/**
+ * Compares the time taken to launch and exit a child JVM that loads a
+ * similar set of classes to a minion, with and without class data sharing.
+ *
+ * Sharing requires the child JVM to be version 11 or above. To time more
+ * launches, or another JVM, run the main method from an IDE or with
+ * java -cp target/classes:target/test-classes:[dependencies], optionally
+ * supplying an alternate java executable.
+ */
+@Category(SystemTest.class)
+public class MinionBootBenchmarkSystemTest {
+
+  private static final int     LAUNCHES = 20;
+
+  @Rule
+  public final TemporaryFolder folder   = new TemporaryFolder();
+
+  @Test
+  public void shouldBootWithAndWithoutSharedClassData() throws Exception {
+    final String java = new DefaultJavaExecutableLocator().javaExecutable();
+    final File dir = this.folder.getRoot();
+
+    compare(java, dir, 3);
+
+    if (ClassDataSharing.supportsSharing(java)) {
+      assertThat(dir.listFiles((d, name) -> name.endsWith(".jsa")))
+          .isNotEmpty();
+    }
+  }
+
+  public static void main(final String[] args) throws Exception {
+    final String java = args.length > 0 ? args[0]
+        : new DefaultJavaExecutableLocator().javaExecutable();
+    final File dir = Files.createTempDirectory("pit-boot").toFile();
+    try {
+      compare(java, dir, LAUNCHES);
+    } finally {
+      for (final File each : dir.listFiles()) {
+        each.delete();
+      }
+      dir.delete();
+    }
+  }
+
+  private static void compare(final String java, final File dir,
+      final int launches) throws IOException, InterruptedException {
+    final JarCreatingJarFinder agent = new JarCreatingJarFinder(
+        new ClassPathByteArraySource(), Optional.of(dir));
+
+    final LaunchOptions plain = new LaunchOptions(agent,
+        new KnownLocationJavaExecutableLocator(java),
+        Collections.<String> emptyList(), new HashMap<String, String>())
+        .usingClassPathJar(true).withJarCacheDir(Optional.of(dir));
+    final long without = averageLaunch(plain, launches);
+    System.out.println("Without sharing " + without + " ms");
+
+    final ClassDataSharing sharing = new ClassDataSharing(dir);
+    final LaunchOptions shared = plain.withClassDataSharing(Optional
+        .of(sharing));
+    // the first launch records the classes to archive
+    final long first = launch(shared);
+    sharing.close();
+    System.out.println("Recording classes " + first + " ms");
+    final long with = averageLaunch(shared, launches);
+    System.out.println("With sharing " + with + " ms");
+  }
+
+  private static long averageLaunch(final LaunchOptions options,
+      final int launches) throws IOException, InterruptedException {
+    launch(options);
+    long total = 0;
+    for (int i = 0; i != launches; i++) {
+      total += launch(options);
+    }
+    return total / launches;
+  }
+
+  private static long launch(final LaunchOptions options) throws IOException,
+      InterruptedException {
+    final ProcessArgs args = ProcessArgs
+        .withClassPath(new ClassPath().getLocalClassPath())
+        .andLaunchOptions(options).andStdout(s -> { })
+        .andStderr(System.err::println);
+    final long t0 = System.currentTimeMillis();
+    final WrappingProcess process = new WrappingProcess(-1, args, Boot.class);
+    process.start();
+    final int exit = process.getProcess().waitToDie();
+    if (exit != 0) {
+      throw new IllegalStateException("Boot exited with " + exit);
+    }
+    return System.currentTimeMillis() - t0;
+  }
+
+  /**
+   * Loads the libraries a minion uses before running tests
+   */
+  public static class Boot {
+    public static void main(final String[] args) throws IOException {
+      new JUnitCore();
+      final ClassNode node = new ClassNode();
+      new ClassReader(Boot.class.getName()).accept(node, 0);
+      Mutator.all();
+      System.exit(0);
+    }
+  }
+
+}
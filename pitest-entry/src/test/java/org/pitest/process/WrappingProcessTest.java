@@ -1,5 +1,6 @@
 package org.pitest.process;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -7,8 +8,11 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Optional;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.pitest.classpath.ClassPath;
 import org.pitest.functional.SideEffect1;
 import org.pitest.util.NullJavaAgent;
@@ -17,6 +21,9 @@ public class WrappingProcessTest {
 
   private static final int EXIT_CODE = 10;
 
+  @Rule
+  public TemporaryFolder   folder    = new TemporaryFolder();
+
   public static void main(final String[] args) {
     try {
       System.out.println("Sleeping");
@@ -51,6 +58,38 @@ public class WrappingProcessTest {
     assertEquals(EXIT_CODE, process.waitToDie());
   }
 
+  @Test
+  public void shouldReuseCachedClasspathJarForEachProcess()
+      throws IOException, InterruptedException {
+    final File cacheDir = this.folder.newFolder();
+    final LaunchOptions launchOptions = new LaunchOptions(
+        NullJavaAgent.instance(), new DefaultJavaExecutableLocator(),
+        Collections.<String> emptyList(), new HashMap<String, String>())
+        .usingClassPathJar(true).withJarCacheDir(Optional.of(cacheDir));
+
+    for (int i = 0; i != 2; i++) {
+      final ProcessArgs processArgs = ProcessArgs
+          .withClassPath(new ClassPath().getLocalClassPath())
+          .andBaseDir(new File(System.getProperty("user.dir")))
+          .andLaunchOptions(launchOptions).andStdout(nullHandler())
+          .andStderr(nullHandler());
+      final WrappingProcess wrappingProcess = new WrappingProcess(-1,
+          processArgs, getClass());
+      wrappingProcess.start();
+      assertEquals(EXIT_CODE, wrappingProcess.getProcess().waitToDie());
+    }
+
+    assertThat(cacheDir.list()).hasSize(1);
+  }
+
+  @Test
+  public void shouldOnlyShareClassDataWhenJarsPrecedeDirectories() {
+    assertThat(WrappingProcess.jarsComeFirst(String.join(File.pathSeparator,
+        "a.jar", "b.jar", "classes", "test-classes"))).isTrue();
+    assertThat(WrappingProcess.jarsComeFirst(String.join(File.pathSeparator,
+        "classes", "a.jar"))).isFalse();
+  }
+
   private SideEffect1<String> nullHandler() {
     return a -> {
 
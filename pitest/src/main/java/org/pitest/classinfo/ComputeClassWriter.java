@@ -60,6 +60,27 @@ public class ComputeClassWriter extends ClassWriter {
     this.cache = cache;
   }
 
+  /**
+   * Creates a writer that copies the constant pool, and any methods passed
+   * through to it unchanged, directly from the bytes of the given reader.
+   *
+   * @param reader
+   *          reader of the class being rewritten
+   * @param bytes
+   *          source of the bytes of other classes
+   * @param cache
+   *          common super classes already calculated
+   * @param flags
+   *          options for the writer
+   */
+  public ComputeClassWriter(final ClassReader reader,
+      final ClassByteArraySource bytes, final Map<String, String> cache,
+      final int flags) {
+    super(reader, flags);
+    this.bytes = bytes;
+    this.cache = cache;
+  }
+
   @Override
   protected String getCommonSuperClass(final String type1, final String type2) {
     final String key = type1 + "!_!" + type2;
@@ -0,0 +1,322 @@
+package org.pitest.classinfo;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.pitest.bytecode.ASMVersion;
+import org.pitest.util.Unchecked;
+
+/**
+ * Hashes of the code of each method in a class, and of the parts of the class
+ * outside of its methods, so that a change to a class can be narrowed down to
+ * the methods it affects.
+ *
+ * Debug information is ignored and labels are numbered in the order they
+ * appear, so code moved to different lines hashes the same. The static
+ * initializer is hashed as part of the class rather than as a method, as a
+ * change to it may affect any method.
+ */
+public final class MethodHashes implements Serializable {
+
+  private static final long       serialVersionUID = 1L;
+
+  private static final String     STATIC_INIT      = "<clinit>";
+
+  private final long              structure;
+  private final Map<String, Long> methods;
+
+  public MethodHashes(final long structure, final Map<String, Long> methods) {
+    this.structure = structure;
+    this.methods = Collections.unmodifiableMap(new HashMap<>(methods));
+  }
+
+  public static MethodHashes fromClassBytes(final byte[] bytes) {
+    final HashingVisitor visitor = new HashingVisitor();
+    new ClassReader(bytes).accept(visitor, ClassReader.SKIP_DEBUG
+        | ClassReader.SKIP_FRAMES);
+    return new MethodHashes(visitor.structure.hash(), visitor.methods);
+  }
+
+  public static String key(final String method, final String desc) {
+    return method + desc;
+  }
+
+  /**
+   * @return hash of the class declaration, its fields, annotations and static
+   *         initializer
+   */
+  public long getStructureHash() {
+    return this.structure;
+  }
+
+  /**
+   * @return hash of the code of each method, keyed by name followed by
+   *         descriptor
+   */
+  public Map<String, Long> getMethodHashes() {
+    return this.methods;
+  }
+
+  /**
+   * @param previous
+   *          hashes of an earlier version of the class
+   * @param method
+   *          name of the method
+   * @param desc
+   *          descriptor of the method
+   * @return true if the named method, and everything outside of the methods of
+   *         the class, is the same as in the previous hashes
+   */
+  public boolean isUnchangedSince(final MethodHashes previous,
+      final String method, final String desc) {
+    final Long hash = this.methods.get(key(method, desc));
+    return (this.structure == previous.structure) && (hash != null)
+        && hash.equals(previous.methods.get(key(method, desc)));
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.structure, this.methods);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if ((obj == null) || (getClass() != obj.getClass())) {
+      return false;
+    }
+    final MethodHashes other = (MethodHashes) obj;
+    return (this.structure == other.structure)
+        && this.methods.equals(other.methods);
+  }
+
+  @Override
+  public String toString() {
+    return "MethodHashes [structure=" + this.structure + ", methods="
+        + this.methods + "]";
+  }
+
+  private static class HashingVisitor extends ClassVisitor {
+
+    private final Hasher            structure = new Hasher();
+    private final Map<String, Long> methods   = new HashMap<>();
+
+    HashingVisitor() {
+      super(ASMVersion.ASM_VERSION);
+    }
+
+    @Override
+    public void visit(final int version, final int access, final String name,
+        final String signature, final String superName,
+        final String[] interfaces) {
+      this.structure.add(version).add(access).add(name).add(signature)
+          .add(superName);
+      if (interfaces != null) {
+        for (final String each : interfaces) {
+          this.structure.add(each);
+        }
+      }
+    }
+
+    @Override
+    public AnnotationVisitor visitAnnotation(final String desc,
+        final boolean visible) {
+      this.structure.add(desc);
+      return null;
+    }
+
+    @Override
+    public FieldVisitor visitField(final int access, final String name,
+        final String desc, final String signature, final Object value) {
+      this.structure.add(access).add(name).add(desc).add(signature)
+          .add(value);
+      return null;
+    }
+
+    @Override
+    public MethodVisitor visitMethod(final int access, final String name,
+        final String desc, final String signature, final String[] exceptions) {
+      if (name.equals(STATIC_INIT)) {
+        return new HashingMethodVisitor(this.structure);
+      }
+      final Hasher hasher = new Hasher().add(access);
+      return new HashingMethodVisitor(hasher) {
+        @Override
+        public void visitEnd() {
+          HashingVisitor.this.methods.put(key(name, desc), hasher.hash());
+        }
+      };
+    }
+
+  }
+
+  private static class HashingMethodVisitor extends MethodVisitor {
+
+    private final Hasher              hasher;
+    private final Map<Label, Integer> labels = new IdentityHashMap<>();
+
+    HashingMethodVisitor(final Hasher hasher) {
+      super(ASMVersion.ASM_VERSION);
+      this.hasher = hasher;
+    }
+
+    @Override
+    public void visitInsn(final int opcode) {
+      this.hasher.add(opcode);
+    }
+
+    @Override
+    public void visitIntInsn(final int opcode, final int operand) {
+      this.hasher.add(opcode).add(operand);
+    }
+
+    @Override
+    public void visitVarInsn(final int opcode, final int var) {
+      this.hasher.add(opcode).add(var);
+    }
+
+    @Override
+    public void visitTypeInsn(final int opcode, final String type) {
+      this.hasher.add(opcode).add(type);
+    }
+
+    @Override
+    public void visitFieldInsn(final int opcode, final String owner,
+        final String name, final String desc) {
+      this.hasher.add(opcode).add(owner).add(name).add(desc);
+    }
+
+    @Override
+    public void visitMethodInsn(final int opcode, final String owner,
+        final String name, final String desc, final boolean itf) {
+      this.hasher.add(opcode).add(owner).add(name).add(desc).add(itf ? 1 : 0);
+    }
+
+    @Override
+    public void visitInvokeDynamicInsn(final String name, final String desc,
+        final Handle bsm, final Object... bsmArgs) {
+      this.hasher.add(Opcodes.INVOKEDYNAMIC).add(name).add(desc).add(bsm);
+      for (final Object each : bsmArgs) {
+        this.hasher.add(each);
+      }
+    }
+
+    @Override
+    public void visitJumpInsn(final int opcode, final Label label) {
+      this.hasher.add(opcode).add(label(label));
+    }
+
+    @Override
+    public void visitLabel(final Label label) {
+      // jump targets are all that remain once debug information is skipped
+      this.hasher.add(-1).add(label(label));
+    }
+
+    @Override
+    public void visitLdcInsn(final Object value) {
+      this.hasher.add(Opcodes.LDC).add(value);
+    }
+
+    @Override
+    public void visitIincInsn(final int var, final int increment) {
+      this.hasher.add(Opcodes.IINC).add(var).add(increment);
+    }
+
+    @Override
+    public void visitTableSwitchInsn(final int min, final int max,
+        final Label dflt, final Label... labels) {
+      this.hasher.add(Opcodes.TABLESWITCH).add(min).add(max).add(label(dflt));
+      for (final Label each : labels) {
+        this.hasher.add(label(each));
+      }
+    }
+
+    @Override
+    public void visitLookupSwitchInsn(final Label dflt, final int[] keys,
+        final Label[] labels) {
+      this.hasher.add(Opcodes.LOOKUPSWITCH).add(label(dflt));
+      for (int i = 0; i != keys.length; i++) {
+        this.hasher.add(keys[i]).add(label(labels[i]));
+      }
+    }
+
+    @Override
+    public void visitMultiANewArrayInsn(final String desc, final int dims) {
+      this.hasher.add(Opcodes.MULTIANEWARRAY).add(desc).add(dims);
+    }
+
+    @Override
+    public void visitTryCatchBlock(final Label start, final Label end,
+        final Label handler, final String type) {
+      this.hasher.add(-2).add(label(start)).add(label(end)).add(label(handler))
+          .add(type);
+    }
+
+    private int label(final Label label) {
+      return this.labels.computeIfAbsent(label, l -> this.labels.size());
+    }
+
+  }
+
+  private static class Hasher {
+
+    private final MessageDigest digest;
+    private final ByteBuffer    buffer = ByteBuffer.allocate(4);
+
+    Hasher() {
+      try {
+        this.digest = MessageDigest.getInstance("SHA-256");
+      } catch (final NoSuchAlgorithmException e) {
+        throw Unchecked.translateCheckedException(e);
+      }
+    }
+
+    Hasher add(final int value) {
+      this.buffer.clear();
+      this.digest.update(this.buffer.putInt(value).array());
+      return this;
+    }
+
+    Hasher add(final String value) {
+      if (value == null) {
+        return add(-1);
+      }
+      final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      add(bytes.length);
+      this.digest.update(bytes);
+      return this;
+    }
+
+    // constants, handles and types all describe themselves in full
+    Hasher add(final Object value) {
+      if (value == null) {
+        return add(-1);
+      }
+      return add(value.getClass().getName()).add(value.toString());
+    }
+
+    long hash() {
+      return ByteBuffer.wrap(this.digest.digest()).getLong();
+    }
+
+  }
+
+}
@@ -50,6 +50,7 @@ import sun.pitest.CodeCoverageStore;
  *
  *   private void bar(){
  *     byte[] localRefToProbes = $$pitCoverageProbes;
+ *     CodeCoverageStore.classHit(localRefToProbes, thisClassID);
  *     //line of code
  *     localRefToProbes[1] = 1; //assuming above line was probe 1
  *   }
@@ -100,12 +101,13 @@ public class ArrayProbeCoverageMethodVisitor extends AbstractCoverageStrategy {
     this.mv.visitFieldInsn(Opcodes.GETSTATIC, className,
         CodeCoverageStore.PROBE_FIELD_NAME, "[Z");
 
-    //Make sure that we recorded that the class was hit
     this.mv.visitInsn(DUP);
-    this.mv.visitInsn(ICONST_0);
-    this.mv.visitInsn(ICONST_1);
-    this.mv.visitInsn(BASTORE);
     this.mv.visitVarInsn(ASTORE, this.probeHitArrayLocal);
+
+    //Make sure that we recorded that the class was hit
+    pushConstant(this.classId);
+    this.mv.visitMethodInsn(Opcodes.INVOKESTATIC, CodeCoverageStore.CLASS_NAME,
+        CodeCoverageStore.CLASS_HIT_METHOD_NAME, "([ZI)V", false);
   }
 
   @Override
@@ -0,0 +1,117 @@
+package org.pitest.coverage.execute;
+
+import java.util.Arrays;
+
+import org.pitest.util.SafeDataOutputStream;
+
+import sun.pitest.ProbeHitVisitor;
+
+/**
+ * Encodes the probes hit during a test for the compact coverage protocol.
+ *
+ * Each class hit is written as a varint of its id plus one, followed by a
+ * varint header and either a bitmap of its probes or the gaps between its hit
+ * probes, whichever is smaller. The low bit of the header selects the
+ * encoding, the remaining bits hold the number of bitmap bytes or gaps. A zero
+ * terminates the list of classes.
+ */
+final class CompactHitEncoder implements ProbeHitVisitor {
+
+  static final int  DELTAS   = 0;
+  static final int  BITMAP   = 1;
+
+  private byte[]    buffer   = new byte[1024];
+  private int       length   = 0;
+
+  // reused between classes so probes can be copied without allocation
+  private boolean[] snapshot = new boolean[256];
+
+  void reset() {
+    this.length = 0;
+  }
+
+  void writeTo(final SafeDataOutputStream dos) {
+    putVarInt(0);
+    dos.writeRaw(this.buffer, 0, this.length);
+  }
+
+  @Override
+  public void visitClass(final int classId, final boolean[] probes) {
+    // the test may still be writing to the probes, so they are read once into
+    // a snapshot that both passes below then encode
+    final int probeCount = probes.length;
+    if (this.snapshot.length < probeCount) {
+      this.snapshot = new boolean[Math.max(this.snapshot.length * 2,
+          probeCount)];
+    }
+    System.arraycopy(probes, 0, this.snapshot, 0, probeCount);
+    final boolean[] hits = this.snapshot;
+
+    int hitCount = 0;
+    int highestHit = 0;
+    int deltaBytes = 0;
+    for (int probeId = 1; probeId < probeCount; probeId++) {
+      if (hits[probeId]) {
+        deltaBytes += varIntSize(probeId - highestHit);
+        highestHit = probeId;
+        hitCount++;
+      }
+    }
+
+    if (hitCount == 0) {
+      return;
+    }
+
+    putVarInt(classId + 1);
+
+    final int bitmapBytes = (highestHit + 7) / 8;
+    if (bitmapBytes < deltaBytes) {
+      putVarInt((bitmapBytes << 1) | BITMAP);
+      ensureCapacity(bitmapBytes);
+      Arrays.fill(this.buffer, this.length, this.length + bitmapBytes, (byte) 0);
+      for (int probeId = 1; probeId <= highestHit; probeId++) {
+        if (hits[probeId]) {
+          this.buffer[this.length + ((probeId - 1) >>> 3)] |= 1 << ((probeId - 1) & 7);
+        }
+      }
+      this.length += bitmapBytes;
+    } else {
+      putVarInt((hitCount << 1) | DELTAS);
+      int previous = 0;
+      for (int probeId = 1; probeId <= highestHit; probeId++) {
+        if (hits[probeId]) {
+          putVarInt(probeId - previous);
+          previous = probeId;
+        }
+      }
+    }
+  }
+
+  private void putVarInt(final int value) {
+    ensureCapacity(5);
+    int remaining = value;
+    while ((remaining & ~0x7F) != 0) {
+      this.buffer[this.length++] = (byte) ((remaining & 0x7F) | 0x80);
+      remaining >>>= 7;
+    }
+    this.buffer[this.length++] = (byte) remaining;
+  }
+
+  private void ensureCapacity(final int required) {
+    if ((this.length + required) > this.buffer.length) {
+      this.buffer = Arrays.copyOf(this.buffer,
+          Math.max(this.buffer.length * 2, this.length + required));
+    }
+  }
+
+  private static int varIntSize(final int value) {
+    int size = 1;
+    int remaining = value >>> 7;
+    while (remaining != 0) {
+      size++;
+      remaining >>>= 7;
+    }
+    return size;
+  }
+
+}
@@ -74,7 +74,7 @@ public class CoverageMinion {
       Log.setVerbose(paramsFromParent.isVerbose());
 
       invokeQueue = new CoveragePipe(new BufferedOutputStream(
-          s.getOutputStream()));
+          s.getOutputStream()), paramsFromParent.useCompactProtocol());
 
       CodeCoverageStore.init(invokeQueue);
 
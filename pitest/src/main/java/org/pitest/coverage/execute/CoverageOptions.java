@@ -34,16 +34,24 @@ public class CoverageOptions implements Serializable {
   private final boolean           verbose;
   private final TestPluginArguments pitConfig;
   private final int               maxDependencyDistance;
+  private final boolean           compactProtocol;
 
   public CoverageOptions(final Collection<String> include, final Collection<String> exclude,
       final TestPluginArguments pitConfig, final boolean verbose,
       final int maxDependencyDistance) {
+    this(include, exclude, pitConfig, verbose, maxDependencyDistance, false);
+  }
+
+  public CoverageOptions(final Collection<String> include, final Collection<String> exclude,
+      final TestPluginArguments pitConfig, final boolean verbose,
+      final int maxDependencyDistance, final boolean compactProtocol) {
     Preconditions.checkNotNull(pitConfig);
     this.include = include;
     this.exclude = exclude;
     this.verbose = verbose;
     this.pitConfig = pitConfig;
     this.maxDependencyDistance = maxDependencyDistance;
+    this.compactProtocol = compactProtocol;
   }
 
   public Predicate<String> getFilter() {
@@ -64,6 +72,14 @@ public class CoverageOptions implements Serializable {
     return this.maxDependencyDistance;
   }
 
+  /**
+   * @return true if the minion reports test coverage as per class bitmaps or
+   *         probe deltas, false if as one long per block hit
+   */
+  public boolean useCompactProtocol() {
+    return this.compactProtocol;
+  }
+
   private static Predicate<String> commonClasses() {
     return Prelude.or(
         glob("java/*"),
@@ -1,7 +1,9 @@
 package org.pitest.coverage.execute;
 
 import java.io.OutputStream;
-import java.util.Collection;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.pitest.coverage.CoverageReceiver;
 import org.pitest.coverage.analysis.Block;
@@ -11,13 +13,27 @@ import org.pitest.util.Id;
 import org.pitest.util.SafeDataOutputStream;
 
 import sun.pitest.CodeCoverageStore;
+import sun.pitest.ProbeHitVisitor;
 
-public class CoveragePipe implements CoverageReceiver {
+public class CoveragePipe implements CoverageReceiver, ProbeHitVisitor {
 
   private final SafeDataOutputStream dos;
+  private final boolean              compact;
+
+  // reused between tests so hits can be extracted without boxing
+  private long[]                     hits     = new long[256];
+  private int                        hitCount = 0;
+
+  private final CompactHitEncoder    encoder  = new CompactHitEncoder();
+  private final Map<String, Integer> testClassIds = new HashMap<>();
 
   public CoveragePipe(final OutputStream dos) {
+    this(dos, false);
+  }
+
+  public CoveragePipe(final OutputStream dos, final boolean compact) {
     this.dos = new SafeDataOutputStream(dos);
+    this.compact = compact;
   }
 
   @Override
@@ -28,17 +44,67 @@ public class CoveragePipe implements CoverageReceiver {
   @Override
   public synchronized void recordTestOutcome(final Description description,
       final boolean wasGreen, final int executionTime) {
-    final Collection<Long> hits = CodeCoverageStore.getHits();
+    if (this.compact) {
+      recordCompactTestOutcome(description);
+    } else {
+      recordLegacyTestOutcome(description);
+    }
+    this.dos.writeBoolean(wasGreen);
+    this.dos.writeInt(executionTime);
+
+  }
+
+  private void recordLegacyTestOutcome(final Description description) {
+    this.hitCount = 0;
+    CodeCoverageStore.visitHits(this);
 
     this.dos.writeByte(Id.OUTCOME);
     this.dos.write(description);
-    this.dos.writeInt(hits.size());
-    for (final Long each : hits) {
-      this.dos.writeLong(each);
+    this.dos.writeInt(this.hitCount);
+    for (int i = 0; i != this.hitCount; i++) {
+      this.dos.writeLong(this.hits[i]);
     }
-    this.dos.writeBoolean(wasGreen);
-    this.dos.writeInt(executionTime);
+  }
+
+  private void recordCompactTestOutcome(final Description description) {
+    this.encoder.reset();
+    CodeCoverageStore.visitHits(this.encoder);
 
+    this.dos.writeByte(Id.COMPACT_OUTCOME);
+    writeTestClass(description.getFirstTestClass());
+    this.dos.writeString(description.getName());
+    this.encoder.writeTo(this.dos);
+  }
+
+  // test classes are sent once, then referred to by id. Zero is reserved for
+  // tests without a class.
+  private void writeTestClass(final String testClass) {
+    if (testClass == null) {
+      this.dos.writeVarInt(0);
+      return;
+    }
+    final Integer id = this.testClassIds.get(testClass);
+    if (id != null) {
+      this.dos.writeVarInt(id);
+    } else {
+      final int newId = this.testClassIds.size() + 1;
+      this.testClassIds.put(testClass, newId);
+      this.dos.writeVarInt(newId);
+      this.dos.writeString(testClass);
+    }
+  }
+
+  @Override
+  public void visitClass(final int classId, final boolean[] probes) {
+    for (int probeId = 1; probeId != probes.length; probeId++) {
+      if (probes[probeId]) {
+        if (this.hitCount == this.hits.length) {
+          this.hits = Arrays.copyOf(this.hits, this.hitCount * 2);
+        }
+        this.hits[this.hitCount] = CodeCoverageStore.encode(classId, probeId);
+        this.hitCount++;
+      }
+    }
   }
 
   public synchronized void end(final ExitCode exitCode) {
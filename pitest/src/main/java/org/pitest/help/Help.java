@@ -35,7 +35,9 @@ public enum Help {
   UNKNOWN_MUTATOR(
       "Mutator or group %s is unknown. Check PIT configuration and try again."),
   NO_JUNIT_EXCLUDE_RUNNERS(
-      "Exclude Runners option requires JUnit 4.6 or above.");
+      "Exclude Runners option requires JUnit 4.6 or above."),
+  BAD_PLUGIN_PROPERTY(
+      "The value %s supplied for plugin property %s is not valid. A number was expected.");
 
   private static final String URL = "http://pitest.org";
   private final String        text;
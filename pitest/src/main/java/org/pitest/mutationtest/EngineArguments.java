@@ -10,10 +10,26 @@ public class EngineArguments implements Serializable {
 
   private final Collection<String> mutators;
   private final Collection<String> excludedMethods;
+  private final boolean            timeoutChecks;
 
   public EngineArguments(Collection<String> mutators, Collection<String> excludedMethods) {
+    this(mutators, excludedMethods, false);
+  }
+
+  /**
+   * @param mutators
+   *          names of the mutators to use
+   * @param excludedMethods
+   *          names of methods not to mutate
+   * @param timeoutChecks
+   *          if true mutants check whether their test has timed out, so that
+   *          it can be stopped without exiting the minion
+   */
+  public EngineArguments(Collection<String> mutators,
+      Collection<String> excludedMethods, boolean timeoutChecks) {
     this.mutators = mutators;
     this.excludedMethods = excludedMethods;
+    this.timeoutChecks = timeoutChecks;
   }
 
   public static EngineArguments arguments() {
@@ -21,11 +37,18 @@ public class EngineArguments implements Serializable {
   }
 
   public EngineArguments withMutators(Collection<String> mutators) {
-    return new EngineArguments(mutators, this.excludedMethods);
+    return new EngineArguments(mutators, this.excludedMethods,
+        this.timeoutChecks);
   }
 
   public EngineArguments withExcludedMethods(Collection<String> excludedMethods) {
-    return new EngineArguments(this.mutators, excludedMethods);
+    return new EngineArguments(this.mutators, excludedMethods,
+        this.timeoutChecks);
+  }
+
+  public EngineArguments withTimeoutChecks(boolean timeoutChecks) {
+    return new EngineArguments(this.mutators, this.excludedMethods,
+        timeoutChecks);
   }
 
   public Collection<String> mutators() {
@@ -36,5 +59,9 @@ public class EngineArguments implements Serializable {
     return this.excludedMethods;
   }
 
+  public boolean timeoutChecks() {
+    return this.timeoutChecks;
+  }
+
 }
 
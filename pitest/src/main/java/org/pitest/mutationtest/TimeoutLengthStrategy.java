@@ -21,4 +21,44 @@ public interface TimeoutLengthStrategy extends Serializable {
 
   long getAllowedTime(long normalDuration);
 
+  /**
+   * Returns the time the named test may run for against a mutant. Strategies
+   * may base this on earlier runs of the test.
+   *
+   * @param test
+   *          qualified name of the test
+   * @param normalDuration
+   *          time the test took against the unmutated code
+   * @return allowed time in milliseconds
+   */
+  default long getAllowedTime(String test, long normalDuration) {
+    return getAllowedTime(normalDuration);
+  }
+
+  /**
+   * Returns the higher limit a test is checked against once it has exceeded
+   * its allowed time, before its mutant is declared timed out. A limit no
+   * greater than the allowed time means the test is not rechecked.
+   *
+   * @param test
+   *          qualified name of the test
+   * @param normalDuration
+   *          time the test took against the unmutated code
+   * @return recheck limit in milliseconds
+   */
+  default long getRecheckTime(String test, long normalDuration) {
+    return getAllowedTime(test, normalDuration);
+  }
+
+  /**
+   * Records how long a test took when it passed against a mutant
+   *
+   * @param test
+   *          qualified name of the test
+   * @param duration
+   *          time in milliseconds
+   */
+  default void recordDuration(String test, long duration) {
+  }
+
 }
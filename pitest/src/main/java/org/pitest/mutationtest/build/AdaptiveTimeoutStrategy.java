@@ -0,0 +1,107 @@
+package org.pitest.mutationtest.build;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.pitest.mutationtest.TimeoutLengthStrategy;
+
+/**
+ * Sets time limits from the durations of each test observed in the minion,
+ * rather than from the single duration recorded while gathering coverage.
+ *
+ * Once a test has passed against enough mutants, its limit is the factor
+ * applied to the given percentile of its recent durations, plus the constant.
+ * Until then the coverage duration is used in its place. A test that exceeds
+ * its limit is rechecked against a limit with the proportional part doubled,
+ * which absorbs the occasional slow run without waiting longer for most
+ * tests.
+ */
+public class AdaptiveTimeoutStrategy implements TimeoutLengthStrategy {
+
+  private static final long              serialVersionUID = 1L;
+
+  static final int                       MIN_SAMPLES      = 5;
+  static final int                       MAX_SAMPLES      = 50;
+  static final double                    PERCENTILE       = 0.99;
+
+  private static final int               RECHECK_FACTOR   = 2;
+
+  private final float                    factor;
+  private final long                     constant;
+
+  // durations are only observed within a minion
+  private transient Map<String, Samples> samples;
+
+  public AdaptiveTimeoutStrategy(final float factor, final long constant) {
+    this.factor = factor;
+    this.constant = constant;
+  }
+
+  @Override
+  public long getAllowedTime(final long normalDuration) {
+    return Math.round(normalDuration * this.factor) + this.constant;
+  }
+
+  @Override
+  public long getAllowedTime(final String test, final long normalDuration) {
+    return getAllowedTime(referenceDuration(test, normalDuration));
+  }
+
+  @Override
+  public long getRecheckTime(final String test, final long normalDuration) {
+    return Math.round(referenceDuration(test, normalDuration) * this.factor
+        * RECHECK_FACTOR) + this.constant;
+  }
+
+  @Override
+  public void recordDuration(final String test, final long duration) {
+    samples().computeIfAbsent(test, k -> new Samples()).add(duration);
+  }
+
+  private long referenceDuration(final String test, final long normalDuration) {
+    final Samples observed = samples().get(test);
+    if ((observed == null) || (observed.size() < MIN_SAMPLES)) {
+      return normalDuration;
+    }
+    return observed.percentile();
+  }
+
+  private Map<String, Samples> samples() {
+    if (this.samples == null) {
+      this.samples = new HashMap<>();
+    }
+    return this.samples;
+  }
+
+  /**
+   * The most recent durations of a test
+   */
+  private static class Samples {
+    private final long[] durations = new long[MAX_SAMPLES];
+    private int          count;
+    // cached until the next duration is added
+    private long         percentile = -1;
+
+    void add(final long duration) {
+      this.durations[this.count % MAX_SAMPLES] = duration;
+      this.count++;
+      this.percentile = -1;
+    }
+
+    int size() {
+      return Math.min(this.count, MAX_SAMPLES);
+    }
+
+    long percentile() {
+      if (this.percentile == -1) {
+        final long[] sorted = Arrays.copyOf(this.durations, size());
+        Arrays.sort(sorted);
+        final int index = (int) Math.ceil(PERCENTILE * sorted.length) - 1;
+        this.percentile = sorted[Math.max(0, index)];
+      }
+      return this.percentile;
+    }
+  }
+
+}
@@ -14,6 +14,9 @@
  */
 package org.pitest.mutationtest.engine;
 
+import static java.util.stream.Collectors.toList;
+
+import java.util.Collection;
 import java.util.List;
 
 import org.pitest.classinfo.ClassName;
@@ -32,6 +35,20 @@ public interface Mutater {
    */
   Mutant getMutation(MutationIdentifier id);
 
+  /**
+   * Creates mutants matching each of the given MutationIdentifiers. Mutants are
+   * returned in the order of the supplied identifiers. Implementations may
+   * share work between mutants of the same class, so identifiers should be
+   * grouped by class where possible.
+   *
+   * @param ids
+   *          the mutants to create
+   * @return a Mutant for each identifier
+   */
+  default List<Mutant> getMutations(Collection<MutationIdentifier> ids) {
+    return ids.stream().map(this::getMutation).collect(toList());
+  }
+
   /**
    * Scans for possible mutants in the given class
    *
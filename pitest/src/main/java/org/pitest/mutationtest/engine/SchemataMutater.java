@@ -0,0 +1,30 @@
+package org.pitest.mutationtest.engine;
+
+import java.util.Optional;
+
+/**
+ * A mutater able to compile every mutant of a class into a single schema class.
+ * Once the schema is loaded, moving between its mutants requires only a call
+ * to activate, rather than a redefinition of the class.
+ */
+public interface SchemataMutater extends Mutater {
+
+  /**
+   * Returns the bytes of the schema containing the given mutant, or empty if
+   * the mutant must be loaded on its own via getMutation.
+   *
+   * @param id
+   *          the mutant
+   * @return schema class bytes
+   */
+  Optional<byte[]> getSchema(MutationIdentifier id);
+
+  /**
+   * Makes the given mutant the active one within its loaded schema
+   *
+   * @param id
+   *          a mutant for which a schema is available
+   */
+  void activate(MutationIdentifier id);
+
+}
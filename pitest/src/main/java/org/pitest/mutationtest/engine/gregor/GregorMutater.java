@@ -29,6 +29,7 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 
 import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
 import org.pitest.bytecode.FrameOptions;
 import org.pitest.bytecode.NullVisitor;
@@ -47,13 +48,36 @@ public class GregorMutater implements Mutater {
   private final Predicate<MethodInfo>     filter;
   private final ClassByteArraySource      byteSource;
   private final Set<MethodMutatorFactory> mutators       = new HashSet<>();
+  private final boolean                   timeoutChecks;
+
+  private ClassName                       lastClass;
+  private ParsedClass                     lastParsed;
 
   public GregorMutater(final ClassByteArraySource byteSource,
       final Predicate<MethodInfo> filter,
       final Collection<MethodMutatorFactory> mutators) {
+    this(byteSource, filter, mutators, false);
+  }
+
+  /**
+   * @param byteSource
+   *          source of the bytes of the classes to mutate
+   * @param filter
+   *          selects the methods to mutate
+   * @param mutators
+   *          mutators to apply
+   * @param timeoutChecks
+   *          if true the mutated method of each mutant calls
+   *          {@link sun.pitest.MutantTimeout#check()} on entry and in its loops
+   */
+  public GregorMutater(final ClassByteArraySource byteSource,
+      final Predicate<MethodInfo> filter,
+      final Collection<MethodMutatorFactory> mutators,
+      final boolean timeoutChecks) {
     this.filter = filter;
     this.mutators.addAll(mutators);
     this.byteSource = byteSource;
+    this.timeoutChecks = timeoutChecks;
   }
 
   @Override
@@ -90,20 +114,53 @@ public class GregorMutater implements Mutater {
 
   @Override
   public Mutant getMutation(final MutationIdentifier id) {
+    // minions request mutants one at a time in class order, so the last
+    // class read is kept for the next request
+    if (!id.getClassName().equals(this.lastClass)) {
+      this.lastParsed = parse(id.getClassName());
+      this.lastClass = id.getClassName();
+    }
+    return createMutant(this.lastParsed, id);
+  }
+
+  /**
+   * Creates the requested mutants, reading each class only once. Only the
+   * mutated method of each mutant is rewritten, the constant pool and all
+   * other methods are copied from the original bytes.
+   */
+  @Override
+  public List<Mutant> getMutations(final Collection<MutationIdentifier> ids) {
+    final Map<ClassName, ParsedClass> parsed = new HashMap<>();
+    final List<Mutant> mutants = new ArrayList<>(ids.size());
+    for (final MutationIdentifier each : ids) {
+      mutants.add(createMutant(
+          parsed.computeIfAbsent(each.getClassName(), this::parse), each));
+    }
+    return mutants;
+  }
+
+  private ParsedClass parse(final ClassName clazz) {
+    final byte[] bytes = this.byteSource.getBytes(clazz.asJavaName()).get();
+    return new ParsedClass(new ClassReader(bytes),
+        FrameOptions.pickFlags(bytes));
+  }
+
+  private Mutant createMutant(final ParsedClass parsed,
+      final MutationIdentifier id) {
 
     final ClassContext context = new ClassContext();
     context.setTargetMutation(Optional.ofNullable(id));
 
-    final Optional<byte[]> bytes = this.byteSource.getBytes(id.getClassName()
-        .asJavaName());
-
-    final ClassReader reader = new ClassReader(bytes.get());
-    final ClassWriter w = new ComputeClassWriter(this.byteSource,
-        this.computeCache, FrameOptions.pickFlags(bytes.get()));
-    final MutatingClassVisitor mca = new MutatingClassVisitor(w, context,
-        filterMethods(), FCollection.filter(this.mutators,
+    // methods other than the mutated one reach the writer unwrapped, so are
+    // copied rather than rebuilt
+    final ClassWriter w = new ComputeClassWriter(parsed.reader,
+        this.byteSource, this.computeCache, parsed.flags);
+    final ClassVisitor target = this.timeoutChecks
+        ? new TimeoutCheckingClassVisitor(w, id.getLocation()) : w;
+    final MutatingClassVisitor mca = new MutatingClassVisitor(target, context,
+        filterMethods().and(isMethodOf(id)), FCollection.filter(this.mutators,
             isMutatorFor(id)));
-    reader.accept(mca, ClassReader.EXPAND_FRAMES);
+    parsed.reader.accept(mca, ClassReader.EXPAND_FRAMES);
 
     final List<MutationDetails> details = context.getMutationDetails(context
         .getTargetMutation().get());
@@ -112,6 +169,11 @@ public class GregorMutater implements Mutater {
 
   }
 
+  private static Predicate<MethodInfo> isMethodOf(final MutationIdentifier id) {
+    return a -> a.getName().equals(id.getLocation().getMethodName().name())
+        && a.getMethodDescriptor().equals(id.getLocation().getMethodDesc());
+  }
+
   private static Predicate<MethodMutatorFactory> isMutatorFor(
       final MutationIdentifier id) {
     return a -> id.getMutator().equals(a.getGloballyUniqueId());
@@ -134,4 +196,14 @@ public class GregorMutater implements Mutater {
     return a -> a.isGeneratedEnumMethod();
   }
 
+  private static class ParsedClass {
+    final ClassReader reader;
+    final int         flags;
+
+    ParsedClass(final ClassReader reader, final int flags) {
+      this.reader = reader;
+      this.flags = flags;
+    }
+  }
+
 }
@@ -35,22 +35,36 @@ public class GregorMutationEngine implements MutationEngine {
 
   private final Set<MethodMutatorFactory> mutationOperators = new LinkedHashSet<>();
   private final Predicate<MethodInfo>     methodFilter;
+  private final boolean                   timeoutChecks;
 
   public GregorMutationEngine(final MutationEngineConfiguration config) {
+    this(config, false);
+  }
+
+  /**
+   * @param config
+   *          mutators to apply and filter selecting the methods to mutate
+   * @param timeoutChecks
+   *          if true each mutated method checks whether its test has timed out
+   */
+  public GregorMutationEngine(final MutationEngineConfiguration config,
+      final boolean timeoutChecks) {
     this.methodFilter = config.methodFilter();
     this.mutationOperators.addAll(config.mutators());
+    this.timeoutChecks = timeoutChecks;
   }
 
   @Override
   public Mutater createMutator(final ClassByteArraySource byteSource) {
     return new GregorMutater(byteSource, this.methodFilter,
-        this.mutationOperators);
+        this.mutationOperators, this.timeoutChecks);
   }
 
   @Override
   public String toString() {
     return "GregorMutationEngine [filter=" + this.methodFilter
-        + ", mutationOperators=" + this.mutationOperators + "]";
+        + ", mutationOperators=" + this.mutationOperators
+        + ", timeoutChecks=" + this.timeoutChecks + "]";
   }
 
   @Override
@@ -0,0 +1,83 @@
+package org.pitest.mutationtest.engine.gregor;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.pitest.bytecode.ASMVersion;
+import org.pitest.mutationtest.engine.Location;
+
+import sun.pitest.MutantTimeout;
+
+/**
+ * Adds a call to {@link MutantTimeout#check()} on entry to the mutated method
+ * and before each of its backwards jumps, so that a test stuck in a loop
+ * created by the mutant can be stopped without exiting the minion.
+ *
+ * The call takes no arguments and returns nothing, so the existing stack map
+ * frames and maximum stack size remain valid.
+ */
+class TimeoutCheckingClassVisitor extends ClassVisitor {
+
+  private static final String CHECK_OWNER = MutantTimeout.class.getName()
+      .replace('.', '/');
+
+  private final Location      mutated;
+
+  TimeoutCheckingClassVisitor(final ClassVisitor delegate,
+      final Location mutated) {
+    super(ASMVersion.ASM_VERSION, delegate);
+    this.mutated = mutated;
+  }
+
+  @Override
+  public MethodVisitor visitMethod(final int access, final String name,
+      final String desc, final String signature, final String[] exceptions) {
+    final MethodVisitor mv = super.visitMethod(access, name, desc, signature,
+        exceptions);
+    if (name.equals(this.mutated.getMethodName().name())
+        && desc.equals(this.mutated.getMethodDesc())) {
+      return new TimeoutCheckingMethodVisitor(mv);
+    }
+    return mv;
+  }
+
+  private static class TimeoutCheckingMethodVisitor extends MethodVisitor {
+
+    private final Set<Label> visited = new HashSet<>();
+
+    TimeoutCheckingMethodVisitor(final MethodVisitor mv) {
+      super(ASMVersion.ASM_VERSION, mv);
+    }
+
+    @Override
+    public void visitCode() {
+      super.visitCode();
+      check();
+    }
+
+    @Override
+    public void visitLabel(final Label label) {
+      this.visited.add(label);
+      super.visitLabel(label);
+    }
+
+    @Override
+    public void visitJumpInsn(final int opcode, final Label label) {
+      if (this.visited.contains(label)) {
+        check();
+      }
+      super.visitJumpInsn(opcode, label);
+    }
+
+    private void check() {
+      super.visitMethodInsn(Opcodes.INVOKESTATIC, CHECK_OWNER, "check", "()V",
+          false);
+    }
+
+  }
+
+}
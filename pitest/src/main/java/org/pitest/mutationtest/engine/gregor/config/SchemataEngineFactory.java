@@ -0,0 +1,26 @@
+package org.pitest.mutationtest.engine.gregor.config;
+
+import org.pitest.mutationtest.EngineArguments;
+import org.pitest.mutationtest.MutationEngineFactory;
+import org.pitest.mutationtest.engine.MutationEngine;
+import org.pitest.mutationtest.engine.gregor.schemata.SchemataMutationEngine;
+
+public final class SchemataEngineFactory implements MutationEngineFactory {
+
+  @Override
+  public MutationEngine createEngine(EngineArguments args) {
+    return new SchemataMutationEngine(new GregorEngineFactory()
+        .createEngine(args));
+  }
+
+  @Override
+  public String name() {
+    return "schemata";
+  }
+
+  @Override
+  public String description() {
+    return "Gregor mutants, loaded in minions as a single class per mutated class";
+  }
+
+}
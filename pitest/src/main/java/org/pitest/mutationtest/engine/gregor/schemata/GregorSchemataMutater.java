@@ -0,0 +1,257 @@
+package org.pitest.mutationtest.engine.gregor.schemata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.FrameNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+import org.pitest.bytecode.FrameOptions;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classinfo.ComputeClassWriter;
+import org.pitest.mutationtest.engine.Location;
+import org.pitest.mutationtest.engine.Mutant;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.engine.SchemataMutater;
+import org.pitest.util.Log;
+
+import sun.pitest.ActiveMutant;
+
+/**
+ * Builds mutant schemata from the mutants generated by a gregor mutater.
+ *
+ * Each mutated method in the schema begins with a switch on
+ * {@link ActiveMutant#id}, followed by a copy of the method body for each of
+ * its mutants and finally the original body. As the schema has the same
+ * members as the original class it can be hot swapped in place of it.
+ *
+ * Mutants in constructors and static initializers, in interfaces, and in
+ * methods that would grow too large are left out of the schema and must be
+ * loaded on their own.
+ */
+class GregorSchemataMutater implements SchemataMutater {
+
+  private static final Logger         LOG                  = Log.getLogger();
+
+  // keeps the combined methods well clear of the 64k code size limit
+  private static final int            MAX_INSTRUCTIONS     = 8000;
+
+  private static final String         SWITCH_OWNER         = ActiveMutant.class
+      .getName().replace('.', '/');
+  private static final String         SWITCH_FIELD         = "id";
+
+  private final Mutater               delegate;
+  private final ClassByteArraySource  byteSource;
+  private final Map<String, String>   computeCache         = new HashMap<>();
+
+  // schemata are built for one class at a time, as minions work through
+  // mutants in class order
+  private ClassName                   lastClass;
+  private Schema                      lastSchema;
+
+  GregorSchemataMutater(final Mutater delegate,
+      final ClassByteArraySource byteSource) {
+    this.delegate = delegate;
+    this.byteSource = byteSource;
+  }
+
+  @Override
+  public Mutant getMutation(final MutationIdentifier id) {
+    return this.delegate.getMutation(id);
+  }
+
+  @Override
+  public List<MutationDetails> findMutations(final ClassName classToMutate) {
+    return this.delegate.findMutations(classToMutate);
+  }
+
+  @Override
+  public Optional<byte[]> getSchema(final MutationIdentifier id) {
+    final Schema schema = schemaFor(id.getClassName());
+    if (schema.ids.containsKey(id)) {
+      return Optional.of(schema.bytes);
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public void activate(final MutationIdentifier id) {
+    final Integer key = schemaFor(id.getClassName()).ids.get(id);
+    if (key == null) {
+      throw new IllegalArgumentException(id + " is not part of a schema");
+    }
+    ActiveMutant.id = key;
+  }
+
+  private Schema schemaFor(final ClassName clazz) {
+    if (!clazz.equals(this.lastClass)) {
+      this.lastSchema = buildSchema(clazz);
+      this.lastClass = clazz;
+    }
+    return this.lastSchema;
+  }
+
+  private Schema buildSchema(final ClassName clazz) {
+    final Optional<byte[]> bytes = this.byteSource.getBytes(clazz
+        .asJavaName());
+    if (!bytes.isPresent()) {
+      return Schema.EMPTY;
+    }
+
+    final ClassNode original = read(bytes.get());
+    if ((original.access & Opcodes.ACC_INTERFACE) != 0) {
+      return Schema.EMPTY;
+    }
+
+    final Map<MutationIdentifier, Integer> ids = new HashMap<>();
+    for (final Map.Entry<Location, List<MutationDetails>> each : byMethod(
+        findMutations(clazz)).entrySet()) {
+      final MethodNode method = findMethod(original, each.getKey());
+      if ((method != null) && canHoldMutants(method, each.getValue().size())) {
+        addMutants(method, each.getValue(), ids);
+      }
+    }
+
+    if (ids.isEmpty()) {
+      return Schema.EMPTY;
+    }
+
+    try {
+      final ClassWriter w = new ComputeClassWriter(this.byteSource,
+          this.computeCache, FrameOptions.pickFlags(bytes.get()));
+      original.accept(w);
+      return new Schema(w.toByteArray(), ids);
+    } catch (final RuntimeException ex) {
+      LOG.fine("Could not build mutant schema for " + clazz + ": " + ex);
+      return Schema.EMPTY;
+    }
+  }
+
+  private void addMutants(final MethodNode method,
+      final List<MutationDetails> mutants,
+      final Map<MutationIdentifier, Integer> ids) {
+    final Location location = mutants.get(0).getId().getLocation();
+
+    final LabelNode originalCode = new LabelNode();
+    final int[] keys = new int[mutants.size()];
+    final LabelNode[] starts = new LabelNode[mutants.size()];
+
+    final List<MutationIdentifier> mutantIds = new ArrayList<>();
+    for (final MutationDetails each : mutants) {
+      mutantIds.add(each.getId());
+    }
+    final List<Mutant> generated = this.delegate.getMutations(mutantIds);
+
+    final InsnList variants = new InsnList();
+    final List<TryCatchBlockNode> handlers = new ArrayList<>();
+    for (int i = 0; i != mutants.size(); i++) {
+      final MutationIdentifier id = mutantIds.get(i);
+      final MethodNode mutated = findMethod(
+          read(generated.get(i).getBytes()), location);
+
+      keys[i] = ids.size() + 1;
+      ids.put(id, keys[i]);
+      starts[i] = new LabelNode();
+      variants.add(starts[i]);
+      copyBody(mutated, variants, handlers);
+    }
+
+    final InsnList combined = new InsnList();
+    combined.add(new FieldInsnNode(Opcodes.GETSTATIC, SWITCH_OWNER,
+        SWITCH_FIELD, "I"));
+    combined.add(new LookupSwitchInsnNode(originalCode, keys, starts));
+    combined.add(variants);
+    combined.add(originalCode);
+    combined.add(method.instructions);
+
+    method.instructions = combined;
+    method.tryCatchBlocks.addAll(handlers);
+  }
+
+  private static void copyBody(final MethodNode from, final InsnList to,
+      final List<TryCatchBlockNode> handlers) {
+    final Map<LabelNode, LabelNode> labels = new HashMap<>();
+    for (final AbstractInsnNode each : from.instructions.toArray()) {
+      if (each instanceof LabelNode) {
+        labels.put((LabelNode) each, new LabelNode());
+      }
+    }
+
+    for (final AbstractInsnNode each : from.instructions.toArray()) {
+      if (!(each instanceof FrameNode)) {
+        to.add(each.clone(labels));
+      }
+    }
+
+    for (final TryCatchBlockNode each : from.tryCatchBlocks) {
+      handlers.add(new TryCatchBlockNode(labels.get(each.start),
+          labels.get(each.end), labels.get(each.handler), each.type));
+    }
+  }
+
+  private static boolean canHoldMutants(final MethodNode method,
+      final int mutants) {
+    return !method.name.equals("<init>") && !method.name.equals("<clinit>")
+        && (((mutants + 1) * method.instructions.size()) < MAX_INSTRUCTIONS);
+  }
+
+  private static Map<Location, List<MutationDetails>> byMethod(
+      final List<MutationDetails> mutations) {
+    final Map<Location, List<MutationDetails>> byMethod = new LinkedHashMap<>();
+    for (final MutationDetails each : mutations) {
+      byMethod.computeIfAbsent(each.getId().getLocation(),
+          k -> new ArrayList<>()).add(each);
+    }
+    return byMethod;
+  }
+
+  private static MethodNode findMethod(final ClassNode clazz,
+      final Location location) {
+    for (final MethodNode each : clazz.methods) {
+      if (each.name.equals(location.getMethodName().name())
+          && each.desc.equals(location.getMethodDesc())) {
+        return each;
+      }
+    }
+    return null;
+  }
+
+  private static ClassNode read(final byte[] bytes) {
+    final ClassNode node = new ClassNode();
+    // frames are recomputed when the schema is written
+    new ClassReader(bytes).accept(node, ClassReader.SKIP_FRAMES);
+    return node;
+  }
+
+  private static class Schema {
+    static final Schema                    EMPTY = new Schema(null,
+        Collections.<MutationIdentifier, Integer> emptyMap());
+
+    final byte[]                           bytes;
+    final Map<MutationIdentifier, Integer> ids;
+
+    Schema(final byte[] bytes, final Map<MutationIdentifier, Integer> ids) {
+      this.bytes = bytes;
+      this.ids = ids;
+    }
+  }
+
+}
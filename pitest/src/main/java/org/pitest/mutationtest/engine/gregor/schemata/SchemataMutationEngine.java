@@ -0,0 +1,42 @@
+package org.pitest.mutationtest.engine.gregor.schemata;
+
+import java.util.Collection;
+
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.mutationtest.engine.Mutater;
+import org.pitest.mutationtest.engine.MutationEngine;
+
+/**
+ * Finds and creates the same mutants as the wrapped gregor engine, but lets
+ * minions load all the mutants of a class at once as a mutant schema.
+ */
+public class SchemataMutationEngine implements MutationEngine {
+
+  private final MutationEngine gregor;
+
+  public SchemataMutationEngine(final MutationEngine gregor) {
+    this.gregor = gregor;
+  }
+
+  @Override
+  public Mutater createMutator(final ClassByteArraySource byteSource) {
+    return new GregorSchemataMutater(this.gregor.createMutator(byteSource),
+        byteSource);
+  }
+
+  @Override
+  public Collection<String> getMutatorNames() {
+    return this.gregor.getMutatorNames();
+  }
+
+  @Override
+  public String getName() {
+    return "schemata";
+  }
+
+  @Override
+  public String toString() {
+    return "SchemataMutationEngine [gregor=" + this.gregor + "]";
+  }
+
+}
@@ -1,5 +1,7 @@
 package org.pitest.mutationtest.execute;
 
+import java.util.Arrays;
+
 import org.pitest.boot.HotSwapAgent;
 import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classinfo.ClassName;
@@ -12,6 +14,7 @@ class HotSwap implements F3<ClassName, ClassLoader, byte[], Boolean> {
   private byte[]                     lastClassPreMutation;
   private ClassName                  lastMutatedClass;
   private ClassLoader                lastUsedLoader;
+  private byte[]                     lastSwappedIn;
 
   HotSwap(final ClassByteArraySource byteSource) {
     this.byteSource = byteSource;
@@ -22,16 +25,45 @@ class HotSwap implements F3<ClassName, ClassLoader, byte[], Boolean> {
       final byte[] b) {
     Class<?> clazz;
     try {
+      if (isAlreadyInPlace(clazzName, loader, b)) {
+        // mutant schemata are reused for each mutant in a class
+        return true;
+      }
       restoreLastClass(this.byteSource, clazzName, loader);
       this.lastUsedLoader = loader;
       clazz = Class.forName(clazzName.asJavaName(), false, loader);
-      return HotSwapAgent.hotSwap(clazz, b);
+      final boolean swapped = HotSwapAgent.hotSwap(clazz, b);
+      this.lastSwappedIn = swapped ? b : null;
+      return swapped;
     } catch (final ClassNotFoundException e) {
       throw Unchecked.translateCheckedException(e);
     }
 
   }
 
+  /**
+   * Returns the last mutated class to its unmutated state so that the JVM can
+   * safely be used for further work.
+   */
+  void restoreOriginalClass() {
+    if (this.lastMutatedClass != null) {
+      try {
+        restoreForLoader(this.lastUsedLoader);
+      } catch (final ClassNotFoundException e) {
+        throw Unchecked.translateCheckedException(e);
+      }
+      this.lastMutatedClass = null;
+      this.lastSwappedIn = null;
+    }
+  }
+
+  private boolean isAlreadyInPlace(final ClassName clazzName,
+      final ClassLoader loader, final byte[] b) {
+    return clazzName.equals(this.lastMutatedClass)
+        && (loader == this.lastUsedLoader)
+        && Arrays.equals(b, this.lastSwappedIn);
+  }
+
   private void restoreLastClass(final ClassByteArraySource byteSource,
       final ClassName clazzName, final ClassLoader loader)
           throws ClassNotFoundException {
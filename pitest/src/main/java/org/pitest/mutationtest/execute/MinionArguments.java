@@ -35,11 +35,40 @@ public class MinionArguments implements Serializable {
   final boolean                     verbose;
   final boolean                     fullMutationMatrix;
   final TestPluginArguments         pitConfig;
+  final boolean                     awaitFurtherWork;
+  final boolean                     isolateMutants;
 
+  /**
+   * @param mutations
+   *          mutations to analyse
+   * @param tests
+   *          test classes to run against them
+   * @param engine
+   *          name of the mutation engine
+   * @param engineArgs
+   *          arguments for the mutation engine
+   * @param timeoutStrategy
+   *          how long to let tests run before declaring a timeout
+   * @param verbose
+   *          if true the minion logs its progress
+   * @param fullMutationMatrix
+   *          if true every covering test is run against each mutant
+   * @param pitConfig
+   *          configuration of the test plugin
+   * @param awaitFurtherWork
+   *          if true the minion will wait for further arguments from the
+   *          parent once the supplied mutations have been analysed, instead of
+   *          exiting
+   * @param isolateMutants
+   *          if true each mutant is loaded, with fresh copies of the classes
+   *          that refer to it, in its own class loader instead of being hot
+   *          swapped
+   */
   public MinionArguments(final Collection<MutationDetails> mutations,
       final Collection<ClassName> tests, final String engine,   final EngineArguments engineArgs,
       final TimeoutLengthStrategy timeoutStrategy, final boolean verbose, final boolean fullMutationMatrix,
-      final TestPluginArguments pitConfig) {
+      final TestPluginArguments pitConfig, final boolean awaitFurtherWork,
+      final boolean isolateMutants) {
     this.mutations = mutations;
     this.testClasses = tests;
     this.engine = engine;
@@ -48,10 +77,20 @@ public class MinionArguments implements Serializable {
     this.verbose = verbose;
     this.fullMutationMatrix = fullMutationMatrix;
     this.pitConfig = pitConfig;
+    this.awaitFurtherWork = awaitFurtherWork;
+    this.isolateMutants = isolateMutants;
   }
 
   public boolean isVerbose() {
     return this.verbose;
   }
 
+  public boolean awaitFurtherWork() {
+    return this.awaitFurtherWork;
+  }
+
+  public boolean isolateMutants() {
+    return this.isolateMutants;
+  }
+
 }
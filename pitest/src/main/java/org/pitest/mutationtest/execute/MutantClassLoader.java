@@ -0,0 +1,69 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.Optional;
+import java.util.Set;
+
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classinfo.ClassName;
+
+/**
+ * Loads a single mutant together with fresh copies of the project classes that
+ * refer to it, so that the tests and the code under test link against the
+ * mutant. All other classes are shared with the parent.
+ */
+class MutantClassLoader extends ClassLoader {
+
+  private final ClassByteArraySource projectClasses;
+  private final Set<String>          referencingClasses;
+  private final String               mutantName;
+  private final byte[]               mutant;
+
+  /**
+   * @param referencingClasses
+   *          java names of the project classes to be loaded afresh
+   */
+  MutantClassLoader(final ClassLoader parent,
+      final ClassByteArraySource projectClasses,
+      final Set<String> referencingClasses, final ClassName mutantName,
+      final byte[] mutant) {
+    super(parent);
+    this.projectClasses = projectClasses;
+    this.referencingClasses = referencingClasses;
+    this.mutantName = mutantName.asJavaName();
+    this.mutant = mutant;
+  }
+
+  @Override
+  protected Class<?> loadClass(final String name, final boolean resolve)
+      throws ClassNotFoundException {
+    synchronized (getClassLoadingLock(name)) {
+      Class<?> clazz = findLoadedClass(name);
+      if (clazz == null) {
+        final Optional<byte[]> bytes = bytesToDefine(name);
+        if (bytes.isPresent()) {
+          clazz = defineClass(name, bytes.get(), 0, bytes.get().length);
+        } else {
+          clazz = super.loadClass(name, false);
+        }
+      }
+      if (resolve) {
+        resolveClass(clazz);
+      }
+      return clazz;
+    }
+  }
+
+  private Optional<byte[]> bytesToDefine(final String name) {
+    if (name.equals(this.mutantName)) {
+      return Optional.of(this.mutant);
+    }
+    // pitest must be shared or the tests handed back to it will not be
+    // recognised
+    if (name.startsWith("org.pitest.") || name.startsWith("java.")
+        || !this.referencingClasses.contains(name)) {
+      return Optional.empty();
+    }
+    return this.projectClasses.getBytes(name);
+  }
+
+}
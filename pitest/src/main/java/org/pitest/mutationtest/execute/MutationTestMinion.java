@@ -14,6 +14,7 @@
  */
 package org.pitest.mutationtest.execute;
 
+import java.io.File;
 import java.io.IOException;
 import java.lang.management.MemoryNotificationInfo;
 import java.net.Socket;
@@ -30,6 +31,8 @@ import org.pitest.boot.HotSwapAgent;
 import org.pitest.classinfo.CachingByteArraySource;
 import org.pitest.classinfo.ClassByteArraySource;
 import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassPath;
+import org.pitest.classpath.ClassPathByteArraySource;
 import org.pitest.classpath.ClassloaderByteArraySource;
 import org.pitest.functional.F3;
 import org.pitest.functional.prelude.Prelude;
@@ -62,6 +65,9 @@ public class MutationTestMinion {
   private final Reporter            reporter;
   private final MinionSettings      plugins;
 
+  // built once, as the project classes do not change between units
+  private ReferencingClasses        referencingClasses;
+
   public MutationTestMinion(MinionSettings plugins, final SafeDataInputStream dis,
       final Reporter reporter) {
     this.dis = dis;
@@ -72,7 +78,7 @@ public class MutationTestMinion {
   public void run() {
     try {
 
-      final MinionArguments paramsFromParent = this.dis
+      MinionArguments paramsFromParent = this.dis
           .read(MinionArguments.class);
 
       Log.setVerbose(paramsFromParent.isVerbose());
@@ -82,29 +88,76 @@ public class MutationTestMinion {
       final ClassByteArraySource byteSource = new CachingByteArraySource(new ClassloaderByteArraySource(
           loader), CACHE_SIZE);
 
-      final F3<ClassName, ClassLoader, byte[], Boolean> hotswap = new HotSwap(
-          byteSource);
+      final HotSwap hotswap = new HotSwap(byteSource);
+
+      while (paramsFromParent != null) {
+        analyseMutations(paramsFromParent, loader, byteSource, hotswap);
+        this.reporter.done(ExitCode.OK);
+        paramsFromParent = readFurtherWork(paramsFromParent, hotswap);
+      }
 
-      final MutationEngine engine = createEngine(paramsFromParent.engine, paramsFromParent.engineArgs);
+    } catch (final Throwable ex) {
+      ex.printStackTrace(System.out);
+      LOG.log(Level.WARNING, "Error during mutation test", ex);
+      this.reporter.done(ExitCode.UNKNOWN_ERROR);
+    }
 
+  }
 
-      final MutationTestWorker worker = new MutationTestWorker(hotswap,
+  private void analyseMutations(final MinionArguments paramsFromParent,
+      final ClassLoader loader, final ClassByteArraySource byteSource,
+      final F3<ClassName, ClassLoader, byte[], Boolean> hotswap)
+      throws IOException {
+    final MutationEngine engine = createEngine(paramsFromParent.engine, paramsFromParent.engineArgs);
+    final Configuration testPlugin = createTestPlugin(paramsFromParent.pitConfig);
+
+    final MutationTestWorker worker;
+    if (paramsFromParent.isolateMutants()) {
+      worker = new MutationTestWorker(engine.createMutator(byteSource), loader,
+          paramsFromParent.fullMutationMatrix, referencingClasses(),
+          (l, testClasses) -> findTestsForTestClasses(l, testClasses, testPlugin));
+    } else {
+      worker = new MutationTestWorker(hotswap,
           engine.createMutator(byteSource), loader, paramsFromParent.fullMutationMatrix);
+    }
+    final List<TestUnit> tests = findTestsForTestClasses(loader,
+        paramsFromParent.testClasses, testPlugin);
 
-      final List<TestUnit> tests = findTestsForTestClasses(loader,
-          paramsFromParent.testClasses, createTestPlugin(paramsFromParent.pitConfig));
+    worker.run(paramsFromParent.mutations, this.reporter,
+        new TimeOutDecoratedTestSource(paramsFromParent.timeoutStrategy,
+            tests, this.reporter,
+            paramsFromParent.engineArgs.timeoutChecks()));
+  }
 
-      worker.run(paramsFromParent.mutations, this.reporter,
-          new TimeOutDecoratedTestSource(paramsFromParent.timeoutStrategy,
-              tests, this.reporter));
+  /**
+   * The project's own code is assumed to be in the directories on the
+   * classpath, while libraries are in jars.
+   */
+  private ReferencingClasses referencingClasses() {
+    if (this.referencingClasses == null) {
+      final List<File> dirs = ClassPath.getClassPathElementsAsFiles().stream()
+          .filter(File::isDirectory)
+          .collect(Collectors.toList());
+      final ClassPath projectClasses = new ClassPath(dirs);
+      this.referencingClasses = new ReferencingClasses(
+          new ClassPathByteArraySource(projectClasses),
+          projectClasses.classNames());
+    }
+    return this.referencingClasses;
+  }
 
-      this.reporter.done(ExitCode.OK);
-    } catch (final Throwable ex) {
-      ex.printStackTrace(System.out);
-      LOG.log(Level.WARNING, "Error during mutation test", ex);
-      this.reporter.done(ExitCode.UNKNOWN_ERROR);
+  private MinionArguments readFurtherWork(final MinionArguments previous,
+      final HotSwap hotswap) {
+    if (!previous.awaitFurtherWork()) {
+      return null;
     }
 
+    // leave the jvm as we found it before any further tests are loaded
+    hotswap.restoreOriginalClass();
+    if (this.dis.readBoolean()) {
+      return this.dis.read(MinionArguments.class);
+    }
+    return null;
   }
 
   private MutationEngine createEngine(String engine, EngineArguments args) {
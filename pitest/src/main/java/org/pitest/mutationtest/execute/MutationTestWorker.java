@@ -20,12 +20,17 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import org.pitest.classinfo.ClassName;
+import org.pitest.coverage.TestInfo;
 import org.pitest.functional.F3;
 import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.mutationtest.MutationStatusTestPair;
@@ -33,6 +38,7 @@ import org.pitest.mutationtest.engine.Mutant;
 import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.engine.SchemataMutater;
 import org.pitest.mutationtest.mocksupport.JavassistInterceptor;
 import org.pitest.testapi.TestResult;
 import org.pitest.testapi.TestUnit;
@@ -44,6 +50,8 @@ import org.pitest.testapi.execute.containers.ConcreteResultCollector;
 import org.pitest.testapi.execute.containers.UnContainer;
 import org.pitest.util.Log;
 
+import sun.pitest.ActiveMutant;
+
 public class MutationTestWorker {
 
   private static final Logger                               LOG   = Log
@@ -58,13 +66,55 @@ public class MutationTestWorker {
   private final F3<ClassName, ClassLoader, byte[], Boolean> hotswap;
   private final boolean                                     fullMutationMatrix;
 
+  // set only when each mutant is loaded in its own class loader
+  private final ReferencingClasses                          referencingClasses;
+  private final BiFunction<ClassLoader, Collection<ClassName>, List<TestUnit>> testFinder;
+
+  // mutants arrive in class order, so the classes referring to the last
+  // mutated class are kept
+  private ClassName                                         lastMutatedClass;
+  private Set<String>                                       lastReferencingClasses;
+
+  // classes whose schema the jvm would not load, so whose mutants are loaded
+  // one at a time instead
+  private final Set<ClassName>                              rejectedSchemata = new HashSet<>();
+
   public MutationTestWorker(
       final F3<ClassName, ClassLoader, byte[], Boolean> hotswap,
       final Mutater mutater, final ClassLoader loader, final boolean fullMutationMatrix) {
+    this(hotswap, mutater, loader, fullMutationMatrix, null, null);
+  }
+
+  /**
+   * Creates a worker that loads each mutant in a child of the supplied loader,
+   * instead of redefining the class in place.
+   *
+   * @param referencingClasses
+   *          finds the project classes to be loaded afresh alongside each
+   *          mutant, so that they link against it
+   * @param testFinder
+   *          finds the tests in the given test classes for a mutant's loader
+   */
+  MutationTestWorker(final Mutater mutater, final ClassLoader loader,
+      final boolean fullMutationMatrix,
+      final ReferencingClasses referencingClasses,
+      final BiFunction<ClassLoader, Collection<ClassName>, List<TestUnit>> testFinder) {
+    this(null, mutater, loader, fullMutationMatrix, referencingClasses,
+        testFinder);
+  }
+
+  private MutationTestWorker(
+      final F3<ClassName, ClassLoader, byte[], Boolean> hotswap,
+      final Mutater mutater, final ClassLoader loader,
+      final boolean fullMutationMatrix,
+      final ReferencingClasses referencingClasses,
+      final BiFunction<ClassLoader, Collection<ClassName>, List<TestUnit>> testFinder) {
     this.loader = loader;
     this.mutater = mutater;
     this.hotswap = hotswap;
     this.fullMutationMatrix = fullMutationMatrix;
+    this.referencingClasses = referencingClasses;
+    this.testFinder = testFinder;
   }
 
   protected void run(final Collection<MutationDetails> range, final Reporter r,
@@ -89,7 +139,7 @@ public class MutationTestWorker {
       final MutationDetails mutationDetails) throws IOException {
 
     final MutationIdentifier mutationId = mutationDetails.getId();
-    final Mutant mutatedClass = this.mutater.getMutation(mutationId);
+    final Mutant mutatedClass = createMutant(mutationDetails);
 
     // For the benefit of mocking frameworks such as PowerMock
     // mess with the internals of Javassist so our mutated class
@@ -99,13 +149,24 @@ public class MutationTestWorker {
     if (DEBUG) {
       LOG.fine("mutating method " + mutatedClass.getDetails().getMethod());
     }
-    final List<TestUnit> relevantTests = testSource
-        .translateTests(mutationDetails.getTestsInOrder());
 
     r.describe(mutationId);
 
-    final MutationStatusTestPair mutationDetected = handleMutation(
-        mutationDetails, mutatedClass, relevantTests);
+    final MutationStatusTestPair mutationDetected;
+    try {
+      if (this.referencingClasses != null) {
+        mutationDetected = handleMutationInOwnLoader(mutationDetails,
+            mutatedClass, testSource);
+      } else {
+        final List<TestUnit> relevantTests = testSource
+            .translateTests(mutationDetails.getTestsInOrder());
+        mutationDetected = handleMutation(mutationDetails, mutatedClass,
+            relevantTests);
+      }
+    } finally {
+      // a loaded schema must behave as the original class for later tests
+      ActiveMutant.id = ActiveMutant.NONE;
+    }
 
     r.report(mutationId, mutationDetected);
     if (DEBUG) {
@@ -113,6 +174,49 @@ public class MutationTestWorker {
     }
   }
 
+  /**
+   * Uses the schema containing the mutant when the mutater can supply one, so
+   * that consecutive mutants of a class can share a single loaded class.
+   */
+  private Mutant createMutant(final MutationDetails mutationDetails) {
+    final Optional<byte[]> schema = schemaFor(mutationDetails);
+    if (schema.isPresent()) {
+      return new Mutant(mutationDetails, schema.get());
+    }
+    return this.mutater.getMutation(mutationDetails.getId());
+  }
+
+  private Optional<byte[]> schemaFor(final MutationDetails mutationDetails) {
+    if ((this.mutater instanceof SchemataMutater)
+        && !this.rejectedSchemata.contains(mutationDetails.getClassName())) {
+      return ((SchemataMutater) this.mutater).getSchema(mutationDetails
+          .getId());
+    }
+    return Optional.empty();
+  }
+
+  private void activateIfInSchema(final MutationDetails mutationDetails) {
+    if (schemaFor(mutationDetails).isPresent()) {
+      ((SchemataMutater) this.mutater).activate(mutationDetails.getId());
+    }
+  }
+
+  /**
+   * Stops using the schema of the mutant's class and returns the mutant on its
+   * own, or empty if the mutant was not loaded from a schema
+   */
+  private Optional<Mutant> rejectSchema(final MutationDetails mutationDetails) {
+    if (!schemaFor(mutationDetails).isPresent()) {
+      return Optional.empty();
+    }
+    LOG.fine("Schema for " + mutationDetails.getClassName()
+        + " was not viable, loading its mutants individually");
+    this.rejectedSchemata.add(mutationDetails.getClassName());
+    final Mutant standalone = this.mutater.getMutation(mutationDetails.getId());
+    JavassistInterceptor.setMutant(standalone);
+    return Optional.of(standalone);
+  }
+
   private MutationStatusTestPair handleMutation(
       final MutationDetails mutationId, final Mutant mutatedClass,
       final List<TestUnit> relevantTests) {
@@ -146,8 +250,14 @@ public class MutationTestWorker {
         LOG.fine("replaced class with mutant in "
             + (System.currentTimeMillis() - t0) + " ms");
       }
+      activateIfInSchema(mutationId);
       mutationDetected = doTestsDetectMutation(c, relevantTests);
     } else {
+      final Optional<Mutant> standalone = rejectSchema(mutationId);
+      if (standalone.isPresent()) {
+        return handleCoveredMutation(mutationId, standalone.get(),
+            relevantTests);
+      }
       LOG.warning("Mutation " + mutationId + " was not viable ");
       mutationDetected = MutationStatusTestPair.notAnalysed(0,
           DetectionStatus.NON_VIABLE);
@@ -155,6 +265,74 @@ public class MutationTestWorker {
     return mutationDetected;
   }
 
+  private MutationStatusTestPair handleMutationInOwnLoader(
+      final MutationDetails mutationId, final Mutant mutatedClass,
+      final TimeOutDecoratedTestSource testSource) {
+    final long t0 = System.currentTimeMillis();
+    final Set<String> referencing = referencingClassesFor(mutationId
+        .getClassName());
+    final ClassLoader mutantLoader = new MutantClassLoader(this.loader,
+        this.referencingClasses.source(), referencing,
+        mutationId.getClassName(), mutatedClass.getBytes());
+    try {
+      Class.forName(mutationId.getClassName().asJavaName(), false,
+          mutantLoader);
+    } catch (final ClassNotFoundException | LinkageError e) {
+      final Optional<Mutant> standalone = rejectSchema(mutationId);
+      if (standalone.isPresent()) {
+        return handleMutationInOwnLoader(mutationId, standalone.get(),
+            testSource);
+      }
+      LOG.warning("Mutation " + mutationId + " was not viable ");
+      return MutationStatusTestPair.notAnalysed(0, DetectionStatus.NON_VIABLE);
+    }
+
+    // tests already found in the parent loader are reused unless their class
+    // must link against the mutant
+    final List<ClassName> reloadedTestClasses = testClassesFor(mutationId)
+        .stream().filter(c -> referencing.contains(c.asJavaName()))
+        .collect(Collectors.toList());
+    final List<TestUnit> relevantTests = testSource
+        .withTests(reloadedTestClasses.isEmpty() ? Collections.<TestUnit> emptyList()
+            : this.testFinder.apply(mutantLoader, reloadedTestClasses))
+        .translateTests(mutationId.getTestsInOrder());
+    if (DEBUG) {
+      LOG.fine("loaded mutant and tests in "
+          + (System.currentTimeMillis() - t0) + " ms");
+    }
+
+    if (relevantTests.isEmpty()) {
+      return handleMutation(mutationId, mutatedClass, relevantTests);
+    }
+
+    activateIfInSchema(mutationId);
+    final Thread current = Thread.currentThread();
+    final ClassLoader previous = current.getContextClassLoader();
+    current.setContextClassLoader(mutantLoader);
+    try {
+      return doTestsDetectMutation(createNewContainer(), relevantTests);
+    } finally {
+      current.setContextClassLoader(previous);
+    }
+  }
+
+  private Set<String> referencingClassesFor(final ClassName mutatedClass) {
+    if (!mutatedClass.equals(this.lastMutatedClass)) {
+      this.lastReferencingClasses = this.referencingClasses.of(mutatedClass);
+      this.lastMutatedClass = mutatedClass;
+    }
+    return this.lastReferencingClasses;
+  }
+
+  private static Set<ClassName> testClassesFor(
+      final MutationDetails mutationDetails) {
+    final Set<ClassName> testClasses = new HashSet<>();
+    for (final TestInfo each : mutationDetails.getTestsInOrder()) {
+      testClasses.add(TestInfo.toDefiningClassName().apply(each));
+    }
+    return testClasses;
+  }
+
   private static Container createNewContainer() {
     final Container c = new UnContainer() {
       @Override
@@ -174,7 +352,8 @@ public class MutationTestWorker {
   @Override
   public String toString() {
     return "MutationTestWorker [mutater=" + this.mutater + ", loader="
-        + this.loader + ", hotswap=" + this.hotswap + "]";
+        + this.loader + ", hotswap=" + this.hotswap + ", isolated="
+        + (this.referencingClasses != null) + "]";
   }
 
   private MutationStatusTestPair doTestsDetectMutation(final Container c,
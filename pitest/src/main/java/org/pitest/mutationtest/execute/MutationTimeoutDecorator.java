@@ -14,49 +14,146 @@
  */
 package org.pitest.mutationtest.execute;
 
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.FutureTask;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.pitest.extension.common.TestUnitDecorator;
 import org.pitest.functional.SideEffect;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
+import org.pitest.testapi.Description;
 import org.pitest.testapi.ResultCollector;
 import org.pitest.testapi.TestUnit;
 import org.pitest.util.Unchecked;
 
+import sun.pitest.MutantTimedOutError;
+import sun.pitest.MutantTimeout;
+
 public final class MutationTimeoutDecorator extends TestUnitDecorator {
 
+  // time allowed for a timed out test to notice it has been asked to stop
+  private static final long           STOP_WAIT = 1000;
+
   private final TimeoutLengthStrategy timeOutStrategy;
   private final SideEffect            timeOutSideEffect;
   private final long                  executionTime;
+  private final boolean               stopTimedOutTests;
+  private final TestExecutionThread   testThread;
 
   public MutationTimeoutDecorator(final TestUnit child,
       final SideEffect timeOutSideEffect,
       final TimeoutLengthStrategy timeStrategy, final long executionTime) {
+    this(child, timeOutSideEffect, timeStrategy, executionTime, false);
+  }
+
+  public MutationTimeoutDecorator(final TestUnit child,
+      final SideEffect timeOutSideEffect,
+      final TimeoutLengthStrategy timeStrategy, final long executionTime,
+      final boolean stopTimedOutTests) {
+    this(child, timeOutSideEffect, timeStrategy, executionTime,
+        stopTimedOutTests, new TestExecutionThread());
+  }
+
+  /**
+   * @param child
+   *          the test to run
+   * @param timeOutSideEffect
+   *          applied when the test times out and does not stop
+   * @param timeStrategy
+   *          gives the time allowed for the test
+   * @param executionTime
+   *          time the test took to run against the unmutated code
+   * @param stopTimedOutTests
+   *          if true a test that times out is asked to stop, via
+   *          {@link MutantTimeout} and by interrupting its thread, and is
+   *          reported as failing with a {@link MutantTimedOutError}. The side
+   *          effect is applied only if the test does not stop. A test that
+   *          exceeds its allowed time is run again against the recheck limit
+   *          of the strategy, if that is higher, rather than waited on.
+   * @param testThread
+   *          thread to run the test on, shared with other decorated tests
+   */
+  public MutationTimeoutDecorator(final TestUnit child,
+      final SideEffect timeOutSideEffect,
+      final TimeoutLengthStrategy timeStrategy, final long executionTime,
+      final boolean stopTimedOutTests, final TestExecutionThread testThread) {
     super(child);
     this.timeOutSideEffect = timeOutSideEffect;
     this.executionTime = executionTime;
     this.timeOutStrategy = timeStrategy;
+    this.stopTimedOutTests = stopTimedOutTests;
+    this.testThread = testThread;
   }
 
   @Override
   public void execute(final ResultCollector rc) {
 
-    final long maxTime = this.timeOutStrategy
-        .getAllowedTime(this.executionTime);
+    final String test = child().getDescription().getQualifiedName();
+    final long maxTime = this.timeOutStrategy.getAllowedTime(test,
+        this.executionTime);
+    final long recheckTime = this.timeOutStrategy.getRecheckTime(test,
+        this.executionTime);
+    execute(rc, test, maxTime, recheckTime);
 
-    final FutureTask<?> future = createFutureForChildTestUnit(rc);
+  }
+
+  private void execute(final ResultCollector rc, final String test,
+      final long maxTime, final long recheckTime) {
+    final StoppableResultCollector collector = new StoppableResultCollector(rc);
+    // a cancelled future is done before its test stops running
+    final CountDownLatch finished = new CountDownLatch(1);
+    final long start = System.currentTimeMillis();
+    final Future<?> future = this.testThread.submit(createRunnable(collector,
+        finished));
     executeFutureWithTimeOut(maxTime, future, rc);
-    if (!future.isDone()) {
-      this.timeOutSideEffect.apply();
+    final boolean recheck = recheckTime > maxTime;
+    if (!future.isDone() && recheck && !this.stopTimedOutTests) {
+      // a test that cannot be stopped is given until the recheck limit
+      executeFutureWithTimeOut(recheckTime - maxTime, future, rc);
+    }
+
+    if (future.isDone()) {
+      if (collector.passed()) {
+        this.timeOutStrategy.recordDuration(test, System.currentTimeMillis()
+            - start);
+      }
+      return;
     }
 
+    if (this.stopTimedOutTests) {
+      collector.ignoreFurtherResults();
+      if (stop(future, finished)) {
+        if (recheck) {
+          execute(rc, test, recheckTime, recheckTime);
+        } else {
+          collector.reportTimeOut(child().getDescription());
+        }
+        return;
+      }
+    }
+    this.testThread.abandon();
+    this.timeOutSideEffect.apply();
+  }
+
+  private static boolean stop(final Future<?> future,
+      final CountDownLatch finished) {
+    MutantTimeout.expire();
+    future.cancel(true);
+    try {
+      if (!finished.await(STOP_WAIT, TimeUnit.MILLISECONDS)) {
+        return false;
+      }
+    } catch (final InterruptedException e) {
+      return false;
+    }
+    MutantTimeout.reset();
+    return true;
   }
 
   private void executeFutureWithTimeOut(final long maxTime,
-      final FutureTask<?> future, final ResultCollector rc) {
+      final Future<?> future, final ResultCollector rc) {
     try {
       future.get(maxTime, TimeUnit.MILLISECONDS);
     } catch (final TimeoutException ex) {
@@ -68,24 +165,85 @@ public final class MutationTimeoutDecorator extends TestUnitDecorator {
     }
   }
 
-  private FutureTask<?> createFutureForChildTestUnit(final ResultCollector rc) {
-    final FutureTask<?> future = new FutureTask<>(createRunnable(rc), null);
-    final Thread thread = new Thread(future);
-    thread.setDaemon(true);
-    thread.setName("mutationTestThread");
-    thread.start();
-    return future;
-  }
-
-  private Runnable createRunnable(final ResultCollector rc) {
+  private Runnable createRunnable(final ResultCollector rc,
+      final CountDownLatch finished) {
+    // the thread may have been started for an earlier test, so would not
+    // otherwise see the loader of this one
+    final ClassLoader loader = Thread.currentThread().getContextClassLoader();
     return () -> {
       try {
+        Thread.currentThread().setContextClassLoader(loader);
         child().execute(rc);
       } catch (final Throwable ex) {
         rc.notifyEnd(child().getDescription(), ex);
+      } finally {
+        finished.countDown();
       }
 
     };
   }
 
+  /**
+   * Passes on results until the test times out, so that whatever a stopped
+   * test reports as it unwinds can be replaced by the timeout.
+   */
+  private static class StoppableResultCollector implements ResultCollector {
+
+    private final ResultCollector child;
+    private boolean               timedOut;
+    private boolean               failed;
+
+    StoppableResultCollector(final ResultCollector child) {
+      this.child = child;
+    }
+
+    synchronized void ignoreFurtherResults() {
+      this.timedOut = true;
+    }
+
+    synchronized boolean passed() {
+      return !this.failed;
+    }
+
+    synchronized void reportTimeOut(final Description description) {
+      this.child.notifyEnd(description, new MutantTimedOutError());
+    }
+
+    @Override
+    public synchronized void notifyEnd(final Description description,
+        final Throwable t) {
+      this.failed |= t != null;
+      if (!this.timedOut) {
+        this.child.notifyEnd(description, t);
+      }
+    }
+
+    @Override
+    public synchronized void notifyEnd(final Description description) {
+      if (!this.timedOut) {
+        this.child.notifyEnd(description);
+      }
+    }
+
+    @Override
+    public synchronized void notifyStart(final Description description) {
+      if (!this.timedOut) {
+        this.child.notifyStart(description);
+      }
+    }
+
+    @Override
+    public synchronized void notifySkipped(final Description description) {
+      if (!this.timedOut) {
+        this.child.notifySkipped(description);
+      }
+    }
+
+    @Override
+    public boolean shouldExit() {
+      return this.child.shouldExit();
+    }
+
+  }
+
 }
@@ -0,0 +1,102 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.commons.ClassRemapper;
+import org.objectweb.asm.commons.Remapper;
+import org.pitest.bytecode.NullVisitor;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classinfo.ClassName;
+
+/**
+ * Finds the project classes that refer to a class, either directly or through
+ * other project classes. These are the classes that must be loaded alongside a
+ * mutant so that they link against it.
+ *
+ * The references of every project class are read the first time they are
+ * needed, and kept for the life of the minion.
+ */
+class ReferencingClasses {
+
+  private final ClassByteArraySource     source;
+  private final Collection<String>       classNames;
+
+  private Map<String, Set<String>>       referencedBy;
+
+  ReferencingClasses(final ClassByteArraySource source,
+      final Collection<String> classNames) {
+    this.source = source;
+    this.classNames = classNames;
+  }
+
+  ClassByteArraySource source() {
+    return this.source;
+  }
+
+  /**
+   * @param clazz
+   *          a project class
+   * @return the java names of the class and of every project class that
+   *         refers to it
+   */
+  Set<String> of(final ClassName clazz) {
+    final Map<String, Set<String>> index = index();
+    final Set<String> found = new HashSet<>();
+    final Deque<String> toVisit = new ArrayDeque<>();
+    toVisit.add(clazz.asJavaName());
+    while (!toVisit.isEmpty()) {
+      final String each = toVisit.remove();
+      if (found.add(each)) {
+        toVisit.addAll(index.getOrDefault(each,
+            Collections.<String> emptySet()));
+      }
+    }
+    return found;
+  }
+
+  private Map<String, Set<String>> index() {
+    if (this.referencedBy == null) {
+      this.referencedBy = new HashMap<>();
+      for (final String each : this.classNames) {
+        for (final String referenced : referencesOf(each)) {
+          this.referencedBy.computeIfAbsent(referenced, k -> new HashSet<>())
+              .add(each);
+        }
+      }
+    }
+    return this.referencedBy;
+  }
+
+  private Set<String> referencesOf(final String clazz) {
+    final Optional<byte[]> bytes = this.source.getBytes(clazz);
+    if (!bytes.isPresent()) {
+      return Collections.emptySet();
+    }
+    final Set<String> references = new HashSet<>();
+    // every type named in the class, including those only found in
+    // descriptors and signatures, passes through the remapper
+    final Remapper recorder = new Remapper() {
+      @Override
+      public String map(final String internalName) {
+        final String name = ClassName.fromString(internalName).asJavaName();
+        if (!name.equals(clazz)) {
+          references.add(name);
+        }
+        return internalName;
+      }
+    };
+    new ClassReader(bytes.get()).accept(new ClassRemapper(new NullVisitor(),
+        recorder), ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+    return references;
+  }
+
+}
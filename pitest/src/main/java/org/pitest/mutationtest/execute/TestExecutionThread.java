@@ -0,0 +1,50 @@
+package org.pitest.mutationtest.execute;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tests one at a time on a long lived daemon thread, so that a thread
+ * need not be started for every test run against every mutant.
+ *
+ * A thread left running a test that will not stop is abandoned, and a new one
+ * started for the next test. The thread exits once idle for a few seconds.
+ *
+ * A platform thread is used even where the JVM offers virtual threads. Once
+ * the thread is reused a virtual one would save nothing, and a test that
+ * blocks while holding a monitor would pin its carrier thread.
+ */
+public final class TestExecutionThread {
+
+  private static final long  IDLE_SECONDS = 5;
+
+  private ThreadPoolExecutor executor;
+
+  public synchronized Future<?> submit(final Runnable test) {
+    if (this.executor == null) {
+      this.executor = new ThreadPoolExecutor(1, 1, IDLE_SECONDS,
+          TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), r -> {
+            final Thread thread = new Thread(r);
+            thread.setDaemon(true);
+            thread.setName("mutationTestThread");
+            return thread;
+          });
+      this.executor.allowCoreThreadTimeOut(true);
+    }
+    return this.executor.submit(test);
+  }
+
+  /**
+   * Gives up on the thread running the current test. Later tests are run on a
+   * new thread.
+   */
+  public synchronized void abandon() {
+    if (this.executor != null) {
+      this.executor.shutdownNow();
+      this.executor = null;
+    }
+  }
+
+}
@@ -15,6 +15,7 @@
 
 package org.pitest.mutationtest.execute;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,13 +32,61 @@ public class TimeOutDecoratedTestSource {
   private final Map<String, TestUnit> allTests = new HashMap<>();
   private final TimeoutLengthStrategy timeoutStrategy;
   private final Reporter              r;
+  private final boolean               stopTimedOutTests;
+  private final TestExecutionThread   testThread;
 
   public TimeOutDecoratedTestSource(
       final TimeoutLengthStrategy timeoutStrategy,
       final List<TestUnit> allTests, final Reporter r) {
+    this(timeoutStrategy, allTests, r, false);
+  }
+
+  /**
+   * @param timeoutStrategy
+   *          gives the time allowed for each test
+   * @param allTests
+   *          the tests to decorate
+   * @param r
+   *          reports results to the parent process
+   * @param stopTimedOutTests
+   *          if true tests that time out are stopped, rather than the minion
+   *          exiting, whenever they can be
+   */
+  public TimeOutDecoratedTestSource(
+      final TimeoutLengthStrategy timeoutStrategy,
+      final List<TestUnit> allTests, final Reporter r,
+      final boolean stopTimedOutTests) {
+    this(timeoutStrategy, allTests, r, stopTimedOutTests,
+        new TestExecutionThread());
+  }
+
+  private TimeOutDecoratedTestSource(
+      final TimeoutLengthStrategy timeoutStrategy,
+      final List<TestUnit> allTests, final Reporter r,
+      final boolean stopTimedOutTests, final TestExecutionThread testThread) {
     this.timeoutStrategy = timeoutStrategy;
     mapTests(allTests);
     this.r = r;
+    this.stopTimedOutTests = stopTimedOutTests;
+    this.testThread = testThread;
+  }
+
+  /**
+   * Returns a source in which the supplied tests take the place of any of this
+   * source's tests with the same name. Tests are decorated in the same way as
+   * this one and run on the same thread.
+   *
+   * @param tests
+   *          tests to add or replace
+   * @return the new source
+   */
+  public TimeOutDecoratedTestSource withTests(final List<TestUnit> tests) {
+    final TimeOutDecoratedTestSource source = new TimeOutDecoratedTestSource(
+        this.timeoutStrategy, Collections.<TestUnit> emptyList(), this.r,
+        this.stopTimedOutTests, this.testThread);
+    source.allTests.putAll(this.allTests);
+    source.mapTests(tests);
+    return source;
   }
 
   private void mapTests(final List<TestUnit> tests) {
@@ -59,7 +108,9 @@ public class TimeOutDecoratedTestSource {
             .<TestUnit> of(new MutationTimeoutDecorator(tu,
                 new TimeOutSystemExitSideEffect(
                     TimeOutDecoratedTestSource.this.r),
-                    TimeOutDecoratedTestSource.this.timeoutStrategy, a.getTime()));
+                    TimeOutDecoratedTestSource.this.timeoutStrategy, a.getTime(),
+                    TimeOutDecoratedTestSource.this.stopTimedOutTests,
+                    TimeOutDecoratedTestSource.this.testThread));
       }
       return Stream.empty();
     };
@@ -0,0 +1,81 @@
+package org.pitest.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Files named after a hash of whatever determines their content, so that they
+ * can be created once in a shared directory and reused by later processes and
+ * builds.
+ */
+public final class ContentAddressedFiles {
+
+  private ContentAddressedFiles() {
+  }
+
+  /**
+   * @param content
+   *          bytes to hash
+   * @return a hex encoded SHA-256 digest of the content, suitable for use in a
+   *         file name
+   */
+  public static String hash(final byte[] content) {
+    try {
+      final byte[] digest = MessageDigest.getInstance("SHA-256").digest(
+          content);
+      final StringBuilder sb = new StringBuilder(digest.length * 2);
+      for (final byte each : digest) {
+        sb.append(String.format("%02x", each));
+      }
+      return sb.toString();
+    } catch (final NoSuchAlgorithmException ex) {
+      throw Unchecked.translateCheckedException(ex);
+    }
+  }
+
+  /**
+   * Writes the supplied content to a file unless it already exists. The
+   * content is written to a temporary file in the same directory and moved
+   * into place, so processes sharing the directory never see a partially
+   * written file.
+   *
+   * @param file
+   *          file to create
+   * @param content
+   *          bytes to write
+   * @return the file
+   * @throws IOException
+   *          if the file cannot be written
+   */
+  public static File writeIfAbsent(final File file, final byte[] content)
+      throws IOException {
+    if (file.exists()) {
+      return file;
+    }
+    final File dir = file.getAbsoluteFile().getParentFile();
+    dir.mkdirs();
+    final Path temp = Files.createTempFile(dir.toPath(), file.getName(),
+        ".tmp");
+    try {
+      Files.write(temp, content);
+      try {
+        Files.move(temp, file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+      } catch (final AtomicMoveNotSupportedException ex) {
+        Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      } catch (final FileAlreadyExistsException ex) {
+        // written by another process since checked
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+    return file;
+  }
+
+}
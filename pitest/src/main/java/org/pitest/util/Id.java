@@ -18,6 +18,7 @@ public abstract class Id {
   public static final byte DESCRIBE = 1;
   public static final byte REPORT   = 2;
   public static final byte PROBES   = 4;
+  public static final byte COMPACT_OUTCOME = 8;
   public static final byte OUTCOME  = 16;
   public static final byte CLAZZ    = 32;
   public static final byte DONE     = 64;
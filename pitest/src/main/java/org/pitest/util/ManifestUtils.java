@@ -16,16 +16,20 @@
 package org.pitest.util;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.jar.Attributes;
 import java.util.jar.JarInputStream;
 import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.zip.ZipOutputStream;
 
@@ -34,11 +38,66 @@ import java.util.zip.ZipOutputStream;
  */
 public class ManifestUtils {
 
+  // relative entries that need no escaping as URLs
+  private static final Pattern SAFE_RELATIVE_PATH = Pattern
+      .compile("[\\w./+~-]+");
+
+  public static File createClasspathJarFile(String classpath)
+      throws IOException {
+    final Manifest manifest = createClasspathManifest(classpath, null);
+
+    File jarFile = File.createTempFile("classpath", ".jar");
+    try (BufferedOutputStream out = new BufferedOutputStream(new FileOutputStream(jarFile));
+        ZipOutputStream jarPlugin = new JarOutputStream(out, manifest);
+        )  {
+      jarFile.deleteOnExit(); 
+    }
+
+    return jarFile;
+  }
+
+  /**
+   * Returns a classpath jar in the supplied directory, named after the
+   * classpath it holds. The jar is created only if no earlier process has
+   * created it, and is not deleted on exit.
+   *
+   * As the jar does not move, entries are given relative to it where
+   * possible. The JVM can then also find them when sharing class data, as it
+   * does not read entries given as URLs.
+   *
+   * @param classpath
+   *          the classpath, separated by the path separator
+   * @param cacheDir
+   *          directory in which to keep the jar
+   * @return the jar
+   * @throws IOException
+   *          if the jar cannot be written
+   */
+  public static File createClasspathJarFile(String classpath, File cacheDir)
+      throws IOException {
+    final Manifest manifest = createClasspathManifest(classpath,
+        cacheDir.getAbsoluteFile().toPath());
+    final String entries = manifest.getMainAttributes().getValue(
+        Attributes.Name.CLASS_PATH);
+    final File jarFile = new File(cacheDir, "classpath-"
+        + ContentAddressedFiles.hash(entries.getBytes(StandardCharsets.UTF_8))
+        + ".jar");
+    if (jarFile.exists()) {
+      return jarFile;
+    }
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ZipOutputStream jar = new JarOutputStream(bytes, manifest)) {
+      // manifest only
+    }
+    return ContentAddressedFiles.writeIfAbsent(jarFile, bytes.toByteArray());
+  }
+
   // Method based on
   // https://github.com/JetBrains/intellij-community/blob/master/java/java-runtime/src/com/intellij/rt/execution/testFrameworks/ForkedByModuleSplitter.java
   // JetBrains copyright notice and licence retained above.
-  public static File createClasspathJarFile(String classpath)
-      throws IOException {
+  private static Manifest createClasspathManifest(String classpath,
+      Path relativeTo) throws IOException {
     final Manifest manifest = new Manifest();
     final Attributes attributes = manifest.getMainAttributes();
     attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
@@ -54,19 +113,27 @@ public class ManifestUtils {
         classpathForManifest += " ";
       }
 
-      classpathForManifest += new File(path).toURI().toURL().toString();
+      classpathForManifest += entry(new File(path), relativeTo);
       idx = endIdx + File.pathSeparator.length();
     }
     attributes.put(Attributes.Name.CLASS_PATH, classpathForManifest);
+    return manifest;
+  }
 
-    File jarFile = File.createTempFile("classpath", ".jar");
-    try (BufferedOutputStream out = new BufferedOutputStream(new FileOutputStream(jarFile));
-        ZipOutputStream jarPlugin = new JarOutputStream(out, manifest);
-        )  {
-      jarFile.deleteOnExit(); 
+  private static String entry(File file, Path relativeTo) throws IOException {
+    if (relativeTo != null) {
+      try {
+        final String relative = relativeTo.relativize(
+            file.getAbsoluteFile().toPath().normalize()).toString()
+            .replace('\\', '/');
+        if (SAFE_RELATIVE_PATH.matcher(relative).matches()) {
+          return file.isDirectory() ? relative + "/" : relative;
+        }
+      } catch (final IllegalArgumentException ex) {
+        // on a different root
+      }
     }
-
-    return jarFile;
+    return file.toURI().toURL().toString();
   }
   
   public static Collection<File> readClasspathManifest(File file) {
@@ -75,13 +142,21 @@ public class ManifestUtils {
       Manifest mf = jarStream.getManifest();
       Attributes att = mf.getMainAttributes();
       String cp = att.getValue(Attributes.Name.CLASS_PATH);
-      String[] parts = cp.split("file:");
+      String[] parts = cp.split(" ");
       return Arrays.stream(parts)
           .filter(part -> !part.isEmpty())
-          .map(part -> new File(part.trim()))
+          .map(part -> toFile(file, part))
           .collect(Collectors.toList());      
     } catch (IOException ex) {
       throw new RuntimeException("Could not read classpath jar manifest", ex);
     }
   }
+
+  private static File toFile(File jar, String entry) {
+    if (entry.startsWith("file:")) {
+      return new File(entry.substring("file:".length()));
+    }
+    return jar.getAbsoluteFile().getParentFile().toPath().resolve(entry)
+        .normalize().toFile();
+  }
 }
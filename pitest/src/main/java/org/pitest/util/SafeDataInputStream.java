@@ -98,6 +98,22 @@ public class SafeDataInputStream {
     }
   }
 
+  public int readVarInt() {
+    try {
+      int value = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = this.dis.readByte();
+        value |= (b & 0x7F) << shift;
+        shift += 7;
+      } while ((b & 0x80) != 0);
+      return value;
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
   private Object deserialize(byte[] bytes) throws IOException {
     final ByteArrayInputStream bis = new ByteArrayInputStream(bytes);
     ObjectInput in = null;
@@ -105,6 +105,45 @@ public class SafeDataOutputStream {
     }
   }
 
+  /**
+   * Writes a non negative int using between one and five bytes, seven bits
+   * at a time, least significant group first.
+   *
+   * @param value
+   *          the value to write
+   */
+  public void writeVarInt(final int value) {
+    try {
+      int remaining = value;
+      while ((remaining & ~0x7F) != 0) {
+        this.dos.writeByte((remaining & 0x7F) | 0x80);
+        remaining >>>= 7;
+      }
+      this.dos.writeByte(remaining);
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
+  /**
+   * Writes bytes without a length prefix. The reader must know how many
+   * bytes to expect.
+   *
+   * @param data
+   *          the bytes to write from
+   * @param offset
+   *          index of the first byte to write
+   * @param length
+   *          number of bytes to write
+   */
+  public void writeRaw(final byte[] data, final int offset, final int length) {
+    try {
+      this.dos.write(data, offset, length);
+    } catch (final IOException e) {
+      throw Unchecked.translateCheckedException(e);
+    }
+  }
+
   private byte[] toByteArray(Serializable value) throws IOException {
     try (ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
       final ObjectOutput out = new ObjectOutputStream(bos);
@@ -0,0 +1,18 @@
+package sun.pitest;
+
+/**
+ * Selects which of the mutants compiled into a mutant schema is active. Schema
+ * classes read the id on entry to each mutated method and run the original
+ * code when it does not match one of their mutants.
+ */
+public final class ActiveMutant {
+
+  public static final int NONE = 0;
+
+  // written between tests, so needs no synchronization
+  public static int       id   = NONE;
+
+  private ActiveMutant() {
+  }
+
+}
@@ -23,9 +23,6 @@ package sun.pitest;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.pitest.coverage.analysis.Block;
 
@@ -42,6 +39,7 @@ public final class CodeCoverageStore {
                                                                          '.',
                                                                          '/');
   public static final String                   PROBE_METHOD_NAME = "visitProbes";
+  public static final String                   CLASS_HIT_METHOD_NAME = "classHit";
 
   private static InvokeReceiver                invokeQueue;
   private static int                           classId           = 0;
@@ -55,7 +53,16 @@ public final class CodeCoverageStore {
   // both AtomicInteger array with bit per flag and integer per flag.
   // optimisation with other methods of ensuring a happens before not yet
   // investigated
-  private static final Map<Integer, boolean[]> CLASS_HITS        = new ConcurrentHashMap<>();
+  //
+  // Class ids are allocated sequentially from 0, so the arrays are held in a
+  // dense table indexed by class id. The table only grows, under the class
+  // lock.
+  private static boolean[][]                   classHits         = new boolean[256][];
+
+  // ids of the classes hit since the last reset, so reset and extraction do
+  // not need to scan every class that has been loaded
+  private static int[]                         touchedClasses    = new int[64];
+  private static int                           touchedCount      = 0;
 
   public static void init(final InvokeReceiver invokeQueue) {
     CodeCoverageStore.invokeQueue = invokeQueue;
@@ -64,27 +71,62 @@ public final class CodeCoverageStore {
   private CodeCoverageStore() {
   }
 
+  /**
+   * Called by instrumented code on entry to every method. Only the first call
+   * for each class after a reset takes the lock.
+   *
+   * @param probes
+   *          the probe array of the class
+   * @param classId
+   *          id of the class
+   */
+  public static void classHit(final boolean[] probes, final int classId) {
+    if (!probes[CLASS_HIT_INDEX]) {
+      recordClassHit(classId);
+    }
+  }
+
+  private static synchronized void recordClassHit(final int classId) {
+    final boolean[] probes = classHits[classId];
+    if (probes[CLASS_HIT_INDEX]) {
+      return;
+    }
+    probes[CLASS_HIT_INDEX] = true;
+    if (touchedCount == touchedClasses.length) {
+      touchedClasses = Arrays.copyOf(touchedClasses, touchedCount * 2);
+    }
+    touchedClasses[touchedCount] = classId;
+    touchedCount++;
+  }
+
   public static synchronized void reset() {
-    for (final Entry<Integer, boolean[]> each : CLASS_HITS.entrySet()) {
-      if (each.getValue()[0]) { //Probe 0 gets covered by any method that runs
-        Arrays.fill(each.getValue(), false);
-      }
+    for (int i = 0; i != touchedCount; i++) {
+      Arrays.fill(classHits[touchedClasses[i]], false);
+    }
+    touchedCount = 0;
+  }
+
+  /**
+   * Passes each class hit since the last reset to the supplied visitor.
+   *
+   * @param visitor
+   *          visitor to receive the probes of each class
+   */
+  public static synchronized void visitHits(final ProbeHitVisitor visitor) {
+    for (int i = 0; i != touchedCount; i++) {
+      final int id = touchedClasses[i];
+      visitor.visitClass(id, classHits[id]);
     }
   }
 
   public static synchronized Collection<Long> getHits() {
     final Collection<Long> blockHits = new ArrayList<>();
-    for (final Entry<Integer, boolean[]> each : CLASS_HITS.entrySet()) {
-      final boolean[] bs = each.getValue();
-      // first entry tracks if class has been visited at all
-      if (!bs[CLASS_HIT_INDEX]) {
-        continue;
-      }
-      final int classId = each.getKey();
-      // final int[] mapping = classProbeToBlockMapping.get(classId);
+    for (int i = 0; i != touchedCount; i++) {
+      final int id = touchedClasses[i];
+      final boolean[] bs = classHits[id];
       for (int probeId = 1; probeId != bs.length; probeId++) {
         if (bs[probeId]) {
-          blockHits.add(encode(classId, probeId));
+          blockHits.add(encode(id, probeId));
         }
       }
     }
@@ -120,12 +162,13 @@ public final class CodeCoverageStore {
     return ((long) classId << 32) | line;
   }
 
-  public static boolean[] getOrRegisterClassProbes(final int classId,
-      int probeCount) {
-    boolean[] ret = CLASS_HITS.putIfAbsent(classId, new boolean[probeCount + 1]);
-    if (ret == null) {
-      return CLASS_HITS.get(classId);
+  public static synchronized boolean[] getOrRegisterClassProbes(
+      final int classId, final int probeCount) {
+    if (classId >= classHits.length) {
+      classHits = Arrays.copyOf(classHits,
+          Math.max(classHits.length * 2, classId + 1));
     }
+    final boolean[] existing = classHits[classId];
     /*
     It's possible that some other java agent has transformed this class, which has
     resulted in it getting more blocks. It seems like our intended behavior is to
@@ -134,21 +177,21 @@ public final class CodeCoverageStore {
     and it's possible that we have already instrumented the class, causing its
     coverage array to get set up at the wrong size.
      */
-    if (ret.length < probeCount + 1) {
-      synchronized (CLASS_HITS) {
-        ret = CLASS_HITS.get(classId);
-        if (ret.length < probeCount + 1) {
-          ret = new boolean[probeCount + 1];
-          CLASS_HITS.put(classId, ret);
-          return ret;
-        }
+    if (existing == null || existing.length < probeCount + 1) {
+      final boolean[] probes = new boolean[probeCount + 1];
+      if (existing != null && existing[CLASS_HIT_INDEX]) {
+        // class is already in the touched list
+        probes[CLASS_HIT_INDEX] = true;
       }
+      classHits[classId] = probes;
+      return probes;
     }
-    return ret;
+    return existing;
   }
 
-  public static void resetAllStaticState() {
-    CLASS_HITS.clear();
+  public static synchronized void resetAllStaticState() {
+    Arrays.fill(classHits, null);
+    touchedCount = 0;
   }
 
 }
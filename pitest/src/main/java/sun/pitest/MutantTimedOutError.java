@@ -0,0 +1,16 @@
+package sun.pitest;
+
+/**
+ * Thrown from mutated code once the test running it has timed out. Extends
+ * Error so that it is not swallowed by code catching exceptions.
+ */
+public final class MutantTimedOutError extends Error {
+
+  private static final long serialVersionUID = 1L;
+
+  public MutantTimedOutError() {
+    // thrown on every check once expired, so skip the stack trace
+    super("Mutant timed out", null, false, false);
+  }
+
+}
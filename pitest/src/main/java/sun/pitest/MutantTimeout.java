@@ -0,0 +1,30 @@
+package sun.pitest;
+
+/**
+ * Lets a minion stop a test that has run past its time limit without exiting.
+ * Mutated methods may call {@link #check()} on entry and before each backwards
+ * jump, so that a mutant stuck in a loop gives up once the limit is reached.
+ */
+public final class MutantTimeout {
+
+  // set by the thread timing the test, read by the thread running it
+  private static volatile boolean expired;
+
+  private MutantTimeout() {
+  }
+
+  public static void check() {
+    if (expired) {
+      throw new MutantTimedOutError();
+    }
+  }
+
+  public static void expire() {
+    expired = true;
+  }
+
+  public static void reset() {
+    expired = false;
+  }
+
+}
@@ -0,0 +1,19 @@
+package sun.pitest;
+
+/**
+ * Receives the probe arrays of classes hit since the coverage store was last
+ * reset.
+ */
+public interface ProbeHitVisitor {
+
+  /**
+   * @param classId
+   *          id of the class that was hit
+   * @param probes
+   *          probe array for the class. Slot 0 records that the class was hit,
+   *          the remaining slots the blocks. The array is live and must not be
+   *          modified or retained.
+   */
+  void visitClass(int classId, boolean[] probes);
+
+}
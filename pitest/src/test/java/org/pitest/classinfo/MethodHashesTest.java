@@ -0,0 +1,91 @@
+package org.pitest.classinfo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.pitest.coverage.codeassist.ClassUtils;
+
+public class MethodHashesTest {
+
+  @Test
+  public void shouldHashEachMethodExceptStaticInitializer() {
+    final MethodHashes actual = hashes(1, 1, "I");
+    assertThat(actual.getMethodHashes()).containsOnlyKeys("a()I", "b()I");
+  }
+
+  @Test
+  public void shouldIgnoreLineNumbers() {
+    assertThat(hashes(1, 1, "I")).isEqualTo(hashes(20, 1, "I"));
+  }
+
+  @Test
+  public void shouldChangeHashOfChangedMethodOnly() {
+    final MethodHashes before = hashes(1, 1, "I");
+    final MethodHashes after = hashes(1, 2, "I");
+    assertThat(after.isUnchangedSince(before, "a", "()I")).isTrue();
+    assertThat(after.isUnchangedSince(before, "b", "()I")).isFalse();
+  }
+
+  @Test
+  public void shouldTreatAllMethodsAsChangedWhenFieldsChange() {
+    final MethodHashes before = hashes(1, 1, "I");
+    final MethodHashes after = hashes(1, 1, "J");
+    assertThat(after.getMethodHashes()).isEqualTo(before.getMethodHashes());
+    assertThat(after.isUnchangedSince(before, "a", "()I")).isFalse();
+  }
+
+  @Test
+  public void shouldTreatUnknownMethodsAsChanged() {
+    final MethodHashes hashes = hashes(1, 1, "I");
+    assertThat(hashes.isUnchangedSince(hashes, "c", "()I")).isFalse();
+  }
+
+  @Test
+  public void shouldHashCompiledClasses() throws Exception {
+    final byte[] bytes = ClassUtils.classAsBytes(MethodHashesTest.class);
+    assertThat(MethodHashes.fromClassBytes(bytes).getMethodHashes())
+        .containsKey("shouldHashCompiledClasses()V");
+  }
+
+  private static MethodHashes hashes(final int line, final int constant,
+      final String fieldType) {
+    final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+    cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, "Foo", null,
+        "java/lang/Object", null);
+    cw.visitField(Opcodes.ACC_PRIVATE, "f", fieldType, null, null).visitEnd();
+
+    final MethodVisitor a = cw.visitMethod(Opcodes.ACC_PUBLIC, "a", "()I",
+        null, null);
+    a.visitCode();
+    final Label start = new Label();
+    a.visitLabel(start);
+    a.visitLineNumber(line, start);
+    a.visitInsn(Opcodes.ICONST_1);
+    a.visitInsn(Opcodes.IRETURN);
+    a.visitMaxs(0, 0);
+    a.visitEnd();
+
+    final MethodVisitor b = cw.visitMethod(Opcodes.ACC_PUBLIC, "b", "()I",
+        null, null);
+    b.visitCode();
+    b.visitLdcInsn(constant);
+    b.visitInsn(Opcodes.IRETURN);
+    b.visitMaxs(0, 0);
+    b.visitEnd();
+
+    final MethodVisitor clinit = cw.visitMethod(Opcodes.ACC_STATIC,
+        "<clinit>", "()V", null, null);
+    clinit.visitCode();
+    clinit.visitInsn(Opcodes.RETURN);
+    clinit.visitMaxs(0, 0);
+    clinit.visitEnd();
+
+    cw.visitEnd();
+    return MethodHashes.fromClassBytes(cw.toByteArray());
+  }
+
+}
@@ -0,0 +1,57 @@
+package org.pitest.mutationtest.build;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class AdaptiveTimeoutStrategyTest {
+
+  private final AdaptiveTimeoutStrategy testee = new AdaptiveTimeoutStrategy(
+      2f, 100);
+
+  @Test
+  public void shouldUseNormalDurationUntilEnoughDurationsRecorded() {
+    record("foo", AdaptiveTimeoutStrategy.MIN_SAMPLES - 1, 1000);
+    assertThat(this.testee.getAllowedTime("foo", 10)).isEqualTo(120);
+  }
+
+  @Test
+  public void shouldUsePercentileOfRecordedDurationsOnceEnoughRecorded() {
+    record("foo", AdaptiveTimeoutStrategy.MIN_SAMPLES - 1, 20);
+    this.testee.recordDuration("foo", 50);
+    assertThat(this.testee.getAllowedTime("foo", 10)).isEqualTo(200);
+  }
+
+  @Test
+  public void shouldTrackDurationsOfEachTestSeparately() {
+    record("foo", AdaptiveTimeoutStrategy.MIN_SAMPLES, 1000);
+    assertThat(this.testee.getAllowedTime("bar", 10)).isEqualTo(120);
+  }
+
+  @Test
+  public void shouldOnlyConsiderMostRecentDurations() {
+    record("foo", AdaptiveTimeoutStrategy.MAX_SAMPLES, 1000);
+    record("foo", AdaptiveTimeoutStrategy.MAX_SAMPLES, 20);
+    assertThat(this.testee.getAllowedTime("foo", 10)).isEqualTo(140);
+  }
+
+  @Test
+  public void shouldAllowMoreTimeWhenRechecking() {
+    assertThat(this.testee.getRecheckTime("foo", 10)).isEqualTo(140);
+    record("foo", AdaptiveTimeoutStrategy.MIN_SAMPLES, 20);
+    assertThat(this.testee.getRecheckTime("foo", 10)).isEqualTo(180);
+  }
+
+  @Test
+  public void shouldApplyFactorAndConstantToNormalDuration() {
+    assertThat(this.testee.getAllowedTime(10)).isEqualTo(120);
+  }
+
+  private void record(final String test, final int times,
+      final long duration) {
+    for (int i = 0; i != times; i++) {
+      this.testee.recordDuration(test, duration);
+    }
+  }
+
+}
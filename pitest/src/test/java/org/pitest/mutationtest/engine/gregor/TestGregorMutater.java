@@ -19,12 +19,24 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 
 import org.junit.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassPathByteArraySource;
 import org.pitest.functional.FCollection;
+import org.pitest.mutationtest.engine.Mutant;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.gregor.config.Mutator;
 import org.pitest.mutationtest.engine.gregor.mutators.IncrementsMutator;
@@ -33,6 +45,9 @@ import org.pitest.mutationtest.engine.gregor.mutators.MathMutator;
 import org.pitest.mutationtest.engine.gregor.mutators.ReturnValsMutator;
 import org.pitest.util.ResourceFolderByteArraySource;
 
+import sun.pitest.MutantTimedOutError;
+import sun.pitest.MutantTimeout;
+
 public class TestGregorMutater extends MutatorTestBase {
 
   public static class HasMultipleMutations {
@@ -349,6 +364,166 @@ public class TestGregorMutater extends MutatorTestBase {
   }
 
 
+  public static class HasMathInTwoMethods implements Callable<String> {
+    @Override
+    public String call() {
+      return add(2, 3) + "," + subtract(5, 3);
+    }
+
+    int add(final int a, final int b) {
+      return a + b;
+    }
+
+    int subtract(final int a, final int b) {
+      return a - b;
+    }
+  }
+
+  @Test
+  public void shouldCreateMutantsInBatchInOrderRequested() {
+    createTesteeWith(MathMutator.MATH_MUTATOR);
+    final List<MutationDetails> details = new ArrayList<>(
+        findMutationsFor(HasMathInTwoMethods.class));
+    details.addAll(findMutationsFor(HasMultipleMutations.class));
+    Collections.reverse(details);
+
+    final List<Mutant> actual = this.engine.getMutations(FCollection.map(
+        details, MutationDetails::getId));
+
+    assertThat(FCollection.map(actual, Mutant::getDetails))
+        .isEqualTo(details);
+  }
+
+  @Test
+  public void shouldCreateSameMutantsInBatchAsIndividually() throws Exception {
+    createTesteeWith(MathMutator.MATH_MUTATOR);
+    final List<MutationDetails> details = findMutationsFor(
+        HasMathInTwoMethods.class);
+
+    final List<Mutant> actual = this.engine.getMutations(FCollection.map(
+        details, MutationDetails::getId));
+
+    assertThat(actual).hasSize(2);
+    for (int i = 0; i != details.size(); i++) {
+      assertThat(actual.get(i).getBytes()).isEqualTo(
+          this.engine.getMutation(details.get(i).getId()).getBytes());
+    }
+    assertMutantCallableReturns(new HasMathInTwoMethods(), actual.get(0),
+        "-1,2");
+    assertMutantCallableReturns(new HasMathInTwoMethods(), actual.get(1),
+        "5,8");
+  }
+
+  @Test
+  public void shouldCopyMethodsOtherThanMutatedMethodUnchanged() {
+    createTesteeWith(MathMutator.MATH_MUTATOR);
+    final Mutant mutant = getFirstMutant(HasMathInTwoMethods.class);
+
+    final ClassNode original = readClass(ClassName.fromClass(
+        HasMathInTwoMethods.class).asJavaName());
+    final ClassNode mutated = new ClassNode();
+    new ClassReader(mutant.getBytes()).accept(mutated, 0);
+
+    assertThat(opcodesOf(mutated, "subtract"))
+        .isEqualTo(opcodesOf(original, "subtract"));
+    assertThat(opcodesOf(mutated, "add"))
+        .isNotEqualTo(opcodesOf(original, "add"));
+  }
+
+  public static class HasLoop implements Callable<String> {
+    @Override
+    public String call() {
+      long i = 0;
+      while (i < 10) {
+        i = i + 1;
+      }
+      return "" + i;
+    }
+  }
+
+  @Test
+  public void shouldStopMutantsInLoopsOnceTimedOutWhenTimeoutChecksAdded()
+      throws Exception {
+    this.engine = new GregorMutater(new ClassPathByteArraySource(),
+        mutateOnlyCallMethod(), Collections
+            .<MethodMutatorFactory> singletonList(MathMutator.MATH_MUTATOR),
+        true);
+    // counts down forever
+    final Mutant mutant = getFirstMutant(HasLoop.class);
+
+    final AtomicReference<Throwable> thrown = new AtomicReference<>();
+    final Thread t = new Thread(() -> {
+      try {
+        callInOwnLoader(HasLoop.class, mutant.getBytes());
+      } catch (final Throwable ex) {
+        thrown.set(ex);
+      }
+    });
+    try {
+      t.start();
+      Thread.sleep(50);
+      MutantTimeout.expire();
+      t.join(5000);
+    } finally {
+      MutantTimeout.reset();
+    }
+
+    assertFalse(t.isAlive());
+    assertThat(thrown.get()).isInstanceOf(MutantTimedOutError.class);
+  }
+
+  @Test
+  public void shouldNotAddTimeoutChecksByDefault() {
+    createTesteeWith(MathMutator.MATH_MUTATOR);
+    final Mutant mutant = getFirstMutant(HasMathInTwoMethods.class);
+    final ClassNode mutated = new ClassNode();
+    new ClassReader(mutant.getBytes()).accept(mutated, 0);
+    assertThat(opcodesOf(mutated, "add")).doesNotContain(Opcodes.INVOKESTATIC);
+  }
+
+  // loads only the mutant afresh, so that it shares MutantTimeout with the test
+  @SuppressWarnings("unchecked")
+  private static String callInOwnLoader(final Class<?> clazz,
+      final byte[] bytes) throws Exception {
+    final ClassLoader loader = new ClassLoader(
+        TestGregorMutater.class.getClassLoader()) {
+      @Override
+      protected Class<?> loadClass(final String name, final boolean resolve)
+          throws ClassNotFoundException {
+        if (name.equals(clazz.getName())) {
+          synchronized (getClassLoadingLock(name)) {
+            final Class<?> loaded = findLoadedClass(name);
+            return loaded != null ? loaded
+                : defineClass(name, bytes, 0, bytes.length);
+          }
+        }
+        return super.loadClass(name, resolve);
+      }
+    };
+    return ((Callable<String>) loader.loadClass(clazz.getName()).newInstance())
+        .call();
+  }
+
+  private static ClassNode readClass(final String name) {
+    final ClassNode node = new ClassNode();
+    new ClassReader(new ClassPathByteArraySource().getBytes(name).get())
+        .accept(node, 0);
+    return node;
+  }
+
+  private static List<Integer> opcodesOf(final ClassNode clazz,
+      final String method) {
+    final List<Integer> opcodes = new ArrayList<>();
+    for (final MethodNode each : clazz.methods) {
+      if (each.name.equals(method)) {
+        for (final AbstractInsnNode insn : each.instructions.toArray()) {
+          opcodes.add(insn.getOpcode());
+        }
+      }
+    }
+    return opcodes;
+  }
+
   private static Predicate<MutationDetails> isInFinallyBlock() {
     return a -> a.isInFinallyBlock();
   }
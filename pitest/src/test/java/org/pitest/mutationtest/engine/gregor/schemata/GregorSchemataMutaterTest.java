@@ -0,0 +1,143 @@
+package org.pitest.mutationtest.engine.gregor.schemata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassPathByteArraySource;
+import org.pitest.mutationtest.engine.MutationDetails;
+import org.pitest.mutationtest.engine.gregor.GregorMutater;
+import org.pitest.mutationtest.engine.gregor.MethodMutatorFactory;
+import org.pitest.mutationtest.engine.gregor.mutators.MathMutator;
+
+import sun.pitest.ActiveMutant;
+
+public class GregorSchemataMutaterTest {
+
+  private GregorMutater         gregor;
+  private GregorSchemataMutater testee;
+
+  @Before
+  public void setUp() {
+    final ClassPathByteArraySource source = new ClassPathByteArraySource();
+    this.gregor = new GregorMutater(source, i -> true,
+        Collections.<MethodMutatorFactory> singletonList(
+            MathMutator.MATH_MUTATOR));
+    this.testee = new GregorSchemataMutater(this.gregor, source);
+  }
+
+  @After
+  public void resetActiveMutant() {
+    ActiveMutant.id = ActiveMutant.NONE;
+  }
+
+  public static class HasMathInTwoMethods implements Callable<String> {
+    @Override
+    public String call() {
+      return add(2, 3) + "," + subtract(5, 3);
+    }
+
+    int add(final int a, final int b) {
+      return a + b;
+    }
+
+    int subtract(final int a, final int b) {
+      return a - b;
+    }
+  }
+
+  public static class HasMathInConstructor implements Callable<String> {
+    private final int value;
+
+    public HasMathInConstructor() {
+      this.value = 2 + Integer.parseInt("3");
+    }
+
+    @Override
+    public String call() {
+      return "" + this.value;
+    }
+  }
+
+  @Test
+  public void shouldRunOriginalCodeWhenNoMutantActive() throws Exception {
+    final List<MutationDetails> mutations = findMutationsFor(
+        HasMathInTwoMethods.class);
+    final byte[] schema = this.testee.getSchema(mutations.get(0).getId())
+        .get();
+    assertThat(callIn(HasMathInTwoMethods.class, schema)).isEqualTo("5,2");
+  }
+
+  @Test
+  public void shouldBehaveAsEachMutantWhenActivated() throws Exception {
+    final List<MutationDetails> mutations = findMutationsFor(
+        HasMathInTwoMethods.class);
+    assertThat(mutations).hasSize(2);
+
+    for (final MutationDetails each : mutations) {
+      final byte[] schema = this.testee.getSchema(each.getId()).get();
+      this.testee.activate(each.getId());
+      final String expected = callIn(HasMathInTwoMethods.class,
+          this.gregor.getMutation(each.getId()).getBytes());
+      assertThat(expected).isNotEqualTo("5,2");
+      assertThat(callIn(HasMathInTwoMethods.class, schema)).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void shouldSupplySameSchemaForAllMutantsInClass() {
+    final List<MutationDetails> mutations = findMutationsFor(
+        HasMathInTwoMethods.class);
+    assertThat(this.testee.getSchema(mutations.get(0).getId()).get())
+        .isSameAs(this.testee.getSchema(mutations.get(1).getId()).get());
+  }
+
+  @Test
+  public void shouldNotIncludeMutantsInConstructorsInSchema() {
+    final List<MutationDetails> mutations = findMutationsFor(
+        HasMathInConstructor.class);
+    assertThat(mutations).isNotEmpty();
+    assertThat(this.testee.getSchema(mutations.get(0).getId())).isEmpty();
+  }
+
+  @Test
+  public void shouldCreateSameMutantsAsGregor() {
+    final MutationDetails mutation = findMutationsFor(
+        HasMathInTwoMethods.class).get(0);
+    assertThat(this.testee.getMutation(mutation.getId()).getBytes())
+        .isEqualTo(this.gregor.getMutation(mutation.getId()).getBytes());
+  }
+
+  private List<MutationDetails> findMutationsFor(final Class<?> clazz) {
+    return this.testee.findMutations(ClassName.fromClass(clazz));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static String callIn(final Class<?> clazz, final byte[] bytes)
+      throws Exception {
+    final ClassLoader loader = new ClassLoader(
+        GregorSchemataMutaterTest.class.getClassLoader()) {
+      @Override
+      protected Class<?> loadClass(final String name, final boolean resolve)
+          throws ClassNotFoundException {
+        if (name.equals(clazz.getName())) {
+          synchronized (getClassLoadingLock(name)) {
+            final Class<?> loaded = findLoadedClass(name);
+            return loaded != null ? loaded
+                : defineClass(name, bytes, 0, bytes.length);
+          }
+        }
+        return super.loadClass(name, resolve);
+      }
+    };
+    return ((Callable<String>) loader.loadClass(clazz.getName()).newInstance())
+        .call();
+  }
+
+}
@@ -24,6 +24,8 @@ import org.pitest.mutationtest.DetectionStatus;
 import org.pitest.testapi.Description;
 import org.pitest.testapi.TestResult;
 
+import sun.pitest.MutantTimedOutError;
+
 public class CheckTestHasFailedResultListenerTest {
 
   private CheckTestHasFailedResultListener testee;
@@ -49,6 +51,15 @@ public class CheckTestHasFailedResultListenerTest {
     assertEquals(DetectionStatus.KILLED, this.testee.status());
   }
 
+  @Test
+  public void shouldReturnDetectionStatusOfTimedOutWhenTestStoppedByTimeout() {
+    this.testee = new CheckTestHasFailedResultListener(false);
+    this.testee.onTestFailure(new TestResult(this.description,
+        new MutantTimedOutError()));
+    assertEquals(DetectionStatus.TIMED_OUT, this.testee.status());
+    assertThat(this.testee.getFailingTests()).isEmpty();
+  }
+
   @Test
   public void shouldRecordDescriptionOfLastFailingTest() {
     this.testee = new CheckTestHasFailedResultListener(false);
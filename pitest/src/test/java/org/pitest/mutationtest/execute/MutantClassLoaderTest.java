@@ -0,0 +1,91 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.util.IsolationUtils;
+
+import com.example.BeforeAfterClassTest;
+import com.example.CoveredByABeforeAfterClass;
+import com.example.JUnitThreeTest;
+
+public class MutantClassLoaderTest {
+
+  private final ClassLoader          parent = IsolationUtils
+      .getContextClassLoader();
+  private final ClassByteArraySource source = new ClassloaderByteArraySource(
+      this.parent);
+
+  // stands in for the project's own code, found in directories on the
+  // classpath, while junit comes from a jar
+  private final ClassByteArraySource projectClasses = name -> name
+      .startsWith("com.example.") ? this.source.getBytes(name)
+          : Optional.<byte[]> empty();
+
+  private MutantClassLoader          testee;
+
+  private final ReferencingClasses   referencingClasses = new ReferencingClasses(
+      this.projectClasses, Arrays.asList(
+          CoveredByABeforeAfterClass.class.getName(),
+          BeforeAfterClassTest.class.getName(), JUnitThreeTest.class.getName()));
+
+  @Before
+  public void setUp() {
+    final ClassName mutantName = ClassName
+        .fromClass(CoveredByABeforeAfterClass.class);
+    final byte[] mutant = this.source.getBytes(mutantName.asJavaName()).get();
+    this.testee = new MutantClassLoader(this.parent, this.projectClasses,
+        this.referencingClasses.of(mutantName), mutantName, mutant);
+  }
+
+  @Test
+  public void shouldDefineMutantInOwnLoader() throws Exception {
+    final Class<?> actual = this.testee
+        .loadClass(CoveredByABeforeAfterClass.class.getName());
+    assertThat(actual).isNotSameAs(CoveredByABeforeAfterClass.class);
+    assertThat(actual.getClassLoader()).isSameAs(this.testee);
+  }
+
+  @Test
+  public void shouldLoadProjectClassesAfreshSoTheyLinkAgainstMutant()
+      throws Exception {
+    final Class<?> test = this.testee
+        .loadClass(BeforeAfterClassTest.class.getName());
+    assertThat(test.getClassLoader()).isSameAs(this.testee);
+    assertThat(this.testee.loadClass(CoveredByABeforeAfterClass.class.getName()))
+        .isSameAs(this.testee.loadClass(CoveredByABeforeAfterClass.class.getName()));
+  }
+
+  @Test
+  public void shouldShareProjectClassesThatDoNotReferToMutant()
+      throws Exception {
+    assertThat(this.testee.loadClass(JUnitThreeTest.class.getName()))
+        .isSameAs(JUnitThreeTest.class);
+  }
+
+  @Test
+  public void shouldShareLibraryAndJdkClassesWithParent() throws Exception {
+    assertThat(this.testee.loadClass(Test.class.getName()))
+        .isSameAs(Test.class);
+    assertThat(this.testee.loadClass(String.class.getName()))
+        .isSameAs(String.class);
+  }
+
+  @Test
+  public void shouldSharePitestClassesWithParent() throws Exception {
+    final MutantClassLoader testee = new MutantClassLoader(this.parent,
+        this.source, Collections.singleton(MutationTestWorker.class.getName()),
+        ClassName.fromClass(CoveredByABeforeAfterClass.class), new byte[0]);
+    assertThat(testee.loadClass(MutationTestWorker.class.getName()))
+        .isSameAs(MutationTestWorker.class);
+  }
+
+}
@@ -1,6 +1,11 @@
 package org.pitest.mutationtest.execute;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pitest.mutationtest.LocationMother.aLocation;
@@ -12,6 +17,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.Before;
 import org.junit.Ignore;
@@ -26,14 +32,19 @@ import org.pitest.mutationtest.engine.Mutant;
 import org.pitest.mutationtest.engine.Mutater;
 import org.pitest.mutationtest.engine.MutationDetails;
 import org.pitest.mutationtest.engine.MutationIdentifier;
+import org.pitest.mutationtest.engine.SchemataMutater;
 import org.pitest.testapi.Description;
 import org.pitest.testapi.ResultCollector;
 import org.pitest.testapi.TestUnit;
 
 import junit.framework.AssertionFailedError;
+import sun.pitest.ActiveMutant;
 
 public class MutationTestWorkerTest {
 
+  private static final byte[] SCHEMA     = new byte[] { 1 };
+  private static final byte[] STANDALONE = new byte[] { 2 };
+
   private MutationTestWorker                          testee;
 
   @Mock
@@ -128,6 +139,83 @@ public class MutationTestWorkerTest {
             .getDescription().getName()));
   }
 
+  @Test
+  public void shouldLoadMutantOnItsOwnWhenSchemaNotViable() throws IOException {
+    final SchemataMutater schemata = mock(SchemataMutater.class);
+    this.testee = new MutationTestWorker(this.hotswapper, schemata,
+        this.loader, false);
+    final MutationDetails mutantOne = makeSchemaMutant(schemata, 1);
+    final MutationDetails mutantTwo = makeSchemaMutant(schemata, 2);
+    when(this.testSource.translateTests(any(List.class))).thenReturn(
+        Collections.singletonList(makePassingTest()));
+    when(
+        this.hotswapper.apply(any(ClassName.class), any(ClassLoader.class),
+            eq(SCHEMA))).thenReturn(false);
+    when(
+        this.hotswapper.apply(any(ClassName.class), any(ClassLoader.class),
+            eq(STANDALONE))).thenReturn(true);
+
+    this.testee.run(Arrays.asList(mutantOne, mutantTwo), this.reporter,
+        this.testSource);
+
+    final MutationStatusTestPair survived = new MutationStatusTestPair(1,
+        DetectionStatus.SURVIVED, new ArrayList<>(), new ArrayList<>());
+    verify(this.reporter).report(mutantOne.getId(), survived);
+    verify(this.reporter).report(mutantTwo.getId(), survived);
+    verify(schemata, never()).activate(any(MutationIdentifier.class));
+  }
+
+  @Test
+  public void shouldDeactivateSchemaMutantOnceTested() throws IOException {
+    final SchemataMutater schemata = mock(SchemataMutater.class);
+    this.testee = new MutationTestWorker(this.hotswapper, schemata,
+        this.loader, false);
+    final MutationDetails mutantOne = makeSchemaMutant(schemata, 1);
+    doAnswer(invocation -> {
+      ActiveMutant.id = 1;
+      return null;
+    }).when(schemata).activate(mutantOne.getId());
+    final List<Integer> activeDuringTest = new ArrayList<>();
+    when(this.testSource.translateTests(any(List.class))).thenReturn(
+        Collections.singletonList(makeTest(() -> activeDuringTest
+            .add(ActiveMutant.id))));
+    when(
+        this.hotswapper.apply(any(ClassName.class), any(ClassLoader.class),
+            any(byte[].class))).thenReturn(true);
+
+    this.testee.run(Arrays.asList(mutantOne), this.reporter, this.testSource);
+
+    assertThat(activeDuringTest).containsExactly(1);
+    assertThat(ActiveMutant.id).isEqualTo(ActiveMutant.NONE);
+  }
+
+  private MutationDetails makeSchemaMutant(final SchemataMutater schemata,
+      final int index) {
+    final MutationDetails md = makeMutant("foo", index);
+    when(schemata.getSchema(md.getId())).thenReturn(Optional.of(SCHEMA));
+    when(schemata.getMutation(md.getId())).thenReturn(
+        new Mutant(md, STANDALONE));
+    return md;
+  }
+
+  private TestUnit makeTest(final Runnable body) {
+    return new TestUnit() {
+
+      @Override
+      public void execute(final ResultCollector rc) {
+        rc.notifyStart(getDescription());
+        body.run();
+        rc.notifyEnd(getDescription());
+      }
+
+      @Override
+      public Description getDescription() {
+        return new Description("atest");
+      }
+
+    };
+  }
+
   private TestUnit makeFailingTest() {
     return new TestUnit() {
 
@@ -14,22 +14,39 @@
  */
 package org.pitest.mutationtest.execute;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.pitest.functional.SideEffect;
 import org.pitest.mutationtest.TimeoutLengthStrategy;
+import org.pitest.testapi.Description;
 import org.pitest.testapi.ResultCollector;
 import org.pitest.testapi.TestUnit;
 
+import sun.pitest.MutantTimedOutError;
+import sun.pitest.MutantTimeout;
+
 public class MutationTimeoutDecoratorTest {
 
   private MutationTimeoutDecorator testee;
@@ -51,14 +68,15 @@ public class MutationTimeoutDecoratorTest {
   @Before
   public void setUp() {
     MockitoAnnotations.initMocks(this);
+    when(this.child.getDescription()).thenReturn(new Description("foo"));
     this.testee = new MutationTimeoutDecorator(this.child, this.sideEffect,
         this.timeoutStrategy, NORMAL_EXECUTION);
   }
 
   @Test
   public void shouldCompleteNormallyWhenChildExecutesWithinAllowedTime() {
-    when(this.timeoutStrategy.getAllowedTime(NORMAL_EXECUTION)).thenReturn(
-        1000l);
+    when(this.timeoutStrategy.getAllowedTime("foo", NORMAL_EXECUTION))
+        .thenReturn(1000l);
     this.testee.execute(this.rc);
     verify(this.child).execute(any(ResultCollector.class));
     verify(this.sideEffect, never()).apply();
@@ -67,7 +85,8 @@ public class MutationTimeoutDecoratorTest {
   @Test
   @Ignore("flakey")
   public void shouldApplySideEffectWhenChildRunsForLongerThanAllowedTime() {
-    when(this.timeoutStrategy.getAllowedTime(NORMAL_EXECUTION)).thenReturn(50l);
+    when(this.timeoutStrategy.getAllowedTime("foo", NORMAL_EXECUTION))
+        .thenReturn(50l);
 
     doAnswer(invocation -> {
       Thread.sleep(100);
@@ -78,4 +97,167 @@ public class MutationTimeoutDecoratorTest {
     verify(this.child).execute(any(ResultCollector.class));
     verify(this.sideEffect).apply();
   }
+
+  @Test
+  public void shouldRunChildrenSharingATestThreadOnTheSameThread() {
+    when(this.timeoutStrategy.getAllowedTime("foo", NORMAL_EXECUTION))
+        .thenReturn(1000l);
+    final TestExecutionThread testThread = new TestExecutionThread();
+    final List<Thread> threads = new ArrayList<>();
+    doAnswer(invocation -> {
+      threads.add(Thread.currentThread());
+      return null;
+    }).when(this.child).execute(any(ResultCollector.class));
+
+    for (int i = 0; i != 2; i++) {
+      new MutationTimeoutDecorator(this.child, this.sideEffect,
+          this.timeoutStrategy, NORMAL_EXECUTION, false, testThread)
+          .execute(this.rc);
+    }
+
+    assertThat(threads).hasSize(2);
+    assertThat(threads.get(0)).isSameAs(threads.get(1));
+    testThread.abandon();
+  }
+
+  @Test
+  public void shouldRunChildWithContextClassLoaderOfCaller() {
+    when(this.timeoutStrategy.getAllowedTime("foo", NORMAL_EXECUTION))
+        .thenReturn(1000l);
+    final AtomicReference<ClassLoader> seen = new AtomicReference<>();
+    doAnswer(invocation -> {
+      seen.set(Thread.currentThread().getContextClassLoader());
+      return null;
+    }).when(this.child).execute(any(ResultCollector.class));
+
+    final ClassLoader loader = new URLClassLoader(new URL[0]);
+    final Thread current = Thread.currentThread();
+    final ClassLoader previous = current.getContextClassLoader();
+    current.setContextClassLoader(loader);
+    try {
+      this.testee.execute(this.rc);
+    } finally {
+      current.setContextClassLoader(previous);
+    }
+
+    assertThat(seen.get()).isSameAs(loader);
+  }
+
+  @Test
+  public void shouldReportTimeoutWhenTimedOutChildStops() {
+    this.testee = new MutationTimeoutDecorator(this.child, this.sideEffect,
+        this.timeoutStrategy, NORMAL_EXECUTION, true);
+    when(this.timeoutStrategy.getAllowedTime("foo", NORMAL_EXECUTION))
+        .thenReturn(50l);
+
+    doAnswer(invocation -> {
+      Thread.sleep(10000);
+      return null;
+    }).when(this.child).execute(any(ResultCollector.class));
+
+    this.testee.execute(this.rc);
+    final ArgumentCaptor<Throwable> thrown = ArgumentCaptor
+        .forClass(Throwable.class);
+    // the interrupted child's own report is replaced by the timeout
+    verify(this.rc).notifyEnd(eq(new Description("foo")), thrown.capture());
+    assertThat(thrown.getValue()).isInstanceOf(MutantTimedOutError.class);
+    verify(this.sideEffect, never()).apply();
+  }
+
+  @Test
+  public void shouldApplySideEffectWhenTimedOutChildDoesNotStop() {
+    this.testee = new MutationTimeoutDecorator(this.child, this.sideEffect,
+        this.timeoutStrategy, NORMAL_EXECUTION, true);
+    when(this.timeoutStrategy.getAllowedTime("foo", NORMAL_EXECUTION))
+        .thenReturn(50l);
+    final AtomicBoolean released = new AtomicBoolean();
+
+    doAnswer(invocation -> {
+      while (!released.get()) {
+        // ignores interruption
+      }
+      return null;
+    }).when(this.child).execute(any(ResultCollector.class));
+
+    try {
+      this.testee.execute(this.rc);
+      verify(this.sideEffect).apply();
+    } finally {
+      released.set(true);
+      MutantTimeout.reset();
+    }
+  }
+
+  @Test
+  public void shouldRecordDurationOfChildThatPasses() {
+    when(this.timeoutStrategy.getAllowedTime("foo", NORMAL_EXECUTION))
+        .thenReturn(1000l);
+    doAnswer(invocation -> {
+      ((ResultCollector) invocation.getArguments()[0])
+          .notifyEnd(new Description("foo"));
+      return null;
+    }).when(this.child).execute(any(ResultCollector.class));
+
+    this.testee.execute(this.rc);
+    verify(this.timeoutStrategy).recordDuration(eq("foo"), anyLong());
+  }
+
+  @Test
+  public void shouldNotRecordDurationOfChildThatFails() {
+    when(this.timeoutStrategy.getAllowedTime("foo", NORMAL_EXECUTION))
+        .thenReturn(1000l);
+    doAnswer(invocation -> {
+      ((ResultCollector) invocation.getArguments()[0]).notifyEnd(
+          new Description("foo"), new AssertionError());
+      return null;
+    }).when(this.child).execute(any(ResultCollector.class));
+
+    this.testee.execute(this.rc);
+    verify(this.timeoutStrategy, never()).recordDuration(eq("foo"),
+        anyLong());
+  }
+
+  @Test
+  public void shouldRerunStoppedChildAgainstRecheckLimit() {
+    this.testee = new MutationTimeoutDecorator(this.child, this.sideEffect,
+        this.timeoutStrategy, NORMAL_EXECUTION, true);
+    when(this.timeoutStrategy.getAllowedTime("foo", NORMAL_EXECUTION))
+        .thenReturn(50l);
+    when(this.timeoutStrategy.getRecheckTime("foo", NORMAL_EXECUTION))
+        .thenReturn(5000l);
+    final AtomicInteger runs = new AtomicInteger();
+
+    doAnswer(invocation -> {
+      if (runs.incrementAndGet() == 1) {
+        Thread.sleep(10000);
+      }
+      ((ResultCollector) invocation.getArguments()[0])
+          .notifyEnd(new Description("foo"));
+      return null;
+    }).when(this.child).execute(any(ResultCollector.class));
+
+    this.testee.execute(this.rc);
+    verify(this.child, times(2)).execute(any(ResultCollector.class));
+    verify(this.rc).notifyEnd(new Description("foo"));
+    verify(this.rc, never()).notifyEnd(eq(new Description("foo")),
+        any(Throwable.class));
+    verify(this.sideEffect, never()).apply();
+  }
+
+  @Test
+  public void shouldWaitUntilRecheckLimitBeforeApplyingSideEffect() {
+    when(this.timeoutStrategy.getAllowedTime("foo", NORMAL_EXECUTION))
+        .thenReturn(50l);
+    when(this.timeoutStrategy.getRecheckTime("foo", NORMAL_EXECUTION))
+        .thenReturn(5000l);
+
+    doAnswer(invocation -> {
+      Thread.sleep(200);
+      return null;
+    }).when(this.child).execute(any(ResultCollector.class));
+
+    this.testee.execute(this.rc);
+    verify(this.child).execute(any(ResultCollector.class));
+    verify(this.sideEffect, never()).apply();
+  }
 }
@@ -0,0 +1,60 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.pitest.classinfo.ClassName;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.util.IsolationUtils;
+
+public class ReferencingClassesTest {
+
+  private ReferencingClasses testee;
+
+  @Before
+  public void setUp() {
+    this.testee = new ReferencingClasses(new ClassloaderByteArraySource(
+        IsolationUtils.getContextClassLoader()), Arrays.asList(
+        Leaf.class.getName(), HasLeafField.class.getName(),
+        CallsHasLeafField.class.getName(), Unrelated.class.getName()));
+  }
+
+  @Test
+  public void shouldIncludeTheClassItself() {
+    assertThat(this.testee.of(ClassName.fromClass(Unrelated.class)))
+        .containsExactly(Unrelated.class.getName());
+  }
+
+  @Test
+  public void shouldFindClassesReferringDirectlyAndIndirectly() {
+    assertThat(this.testee.of(ClassName.fromClass(Leaf.class)))
+        .containsOnly(Leaf.class.getName(), HasLeafField.class.getName(),
+            CallsHasLeafField.class.getName());
+  }
+
+  @Test
+  public void shouldNotIncludeClassesOnlyReferredTo() {
+    assertThat(this.testee.of(ClassName.fromClass(HasLeafField.class)))
+        .doesNotContain(Leaf.class.getName());
+  }
+
+  static class Leaf {
+  }
+
+  static class HasLeafField {
+    Leaf leaf;
+  }
+
+  static class CallsHasLeafField {
+    Object leaf() {
+      return new HasLeafField().leaf;
+    }
+  }
+
+  static class Unrelated {
+  }
+
+}
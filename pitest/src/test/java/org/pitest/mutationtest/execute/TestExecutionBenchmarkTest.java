@@ -0,0 +1,146 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.pitest.SystemTest;
+import org.pitest.mutationtest.TimeoutLengthStrategy;
+import org.pitest.testapi.Description;
+import org.pitest.testapi.ResultCollector;
+import org.pitest.testapi.TestUnit;
+
+/**
+ * Times the overhead the timeout decorator adds to each test run, when a
+ * thread is started for every test and when a single thread is reused.
+ *
+ * The tests check that every run completes, on the threads expected. To
+ * compare timings run the main method from an IDE or with
+ * java -cp target/classes:target/test-classes:[dependencies], optionally
+ * supplying the number of test runs.
+ */
+@Category(SystemTest.class)
+public class TestExecutionBenchmarkTest {
+
+  private static final int                   RUNS     = 2000;
+  private static final int                   ROUNDS   = 5;
+
+  private static final TimeoutLengthStrategy NO_LIMIT = t -> 10000;
+
+  @Test
+  public void shouldRunEveryTestOnItsOwnThreadWhenNotReused() {
+    final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    time(RUNS, threadPerTest(threads));
+    assertThat(threads).hasSize(RUNS).doesNotContain(Thread.currentThread());
+  }
+
+  @Test
+  public void shouldRunEveryTestOnOneReusedThread() {
+    final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    timeReused(RUNS, threads);
+    assertThat(threads).hasSize(1).doesNotContain(Thread.currentThread());
+  }
+
+  public static void main(final String[] args) {
+    final int runs = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+    for (int round = 0; round != ROUNDS; round++) {
+      final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+      final long perTest = time(runs, threadPerTest(threads));
+      // the threads are not needed once the round is timed
+      threads.clear();
+      report(round, runs, perTest, timeReused(runs, threads));
+    }
+  }
+
+  private static Supplier<TestUnit> threadPerTest(final Set<Thread> threads) {
+    return () -> new MutationTimeoutDecorator(new EmptyTest(threads),
+        () -> { }, NO_LIMIT, 0);
+  }
+
+  private static long timeReused(final int runs, final Set<Thread> threads) {
+    final TestExecutionThread shared = new TestExecutionThread();
+    try {
+      return time(runs, () -> new MutationTimeoutDecorator(new EmptyTest(
+          threads), () -> { }, NO_LIMIT, 0, false, shared));
+    } finally {
+      shared.abandon();
+    }
+  }
+
+  private static void report(final int round, final int runs,
+      final long perTest, final long reused) {
+    System.out.println("Round " + round + ": thread per test "
+        + (perTest / runs) + " ns per test, reused thread " + (reused / runs)
+        + " ns per test");
+  }
+
+  private static long time(final int runs, final Supplier<TestUnit> decorated) {
+    final CountingResultCollector rc = new CountingResultCollector();
+    final long t0 = System.nanoTime();
+    for (int i = 0; i != runs; i++) {
+      decorated.get().execute(rc);
+    }
+    final long elapsed = System.nanoTime() - t0;
+    if (rc.ended != runs) {
+      throw new IllegalStateException("Expected " + runs + " results but got "
+          + rc.ended);
+    }
+    return elapsed;
+  }
+
+  /**
+   * Records the thread it runs on, and does nothing else
+   */
+  private static class EmptyTest implements TestUnit {
+    private final Description description = new Description("empty");
+    private final Set<Thread> threads;
+
+    EmptyTest(final Set<Thread> threads) {
+      this.threads = threads;
+    }
+
+    @Override
+    public void execute(final ResultCollector rc) {
+      this.threads.add(Thread.currentThread());
+      rc.notifyStart(this.description);
+      rc.notifyEnd(this.description);
+    }
+
+    @Override
+    public Description getDescription() {
+      return this.description;
+    }
+  }
+
+  private static class CountingResultCollector implements ResultCollector {
+    private int ended;
+
+    @Override
+    public void notifyEnd(final Description description, final Throwable t) {
+      this.ended++;
+    }
+
+    @Override
+    public void notifyEnd(final Description description) {
+      this.ended++;
+    }
+
+    @Override
+    public void notifyStart(final Description description) {
+    }
+
+    @Override
+    public void notifySkipped(final Description description) {
+    }
+
+    @Override
+    public boolean shouldExit() {
+      return false;
+    }
+  }
+
+}
@@ -0,0 +1,69 @@
+package org.pitest.mutationtest.execute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class TestExecutionThreadTest {
+
+  private final TestExecutionThread testee = new TestExecutionThread();
+
+  @After
+  public void tearDown() {
+    this.testee.abandon();
+  }
+
+  @Test
+  public void shouldRunTestsOnSameThread() throws Exception {
+    assertThat(threadRunning()).isSameAs(threadRunning());
+  }
+
+  @Test
+  public void shouldRunTestsOnDaemonThread() throws Exception {
+    assertThat(threadRunning().isDaemon()).isTrue();
+  }
+
+  @Test
+  public void shouldRunTestsOnNewThreadOnceAbandoned() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicReference<Thread> stuck = new AtomicReference<>();
+    this.testee.submit(() -> {
+      stuck.set(Thread.currentThread());
+      awaitIgnoringInterrupts(release);
+    });
+    while (stuck.get() == null) {
+      Thread.sleep(1);
+    }
+
+    this.testee.abandon();
+
+    try {
+      assertThat(threadRunning()).isNotSameAs(stuck.get());
+    } finally {
+      release.countDown();
+    }
+  }
+
+  private Thread threadRunning() throws Exception {
+    final AtomicReference<Thread> thread = new AtomicReference<>();
+    this.testee.submit(() -> thread.set(Thread.currentThread())).get(5,
+        TimeUnit.SECONDS);
+    return thread.get();
+  }
+
+  private static void awaitIgnoringInterrupts(final CountDownLatch latch) {
+    while (latch.getCount() != 0) {
+      try {
+        latch.await();
+      } catch (final InterruptedException e) {
+        // carry on
+      }
+    }
+  }
+
+}
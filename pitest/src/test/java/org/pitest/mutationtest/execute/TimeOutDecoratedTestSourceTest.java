@@ -71,6 +71,16 @@ public class TimeOutDecoratedTestSourceTest {
     assertEquals(1, actual.size());
   }
 
+  @Test
+  public void shouldKeepExistingTestsWhenFurtherTestsSupplied() {
+    final TimeOutDecoratedTestSource actual = this.testee.withTests(Arrays
+        .asList(makeTestUnit("three")));
+    assertEquals(2, actual.translateTests(Arrays.asList(
+        new TestInfo("foo", "one", 42, Optional.<ClassName> empty(), 0),
+        new TestInfo("foo", "three", 42, Optional.<ClassName> empty(), 0)))
+        .size());
+  }
+
   private TestUnit makeTestUnit(final String name) {
     return new TestUnit() {
       private final Description description = new Description(name);
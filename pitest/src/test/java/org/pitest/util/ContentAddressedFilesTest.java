@@ -0,0 +1,46 @@
+package org.pitest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ContentAddressedFilesTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void shouldGiveSameHashForSameContent() {
+    assertThat(ContentAddressedFiles.hash(new byte[] { 1, 2 }))
+        .isEqualTo(ContentAddressedFiles.hash(new byte[] { 1, 2 }));
+  }
+
+  @Test
+  public void shouldGiveDifferentHashesForDifferentContent() {
+    assertThat(ContentAddressedFiles.hash(new byte[] { 1, 2 }))
+        .isNotEqualTo(ContentAddressedFiles.hash(new byte[] { 2, 1 }));
+  }
+
+  @Test
+  public void shouldWriteContentToNewFile() throws IOException {
+    final File file = new File(this.folder.getRoot(), "sub/foo");
+    ContentAddressedFiles.writeIfAbsent(file, new byte[] { 1, 2 });
+    assertThat(Files.readAllBytes(file.toPath())).containsExactly(1, 2);
+    assertThat(file.getParentFile().list()).containsExactly("foo");
+  }
+
+  @Test
+  public void shouldNotRewriteExistingFile() throws IOException {
+    final File file = new File(this.folder.getRoot(), "foo");
+    ContentAddressedFiles.writeIfAbsent(file, new byte[] { 1, 2 });
+    ContentAddressedFiles.writeIfAbsent(file, new byte[] { 3 });
+    assertThat(Files.readAllBytes(file.toPath())).containsExactly(1, 2);
+  }
+
+}
@@ -3,12 +3,20 @@ package org.pitest.util;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.jar.Attributes;
+import java.util.jar.JarInputStream;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class ManifestUtilsTest {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
   @Test
   public void shouldParseTheManifestsItCreates() throws IOException {
     File actual = ManifestUtils.createClasspathJarFile("some/path/foo.jar" + File.pathSeparator + "some/path/");
@@ -18,4 +26,34 @@ public class ManifestUtilsTest {
             new File("some/path/").getAbsoluteFile());
   }
 
+  @Test
+  public void shouldReuseCachedJarForSameClasspath() throws IOException {
+    final File dir = this.folder.newFolder();
+    final File actual = ManifestUtils.createClasspathJarFile("some/path/foo.jar", dir);
+    assertThat(ManifestUtils.createClasspathJarFile("some/path/foo.jar", dir))
+    .isEqualTo(actual);
+    assertThat(ManifestUtils.readClasspathManifest(actual))
+    .containsExactly(new File("some/path/foo.jar").getAbsoluteFile());
+  }
+
+  @Test
+  public void shouldCreateSeparateCachedJarsForDifferentClasspaths() throws IOException {
+    final File dir = this.folder.newFolder();
+    assertThat(ManifestUtils.createClasspathJarFile("some/path/foo.jar", dir))
+    .isNotEqualTo(ManifestUtils.createClasspathJarFile("some/path/bar.jar", dir));
+  }
+
+  @Test
+  public void shouldGiveEntriesRelativeToCachedJar() throws IOException {
+    final File dir = this.folder.newFolder();
+    final File classes = this.folder.newFolder("classes");
+    final File actual = ManifestUtils.createClasspathJarFile(classes.getPath(), dir);
+    try (JarInputStream jar = new JarInputStream(new FileInputStream(actual))) {
+      assertThat(jar.getManifest().getMainAttributes()
+          .getValue(Attributes.Name.CLASS_PATH)).isEqualTo("../classes/");
+    }
+    assertThat(ManifestUtils.readClasspathManifest(actual))
+    .containsExactly(classes.getAbsoluteFile());
+  }
+
 }
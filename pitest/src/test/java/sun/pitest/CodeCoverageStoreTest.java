@@ -14,14 +14,17 @@
  */
 package sun.pitest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.verify;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -98,6 +101,98 @@ public class CodeCoverageStoreTest {
     assertEquals(Collections.emptyList(), actual);
   }
 
+  @Test
+  public void shouldReportProbesHitForClassesMarkedAsHit() {
+    final int classId = CodeCoverageStore.registerClass("foo");
+
+    final boolean[] ar = CodeCoverageStore.getOrRegisterClassProbes(classId, 3);
+    CodeCoverageStore.classHit(ar, classId);
+    ar[2] = true;
+
+    assertThat(CodeCoverageStore.getHits()).containsExactly(
+        CodeCoverageStore.encode(classId, 2));
+  }
+
+  @Test
+  public void shouldNotReportProbesForClassesNotMarkedAsHit() {
+    final int classId = CodeCoverageStore.registerClass("foo");
+
+    final boolean[] ar = CodeCoverageStore.getOrRegisterClassProbes(classId, 3);
+    ar[2] = true;
+
+    assertThat(CodeCoverageStore.getHits()).isEmpty();
+  }
+
+  @Test
+  public void shouldClearProbesOfHitClassesWhenReset() {
+    final int classId = CodeCoverageStore.registerClass("foo");
+
+    final boolean[] ar = CodeCoverageStore.getOrRegisterClassProbes(classId, 3);
+    CodeCoverageStore.classHit(ar, classId);
+    ar[1] = true;
+    CodeCoverageStore.reset();
+
+    assertThat(ar).containsOnly(false);
+    assertThat(CodeCoverageStore.getHits()).isEmpty();
+  }
+
+  @Test
+  public void shouldRecordHitsAgainAfterReset() {
+    final int classId = CodeCoverageStore.registerClass("foo");
+
+    final boolean[] ar = CodeCoverageStore.getOrRegisterClassProbes(classId, 3);
+    CodeCoverageStore.classHit(ar, classId);
+    CodeCoverageStore.reset();
+    CodeCoverageStore.classHit(ar, classId);
+    ar[3] = true;
+
+    assertThat(CodeCoverageStore.getHits()).containsExactly(
+        CodeCoverageStore.encode(classId, 3));
+  }
+
+  @Test
+  public void shouldVisitEachHitClassOnce() {
+    final int foo = CodeCoverageStore.registerClass("foo");
+    final int bar = CodeCoverageStore.registerClass("bar");
+    final boolean[] fooProbes = CodeCoverageStore.getOrRegisterClassProbes(foo, 1);
+    final boolean[] barProbes = CodeCoverageStore.getOrRegisterClassProbes(bar, 1);
+
+    CodeCoverageStore.classHit(barProbes, bar);
+    CodeCoverageStore.classHit(barProbes, bar);
+    CodeCoverageStore.classHit(fooProbes, foo);
+
+    final List<Integer> visited = new ArrayList<>();
+    CodeCoverageStore.visitHits((id, probes) -> visited.add(id));
+    assertThat(visited).containsExactly(bar, foo);
+  }
+
+  @Test
+  public void shouldHoldProbesForLargeNumbersOfClasses() {
+    final List<boolean[]> probes = new ArrayList<>();
+    for (int i = 0; i != 1000; i++) {
+      final int id = CodeCoverageStore.registerClass("foo" + i);
+      probes.add(CodeCoverageStore.getOrRegisterClassProbes(id, 1));
+      CodeCoverageStore.classHit(probes.get(i), id);
+      probes.get(i)[1] = true;
+    }
+
+    assertThat(CodeCoverageStore.getHits()).hasSize(1000);
+  }
+
+  @Test
+  public void shouldGrowProbesWhenClassReregisteredWithMoreProbes() {
+    final int classId = CodeCoverageStore.registerClass("foo");
+
+    CodeCoverageStore.getOrRegisterClassProbes(classId, 1);
+    final boolean[] ar = CodeCoverageStore.getOrRegisterClassProbes(classId, 4);
+    CodeCoverageStore.classHit(ar, classId);
+    ar[4] = true;
+
+    assertThat(ar).hasSize(5);
+    assertThat(CodeCoverageStore.getHits()).containsExactly(
+        CodeCoverageStore.encode(classId, 4));
+  }
+
   @Test
   public void shouldBeSafeToAccessAcrossMultipleThreads()
       throws InterruptedException, ExecutionException {